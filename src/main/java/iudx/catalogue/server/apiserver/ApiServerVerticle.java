@@ -4,6 +4,7 @@ import static iudx.catalogue.server.apiserver.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerResponse;
@@ -14,6 +15,8 @@ import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.StaticHandler;
 import iudx.catalogue.server.apiserver.util.ExceptionHandler;
+import iudx.catalogue.server.apiserver.util.PrecompressedHandler;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.auditing.AuditingService;
 import iudx.catalogue.server.authenticator.AuthenticationService;
 import iudx.catalogue.server.database.DatabaseService;
@@ -22,7 +25,10 @@ import iudx.catalogue.server.mlayer.MlayerService;
 import iudx.catalogue.server.nlpsearch.NLPSearchService;
 import iudx.catalogue.server.rating.RatingService;
 import iudx.catalogue.server.util.Api;
+import iudx.catalogue.server.util.LocalServices;
+import iudx.catalogue.server.util.ParentItemCache;
 import iudx.catalogue.server.validator.ValidatorService;
+import java.util.function.BiFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -53,6 +59,8 @@ public class ApiServerVerticle extends AbstractVerticle {
   private String keystore;
   private String keystorePassword;
   private ListApis listApis;
+  private ExportApis exportApis;
+  private ChangeApis changeApis;
   private RelationshipApis relApis;
   private GeocodingApis geoApis;
   private RatingApis ratingApis;
@@ -64,6 +72,8 @@ public class ApiServerVerticle extends AbstractVerticle {
   private String catAdmin;
   private boolean isSsL;
   private int port;
+  private int compressionThreshold;
+  private boolean localServiceCalls;
   private String dxApiBasePath;
   private Api api;
 
@@ -119,59 +129,79 @@ public class ApiServerVerticle extends AbstractVerticle {
     LOGGER.debug("Started HTTP server at port : " + port);
 
     serverOptions.setCompressionSupported(true).setCompressionLevel(5);
+    compressionThreshold =
+        config().getInteger(COMPRESSION_THRESHOLD, DEFAULT_COMPRESSION_THRESHOLD);
     // Instantiate this server
     server = vertx.createHttpServer(serverOptions);
 
     boolean isUac = config().getBoolean(UAC_DEPLOYMENT);
+    localServiceCalls = config().getBoolean(LOCAL_SERVICE_CALLS, false);
     // API Callback managers
     crudApis = new CrudApis(api, isUac);
     searchApis = new SearchApis(api);
     listApis = new ListApis();
+    exportApis = new ExportApis();
+    changeApis = new ChangeApis();
     relApis = new RelationshipApis();
     geoApis = new GeocodingApis();
     ratingApis = new RatingApis();
     mlayerApis = new MlayerApis(api);
 
     // Todo - Set service proxies based on availability?
-    DatabaseService dbService = DatabaseService.createProxy(vertx, DATABASE_SERVICE_ADDRESS);
+    DatabaseService dbService =
+        serviceProxy(DatabaseService.class, DATABASE_SERVICE_ADDRESS, DatabaseService::createProxy);
 
-    RatingService ratingService = RatingService.createProxy(vertx, RATING_SERVICE_ADDRESS);
+    RatingService ratingService =
+        serviceProxy(RatingService.class, RATING_SERVICE_ADDRESS, RatingService::createProxy);
     ratingApis.setRatingService(ratingService);
 
-    MlayerService mlayerService = MlayerService.createProxy(vertx, MLAYER_SERVICE_ADDRESSS);
+    MlayerService mlayerService =
+        serviceProxy(MlayerService.class, MLAYER_SERVICE_ADDRESSS, MlayerService::createProxy);
     mlayerApis.setMlayerService(mlayerService);
 
     crudApis.setDbService(dbService);
     listApis.setDbService(dbService);
+    exportApis.setDbService(dbService);
+    changeApis.setDbService(dbService);
+    changeApis.setEventBus(vertx.eventBus());
     relApis.setDbService(dbService);
     // TODO : set db service for Rating APIs
     crudApis.setHost(config().getString(HOST));
+    crudApis.setParentItemCache(ParentItemCache.getInstance(vertx, config()));
+    crudApis.setEventBus(vertx.eventBus());
     ratingApis.setHost(config().getString(HOST));
     mlayerApis.setHost(config().getString(HOST));
 
     AuthenticationService authService =
-        AuthenticationService.createProxy(vertx, AUTH_SERVICE_ADDRESS);
+        serviceProxy(
+            AuthenticationService.class, AUTH_SERVICE_ADDRESS, AuthenticationService::createProxy);
     crudApis.setAuthService(authService);
     ratingApis.setAuthService(authService);
     mlayerApis.setAuthService(authService);
 
     ValidatorService validationService =
-        ValidatorService.createProxy(vertx, VALIDATION_SERVICE_ADDRESS);
+        serviceProxy(
+            ValidatorService.class, VALIDATION_SERVICE_ADDRESS, ValidatorService::createProxy);
     crudApis.setValidatorService(validationService);
     ratingApis.setValidatorService(validationService);
     mlayerApis.setValidatorService(validationService);
 
-    GeocodingService geoService = GeocodingService.createProxy(vertx, GEOCODING_SERVICE_ADDRESS);
+    GeocodingService geoService =
+        serviceProxy(
+            GeocodingService.class, GEOCODING_SERVICE_ADDRESS, GeocodingService::createProxy);
     geoApis.setGeoService(geoService);
 
-    NLPSearchService nlpsearchService = NLPSearchService.createProxy(vertx, NLP_SERVICE_ADDRESS);
+    NLPSearchService nlpsearchService =
+        serviceProxy(NLPSearchService.class, NLP_SERVICE_ADDRESS, NLPSearchService::createProxy);
 
     searchApis.setService(dbService, geoService, nlpsearchService);
 
-    AuditingService auditingService = AuditingService.createProxy(vertx, AUDITING_SERVICE_ADDRESS);
+    AuditingService auditingService =
+        serviceProxy(AuditingService.class, AUDITING_SERVICE_ADDRESS, AuditingService::createProxy);
     crudApis.setAuditingService(auditingService);
     ratingApis.setAuditingService(auditingService);
     ExceptionHandler exceptionhandler = new ExceptionHandler();
+    ResponseCache responseCache = ResponseCache.getInstance(vertx, config());
 
     // API Routes and Callbacks
 
@@ -195,6 +225,8 @@ public class ApiServerVerticle extends AbstractVerticle {
                   .putHeader("Pragma", "no-cache")
                   .putHeader("Expires", "0")
                   .putHeader("X-Content-Type-Options", "nosniff");
+              routingContext.addHeadersEndHandler(
+                  v -> skipSmallCompression(routingContext.response()));
               routingContext.next();
             });
 
@@ -205,42 +237,31 @@ public class ApiServerVerticle extends AbstractVerticle {
     router
         .get(ROUTE_STATIC_SPEC)
         .produces(MIME_APPLICATION_JSON)
-        .handler(
-            routingContext -> {
-              HttpServerResponse response = routingContext.response();
-              response.sendFile("docs/openapi.yaml");
-            });
+        .handler(PrecompressedHandler.forFile(OPENAPI_SPEC));
     /* Get redoc */
     router
         .get(ROUTE_DOC)
         .produces(MIME_TEXT_HTML)
-        .handler(
-            routingContext -> {
-              HttpServerResponse response = routingContext.response();
-              response.sendFile("docs/apidoc.html");
-            });
+        .handler(PrecompressedHandler.forFile(API_DOC));
 
     // UI routes
 
     /* Static Resource Handler */
     router
-        .route("/*")
-        .produces("text/html")
-        .handler(StaticHandler.create("ui/dist/dk-customer-ui/"));
-
-    router
-        .route("/assets/*")
+        .route(ROUTE_UI_ASSETS)
         .produces("*/*")
-        .handler(StaticHandler.create("ui/dist/dk-customer-ui/assets/"));
+        .handler(PrecompressedHandler.forWebRoot(UI_ASSETS_WEB_ROOT))
+        .handler(StaticHandler.create(UI_ASSETS_WEB_ROOT));
+
+    /* Bundles without a compressed variant go on to the static handler of the pages */
+    router.getWithRegex(ROUTE_UI_BUNDLES).handler(PrecompressedHandler.forWebRoot(UI_WEB_ROOT));
+
+    router.route("/*").produces("text/html").handler(StaticHandler.create(UI_WEB_ROOT));
 
     router
         .route("/")
         .produces("text/html")
-        .handler(
-            routingContext -> {
-              HttpServerResponse response = routingContext.response();
-              response.sendFile("ui/dist/dk-customer-ui/index.html");
-            });
+        .handler(PrecompressedHandler.forFile(UI_INDEX));
 
     // Routes for item CRUD
 
@@ -265,6 +286,7 @@ public class ApiServerVerticle extends AbstractVerticle {
     router
         .get(api.getRouteItems())
         .produces(MIME_APPLICATION_JSON)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               crudApis.getItemHandler(routingContext);
@@ -287,6 +309,39 @@ public class ApiServerVerticle extends AbstractVerticle {
               }
             });
 
+    /* Bulk create/update of items - Body contains an array of items */
+    router
+        .post(api.getRouteItemsBulk())
+        .consumes(MIME_APPLICATION_JSON)
+        .produces(MIME_APPLICATION_JSON)
+        .failureHandler(exceptionhandler)
+        .handler(
+            routingContext -> {
+              /* checking auhthentication info in requests */
+              if (routingContext.request().headers().contains(HEADER_TOKEN)) {
+                crudApis.bulkItemHandler(routingContext);
+              } else {
+                LOGGER.warn("Fail: Unathorized CRUD operation");
+                routingContext.response().setStatusCode(401).end();
+              }
+            });
+
+    router
+        .put(api.getRouteItemsBulk())
+        .consumes(MIME_APPLICATION_JSON)
+        .produces(MIME_APPLICATION_JSON)
+        .failureHandler(exceptionhandler)
+        .handler(
+            routingContext -> {
+              /* checking auhthentication info in requests */
+              if (routingContext.request().headers().contains(HEADER_TOKEN)) {
+                crudApis.bulkItemHandler(routingContext);
+              } else {
+                LOGGER.warn("Unathorized CRUD operation");
+                routingContext.response().setStatusCode(401).end();
+              }
+            });
+
     /* Delete Item - Query param contains id */
     router
         .delete(api.getRouteDeleteItems())
@@ -371,11 +426,34 @@ public class ApiServerVerticle extends AbstractVerticle {
     router
         .get(api.getRouteListItems())
         .produces(MIME_APPLICATION_JSON)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               listApis.listItemsHandler(routingContext);
             });
 
+    //  Routes for export
+
+    /* Stream the items of the catalogue */
+    router
+        .get(api.getRouteExport())
+        .produces(MIME_APPLICATION_NDJSON)
+        .handler(
+            routingContext -> {
+              exportApis.exportHandler(routingContext);
+            });
+
+    //  Routes for the change feed
+
+    /* Read the changes of the catalogue after a resume token */
+    router
+        .get(api.getRouteChanges())
+        .produces(MIME_APPLICATION_JSON)
+        .handler(
+            routingContext -> {
+              changeApis.changesHandler(routingContext);
+            });
+
     //  Routes for relationships
 
     /* Relationship related search */
@@ -389,6 +467,7 @@ public class ApiServerVerticle extends AbstractVerticle {
     /* Get all resources belonging to a resource group */
     router
         .get(api.getRouteRelationship())
+        .handler(responseCache)
         .handler(
             routingContext -> {
               relApis.listRelationshipHandler(routingContext);
@@ -501,6 +580,7 @@ public class ApiServerVerticle extends AbstractVerticle {
         .get(api.getRouteMlayerInstance())
         .produces(MIME_APPLICATION_JSON)
         .failureHandler(exceptionhandler)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               mlayerApis.getMlayerInstanceHandler(routingContext);
@@ -560,6 +640,7 @@ public class ApiServerVerticle extends AbstractVerticle {
         .get(api.getRouteMlayerDomains())
         .produces(MIME_APPLICATION_JSON)
         .failureHandler(exceptionhandler)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               mlayerApis.getMlayerDomainHandler(routingContext);
@@ -601,6 +682,7 @@ public class ApiServerVerticle extends AbstractVerticle {
         .get(api.getRouteMlayerProviders())
         .produces(MIME_APPLICATION_JSON)
         .failureHandler(exceptionhandler)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               mlayerApis.getMlayerProvidersHandler(routingContext);
@@ -622,6 +704,7 @@ public class ApiServerVerticle extends AbstractVerticle {
         .get(api.getRouteMlayerDataset())
         .produces(MIME_APPLICATION_JSON)
         .failureHandler(exceptionhandler)
+        .handler(responseCache)
         .handler(
             routingContext -> {
               mlayerApis.getMlayerAllDatasetsHandler(routingContext);
@@ -664,12 +747,12 @@ public class ApiServerVerticle extends AbstractVerticle {
               mlayerApis.getCountSizeApi(routingContext);
             });
 
+    StacRestApi stacRestApi =
+        new StacRestApi(router, api, config(), validationService, authService, auditingService);
+    stacRestApi.setResponseCache(responseCache);
     router
         .route(api.getStackRestApis() + "/*")
-        .subRouter(
-            new StacRestApi(
-                     router, api, config(), validationService, authService, auditingService)
-                .init());
+        .subRouter(stacRestApi.init());
 
     // Start server
     server.requestHandler(router).listen(port);
@@ -679,6 +762,23 @@ public class ApiServerVerticle extends AbstractVerticle {
     LOGGER.info("API server deployed on :" + serverOptions.getPort());
   }
 
+  /* Calls a service deployed in this JVM directly when local service calls are enabled */
+  private <T> T serviceProxy(
+      Class<T> type, String address, BiFunction<Vertx, String, T> createProxy) {
+    T remote = createProxy.apply(vertx, address);
+    return localServiceCalls ? LocalServices.createProxy(vertx, type, address, remote) : remote;
+  }
+
+  /* Compressing a small body costs more CPU than the bytes it saves, so it is sent as it is */
+  private void skipSmallCompression(HttpServerResponse response) {
+    String contentLength = response.headers().get(HEADER_CONTENT_LENGTH);
+    if (contentLength != null
+        && !response.headers().contains(HEADER_CONTENT_ENCODING)
+        && Long.parseLong(contentLength) < compressionThreshold) {
+      response.putHeader(HEADER_CONTENT_ENCODING, "identity");
+    }
+  }
+
   private void printDeployedEndpoints(Router router) {
     for (Route route : router.getRoutes()) {
       if (route.getPath() != null) {
@@ -0,0 +1,154 @@
+/**
+ *
+ *
+ * <h1>ChangeApis.java</h1>
+ *
+ * <p>Callback handlers for the Change feed API
+ */
+
+package iudx.catalogue.server.apiserver;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.database.DatabaseService;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public final class ChangeApis {
+
+  private static final Logger LOGGER = LogManager.getLogger(ChangeApis.class);
+  private final Set<Promise<Void>> waiting = new HashSet<>();
+  private DatabaseService dbService;
+
+  public void setDbService(DatabaseService dbService) {
+    this.dbService = dbService;
+  }
+
+  /**
+   * Wakes up the requests waiting for a change whenever the change feed records one.
+   *
+   * @param eventBus the event bus the change feed publishes the recorded changes on
+   */
+  public void setEventBus(EventBus eventBus) {
+    eventBus.<JsonObject>consumer(
+        CHANGE_FEED_RECORDED_ADDRESS,
+        message -> {
+          Set<Promise<Void>> woken = new HashSet<>(waiting);
+          waiting.clear();
+          woken.forEach(Promise::tryComplete);
+        });
+  }
+
+  /**
+   * Get the changes of the catalogue after a resume token. If there are none, the request waits
+   * for up to <code>wait</code> seconds for the next change before responding.
+   *
+   * @param routingContext handles web requests in Vert.x Web
+   */
+  public void changesHandler(RoutingContext routingContext) {
+
+    LOGGER.debug("Info: Reading changes");
+
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
+
+    String resumeToken = request.getParam(RESUME_TOKEN, "0");
+    long limit;
+    long wait;
+    try {
+      if (Long.parseLong(resumeToken) < 0) {
+        throw new NumberFormatException(resumeToken);
+      }
+      limit = Long.parseLong(request.getParam(LIMIT, String.valueOf(DEFAULT_CHANGES_LIMIT)));
+      wait = Long.parseLong(request.getParam(WAIT, "0"));
+    } catch (NumberFormatException e) {
+      invalidParam(response, "Invalid " + RESUME_TOKEN + ", " + LIMIT + " or " + WAIT);
+      return;
+    }
+    if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+      invalidParam(response, "The limit should be between 1 to " + MAX_CHANGES_LIMIT);
+      return;
+    }
+    if (wait < 0 || wait > MAX_CHANGES_WAIT_SECONDS) {
+      invalidParam(response, "The wait should be between 0 to " + MAX_CHANGES_WAIT_SECONDS);
+      return;
+    }
+
+    JsonObject requestBody =
+        new JsonObject().put(RESUME_TOKEN, resumeToken).put(LIMIT, (int) limit);
+    if (wait == 0) {
+      dbService.getChanges(requestBody, dbHandler -> respond(response, dbHandler));
+      return;
+    }
+
+    /* Wait for a change recorded from now on, so that one recorded during the read is not missed */
+    Vertx vertx = routingContext.vertx();
+    Promise<Void> recorded = Promise.promise();
+    waiting.add(recorded);
+    long timer = vertx.setTimer(wait * 1000, id -> recorded.tryComplete());
+    recorded
+        .future()
+        .onComplete(
+            woken -> {
+              waiting.remove(recorded);
+              vertx.cancelTimer(timer);
+            });
+
+    dbService.getChanges(
+        requestBody,
+        dbHandler -> {
+          if (dbHandler.failed() || !dbHandler.result().getJsonArray(RESULTS).isEmpty()) {
+            recorded.tryComplete();
+            respond(response, dbHandler);
+            return;
+          }
+          recorded
+              .future()
+              .onComplete(
+                  woken -> {
+                    if (response.closed()) {
+                      return;
+                    }
+                    dbService.getChanges(requestBody, next -> respond(response, next));
+                  });
+        });
+  }
+
+  private void respond(HttpServerResponse response, AsyncResult<JsonObject> dbHandler) {
+    if (response.closed()) {
+      return;
+    }
+    if (dbHandler.succeeded()) {
+      LOGGER.info("Success: Reading changes");
+      response.setStatusCode(200).end(dbHandler.result().toString());
+    } else {
+      LOGGER.error("Fail: Reading changes;" + dbHandler.cause().getMessage());
+      response.setStatusCode(500).end(dbHandler.cause().getMessage());
+    }
+  }
+
+  private void invalidParam(HttpServerResponse response, String detail) {
+    LOGGER.error("Fail: Reading changes; " + detail);
+    response
+        .setStatusCode(400)
+        .end(
+            new RespBuilder()
+                .withType(TYPE_INVALID_QUERY_PARAM_VALUE)
+                .withTitle(TITLE_INVALID_QUERY_PARAM_VALUE)
+                .withDetail(detail)
+                .getResponse());
+  }
+}
@@ -11,27 +11,33 @@ import static iudx.catalogue.server.authenticator.Constants.API_ENDPOINT;
 import static iudx.catalogue.server.authenticator.Constants.TOKEN;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.ERROR;
+import static iudx.catalogue.server.util.Constants.FAILED;
 import static iudx.catalogue.server.util.Constants.ID;
 import static iudx.catalogue.server.util.Constants.METHOD;
+import static iudx.catalogue.server.util.Constants.RESULTS;
 import static iudx.catalogue.server.util.Constants.STATUS;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.auditing.AuditingService;
 import iudx.catalogue.server.authenticator.AuthenticationService;
 import iudx.catalogue.server.database.DatabaseService;
 import iudx.catalogue.server.util.Api;
+import iudx.catalogue.server.util.ParentItemCache;
 import iudx.catalogue.server.validator.ValidatorService;
 import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,6 +52,8 @@ public final class CrudApis {
   private AuthenticationService authService;
   private ValidatorService validatorService;
   private AuditingService auditingService;
+  private ParentItemCache parentCache;
+  private EventBus eventBus;
   private boolean hasAuditService = false;
   private String host;
   private Api api;
@@ -85,6 +93,14 @@ public final class CrudApis {
     this.host = host;
   }
 
+  public void setParentItemCache(ParentItemCache parentCache) {
+    this.parentCache = parentCache;
+  }
+
+  public void setEventBus(EventBus eventBus) {
+    this.eventBus = eventBus;
+  }
+
   /**
    * Create/Update Item.
    *
@@ -277,6 +293,7 @@ public final class CrudApis {
                   }
                   if (dbhandler.succeeded()) {
                     LOGGER.info("Success: Item created;");
+                    publishChange(valhandler.result().getString(ID), REQUEST_POST);
                     response.setStatusCode(201)
                           .end(dbhandler.result().toString());
                     if (hasAuditService && !isUac) {
@@ -293,6 +310,8 @@ public final class CrudApis {
                 dbService.updateItem(valhandler.result(), dbhandler -> {
                   if (dbhandler.succeeded()) {
                     LOGGER.info("Success: Item updated;");
+                    invalidateParent(valhandler.result().getString(ID));
+                    publishChange(valhandler.result().getString(ID), REQUEST_PUT);
                     response.setStatusCode(200)
                           .end(dbhandler.result().toString());
                     if (hasAuditService) {
@@ -317,6 +336,197 @@ public final class CrudApis {
       });
   }
 
+  /**
+   * Bulk Create/Update of the resource or resource group items of a provider.
+   *
+   * @param routingContext {@link RoutingContext}
+   */
+  public void bulkItemHandler(RoutingContext routingContext) {
+
+    LOGGER.debug("Info: Creating/Updating items in bulk");
+
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
+
+    JsonArray items;
+    try {
+      items = routingContext.body().asJsonArray();
+    } catch (Exception e) {
+      items = null;
+    }
+    String batchError = validateBatch(items);
+    if (batchError != null) {
+      LOGGER.error("Fail: Invalid batch;" + batchError);
+      response.setStatusCode(400)
+          .end(new RespBuilder()
+                  .withType(TYPE_INVALID_SYNTAX)
+                  .withTitle(TITLE_INVALID_SYNTAX)
+                  .withDetail(batchError)
+                  .getResponse());
+      return;
+    }
+    JsonObject firstItem = items.getJsonObject(0);
+    Set<String> type =
+        firstItem.getJsonArray(TYPE).stream().map(String.class::cast).collect(Collectors.toSet());
+    type.retainAll(ITEM_TYPES);
+    String itemType = type.toString().replaceAll("\\[", "").replaceAll("\\]", "");
+
+    JsonObject jwtAuthenticationInfo = new JsonObject()
+        .put(TOKEN, routingContext.request().getHeader(HEADER_TOKEN))
+        .put(METHOD, REQUEST_POST)
+        .put(API_ENDPOINT, api.getRouteItems())
+        .put(ITEM_TYPE, itemType);
+
+    if (isUac) {
+      handleBulkItems(routingContext, items, new JsonObject(), jwtAuthenticationInfo);
+      return;
+    }
+    /* All the items of a batch belong to one provider, so its links are resolved only once */
+    final JsonArray batch = items;
+    getParentObjectInfo(firstItem.getString(PROVIDER)).onComplete(ownerUserId -> {
+      if (ownerUserId.failed()) {
+        response.setStatusCode(400)
+            .end(new RespBuilder()
+                    .withType(TYPE_LINK_VALIDATION_FAILED)
+                    .withTitle(TITLE_LINK_VALIDATION_FAILED)
+                    .withDetail("Provider not found")
+                    .getResponse());
+        return;
+      }
+      String kcId = ownerUserId.result().getString(PROVIDER_USER_ID);
+      jwtAuthenticationInfo.put(PROVIDER_USER_ID, kcId);
+      jwtAuthenticationInfo.put(RESOURCE_SERVER_URL,
+          ownerUserId.result().getString(RESOURCE_SERVER_URL));
+      JsonObject parentInfo = new JsonObject()
+          .put(PROVIDER_USER_ID, kcId)
+          .put(COS_ITEM, ownerUserId.result().getString(COS_ITEM));
+      handleBulkItems(routingContext, batch, parentInfo, jwtAuthenticationInfo);
+    });
+  }
+
+  private void handleBulkItems(RoutingContext routingContext,
+                               JsonArray items,
+                               JsonObject parentInfo,
+                               JsonObject jwtAuthenticationInfo) {
+    HttpServerResponse response = routingContext.response();
+    String method = routingContext.request().method().toString();
+    authService.tokenInterospect(new JsonObject(),
+        jwtAuthenticationInfo, authHandler -> {
+        if (authHandler.failed()) {
+          LOGGER.error("Error: " + authHandler.cause().getMessage());
+          response.setStatusCode(401)
+              .end(new RespBuilder()
+                      .withType(TYPE_TOKEN_INVALID)
+                      .withTitle(TITLE_TOKEN_INVALID)
+                      .withDetail(authHandler.cause().getMessage())
+                      .getResponse());
+          return;
+        }
+        LOGGER.debug("Success: JWT Auth successful");
+        JsonObject request = new JsonObject().put(ITEMS, items).put(HTTP_METHOD, method);
+        validatorService.validateItems(request, valhandler -> {
+          if (valhandler.failed()) {
+            LOGGER.error("Fail: Items validation failed;" + valhandler.cause().getMessage());
+            response.setStatusCode(400)
+                .end(new RespBuilder()
+                        .withType(TYPE_LINK_VALIDATION_FAILED)
+                        .withTitle(TITLE_LINK_VALIDATION_FAILED)
+                        .withDetail(valhandler.cause().getMessage())
+                        .getResponse());
+            return;
+          }
+          JsonArray validItems = valhandler.result().getJsonArray(ITEMS);
+          JsonArray results = valhandler.result().getJsonArray(RESULTS);
+          validItems.forEach(item -> ((JsonObject) item).mergeIn(parentInfo));
+
+          Promise<JsonObject> dbPromise = Promise.promise();
+          if (method.equals(REQUEST_POST)) {
+            dbService.createItems(validItems, dbPromise);
+          } else {
+            dbService.updateItems(validItems, dbPromise);
+          }
+          dbPromise.future().onComplete(dbhandler -> {
+            if (dbhandler.failed()) {
+              LOGGER.error("Fail: Bulk write;" + dbhandler.cause().getMessage());
+              response.setStatusCode(400).end(dbhandler.cause().getMessage());
+              return;
+            }
+            results.addAll(dbhandler.result().getJsonArray(RESULTS));
+            int succeeded = 0;
+            for (int i = 0; i < results.size(); i++) {
+              JsonObject result = results.getJsonObject(i);
+              if (!FAILED.equals(result.getString(STATUS))) {
+                succeeded++;
+                if (method.equals(REQUEST_PUT)) {
+                  invalidateParent(result.getString(ID));
+                }
+                publishChange(result.getString(ID), method);
+                if (hasAuditService && !(isUac && method.equals(REQUEST_POST))) {
+                  updateAuditTable(authHandler.result().copy(),
+                      new String[]{result.getString(ID), api.getRouteItems(), method});
+                }
+              }
+            }
+            LOGGER.info("Success: Bulk write;" + succeeded + "/" + results.size());
+            String detail = String.format("%d of %d items %s", succeeded, results.size(),
+                method.equals(REQUEST_POST) ? "created" : "updated");
+            RespBuilder respBuilder = new RespBuilder().withDetail(detail).withResult(results);
+            if (succeeded == results.size()) {
+              response.setStatusCode(method.equals(REQUEST_POST) ? 201 : 200)
+                  .end(respBuilder.withType(TYPE_SUCCESS).withTitle(TITLE_SUCCESS).getResponse());
+            } else if (succeeded > 0) {
+              response.setStatusCode(207)
+                  .end(respBuilder
+                          .withType(TYPE_PARTIAL_SUCCESS)
+                          .withTitle(TITLE_PARTIAL_SUCCESS)
+                          .getResponse());
+            } else {
+              response.setStatusCode(400)
+                  .end(respBuilder.withType(TYPE_FAIL).withTitle(TITLE_FAIL).getResponse());
+            }
+          });
+        });
+      });
+  }
+
+  /**
+   * Checks that a bulk request is a bounded, non empty array of resource or resource group items
+   * of a single type which belong to the same provider.
+   *
+   * @param items the request body
+   * @return the reason why the batch is rejected, null if it is acceptable
+   */
+  private String validateBatch(JsonArray items) {
+    if (items == null || items.isEmpty()) {
+      return "Request body must be a non empty array of items";
+    }
+    if (items.size() > BULK_ITEMS_LIMIT) {
+      return "Number of items in a batch exceeds the limit of " + BULK_ITEMS_LIMIT;
+    }
+    Set<Object> types = new HashSet<>();
+    Set<Object> providers = new HashSet<>();
+    for (Object item : items) {
+      if (!(item instanceof JsonObject)
+          || !(((JsonObject) item).getValue(TYPE) instanceof JsonArray)) {
+        return "Invalid type for item/type not present";
+      }
+      Set<Object> itemTypes =
+          ((JsonObject) item).getJsonArray(TYPE).stream().collect(Collectors.toSet());
+      itemTypes.retainAll(ITEM_TYPES);
+      types.add(itemTypes);
+      providers.add(((JsonObject) item).getValue(PROVIDER));
+    }
+    if (types.size() != 1
+        || !(types.contains(Set.of(ITEM_TYPE_RESOURCE))
+            || types.contains(Set.of(ITEM_TYPE_RESOURCE_GROUP)))) {
+      return "A batch must contain either resource or resource group items only";
+    }
+    if (providers.size() != 1 || providers.contains(null)) {
+      return "All the items of a batch must belong to the same provider";
+    }
+    return null;
+  }
+
   /**
    * Get Item.
    *
@@ -350,8 +560,7 @@ public final class CrudApis {
                     .end(dbhandler.result().toString());
           } else {
             LOGGER.info("Success: Retreived item");
-            response.setStatusCode(200)
-                    .end(dbhandler.result().toString());
+            ResponseCache.end(routingContext, dbhandler.result().toString());
           }
         } else if (dbhandler.failed()) {
           LOGGER.error("Fail: Item not found;" + dbhandler.cause().getMessage());
@@ -493,6 +702,8 @@ public final class CrudApis {
                 LOGGER.info("Success: Item deleted;");
                 LOGGER.debug(dbHandler.result().toString());
                 if (dbHandler.result().getString(STATUS).equals(TITLE_SUCCESS)) {
+                  invalidateParent(itemId);
+                  publishChange(itemId, REQUEST_DELETE);
                   response.setStatusCode(200).end(dbHandler.result().toString());
                   if (hasAuditService && !isUac) {
                     updateAuditTable(authHandler.result(),
@@ -518,6 +729,11 @@ public final class CrudApis {
 
   Future<JsonObject> getParentObjectInfo(String itemId) {
     Promise<JsonObject> promise = Promise.promise();
+    JsonObject cached = parentCache == null ? null : parentCache.get(itemId);
+    if (cached != null) {
+      LOGGER.debug("Info: Parent object info served from cache");
+      return Future.succeededFuture(cached);
+    }
     JsonObject req = new JsonObject().put(ID, itemId)
             .put(SEARCH_TYPE, "getParentObjectInfo");
 
@@ -533,7 +749,11 @@ public final class CrudApis {
                   .withDetail("Fail: Doc doesn't exist, can't perform operation");
               promise.fail(respBuilder.getResponse());
             } else {
-              promise.complete(handler.result().getJsonArray("results").getJsonObject(0));
+              JsonObject parentInfo = handler.result().getJsonArray("results").getJsonObject(0);
+              if (parentCache != null) {
+                parentCache.put(itemId, parentInfo);
+              }
+              promise.complete(parentInfo);
             }
           } else {
             promise.fail(handler.cause());
@@ -592,6 +812,7 @@ public final class CrudApis {
         dbService.createItem(body, res -> {
           if (res.succeeded()) {
             LOGGER.info("Success: Instance created;");
+            publishChange(instance, REQUEST_POST);
             response.setStatusCode(201)
                 .end(res.result().toString());
             // TODO: call auditing service here
@@ -653,6 +874,7 @@ public final class CrudApis {
         dbService.deleteItem(body, res -> {
           if (res.succeeded()) {
             LOGGER.info("Success: Instance deleted;");
+            publishChange(instance, REQUEST_DELETE);
             response.setStatusCode(200)
                 .end(res.result().toString());
             // TODO: call auditing service here
@@ -666,6 +888,22 @@ public final class CrudApis {
     });
   }
 
+  private void invalidateParent(String itemId) {
+    if (parentCache != null) {
+      parentCache.invalidate(itemId);
+    }
+  }
+
+  private void publishChange(String itemId, String method) {
+    if (eventBus != null) {
+      JsonObject change =
+          new JsonObject().put(ID, itemId).put(CHANGE_KIND, ITEM_CHANGE).put(METHOD, method);
+      eventBus.publish(CATALOGUE_CHANGES_ADDRESS, change);
+      /* Sent, not published, so that the change is recorded once whatever the number of feeds */
+      eventBus.send(CHANGE_FEED_ADDRESS, change);
+    }
+  }
+
   /**
    * Check if the itemId contains certain invalid characters.
    *
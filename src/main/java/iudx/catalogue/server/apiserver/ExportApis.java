@@ -0,0 +1,129 @@
+/**
+ *
+ *
+ * <h1>ExportApis.java</h1>
+ *
+ * <p>Callback handlers for the Export API
+ */
+
+package iudx.catalogue.server.apiserver;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.database.DatabaseService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public final class ExportApis {
+
+  private static final Logger LOGGER = LogManager.getLogger(ExportApis.class);
+  private DatabaseService dbService;
+
+  public void setDbService(DatabaseService dbService) {
+    this.dbService = dbService;
+  }
+
+  /**
+   * Streams the items of the catalogue as newline delimited JSON, optionally filtered by their
+   * type, instance and provider.
+   *
+   * <p>The items are read from the database one page at a time, and the next page is only read
+   * once the previous one has been written to the client, so the memory used does not grow with
+   * the size of the catalogue.
+   *
+   * @param routingContext handles web requests in Vert.x Web
+   */
+  public void exportHandler(RoutingContext routingContext) {
+
+    LOGGER.debug("Info: Exporting items");
+
+    HttpServerRequest request = routingContext.request();
+    HttpServerResponse response = routingContext.response();
+
+    JsonObject requestBody = new JsonObject();
+    for (String filter : EXPORT_FILTERS) {
+      String value = request.getParam(filter);
+      if (value != null) {
+        if (value.isBlank()) {
+          LOGGER.error("Fail: Export; Empty " + filter);
+          response
+              .putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON)
+              .setStatusCode(400)
+              .end(
+                  new RespBuilder()
+                      .withType(TYPE_INVALID_QUERY_PARAM_VALUE)
+                      .withTitle(TITLE_INVALID_QUERY_PARAM_VALUE)
+                      .withDetail("Empty value of " + filter)
+                      .getResponse());
+          return;
+        }
+        requestBody.put(filter, value);
+      }
+    }
+
+    exportPage(response, requestBody.put(CURSOR, CURSOR_START));
+  }
+
+  /* Writes a page of the export, and reads the next page once the client can take it */
+  private void exportPage(HttpServerResponse response, JsonObject requestBody) {
+    dbService.exportItems(
+        requestBody,
+        dbHandler -> {
+          if (response.closed()) {
+            LOGGER.info("Info: Export closed by the client");
+            return;
+          }
+          if (dbHandler.failed()) {
+            LOGGER.error("Fail: Export;" + dbHandler.cause().getMessage());
+            if (response.headWritten()) {
+              /* Reset the stream so that the client does not take the export to be complete */
+              response.reset();
+            } else {
+              response
+                  .putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON)
+                  .setStatusCode(500)
+                  .end(dbHandler.cause().getMessage());
+            }
+            return;
+          }
+
+          if (!response.headWritten()) {
+            response
+                .putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_NDJSON)
+                .setChunked(true)
+                .setStatusCode(200);
+          }
+          JsonObject page = dbHandler.result();
+          Buffer chunk = Buffer.buffer();
+          for (Object item : page.getJsonArray(RESULTS, new JsonArray())) {
+            chunk.appendString(((JsonObject) item).encode()).appendString("\n");
+          }
+
+          String nextCursor = page.getString(NEXT_CURSOR);
+          if (nextCursor == null) {
+            LOGGER.info("Success: Export");
+            response.end(chunk);
+            return;
+          }
+          response.write(chunk);
+          JsonObject nextRequest = requestBody.copy().put(CURSOR, nextCursor);
+          if (response.writeQueueFull()) {
+            response.drainHandler(
+                v -> {
+                  response.drainHandler(null);
+                  exportPage(response, nextRequest);
+                });
+          } else {
+            exportPage(response, nextRequest);
+          }
+        });
+  }
+}
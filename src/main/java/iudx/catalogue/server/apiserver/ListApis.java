@@ -19,6 +19,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.util.QueryMapper;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.database.DatabaseService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -106,7 +107,7 @@ public final class ListApis {
           dbService.listOwnerOrCos(
               requestBody,
               dbHandler -> {
-                handleResponseFromDatabase(response, itemType, dbHandler);
+                handleResponseFromDatabase(routingContext, itemType, dbHandler);
               });
         } else {
 
@@ -114,7 +115,7 @@ public final class ListApis {
           dbService.listItems(
               requestBody,
               dbhandler -> {
-                handleResponseFromDatabase(response, itemType, dbhandler);
+                handleResponseFromDatabase(routingContext, itemType, dbhandler);
               });
         }
       } else {
@@ -142,10 +143,11 @@ public final class ListApis {
   }
 
   void handleResponseFromDatabase(
-      HttpServerResponse response, String itemType, AsyncResult<JsonObject> dbhandler) {
+      RoutingContext routingContext, String itemType, AsyncResult<JsonObject> dbhandler) {
+    HttpServerResponse response = routingContext.response();
     if (dbhandler.succeeded()) {
       LOGGER.info("Success: Item listing");
-      response.setStatusCode(200).end(dbhandler.result().toString());
+      ResponseCache.end(routingContext, dbhandler.result().toString());
     } else if (dbhandler.failed()) {
       LOGGER.error("Fail: Issue in listing " + itemType + ": " + dbhandler.cause().getMessage());
       response
@@ -14,6 +14,7 @@ import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.authenticator.AuthenticationService;
 import iudx.catalogue.server.mlayer.MlayerService;
 import iudx.catalogue.server.util.Api;
@@ -127,7 +128,7 @@ public class MlayerApis {
         requestParams,
         handler -> {
           if (handler.succeeded()) {
-            response.setStatusCode(200).end(handler.result().toString());
+            ResponseCache.end(routingContext, handler.result().toString());
           } else {
             response.setStatusCode(400).end(handler.cause().getMessage());
           }
@@ -340,7 +341,7 @@ public class MlayerApis {
         requestParams,
         handler -> {
           if (handler.succeeded()) {
-            response.setStatusCode(200).end(handler.result().toString());
+            ResponseCache.end(routingContext, handler.result().toString());
           } else {
             response.setStatusCode(400).end(handler.cause().getMessage());
           }
@@ -545,7 +546,7 @@ public class MlayerApis {
         requestParams,
         handler -> {
           if (handler.succeeded()) {
-            response.setStatusCode(200).end(handler.result().toString());
+            ResponseCache.end(routingContext, handler.result().toString());
           } else {
             if (handler.cause().getMessage().equals("No Content Available")) {
               response.setStatusCode(204).end();
@@ -617,7 +618,7 @@ public class MlayerApis {
         requestParams,
         handler -> {
           if (handler.succeeded()) {
-            response.setStatusCode(200).end(handler.result().toString());
+            ResponseCache.end(routingContext, handler.result().toString());
           } else {
             if (handler.cause().getMessage().contains(VALIDATION_FAILURE_MSG)) {
               response
@@ -713,7 +714,17 @@ public class MlayerApis {
         instance,
         handler -> {
           if (handler.succeeded()) {
-            response.setStatusCode(200).end(handler.result().toString());
+            JsonObject result = handler.result();
+            String version = (String) result.remove(VIEW_VERSION);
+            if (version != null) {
+              String etag = "\"" + version + "\"";
+              response.putHeader(HEADER_ETAG, etag);
+              if (etag.equals(routingContext.request().getHeader(HEADER_IF_NONE_MATCH))) {
+                response.setStatusCode(304).end();
+                return;
+              }
+            }
+            response.setStatusCode(200).end(result.toString());
           } else {
             if (handler.cause().getMessage().contains(VALIDATION_FAILURE_MSG)) {
               response
@@ -15,6 +15,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.util.QueryMapper;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.database.DatabaseService;
 import iudx.catalogue.server.util.Api;
 import org.apache.logging.log4j.LogManager;
@@ -69,7 +70,7 @@ public final class RelationshipApis {
             dbService.listRelationship(requestBody, dbhandler -> {
               if (dbhandler.succeeded()) {
                 LOGGER.info("Success: Retrieved relationships of " + itemType);
-                response.setStatusCode(200).end(dbhandler.result().toString());
+                ResponseCache.end(routingContext, dbhandler.result().toString());
               } else if (dbhandler.failed()) {
                 LOGGER
                     .error("Fail: Issue in listing relationship;" + dbhandler.cause().getMessage());
@@ -8,6 +8,7 @@ package iudx.catalogue.server.apiserver;
 import static iudx.catalogue.server.apiserver.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -20,6 +21,7 @@ import iudx.catalogue.server.database.DatabaseService;
 import iudx.catalogue.server.geocoding.GeocodingService;
 import iudx.catalogue.server.nlpsearch.NLPSearchService;
 import iudx.catalogue.server.util.Api;
+import iudx.catalogue.server.util.LatencyMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -73,6 +75,7 @@ public final class SearchApis {
    */
   public void searchHandler(RoutingContext routingContext) {
 
+    Timer.Sample sample = Timer.start();
     String path =  routingContext.normalisedPath();
 
     HttpServerRequest request = routingContext.request();
@@ -141,6 +144,20 @@ public final class SearchApis {
       JsonObject resp = QueryMapper.validateQueryParam(requestBody);
       if (resp.getString(STATUS).equals(SUCCESS)) {
 
+        /* The API stage includes the mapping, the event bus and the building of the response */
+        String operation =
+            path.equals(api.getRouteSearch()) ? OPERATION_SEARCH : OPERATION_COUNT;
+        String searchType = requestBody.getString(SEARCH_TYPE);
+        LatencyMetrics.recordSearch(sample, STAGE_MAPPING, operation, searchType, true);
+        routingContext.addEndHandler(
+            ended ->
+                LatencyMetrics.recordSearch(
+                    sample,
+                    STAGE_API,
+                    operation,
+                    searchType,
+                    ended.succeeded() && response.getStatusCode() < 400));
+
         if (path.equals(api.getRouteSearch())) {
           dbService.searchQuery(requestBody, handler -> {
             if (handler.succeeded()) {
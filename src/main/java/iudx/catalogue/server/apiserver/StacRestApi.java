@@ -20,6 +20,7 @@ import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.stack.StacServiceImpl;
 import iudx.catalogue.server.apiserver.stack.StacSevice;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import iudx.catalogue.server.apiserver.util.ResponseCache;
 import iudx.catalogue.server.auditing.AuditingService;
 import iudx.catalogue.server.authenticator.AuthenticationService;
 import iudx.catalogue.server.database.ElasticClient;
@@ -40,6 +41,7 @@ public class StacRestApi {
   private ElasticClient elasticClient;
   private StacSevice stackSevice;
   private RespBuilder respBuilder;
+  private ResponseCache responseCache;
 
   public StacRestApi(
       Router router,
@@ -63,6 +65,10 @@ public class StacRestApi {
     stackSevice = new StacServiceImpl(elasticClient, config.getString("docIndex"));
   }
 
+  public void setResponseCache(ResponseCache responseCache) {
+    this.responseCache = responseCache;
+  }
+
   Router init() {
     router
         .post(api.getStackRestApis())
@@ -101,6 +107,7 @@ public class StacRestApi {
 
     router
         .get(api.getStackRestApis())
+        .handler(this::cachedResponse)
         .handler(routingContext -> handleGetStackRequest(routingContext));
     router
         .delete(api.getStackRestApis())
@@ -137,7 +144,7 @@ public class StacRestApi {
               stackHandler -> {
                 if (stackHandler.succeeded()) {
                   JsonObject resultJson = stackHandler.result();
-                  handleSuccessResponse(response, 200, resultJson.toString());
+                  ResponseCache.end(routingContext, resultJson.toString());
                 } else {
                   LOGGER.error("Fail: Stack not found;" + stackHandler.cause().getMessage());
                   processBackendResponse(response, stackHandler.cause().getMessage());
@@ -195,6 +202,7 @@ public class StacRestApi {
                                 authInfo.put(API, path);
                                 authInfo.put(HTTP_METHOD, REQUEST_POST);
                                 Future.future(fu -> updateAuditTable(authInfo));
+                                invalidateResponses();
                                 response.setStatusCode(201).end(resultJson.toString());
                               } else {
                                 LOGGER.error(
@@ -262,6 +270,7 @@ public class StacRestApi {
                               if (updateHandler.succeeded()) {
                                 JsonObject resultJson = updateHandler.result();
                                 Future.future(fu -> updateAuditTable(authInfo));
+                                invalidateResponses();
                                 handleSuccessResponse(response, 201, resultJson.toString());
                               } else {
                                 processBackendResponse(
@@ -322,6 +331,7 @@ public class StacRestApi {
                         if (deleteHandler.succeeded()) {
                           JsonObject result = deleteHandler.result();
                           Future.future(fu -> updateAuditTable(authInfo));
+                          invalidateResponses();
                           handleSuccessResponse(response, 200, result.toString());
                         } else {
                           LOGGER.error(
@@ -387,6 +397,20 @@ public class StacRestApi {
     }
   }
 
+  private void cachedResponse(RoutingContext routingContext) {
+    if (responseCache != null) {
+      responseCache.handle(routingContext);
+    } else {
+      routingContext.next();
+    }
+  }
+
+  private void invalidateResponses() {
+    if (responseCache != null) {
+      responseCache.invalidate();
+    }
+  }
+
   private void handleSuccessResponse(HttpServerResponse response, int statusCode, String result) {
     response.putHeader(CONTENT_TYPE, APPLICATION_JSON).setStatusCode(statusCode).end(result);
   }
@@ -14,6 +14,8 @@ public class Constants {
   public static final String CAT_ADMIN = "catAdmin";
 
   public static final String HOST = "host";
+  public static final String COMPRESSION_THRESHOLD = "compressionThresholdBytes";
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
 
   /** Accept Headers and CORS. */
   public static final String HEADER_ACCEPT = "Accept";
@@ -30,6 +32,13 @@ public class Constants {
   public static final String HEADER_ORIGIN = "Origin";
   public static final String HEADER_REFERER = "Referer";
   public static final String HEADER_CORS = "Access-Control-Allow-Origin";
+  public static final String HEADER_ETAG = "ETag";
+  public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+  public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+  public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+  public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+  public static final String HEADER_VARY = "Vary";
+  public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
   public static final Set<String> ALLOWED_HEADERS =
       new HashSet<String>(
           Arrays.asList(
@@ -41,7 +50,8 @@ public class Constants {
               HEADER_INSTANCE,
               HEADER_ORIGIN,
               HEADER_REFERER,
-              HEADER_CORS));
+              HEADER_CORS,
+              HEADER_IF_NONE_MATCH));
 
   public static final Set<HttpMethod> ALLOWED_METHODS =
       new HashSet<HttpMethod>(
@@ -49,14 +59,26 @@ public class Constants {
 
   public static final String MIME_APPLICATION_JSON = "application/json";
   public static final String MIME_TEXT_HTML = "text/html";
+  public static final String MIME_APPLICATION_NDJSON = "application/x-ndjson";
+
+  /** Static files. */
+  public static final String UI_WEB_ROOT = "ui/dist/dk-customer-ui/";
+  public static final String UI_ASSETS_WEB_ROOT = "ui/dist/dk-customer-ui/assets/";
+  public static final String UI_INDEX = "ui/dist/dk-customer-ui/index.html";
+  public static final String OPENAPI_SPEC = "docs/openapi.yaml";
+  public static final String API_DOC = "docs/apidoc.html";
 
   /** Routes. */
   public static final String ROUTE_STATIC_SPEC = "/apis/spec";
+  /* Scripts and styles bundled at the root of the UI, as opposed to its pages */
+  public static final String ROUTE_UI_BUNDLES = "/[^/]+\\.(?:js|css)";
+  public static final String ROUTE_UI_ASSETS = "/assets/*";
 
   public static final String ROUTE_DOC = "/apis";
   public static final String ROUTE_ITEMS = "/item";
   public static final String ROUTE_UPDATE_ITEMS = "/item";
   public static final String ROUTE_DELETE_ITEMS = "/item";
+  public static final String ROUTE_ITEMS_BULK = "/item/bulk";
   public static final String ROUTE_INSTANCE = "/instance";
   public static final String ROUTE_LIST_RESOURCE_GROUP_REL = "\\/(?<id>.*)\\/resourceGroup";
 
@@ -79,6 +101,14 @@ public class Constants {
   public static final String ROUTE_GET_ITEM = "/items";
   public static final String ROUTE_COUNT = "/count";
   public static final String ROUTE_REL_SEARCH = "/relsearch";
+  public static final String ROUTE_EXPORT = "/export";
+  public static final String ROUTE_CHANGES = "/changes";
+  public static final ArrayList<String> EXPORT_FILTERS =
+      new ArrayList<String>(Arrays.asList(TYPE, INSTANCE, PROVIDER));
+  public static final String WAIT = "wait";
+  public static final int DEFAULT_CHANGES_LIMIT = 100;
+  public static final int MAX_CHANGES_LIMIT = 1000;
+  public static final int MAX_CHANGES_WAIT_SECONDS = 30;
 
   public static final String ROUTE_GEO_COORDINATES = "/geo";
   public static final String ROUTE_GEO_REVERSE = "/reversegeo";
@@ -0,0 +1,172 @@
+package iudx.catalogue.server.apiserver.util;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.MimeMapping;
+import io.vertx.ext.web.RoutingContext;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves static files through the variants compressed next to them when the image is built, a
+ * brotli <code>.br</code> or a gzip <code>.gz</code> file, if the client accepts their encoding.
+ * The variant is sent as it is, so the server does not compress the file on every request.
+ *
+ * <p>A handler of a file always serves it, compressed or not. A handler of a web root passes the
+ * request on to the next handler, typically a {@link io.vertx.ext.web.handler.StaticHandler}, when
+ * the requested file has no variant. It looks the variant up on the file system, so it belongs on
+ * the routes of static assets rather than on those of pages. Files whose name carries a content
+ * hash never change, so they are cached by clients for a year, whichever handler sends them.
+ */
+public final class PrecompressedHandler implements Handler<RoutingContext> {
+
+  private static final Logger LOGGER = LogManager.getLogger(PrecompressedHandler.class);
+  /* Content encodings in the order of preference, with the suffix of their variant */
+  private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+  private static final Pattern CONTENT_HASH =
+      Pattern.compile("[.-][0-9a-fA-F]{8,}\\.[0-9a-zA-Z]+$");
+  private static final long MAX_CACHED_LOOKUPS = 1024;
+  private final String file;
+  private final String webRoot;
+  /* Static files do not change while the server runs, so a variant is looked up only once */
+  private final Cache<String, Boolean> variants =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_LOOKUPS).build();
+
+  private PrecompressedHandler(String file, String webRoot) {
+    this.file = file;
+    this.webRoot = webRoot;
+  }
+
+  /**
+   * Creates a handler serving a file.
+   *
+   * @param file path of the file
+   * @return the PrecompressedHandler
+   */
+  public static PrecompressedHandler forFile(String file) {
+    return new PrecompressedHandler(file, null);
+  }
+
+  /**
+   * Creates a handler serving the variants of the files under a web root, to be added before the
+   * handler serving the files themselves. The file is the rest of the path of a route ending with
+   * <code>/*</code>, or else the whole path.
+   *
+   * @param webRoot directory of the files, ending with a <code>/</code>
+   * @return the PrecompressedHandler
+   */
+  public static PrecompressedHandler forWebRoot(String webRoot) {
+    return new PrecompressedHandler(null, webRoot);
+  }
+
+  @Override
+  public void handle(RoutingContext routingContext) {
+    String path = file != null ? file : resolve(routingContext);
+    if (path == null) {
+      routingContext.next();
+      return;
+    }
+    HttpServerResponse response = routingContext.response();
+    if (CONTENT_HASH.matcher(path).find()) {
+      /* Set last, the static handler would replace it with its own */
+      routingContext.addHeadersEndHandler(
+          v -> response.putHeader(HEADER_CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL));
+    }
+    String acceptEncoding = routingContext.request().getHeader(HEADER_ACCEPT_ENCODING);
+    variant(routingContext.vertx().fileSystem(), path, acceptEncoding, 0)
+        .onComplete(
+            lookup -> {
+              String[] encoding = lookup.succeeded() ? lookup.result() : null;
+              if (encoding == null) {
+                if (file == null) {
+                  routingContext.next();
+                } else {
+                  response.sendFile(path);
+                }
+                return;
+              }
+              LOGGER.debug("Serving {} variant of {}", encoding[0], path);
+              String contentType = MimeMapping.getMimeTypeForFilename(path);
+              response
+                  .putHeader(
+                      HEADER_CONTENT_TYPE,
+                      contentType == null ? "application/octet-stream" : contentType)
+                  .putHeader(HEADER_CONTENT_ENCODING, encoding[0])
+                  .putHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+              response.sendFile(path + encoding[1]);
+            });
+  }
+
+  private String resolve(RoutingContext routingContext) {
+    String rest = routingContext.pathParam("*");
+    if (rest == null) {
+      rest = routingContext.normalizedPath();
+    }
+    if (rest.isEmpty() || rest.endsWith("/") || rest.contains("..")) {
+      return null;
+    }
+    return webRoot + (rest.startsWith("/") ? rest.substring(1) : rest);
+  }
+
+  private Future<String[]> variant(
+      FileSystem fileSystem, String path, String acceptEncoding, int index) {
+    if (index == ENCODINGS.length) {
+      return Future.succeededFuture();
+    }
+    String[] encoding = ENCODINGS[index];
+    if (!accepts(acceptEncoding, encoding[0])) {
+      return variant(fileSystem, path, acceptEncoding, index + 1);
+    }
+    String variantPath = path + encoding[1];
+    Boolean known = variants.getIfPresent(variantPath);
+    Future<Boolean> exists =
+        known != null
+            ? Future.succeededFuture(known)
+            : fileSystem
+                .exists(variantPath)
+                .onSuccess(found -> variants.put(variantPath, found));
+    return exists.compose(
+        found ->
+            found
+                ? Future.succeededFuture(encoding)
+                : variant(fileSystem, path, acceptEncoding, index + 1));
+  }
+
+  /* An encoding is accepted when listed, or else matched by "*", without a q value of 0 */
+  static boolean accepts(String acceptEncoding, String encoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double listed = null;
+    Double wildcard = null;
+    for (String candidate : acceptEncoding.split(",")) {
+      String[] parts = candidate.split(";");
+      String name = parts[0].trim();
+      double quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String param = parts[i].trim();
+        if (param.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(param.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      if (name.equalsIgnoreCase(encoding)) {
+        listed = quality;
+      } else if (name.equals("*")) {
+        wildcard = quality;
+      }
+    }
+    Double quality = listed != null ? listed : wildcard;
+    return quality != null && quality > 0;
+  }
+}
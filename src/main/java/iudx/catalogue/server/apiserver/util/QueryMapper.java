@@ -292,6 +292,14 @@ public class QueryMapper {
       }
     }
 
+    /* A cursor replaces the offset param */
+    if (requestBody.containsKey(CURSOR) && requestBody.containsKey(OFFSET)) {
+      LOGGER.error("Error: The offset param is given with a cursor");
+      return errResponse
+          .put(TYPE, TYPE_INVALID_PROPERTY_VALUE)
+          .put(DESC, "The offset cannot be used with a cursor");
+    }
+
     return new JsonObject().put(STATUS, SUCCESS);
   }
 }
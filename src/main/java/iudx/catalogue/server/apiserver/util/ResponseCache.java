@@ -0,0 +1,227 @@
+package iudx.catalogue.server.apiserver.util;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import iudx.catalogue.server.util.LatencyMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Node local cache of the responses of the public GET APIs which read the catalogue, such as get
+ * item, list, relationship, the mlayer reads and get STAC.
+ *
+ * <p>The cache is added as a handler in front of the API handler of a route. A response is cached
+ * under the path, the query parameters in any order and the instance header of its request. A
+ * cached response is served by the cache itself; otherwise the API handler ends the request with
+ * {@link #end(RoutingContext, String)}, which caches the response. Every response carries a strong
+ * ETag computed from its body, and a request whose If-None-Match has the ETag gets a 304.
+ *
+ * <p>Entries are bounded by the total size of the cached bodies and expire after a configurable
+ * TTL. Any change to the catalogue clears the cache on every node of the cluster through the event
+ * bus, so the TTL only bounds staleness when an invalidation message is lost.
+ */
+public final class ResponseCache implements Handler<RoutingContext> {
+
+  private static final Logger LOGGER = LogManager.getLogger(ResponseCache.class);
+  private static final String CACHE = "responseCache";
+  private static final String CACHE_KEY = "responseCacheKey";
+  private static final String CACHE_GENERATION = "responseCacheGeneration";
+  private static volatile ResponseCache cacheInstance;
+  private final Vertx vertx;
+  private final Cache<String, CachedResponse> cache;
+  /* Incremented on every invalidation, so that a response read before one is not cached after */
+  private final AtomicLong generation = new AtomicLong();
+
+  ResponseCache(Vertx vertx, long maxBytes, long ttlSeconds) {
+    this.vertx = vertx;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, CachedResponse>weigher((key, cached) -> key.length() + cached.body.length())
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cache shared by all verticles deployed on this node, creating it on first use.
+   *
+   * @param vertx the vertx instance used for cluster wide invalidation
+   * @param config module config carrying the optional responseCacheMaxBytes and
+   *     responseCacheTtlSeconds keys
+   * @return the node local ResponseCache
+   */
+  public static ResponseCache getInstance(Vertx vertx, JsonObject config) {
+    if (cacheInstance == null) {
+      synchronized (ResponseCache.class) {
+        if (cacheInstance == null) {
+          ResponseCache instance =
+              new ResponseCache(
+                  vertx,
+                  config.getLong(RESPONSE_CACHE_MAX_BYTES, DEFAULT_RESPONSE_CACHE_MAX_BYTES),
+                  config.getLong(RESPONSE_CACHE_TTL, DEFAULT_RESPONSE_CACHE_TTL));
+          instance.bindMetrics();
+          vertx
+              .eventBus()
+              .<JsonObject>consumer(CATALOGUE_CHANGES_ADDRESS, message -> instance.clear());
+          vertx
+              .eventBus()
+              .consumer(RESPONSE_CACHE_INVALIDATION_ADDRESS, message -> instance.clear());
+          cacheInstance = instance;
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  private void bindMetrics() {
+    GuavaCacheMetrics.monitor(LatencyMetrics.registry(), cache, RESPONSE_CACHE_METRIC);
+  }
+
+  /**
+   * Serves the request from the cache, or passes it on to the API handler of the route.
+   *
+   * @param routingContext handles web requests in Vert.x Web
+   */
+  @Override
+  public void handle(RoutingContext routingContext) {
+    /* Let clients keep the response, as long as they revalidate it with its ETag */
+    routingContext.response().putHeader(HEADER_CACHE_CONTROL, "no-cache");
+    String key = keyOf(routingContext);
+    CachedResponse cached = cache.getIfPresent(key);
+    if (cached != null) {
+      LOGGER.debug("Serving cached response of {}", key);
+      send(routingContext, cached);
+      return;
+    }
+    routingContext.put(CACHE, this).put(CACHE_KEY, key).put(CACHE_GENERATION, generation.get());
+    routingContext.next();
+  }
+
+  /**
+   * Ends a request with a successful response, and caches the response if the route is cached.
+   *
+   * @param routingContext the routing context of the request
+   * @param body body of the response
+   */
+  public static void end(RoutingContext routingContext, String body) {
+    ResponseCache responseCache = routingContext.get(CACHE);
+    if (responseCache == null) {
+      routingContext.response().setStatusCode(200).end(body);
+      return;
+    }
+    responseCache.store(routingContext, body);
+  }
+
+  /**
+   * Clears the cache on every node. Called once the catalogue changes outside the item and mlayer
+   * APIs, which announce their changes on their own.
+   */
+  public void invalidate() {
+    clear();
+    if (vertx != null) {
+      vertx.eventBus().publish(RESPONSE_CACHE_INVALIDATION_ADDRESS, null);
+    }
+  }
+
+  private void store(RoutingContext routingContext, String body) {
+    String key = routingContext.get(CACHE_KEY);
+    long readAt = routingContext.get(CACHE_GENERATION);
+    CachedResponse cached =
+        new CachedResponse(
+            body,
+            routingContext.response().headers().get(HEADER_CONTENT_TYPE),
+            "\"" + Hashing.murmur3_128().hashString(body, StandardCharsets.UTF_8) + "\"");
+    cache.put(key, cached);
+    /* The catalogue changed while the response was read, so it may already be stale */
+    if (readAt != generation.get()) {
+      cache.invalidate(key);
+    }
+    send(routingContext, cached);
+  }
+
+  private void clear() {
+    LOGGER.debug("Clearing cached responses");
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private static void send(RoutingContext routingContext, CachedResponse cached) {
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HEADER_ETAG, cached.etag);
+    if (cached.contentType != null) {
+      response.putHeader(HEADER_CONTENT_TYPE, cached.contentType);
+    }
+    if (matches(routingContext.request().getHeader(HEADER_IF_NONE_MATCH), cached.etag)) {
+      response.setStatusCode(304).end();
+    } else {
+      response.setStatusCode(200).end(cached.body);
+    }
+  }
+
+  /* If-None-Match is compared weakly, and may list several ETags or be a wildcard */
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static String keyOf(RoutingContext routingContext) {
+    List<Map.Entry<String, String>> params =
+        new ArrayList<>(routingContext.queryParams().entries());
+    params.sort(
+        Comparator.comparing(Map.Entry<String, String>::getKey)
+            .thenComparing(Map.Entry::getValue));
+    JsonArray key =
+        new JsonArray()
+            .add(routingContext.normalizedPath())
+            .add(routingContext.request().getHeader(HEADER_INSTANCE));
+    params.forEach(param -> key.add(param.getKey()).add(param.getValue()));
+    return key.encode();
+  }
+
+  long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+
+  private static final class CachedResponse {
+    private final String body;
+    private final String contentType;
+    private final String etag;
+
+    private CachedResponse(String body, String contentType, String etag) {
+      this.body = body;
+      this.contentType = contentType;
+      this.etag = etag;
+    }
+  }
+}
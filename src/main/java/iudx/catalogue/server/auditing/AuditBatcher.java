@@ -0,0 +1,239 @@
+package iudx.catalogue.server.auditing;
+
+import static iudx.catalogue.server.auditing.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.databroker.DataBrokerService;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Buffers audit messages and publishes them to the broker in confirmed batches.
+ *
+ * <p>A batch is published once batchSize messages are buffered or the flush interval elapses, and
+ * only one batch is in flight at a time. Batches the broker does not confirm, and messages that
+ * arrive while more than maxPending are buffered, are appended to a local spill file as one JSON
+ * message per line. The spill file is replayed to the broker periodically, so a broker outage
+ * neither loses audit messages nor slows the API. Replay is at least once: a message may be
+ * published twice if the service stops between a confirmed replay batch and the spill file update.
+ *
+ * <p>All methods are expected to be called on the context of the auditing verticle.
+ */
+final class AuditBatcher {
+
+  private static final Logger LOGGER = LogManager.getLogger(AuditBatcher.class);
+  static final int DEFAULT_BATCH_SIZE = 100;
+  static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+  static final int DEFAULT_MAX_PENDING = 10000;
+  static final long DEFAULT_REPLAY_INTERVAL_SECONDS = 30;
+  static final String DEFAULT_SPILL_FILE = "./audit-spill.ndjson";
+
+  private final Vertx vertx;
+  private final DataBrokerService rmqService;
+  private final int batchSize;
+  private final int maxPending;
+  private final String spillFile;
+  private final String replayFile;
+  private final Deque<JsonObject> pending = new ArrayDeque<>();
+  private boolean publishing;
+  private boolean replaying;
+  private boolean brokerAvailable = true;
+  /* Serialises appends to the spill file with its hand over to replay */
+  private Future<Void> spillChain = Future.succeededFuture();
+
+  AuditBatcher(
+      Vertx vertx, DataBrokerService rmqService, int batchSize, int maxPending, String spillFile) {
+    this.vertx = vertx;
+    this.rmqService = rmqService;
+    this.batchSize = batchSize;
+    this.maxPending = maxPending;
+    this.spillFile = spillFile;
+    this.replayFile = spillFile + ".replay";
+  }
+
+  /**
+   * Starts the periodic flush and replay of the spill file.
+   *
+   * @param flushIntervalMillis maximum time a message is buffered before it is published
+   * @param replayIntervalSeconds interval at which the spill file is replayed
+   */
+  void start(long flushIntervalMillis, long replayIntervalSeconds) {
+    vertx.setPeriodic(flushIntervalMillis, id -> flush());
+    vertx.setPeriodic(replayIntervalSeconds * 1000, id -> replay());
+  }
+
+  /**
+   * Buffers an audit message, publishing a batch once enough messages are buffered.
+   *
+   * @param message the message to publish to the auditing exchange
+   */
+  void add(JsonObject message) {
+    if (pending.size() >= maxPending) {
+      spill(new JsonArray().add(message));
+      return;
+    }
+    pending.add(message);
+    if (pending.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  /** Publishes the next batch of buffered messages unless a batch is already in flight. */
+  Future<Void> flush() {
+    if (publishing || pending.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    JsonArray batch = new JsonArray();
+    while (batch.size() < batchSize && !pending.isEmpty()) {
+      batch.add(pending.poll());
+    }
+    if (!brokerAvailable) {
+      /* Until a replay succeeds batches go straight to the spill file */
+      return spill(batch).compose(spilled -> flush());
+    }
+    publishing = true;
+    return publish(batch)
+        .recover(cause -> spill(batch))
+        .compose(
+            done -> {
+              publishing = false;
+              return pending.size() >= batchSize ? flush() : Future.succeededFuture();
+            });
+  }
+
+  private Future<Void> publish(JsonArray batch) {
+    Promise<JsonObject> promise = Promise.promise();
+    rmqService.publishMessages(batch, EXCHANGE_NAME, ROUTING_KEY, promise);
+    return promise
+        .future()
+        .onSuccess(confirmed -> brokerAvailable = true)
+        .onFailure(
+            cause -> {
+              brokerAvailable = false;
+              LOGGER.error("Fail: Publishing {} audit messages; {}", batch.size(), cause);
+            })
+        .mapEmpty();
+  }
+
+  private Future<Void> spill(JsonArray messages) {
+    Buffer lines = Buffer.buffer();
+    messages.forEach(message -> lines.appendString(message.toString()).appendString("\n"));
+    FileSystem fileSystem = vertx.fileSystem();
+    spillChain =
+        spillChain.compose(
+            previous ->
+                fileSystem
+                    .open(spillFile, new OpenOptions().setAppend(true).setCreate(true))
+                    .compose(file -> file.write(lines).eventually(() -> file.close()))
+                    .onSuccess(
+                        written ->
+                            LOGGER.warn(
+                                "Spilled {} audit messages to {}", messages.size(), spillFile))
+                    .onFailure(
+                        cause ->
+                            LOGGER.error(
+                                "Fail: Spilling {} audit messages; {}", messages.size(), cause))
+                    .otherwiseEmpty());
+    return spillChain;
+  }
+
+  /**
+   * Publishes the messages of the spill file to the broker.
+   *
+   * <p>The spill file is first moved aside so that new spills do not race with the replay. A
+   * replay file left by an earlier failed replay is published before the spill file is moved.
+   */
+  Future<Void> replay() {
+    if (replaying) {
+      return Future.succeededFuture();
+    }
+    replaying = true;
+    FileSystem fileSystem = vertx.fileSystem();
+    spillChain =
+        spillChain.compose(
+            previous ->
+                fileSystem
+                    .exists(replayFile)
+                    .compose(
+                        pendingReplay ->
+                            pendingReplay
+                                ? Future.succeededFuture()
+                                : fileSystem
+                                    .exists(spillFile)
+                                    .compose(
+                                        spilled ->
+                                            spilled
+                                                ? fileSystem.move(spillFile, replayFile)
+                                                : Future.succeededFuture()))
+                    .otherwiseEmpty());
+    return spillChain
+        .compose(moved -> fileSystem.exists(replayFile))
+        .compose(
+            exists ->
+                exists
+                    ? fileSystem
+                        .readFile(replayFile)
+                        .compose(contents -> replayLines(contents.toString().split("\n"), 0))
+                    : Future.succeededFuture())
+        .onComplete(replayed -> replaying = false)
+        .onFailure(cause -> LOGGER.warn("Audit spill file not replayed; {}", cause.getMessage()));
+  }
+
+  private Future<Void> replayLines(String[] lines, int from) {
+    JsonArray batch = new JsonArray();
+    int next = from;
+    while (batch.size() < batchSize && next < lines.length) {
+      try {
+        if (!lines[next].isBlank()) {
+          batch.add(new JsonObject(lines[next]));
+        }
+      } catch (DecodeException e) {
+        /* A line cut short by a crash while spilling */
+        LOGGER.warn("Skipping malformed audit message in {}", replayFile);
+      }
+      next++;
+    }
+    if (batch.isEmpty()) {
+      LOGGER.info("Replayed audit spill file");
+      return vertx.fileSystem().delete(replayFile);
+    }
+    int replayed = next;
+    return publish(batch)
+        .recover(
+            cause -> {
+              /* Keep only the messages which were not confirmed for the next replay */
+              Buffer remaining = Buffer.buffer();
+              for (int i = from; i < lines.length; i++) {
+                remaining.appendString(lines[i]).appendString("\n");
+              }
+              return vertx
+                  .fileSystem()
+                  .writeFile(replayFile, remaining)
+                  .compose(written -> Future.failedFuture(cause));
+            })
+        .compose(published -> replayLines(lines, replayed));
+  }
+
+  /** Writes the buffered messages to the spill file so that they are replayed after a restart. */
+  Future<Void> drain() {
+    JsonArray remaining = new JsonArray();
+    while (!pending.isEmpty()) {
+      remaining.add(pending.poll());
+    }
+    return remaining.isEmpty() ? spillChain : spill(remaining);
+  }
+
+  int pending() {
+    return pending.size();
+  }
+}
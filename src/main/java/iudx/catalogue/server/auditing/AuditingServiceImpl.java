@@ -33,6 +33,7 @@ public class AuditingServiceImpl implements AuditingService {
   private int databasePoolSize;
   private String databaseTableName;
   public static DataBrokerService rmqService;
+  private AuditBatcher batcher;
 
   /**
    * Constructs an instance of the AuditingServiceImpl class with the given property
@@ -68,6 +69,19 @@ public class AuditingServiceImpl implements AuditingService {
 
   }
 
+  /**
+   * Constructs an AuditingServiceImpl which hands audit messages to a batcher instead of
+   * publishing each message on its own.
+   *
+   * @param propObj The property object containing the database configuration parameters.
+   * @param vertxInstance The Vert.x instance to use for database connections.
+   * @param batcher buffers the messages and publishes them to the broker in confirmed batches
+   */
+  AuditingServiceImpl(JsonObject propObj, Vertx vertxInstance, AuditBatcher batcher) {
+    this(propObj, vertxInstance);
+    this.batcher = batcher;
+  }
+
   @Override
   public AuditingService insertAuditngValuesInRmq(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
@@ -77,6 +91,11 @@ public class AuditingServiceImpl implements AuditingService {
     rmqMessage = queryBuilder.buildMessageForRmq(request);
 
     LOGGER.debug("audit rmq Message body: " + rmqMessage);
+    if (batcher != null) {
+      batcher.add(rmqMessage);
+      handler.handle(Future.succeededFuture());
+      return this;
+    }
     rmqService.publishMessage(
         rmqMessage,
         EXCHANGE_NAME,
@@ -1,12 +1,18 @@
 package iudx.catalogue.server.auditing;
 
+import static iudx.catalogue.server.auditing.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.BROKER_SERVICE_ADDRESS;
+
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.serviceproxy.ServiceBinder;
 import io.vertx.sqlclient.PoolOptions;
+import iudx.catalogue.server.databroker.DataBrokerService;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -39,6 +45,7 @@ public class AuditingVerticle extends AbstractVerticle {
   private ServiceBinder binder;
   private MessageConsumer<JsonObject> consumer;
   private AuditingService auditing;
+  private AuditBatcher batcher;
 
   /**
    * This method is used to start the Verticle. It deploys a verticle in a cluster, registers the
@@ -69,14 +76,27 @@ public class AuditingVerticle extends AbstractVerticle {
     propObj.put("auditingPoolSize", poolSize);
 
     binder = new ServiceBinder(vertx);
-    auditing = new AuditingServiceImpl(propObj, vertx);
+    batcher =
+        new AuditBatcher(
+            vertx,
+            DataBrokerService.createProxy(vertx, BROKER_SERVICE_ADDRESS),
+            config().getInteger(AUDIT_BATCH_SIZE, AuditBatcher.DEFAULT_BATCH_SIZE),
+            config().getInteger(AUDIT_MAX_PENDING, AuditBatcher.DEFAULT_MAX_PENDING),
+            config().getString(AUDIT_SPILL_FILE, AuditBatcher.DEFAULT_SPILL_FILE));
+    batcher.start(
+        config().getLong(AUDIT_FLUSH_INTERVAL, AuditBatcher.DEFAULT_FLUSH_INTERVAL_MS),
+        config().getLong(AUDIT_REPLAY_INTERVAL, AuditBatcher.DEFAULT_REPLAY_INTERVAL_SECONDS));
+    auditing = new AuditingServiceImpl(propObj, vertx, batcher);
     consumer = binder.setAddress(AUDITING_SERVICE_ADDRESS)
             .register(AuditingService.class, auditing);
+    LocalServices.register(vertx, AUDITING_SERVICE_ADDRESS, auditing);
     LOGGER.info("Auditing Service Started");
   }
 
   @Override
-  public void stop() {
+  public void stop(Promise<Void> stopPromise) {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, AUDITING_SERVICE_ADDRESS, auditing);
+    batcher.drain().onComplete(stopPromise);
   }
 }
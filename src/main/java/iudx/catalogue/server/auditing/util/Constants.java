@@ -50,6 +50,11 @@ public class Constants {
   public static final String PRIMARY_KEY = "primaryKey";
   public static final String ORIGIN = "origin";
   public static final String ORIGIN_SERVER = "cat-server";
+  public static final String AUDIT_BATCH_SIZE = "auditBatchSize";
+  public static final String AUDIT_FLUSH_INTERVAL = "auditFlushIntervalMillis";
+  public static final String AUDIT_MAX_PENDING = "auditMaxPending";
+  public static final String AUDIT_REPLAY_INTERVAL = "auditReplayIntervalSeconds";
+  public static final String AUDIT_SPILL_FILE = "auditSpillFile";
   public static final String WRITE_QUERY =
           "INSERT INTO $0 (id, userRole, userId, iid, api, method, time, iudxID) VALUES"
                   + " ('$1','$2','$3','$4','$5','$6',$7,'$8')";
@@ -4,8 +4,6 @@ import static iudx.catalogue.server.authenticator.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
 import com.nimbusds.jose.*;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.source.*;
 import com.nimbusds.jose.proc.*;
 import com.nimbusds.jwt.*;
 import com.nimbusds.jwt.proc.*;
@@ -22,12 +20,12 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.util.Api;
-import java.io.IOException;
-import java.net.URL;
-import java.text.ParseException;
+import iudx.catalogue.server.util.LocalServices;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,13 +44,15 @@ public class AuthenticationVerticle extends AbstractVerticle {
 
   private static final Logger LOGGER = LogManager.getLogger(AuthenticationVerticle.class);
   private static WebClient webClient;
-  private AuthenticationService jwtAuthenticationService;
+  private JwtAuthenticationServiceImpl jwtAuthenticationService;
   private AuthenticationService kcAuthenticationService;
   private ServiceBinder binder;
   private MessageConsumer<JsonObject> consumer;
   private Api api;
   private String dxApiBasePath;
   private boolean isUac;
+  private String jwtPublicKey;
+  private TokenCache tokenCache;
 
   static WebClient createWebClient(Vertx vertx, JsonObject config) {
     return createWebClient(vertx, config, false);
@@ -68,14 +68,18 @@ public class AuthenticationVerticle extends AbstractVerticle {
   }
 
   static Future<String> getJwtPublicKey(Vertx vertx, JsonObject config) {
-    Promise<String> promise = Promise.promise();
     webClient = createWebClient(vertx, config);
+    return fetchJwtPublicKey(webClient, config);
+  }
+
+  private static Future<String> fetchJwtPublicKey(WebClient client, JsonObject config) {
+    Promise<String> promise = Promise.promise();
     if (config.containsKey(PUBLIC_KEY)) {
       promise.complete(config.getString(PUBLIC_KEY));
     } else {
       String authCert = config.getString("dxAuthBasePath") + AUTH_CERTIFICATE_PATH;
 
-      webClient
+      client
           .get(443, config.getString("authServerHost"), authCert)
           .send(
               handler -> {
@@ -102,6 +106,12 @@ public class AuthenticationVerticle extends AbstractVerticle {
     isUac = config().getBoolean(UAC_DEPLOYMENT);
     binder = new ServiceBinder(vertx);
     binder.setAddress(AUTH_SERVICE_ADDRESS);
+    tokenCache =
+        new TokenCache(
+            config().getLong(TOKEN_CACHE_MAX_SIZE, DEFAULT_TOKEN_CACHE_MAX_SIZE),
+            config().getLong(TOKEN_CACHE_TTL, DEFAULT_TOKEN_CACHE_TTL),
+            JWT_LEEWAY_TIME);
+    tokenCache.bindMetrics(TOKEN_CACHE_METRIC);
     if (isUac) {
       setKeycloakAuthService();
     } else {
@@ -113,34 +123,22 @@ public class AuthenticationVerticle extends AbstractVerticle {
     getJwtPublicKey(vertx, config())
         .onSuccess(
             handler -> {
-              String cert = handler;
-
-              JWTAuthOptions jwtAuthOptions = new JWTAuthOptions();
-              jwtAuthOptions.addPubSecKey(
-                  new PubSecKeyOptions().setAlgorithm("ES256").setBuffer(cert));
-              /* Default jwtIgnoreExpiry is false.
-              If set through config, then that value is taken */
-              boolean jwtIgnoreExpiry =
-                  config().getBoolean("jwtIgnoreExpiry") != null
-                      && config().getBoolean("jwtIgnoreExpiry");
-              if (jwtIgnoreExpiry) {
-                jwtAuthOptions.getJWTOptions().setIgnoreExpiration(true);
-                LOGGER.warn(
-                    "JWT ignore expiration set to true, do not "
-                        + "set IgnoreExpiration in production!!");
-              }
-              jwtAuthOptions.getJWTOptions().setLeeway(JWT_LEEWAY_TIME);
-
-              JWTAuth jwtAuth = JWTAuth.create(vertx, jwtAuthOptions);
+              jwtPublicKey = handler;
+              JWTAuth jwtAuth = createJwtAuth(jwtPublicKey);
 
               dxApiBasePath = config().getString("dxApiBasePath");
               api = Api.getInstance(dxApiBasePath);
-              jwtAuthenticationService = new JwtAuthenticationServiceImpl(jwtAuth, config(), api);
+              jwtAuthenticationService =
+                  new JwtAuthenticationServiceImpl(jwtAuth, config(), api, tokenCache);
 
               /* Publish the Authentication service with the Event Bus against an address. */
               consumer = binder.register(AuthenticationService.class, jwtAuthenticationService);
+              LocalServices.register(vertx, AUTH_SERVICE_ADDRESS, jwtAuthenticationService);
 
               LOGGER.info("Authentication verticle deployed");
+              if (!config().containsKey(PUBLIC_KEY)) {
+                refreshJwtPublicKey();
+              }
             })
         .onFailure(
             handler -> {
@@ -149,14 +147,59 @@ public class AuthenticationVerticle extends AbstractVerticle {
             });
   }
 
-  private void setKeycloakAuthService() throws IOException, ParseException {
+  private JWTAuth createJwtAuth(String cert) {
+    JWTAuthOptions jwtAuthOptions = new JWTAuthOptions();
+    jwtAuthOptions.addPubSecKey(new PubSecKeyOptions().setAlgorithm("ES256").setBuffer(cert));
+    /* Default jwtIgnoreExpiry is false.
+    If set through config, then that value is taken */
+    boolean jwtIgnoreExpiry =
+        config().getBoolean("jwtIgnoreExpiry") != null && config().getBoolean("jwtIgnoreExpiry");
+    if (jwtIgnoreExpiry) {
+      jwtAuthOptions.getJWTOptions().setIgnoreExpiration(true);
+      LOGGER.warn("JWT ignore expiration set to true, do not set IgnoreExpiration in production!!");
+    }
+    jwtAuthOptions.getJWTOptions().setLeeway(JWT_LEEWAY_TIME);
+
+    return JWTAuth.create(vertx, jwtAuthOptions);
+  }
+
+  /* Fetches the public key of the auth server on a schedule, so that a rotated key is picked up */
+  private void refreshJwtPublicKey() {
+    long intervalMs =
+        TimeUnit.SECONDS.toMillis(
+            config().getLong(KEY_REFRESH_INTERVAL, DEFAULT_KEY_REFRESH_INTERVAL));
+    long jitterMs = ThreadLocalRandom.current().nextLong(intervalMs / 10 + 1);
+    vertx.setPeriodic(
+        intervalMs + jitterMs,
+        id ->
+            fetchJwtPublicKey(webClient, config())
+                .onSuccess(
+                    cert -> {
+                      if (cert != null && !cert.equals(jwtPublicKey)) {
+                        LOGGER.info("JWT public key of the auth server changed");
+                        jwtAuthenticationService.setJwtAuth(createJwtAuth(cert));
+                        jwtPublicKey = cert;
+                      }
+                    })
+                .onFailure(err -> LOGGER.error("Failed to refresh JWT public key")));
+  }
+
+  private void setKeycloakAuthService() {
     String keyCloakHost = config().getString(KEYCLOACK_HOST);
     String certsEndpoint = config().getString(CERTS_ENDPOINT);
     String audience = config().getString("host");
 
-    URL jwksUrl = new URL(keyCloakHost.concat(certsEndpoint));
-    JWKSet publicKeys = JWKSet.load(jwksUrl);
-    JWKSource<SecurityContext> keySource = new ImmutableJWKSet<>(publicKeys);
+    JwksKeySource keySource =
+        new JwksKeySource(
+            vertx,
+            WebClient.create(vertx),
+            keyCloakHost.concat(certsEndpoint),
+            config().getLong(KEY_REFRESH_MIN_INTERVAL, DEFAULT_KEY_REFRESH_MIN_INTERVAL),
+            tokenCache::invalidateAll);
+    /* Tokens are verified once the keys are fetched, the service is not held up for them */
+    keySource
+        .start(config().getLong(KEY_REFRESH_INTERVAL, DEFAULT_KEY_REFRESH_INTERVAL))
+        .onFailure(err -> LOGGER.error("Keycloak keys not fetched, retrying on the next refresh"));
     JWSAlgorithm expectedJwsAlgo = JWSAlgorithm.RS256;
     JWSKeySelector<SecurityContext> keySelector =
         new JWSVerificationKeySelector<>(expectedJwsAlgo, keySource);
@@ -174,14 +217,18 @@ public class AuthenticationVerticle extends AbstractVerticle {
 
     dxApiBasePath = config().getString("dxApiBasePath");
     api = Api.getInstance(dxApiBasePath);
-    kcAuthenticationService = new KcAuthenticationServiceImpl(jwtProcessor, config(), api);
+    kcAuthenticationService =
+        new KcAuthenticationServiceImpl(jwtProcessor, config(), api, tokenCache, keySource);
 
     consumer = binder.register(AuthenticationService.class, kcAuthenticationService);
+    LocalServices.register(vertx, AUTH_SERVICE_ADDRESS, kcAuthenticationService);
     LOGGER.debug("AuthVerticle Deployed");
   }
 
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, AUTH_SERVICE_ADDRESS, jwtAuthenticationService);
+    LocalServices.unregister(vertx, AUTH_SERVICE_ADDRESS, kcAuthenticationService);
   }
 }
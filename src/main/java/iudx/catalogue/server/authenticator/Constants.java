@@ -37,5 +37,18 @@ public class Constants {
   public static final String MLAYER_PROVIDERS_ENDPOINT = MLAYER_BASE_PATH + "/providers";
   public static final int JWT_LEEWAY_TIME = 30;
 
+  /* Verified token cache */
+  public static final String TOKEN_CACHE_MAX_SIZE = "tokenCacheMaxSize";
+  public static final String TOKEN_CACHE_TTL = "tokenCacheTtlSeconds";
+  public static final String TOKEN_CACHE_METRIC = "cat.token.cache";
+  public static final long DEFAULT_TOKEN_CACHE_MAX_SIZE = 10000;
+  public static final long DEFAULT_TOKEN_CACHE_TTL = 900;
+
+  /* Refresh of the public keys of the auth server */
+  public static final String KEY_REFRESH_INTERVAL = "keyRefreshIntervalSeconds";
+  public static final String KEY_REFRESH_MIN_INTERVAL = "keyRefreshMinIntervalSeconds";
+  public static final long DEFAULT_KEY_REFRESH_INTERVAL = 3600;
+  public static final long DEFAULT_KEY_REFRESH_MIN_INTERVAL = 30;
+
 
 }
@@ -0,0 +1,189 @@
+package iudx.catalogue.server.authenticator;
+
+import static iudx.catalogue.server.util.Constants.SERVICE_TIMEOUT;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.SignedJWT;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Source of the public keys of Keycloak, fetched from its JWKS endpoint without blocking and kept
+ * up to date, so that a key rotation does not need a restart.
+ *
+ * <p>The keys are fetched when the source is started, again on a schedule, and again when a token
+ * is signed by a key that is not known yet. Fetches for unknown keys are rate limited, so tokens
+ * with a bogus <code>kid</code> do not flood Keycloak, and the schedule of each node is offset by a
+ * random jitter, so the nodes of a cluster do not fetch together. A failed fetch keeps the keys
+ * already known. The keys are indexed by their <code>kid</code> in a map that is replaced as a
+ * whole on every fetch, so verification reads them without locking. Once the fetched keys differ
+ * from the known ones, the listener of the source is called, so tokens verified by a removed key
+ * are not served from a cache any longer.
+ *
+ * <p>Fetches are started on the context of the authentication verticle only.
+ */
+final class JwksKeySource implements JWKSource<SecurityContext> {
+
+  private static final Logger LOGGER = LogManager.getLogger(JwksKeySource.class);
+  private final Vertx vertx;
+  private final WebClient client;
+  private final String url;
+  private final long minRefreshIntervalMs;
+  private final Runnable onKeysChanged;
+  private volatile JWKSet jwkSet = new JWKSet();
+  private volatile Map<String, JWK> keysById = Collections.emptyMap();
+  private Future<Void> refreshing;
+  private long lastRefresh;
+
+  /**
+   * Constructs a key source.
+   *
+   * @param vertx the vertx instance
+   * @param client the WebClient used to fetch the keys
+   * @param url absolute URL of the JWKS endpoint
+   * @param minRefreshIntervalSeconds minimum seconds between the fetches for unknown keys
+   */
+  JwksKeySource(Vertx vertx, WebClient client, String url, long minRefreshIntervalSeconds) {
+    this(vertx, client, url, minRefreshIntervalSeconds, () -> {});
+  }
+
+  /**
+   * Constructs a key source which calls a listener when the keys change.
+   *
+   * @param vertx the vertx instance
+   * @param client the WebClient used to fetch the keys
+   * @param url absolute URL of the JWKS endpoint
+   * @param minRefreshIntervalSeconds minimum seconds between the fetches for unknown keys
+   * @param onKeysChanged called once fetched keys replace different known keys
+   */
+  JwksKeySource(
+      Vertx vertx,
+      WebClient client,
+      String url,
+      long minRefreshIntervalSeconds,
+      Runnable onKeysChanged) {
+    this.vertx = vertx;
+    this.client = client;
+    this.url = url;
+    this.minRefreshIntervalMs = TimeUnit.SECONDS.toMillis(minRefreshIntervalSeconds);
+    this.onKeysChanged = onKeysChanged;
+  }
+
+  /**
+   * Fetches the keys and schedules their refresh.
+   *
+   * @param refreshIntervalSeconds seconds between the scheduled fetches
+   * @return Future of the first fetch
+   */
+  Future<Void> start(long refreshIntervalSeconds) {
+    long intervalMs = TimeUnit.SECONDS.toMillis(refreshIntervalSeconds);
+    long jitterMs = ThreadLocalRandom.current().nextLong(intervalMs / 10 + 1);
+    vertx.setPeriodic(intervalMs + jitterMs, id -> refresh());
+    return refresh();
+  }
+
+  /**
+   * Makes sure the key that signed a token is known, fetching the keys if it is not and the last
+   * fetch is old enough.
+   *
+   * @param token the token to be verified
+   * @return Future completed once the keys are up to date
+   */
+  Future<Void> ensureKey(String token) {
+    String keyId;
+    try {
+      keyId = SignedJWT.parse(token).getHeader().getKeyID();
+    } catch (ParseException e) {
+      /* The token is rejected when it is verified */
+      return Future.succeededFuture();
+    }
+    if (keyId == null || keysById.containsKey(keyId)) {
+      return Future.succeededFuture();
+    }
+    if (refreshing == null && System.currentTimeMillis() - lastRefresh < minRefreshIntervalMs) {
+      LOGGER.debug("Key {} unknown, keys were fetched recently", keyId);
+      return Future.succeededFuture();
+    }
+    LOGGER.info("Key {} unknown, fetching keys", keyId);
+    return refresh();
+  }
+
+  Future<Void> refresh() {
+    if (refreshing != null) {
+      return refreshing;
+    }
+    lastRefresh = System.currentTimeMillis();
+    Future<Void> fetch =
+        client
+            .getAbs(url)
+            .timeout(SERVICE_TIMEOUT)
+            .send()
+            .compose(
+                response -> {
+                  if (response.statusCode() != 200) {
+                    return Future.failedFuture("JWKS endpoint returned " + response.statusCode());
+                  }
+                  try {
+                    update(JWKSet.parse(response.bodyAsString()));
+                    return Future.<Void>succeededFuture();
+                  } catch (ParseException e) {
+                    return Future.failedFuture(e);
+                  }
+                })
+            .onFailure(
+                err -> LOGGER.error("Failed to fetch keys from {}; {}", url, err.getMessage()));
+    refreshing = fetch;
+    fetch.onComplete(done -> refreshing = null);
+    return fetch;
+  }
+
+  private void update(JWKSet fetched) {
+    Map<String, JWK> byId = new HashMap<>();
+    for (JWK key : fetched.getKeys()) {
+      if (key.getKeyID() != null) {
+        byId.put(key.getKeyID(), key);
+      }
+    }
+    boolean changed = !fetched.getKeys().equals(jwkSet.getKeys());
+    jwkSet = fetched;
+    keysById = byId;
+    LOGGER.debug("Fetched {} keys from {}", fetched.getKeys().size(), url);
+    if (changed) {
+      LOGGER.info("Keys of {} changed", url);
+      onKeysChanged.run();
+    }
+  }
+
+  @Override
+  public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+    Set<String> keyIds = jwkSelector.getMatcher().getKeyIDs();
+    if (keyIds == null || keyIds.isEmpty() || keyIds.contains(null)) {
+      return jwkSelector.select(jwkSet);
+    }
+    Map<String, JWK> current = keysById;
+    List<JWK> matches = new ArrayList<>();
+    for (String keyId : keyIds) {
+      JWK key = current.get(keyId);
+      if (key != null && jwkSelector.getMatcher().matches(key)) {
+        matches.add(key);
+      }
+    }
+    return matches;
+  }
+}
@@ -37,21 +37,48 @@ import org.apache.logging.log4j.Logger;
 public class JwtAuthenticationServiceImpl implements AuthenticationService {
   private static final Logger LOGGER = LogManager.getLogger(JwtAuthenticationServiceImpl.class);
 
-  final JWTAuth jwtAuth;
+  volatile JWTAuth jwtAuth;
   final String audience;
   final String consumerAudience;
   final String issuer;
   private Api api;
+  private final TokenCache tokenCache;
 
   JwtAuthenticationServiceImpl(final JWTAuth jwtAuth, final JsonObject config, final Api api) {
+    this(jwtAuth, config, api, null);
+  }
+
+  JwtAuthenticationServiceImpl(
+      final JWTAuth jwtAuth, final JsonObject config, final Api api, final TokenCache tokenCache) {
     this.jwtAuth = jwtAuth;
     this.audience = config.getString("host");
     this.consumerAudience = config.getString("consumerHost");
     this.issuer = config.getString("issuer");
     this.api = api;
+    this.tokenCache = tokenCache;
+  }
+
+  /**
+   * Replaces the JWTAuth verifying tokens, once the public key of the auth server changes. The
+   * tokens verified with the old key are dropped from the cache.
+   *
+   * @param jwtAuth the JWTAuth with the new public key
+   */
+  void setJwtAuth(JWTAuth jwtAuth) {
+    this.jwtAuth = jwtAuth;
+    if (tokenCache != null) {
+      tokenCache.invalidateAll();
+    }
   }
 
   Future<JwtData> decodeJwt(String jwtToken) {
+    if (tokenCache == null) {
+      return verifyJwt(jwtToken);
+    }
+    return tokenCache.get(jwtToken, () -> verifyJwt(jwtToken));
+  }
+
+  private Future<JwtData> verifyJwt(String jwtToken) {
     Promise<JwtData> promise = Promise.promise();
 
     TokenCredentials credentials = new TokenCredentials(jwtToken);
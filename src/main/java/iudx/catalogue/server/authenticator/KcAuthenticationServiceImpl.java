@@ -34,6 +34,8 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
   private Api api;
   private String uacAdmin;
   private String issuer;
+  private final TokenCache tokenCache;
+  private final JwksKeySource keySource;
 
   /**
    * Constructs a new instance of KcAuthenticationServiceImpl.
@@ -44,18 +46,43 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
    */
   public KcAuthenticationServiceImpl(
       final JWTProcessor<SecurityContext> jwtProcessor, final JsonObject config, final Api api) {
+    this(jwtProcessor, config, api, null, null);
+  }
+
+  KcAuthenticationServiceImpl(
+      final JWTProcessor<SecurityContext> jwtProcessor,
+      final JsonObject config,
+      final Api api,
+      final TokenCache tokenCache,
+      final JwksKeySource keySource) {
     this.jwtProcessor = jwtProcessor;
     this.uacAdmin = config.getString(UAC_ADMIN) != null ? config.getString(UAC_ADMIN) : "";
     this.issuer = config.getString("issuer");
     this.api = api;
+    this.tokenCache = tokenCache;
+    this.keySource = keySource;
   }
 
   Future<JwtData> decodeKcToken(String token) {
+    if (tokenCache == null) {
+      return verifyKcToken(token);
+    }
+    return tokenCache.get(token, () -> verifyKcToken(token));
+  }
+
+  private Future<JwtData> verifyKcToken(String token) {
+    if (keySource == null) {
+      return processKcToken(token);
+    }
+    /* Verify with the keys already known if they could not be fetched */
+    return keySource.ensureKey(token).transform(keys -> processKcToken(token));
+  }
+
+  private Future<JwtData> processKcToken(String token) {
     Promise<JwtData> promise = Promise.promise();
     try {
       JWTClaimsSet claimsSet = jwtProcessor.process(token, null);
-      String stringjson = claimsSet.toString();
-      JwtData jwtData = new JwtData(new JsonObject(stringjson));
+      JwtData jwtData = new JwtData(new JsonObject(claimsSet.toJSONObject()));
       LOGGER.debug(jwtData);
       promise.complete(jwtData);
     } catch (Exception e) {
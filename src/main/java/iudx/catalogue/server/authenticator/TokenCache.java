@@ -0,0 +1,89 @@
+package iudx.catalogue.server.authenticator;
+
+import com.google.common.hash.Hashing;
+import io.vertx.core.Future;
+import iudx.catalogue.server.authenticator.model.JwtData;
+import iudx.catalogue.server.util.CoalescingCache;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the tokens whose signature and claims have been verified, so that a token presented
+ * again, as in a bulk onboarding, is not verified again.
+ *
+ * <p>Tokens are cached under their SHA-256 hash, so the cache holds no usable token, along with
+ * their decoded {@link JwtData}. A token is served from the cache only until its <code>exp</code>,
+ * less a leeway, and tokens without an expiry are never cached. Entries are also bounded by size
+ * and by a TTL. Tokens that fail verification are not cached, and the cache is cleared when the
+ * keys of the auth server change.
+ */
+final class TokenCache {
+
+  private final CoalescingCache<Verified> cache;
+  private final long leewaySeconds;
+
+  /**
+   * Constructs a token cache.
+   *
+   * @param maxSize maximum number of cached tokens
+   * @param ttlSeconds seconds after which a cached token is verified again, even if it has not
+   *     expired
+   * @param leewaySeconds seconds before its expiry at which a token is no longer served from the
+   *     cache
+   */
+  TokenCache(long maxSize, long ttlSeconds, long leewaySeconds) {
+    this.cache =
+        new CoalescingCache<>(
+            maxSize, ttlSeconds, verified -> System.currentTimeMillis() < verified.validUntil);
+    this.leewaySeconds = leewaySeconds;
+  }
+
+  void bindMetrics(String name) {
+    cache.bindMetrics(name);
+  }
+
+  /**
+   * Gets the decoded token from the cache, or else from the verification of the token.
+   *
+   * @param token the token presented by the client
+   * @param verify verifies and decodes the token on a miss
+   * @return Future of the decoded token
+   */
+  Future<JwtData> get(String token, Supplier<Future<JwtData>> verify) {
+    String key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    return cache
+        .get(
+            key,
+            () ->
+                verify
+                    .get()
+                    .map(
+                        jwtData ->
+                            new Verified(
+                                jwtData,
+                                jwtData.getExp() > 0
+                                    ? TimeUnit.SECONDS.toMillis(jwtData.getExp() - leewaySeconds)
+                                    : 0)))
+        .map(verified -> verified.jwtData);
+  }
+
+  /** Drops every cached token, once the keys which verified them change. */
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  private static final class Verified {
+    private final JwtData jwtData;
+    private final long validUntil;
+
+    private Verified(JwtData jwtData, long validUntil) {
+      this.jwtData = jwtData;
+      this.validUntil = validUntil;
+    }
+  }
+}
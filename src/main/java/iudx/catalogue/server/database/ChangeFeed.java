@@ -0,0 +1,209 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Counter;
+import iudx.catalogue.server.databroker.DataBrokerService;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * ChangeFeed - Records the changes to the items of the catalogue and to the mlayer instances and
+ * domains in a change index, numbered by a sequence which grows by one with every change, so that
+ * consumers can sync incrementally by reading the changes after the last sequence they have seen.
+ *
+ * <p>The changes are sent to {@link iudx.catalogue.server.util.Constants#CHANGE_FEED_ADDRESS} by
+ * the APIs which make them. A change is numbered and written under a cluster wide lock, so a
+ * reader never sees a change before one with a lower sequence is written. The sequence is kept in
+ * a cluster wide counter, which is restored from the change index when the cluster starts afresh.
+ * Every recorded change is then published on the event bus, to wake up waiting readers, and to the
+ * change feed exchange if one is configured.
+ */
+final class ChangeFeed {
+  private static final Logger LOGGER = LogManager.getLogger(ChangeFeed.class);
+  private final Vertx vertx;
+  private final ElasticClient client;
+  private final String changeIndex;
+  private final DataBrokerService broker;
+  private final String exchange;
+
+  /**
+   * Constructs the change feed of a catalogue.
+   *
+   * @param vertx the vertx instance
+   * @param client the ElasticClient
+   * @param changeIndex index of the changes
+   * @param broker the DataBrokerService, null if changes are not published to an exchange
+   * @param exchange exchange the changes are published to, with their kind as the routing key
+   */
+  ChangeFeed(
+      Vertx vertx,
+      ElasticClient client,
+      String changeIndex,
+      DataBrokerService broker,
+      String exchange) {
+    this.vertx = vertx;
+    this.client = client;
+    this.changeIndex = changeIndex;
+    this.broker = broker;
+    this.exchange = exchange;
+  }
+
+  /**
+   * Creates the change index if it does not exist, restores the sequence and starts recording the
+   * changes sent to the change feed.
+   *
+   * @return Future which completes once changes are recorded
+   */
+  Future<Void> start() {
+    return client
+        .ensureIndexAsync(changeIndex, new JsonObject(CHANGE_FEED_MAPPINGS))
+        .compose(created -> withLock(this::restoreSequence))
+        .onSuccess(
+            sequence -> {
+              LOGGER.info("Recording changes after sequence {}", sequence);
+              vertx
+                  .eventBus()
+                  .<JsonObject>consumer(
+                      CHANGE_FEED_ADDRESS,
+                      message ->
+                          record(message.body())
+                              .onFailure(
+                                  e ->
+                                      LOGGER.error(
+                                          "Fail: Change not recorded; {}; {}",
+                                          message.body(),
+                                          e.getMessage())));
+            })
+        .mapEmpty();
+  }
+
+  /**
+   * Numbers a change and writes it to the change index.
+   *
+   * @param change JsonObject with the id, kind and method of the change
+   * @return Future of the recorded change, with its sequence and timestamp
+   */
+  Future<JsonObject> record(JsonObject change) {
+    return withLock(
+            () ->
+                counter()
+                    .compose(Counter::incrementAndGet)
+                    .compose(
+                        sequence -> {
+                          JsonObject event =
+                              new JsonObject()
+                                  .put(SEQUENCE, sequence)
+                                  .put(ID, change.getString(ID))
+                                  .put(CHANGE_KIND, change.getString(CHANGE_KIND))
+                                  .put(METHOD, change.getString(METHOD))
+                                  .put(TIMESTAMP, System.currentTimeMillis());
+                          Promise<JsonObject> written = Promise.promise();
+                          client.docCreateAsync(
+                              String.valueOf(sequence), changeIndex, event.encode(), written);
+                          return written.future().map(event);
+                        }))
+        .onSuccess(this::announce);
+  }
+
+  /**
+   * Gets the changes after a sequence, in the order of their sequence.
+   *
+   * @param after sequence of the last change seen by the reader, 0 to read from the start
+   * @param limit maximum number of changes
+   * @return Future of the changes, with the <code>resumeToken</code> to read the changes after them
+   */
+  Future<JsonObject> changes(long after, int limit) {
+    JsonObject range = new JsonObject().put(SEQUENCE, new JsonObject().put("gt", after));
+    JsonObject query =
+        new JsonObject()
+            .put(SIZE_KEY, limit)
+            .put(QUERY_KEY, new JsonObject().put("range", range))
+            .put(SORT, new JsonArray().add(new JsonObject().put(SEQUENCE, "asc")));
+
+    return client
+        .searchJsonAsync(changeIndex, query)
+        .map(
+            response -> {
+              JsonArray results = new JsonArray();
+              long last = after;
+              for (Object hit : response.getJsonObject(HITS).getJsonArray(HITS)) {
+                JsonObject event = ((JsonObject) hit).getJsonObject(SOURCE);
+                results.add(event);
+                last = event.getLong(SEQUENCE);
+              }
+              return new JsonObject()
+                  .put(TYPE, TYPE_SUCCESS)
+                  .put(TITLE, TITLE_SUCCESS)
+                  .put(TOTAL_HITS, results.size())
+                  .put(RESULTS, results)
+                  .put(RESUME_TOKEN, String.valueOf(last));
+            });
+  }
+
+  /* The counter is empty after the whole cluster restarts, behind the changes already recorded */
+  private Future<Long> restoreSequence() {
+    JsonObject query =
+        new JsonObject()
+            .put(SIZE_KEY, 1)
+            .put(SORT, new JsonArray().add(new JsonObject().put(SEQUENCE, "desc")));
+    Future<Long> recorded =
+        client
+            .searchJsonAsync(changeIndex, query)
+            .map(
+                response -> {
+                  JsonArray hits = response.getJsonObject(HITS).getJsonArray(HITS);
+                  return hits.isEmpty()
+                      ? 0L
+                      : hits.getJsonObject(0).getJsonObject(SOURCE).getLong(SEQUENCE);
+                });
+    return recorded.compose(
+        last ->
+            counter()
+                .compose(
+                    counter ->
+                        counter
+                            .get()
+                            .compose(
+                                current ->
+                                    current >= last
+                                        ? Future.succeededFuture(current)
+                                        : counter.addAndGet(last - current))));
+  }
+
+  private void announce(JsonObject event) {
+    vertx.eventBus().publish(CHANGE_FEED_RECORDED_ADDRESS, event);
+    if (broker != null) {
+      broker.publishMessage(
+          event,
+          exchange,
+          event.getString(CHANGE_KIND),
+          published -> {
+            if (published.failed()) {
+              LOGGER.warn(
+                  "Change {} not published; {}",
+                  event.getLong(SEQUENCE),
+                  published.cause().getMessage());
+            }
+          });
+    }
+  }
+
+  private Future<Counter> counter() {
+    return vertx.sharedData().getCounter(CHANGE_FEED_COUNTER);
+  }
+
+  private <T> Future<T> withLock(Supplier<Future<T>> action) {
+    return vertx
+        .sharedData()
+        .getLockWithTimeout(CHANGE_FEED_LOCK, CHANGE_FEED_LOCK_TIMEOUT_MS)
+        .compose(lock -> action.get().onComplete(done -> lock.release()));
+  }
+}
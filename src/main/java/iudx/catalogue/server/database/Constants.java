@@ -1,5 +1,7 @@
 package iudx.catalogue.server.database;
 
+import java.util.Set;
+
 public class Constants {
 
   public static final String DATA_SAMPLE = "dataSample";
@@ -273,7 +275,131 @@ public class Constants {
   static final String RESULT = "results";
   static final String SHAPE_KEY = "shape";
   static final String SIZE_KEY = "size";
-  static final int STATIC_DELAY_TIME = 3000;
+  static final String BOOL_KEY = "bool";
+  static final String SHOULD_KEY = "should";
+  static final String MINIMUM_SHOULD_MATCH = "minimum_should_match";
+  static final String EXCLUDES = "excludes";
+  /* NLP search */
+  static final String NLP_SEARCH_MODE_SCRIPT = "script";
+  static final String NLP_SEARCH_MODE_KNN = "knn";
+  static final int DEFAULT_KNN_NUM_CANDIDATES = 100;
+  static final int NLP_SEARCH_SIZE = 10;
+  static final String KNN = "knn";
+  static final String K = "k";
+  static final String NUM_CANDIDATES = "num_candidates";
+  static final String FIELD = "field";
+  static final String QUERY_VECTOR = "query_vector";
+  static final String REFRESH = "refresh";
+  static final String REFRESH_WAIT_FOR = "wait_for";
+  /* Bulk */
+  static final String MIME_APPLICATION_NDJSON = "application/x-ndjson";
+  static final String BULK_INDEX_ACTION = "index";
+  static final String BULK_CREATE_ACTION = "create";
+  static final String BULK_STATUS = "status";
+  static final String BULK_ERROR = "error";
+  static final String BULK_REASON = "reason";
+  static final String BULK_INSERT = "bulk-insert";
+  static final String BULK_UPDATE = "bulk-update";
+  /* Documents keyed by item id */
+  static final String SOURCE_EXCLUDES = "_source_excludes";
+  static final String IGNORE = "ignore";
+  static final String FOUND = "found";
+  static final String INDEX = "index";
+  static final String MAPPINGS = "mappings";
+  static final String SETTINGS = "settings";
+  static final String ANALYSIS = "analysis";
+  static final String TASK = "task";
+  static final String COMPLETED = "completed";
+  static final String RESPONSE = "response";
+  static final String FAILURES = "failures";
+  static final String CREATED = "created";
+  static final String ID_KEYED_INDEX_SUFFIX = "-by-id";
+  static final String REINDEX_BY_FIELD_SCRIPT = "ctx._id = ctx._source[params.field]";
+  static final long TASK_POLL_INTERVAL_MS = 5000;
+  /* Cursor pagination */
+  static final String PIT = "pit";
+  static final String PIT_ID = "pit_id";
+  static final String KEEP_ALIVE = "keep_alive";
+  static final String PIT_KEEP_ALIVE = "5m";
+  static final String SORT = "sort";
+  static final String SEARCH_AFTER = "search_after";
+  /* Size of a search which does not set one, as in ES */
+  static final int DEFAULT_SEARCH_SIZE = 10;
+  static final String COMPOSITE = "composite";
+  static final String SOURCES = "sources";
+  static final String AFTER = "after";
+  static final String FILTER_PATH_PAGE =
+      "?filter_path=took,pit_id,hits.total.value,hits.hits._source,hits.hits.sort";
+  static final String FILTER_PATH_AGGREGATION_PAGE =
+      "?filter_path=aggregations.results.buckets.key,aggregations.results.after_key";
+  /* Export */
+  static final String MATCH_ALL = "match_all";
+  static final int EXPORT_PAGE_SIZE = 1000;
+  /* Change feed */
+  static final String CHANGE_FEED_COUNTER = "iudx.catalogue.changefeed.sequence";
+  static final String CHANGE_FEED_LOCK = "iudx.catalogue.changefeed.record";
+  static final long CHANGE_FEED_LOCK_TIMEOUT_MS = 10000;
+  static final String SEQUENCE = "sequence";
+  static final String TIMESTAMP = "timestamp";
+  static final String CHANGE_FEED_MAPPINGS =
+      "{\"mappings\":{\"dynamic\":false,\"properties\":{\"sequence\":{\"type\":\"long\"},"
+          + "\"id\":{\"type\":\"keyword\"},\"kind\":{\"type\":\"keyword\"},"
+          + "\"method\":{\"type\":\"keyword\"},\"timestamp\":{\"type\":\"long\"}}}}";
+  /* Rating summaries */
+  static final long DEFAULT_RATING_SUMMARY_RECONCILE_SECONDS = 3600;
+  static final String RATING_SUMMARY_LOCK = "iudx.catalogue.rating.summary.reconcile";
+  static final String RATING_SUMMARY_REBUILT_AT = "iudx.catalogue.rating.summary.rebuiltAt";
+  /* Shortest wait a timer allows, a periodic rebuild is skipped while another node runs one */
+  static final long RATING_SUMMARY_LOCK_TIMEOUT_MS = 1;
+  static final long RATING_SUMMARY_START_LOCK_TIMEOUT_MS = 600000;
+  static final int RATING_SUMMARY_PAGE_SIZE = 500;
+  static final String RATING_STATUS = "status";
+  static final String RATING_APPROVED = "approved";
+  static final String RATING = "rating";
+  static final String RATING_STATS = "rating_stats";
+  static final String RATING_HISTOGRAM = "rating_histogram";
+  static final String UPDATED_AT = "updatedAt";
+  static final String SUM = "sum";
+  static final String HISTOGRAM = "histogram";
+  static final String AFTER_KEY = "after_key";
+  static final String BULK_UPDATE_ACTION = "update";
+  static final String RATING_SUMMARY_MAPPINGS =
+      "{\"mappings\":{\"dynamic\":false,\"properties\":{\"id\":{\"type\":\"keyword\"},"
+          + "\"updatedAt\":{\"type\":\"long\"},"
+          + "\"items\":{\"type\":\"object\",\"enabled\":false}}}}";
+  /* Sets or removes the summary of one item in the summary of an item or of its resource group */
+  static final String RATING_SUMMARY_SCRIPT =
+      "if (ctx._source.items == null) { ctx._source.items = [:]; } "
+          + "if (params.entry == null) { ctx._source.items.remove(params.item); } "
+          + "else { ctx._source.items[params.item] = params.entry; } "
+          + "if (ctx._source.items.isEmpty()) { "
+          + "ctx.op = ctx._source.updatedAt == null ? 'none' : 'delete'; } "
+          + "else { ctx._source.updatedAt = params.updatedAt; }";
+  /* Metrics */
+  static final String WRITE_LATENCY_METRIC = "cat.db.write.latency";
+  static final String ES_LATENCY_METRIC = "cat.es.request.latency";
+  static final String METHOD_TAG = "method";
+  static final String ENDPOINT_TAG = "endpoint";
+  static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 1000;
+  static final Set<String> SLOW_QUERY_LOGGED_ENDPOINTS = Set.of("_search", "_count", "_msearch");
+  static final int SLOW_QUERY_MAX_LOGGED_BYTES = 1000;
+  /* Distributed cache */
+  static final String ITEM_CACHE = "cat.item.cache";
+  static final String MLAYER_INSTANCE_CACHE = "cat.mlayer.instance.cache";
+  static final String MLAYER_DOMAIN_CACHE = "cat.mlayer.domain.cache";
+  static final String CACHE_ITEMS = "items";
+  static final String CACHE_MLAYER_INSTANCES = "mlayerInstances";
+  static final String CACHE_MLAYER_DOMAINS = "mlayerDomains";
+  static final String CACHE_TTL = "ttlSeconds";
+  static final String CACHE_MAX_SIZE_MB = "maxSizeMb";
+  static final String CACHE_NEAR_MAX_ENTRIES = "nearCacheMaxEntries";
+  static final int DEFAULT_ITEM_CACHE_TTL_SECONDS = 300;
+  static final int DEFAULT_ITEM_CACHE_MAX_SIZE_MB = 64;
+  static final int DEFAULT_MLAYER_CACHE_TTL_SECONDS = 3600;
+  static final int DEFAULT_MLAYER_CACHE_MAX_SIZE_MB = 16;
+  static final int DEFAULT_NEAR_CACHE_MAX_ENTRIES = 10000;
+  static final String CACHE_LEASE_PREFIX = "lease:";
+  static final long CACHE_LEASE_TTL_SECONDS = 30;
   /* Database */
   static final String AGGREGATION_KEY = "aggs";
   static final String FILTER_PATH = "?filter_path=took,hits.total.value,hits.hits._source";
@@ -108,6 +108,26 @@ public interface DatabaseService {
   @Fluent
   DatabaseService updateItem(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
 
+  /**
+   * The createItems implements the bulk create item operation with the database.
+   *
+   * @param items which is a JsonArray of validated items
+   * @param handler which is a Request Handler
+   * @return DatabaseService which is a Service
+   */
+  @Fluent
+  DatabaseService createItems(JsonArray items, Handler<AsyncResult<JsonObject>> handler);
+
+  /**
+   * The updateItems implements the bulk update item operation with the database.
+   *
+   * @param items which is a JsonArray of validated items
+   * @param handler which is a Request Handler
+   * @return DatabaseService which is a Service
+   */
+  @Fluent
+  DatabaseService updateItems(JsonArray items, Handler<AsyncResult<JsonObject>> handler);
+
   /**
    * The deleteItem implements the delete item operation with the database.
    *
@@ -138,6 +158,28 @@ public interface DatabaseService {
   @Fluent
   DatabaseService listOwnerOrCos(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
 
+  /**
+   * The exportItems implements the export of the items of the catalogue, one page at a time.
+   *
+   * @param request which is a JsonObject with the cursor of the page and the optional type,
+   *     instance and provider of the items
+   * @param handler which is a Request Handler
+   * @return DatabaseService which is a Service
+   */
+  @Fluent
+  DatabaseService exportItems(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
+
+  /**
+   * The getChanges implements the read of the change feed of the catalogue.
+   *
+   * @param request which is a JsonObject with the resumeToken after which the changes are read and
+   *     the limit of changes
+   * @param handler which is a Request Handler
+   * @return DatabaseService which is a Service
+   */
+  @Fluent
+  DatabaseService getChanges(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
+
   /**
    * The listRelationship implements the list resource, resourceGroup, provider, resourceServer,
    * type relationships operation with the database.
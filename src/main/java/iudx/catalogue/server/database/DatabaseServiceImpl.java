@@ -3,18 +3,21 @@ package iudx.catalogue.server.database;
 import static iudx.catalogue.server.database.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.*;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
+import iudx.catalogue.server.database.ElasticQuery.Template;
 import iudx.catalogue.server.database.mlayer.*;
 import iudx.catalogue.server.geocoding.GeocodingService;
 import iudx.catalogue.server.nlpsearch.NLPSearchService;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.util.*;
-import java.util.Timer;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.client.ResponseException;
 
 /**
  * The Database Service Implementation.
@@ -30,6 +33,18 @@ import org.apache.logging.log4j.Logger;
 public class DatabaseServiceImpl implements DatabaseService {
 
   private static final Logger LOGGER = LogManager.getLogger(DatabaseServiceImpl.class);
+  private static final Template GET_DOC_TEMPLATE = Template.compile(GET_DOC_QUERY);
+  private static final Template GET_DOC_WITH_TYPE_TEMPLATE =
+      Template.compile(GET_DOC_QUERY_WITH_TYPE);
+  private static final Template RESOURCE_GRP_TEMPLATE = Template.compile(QUERY_RESOURCE_GRP);
+  private static final Template TYPE_SEARCH_TEMPLATE = Template.compile(GET_TYPE_SEARCH);
+  private static final Template RSGROUP_TEMPLATE = Template.compile(GET_RSGROUP);
+  private static final Template GET_RDOC_TEMPLATE = Template.compile(GET_RDOC_QUERY);
+  private static final Template RATING_DOCS_TEMPLATE = Template.compile(GET_RATING_DOCS);
+  private static final Template ASSOCIATED_ID_TEMPLATE =
+      Template.compile(GET_ASSOCIATED_ID_QUERY);
+  private static final Template INSTANCE_CASE_INSENSITIVE_TEMPLATE =
+      Template.compile(GET_INSTANCE_CASE_INSENSITIVE_QUERY);
   static ElasticClient client;
   private static String internalErrorResp =
       new RespBuilder()
@@ -37,6 +52,12 @@ public class DatabaseServiceImpl implements DatabaseService {
           .withTitle(TITLE_INTERNAL_SERVER_ERROR)
           .withDetail(DETAIL_INTERNAL_SERVER_ERROR)
           .getResponse();
+  private static String invalidCursorResp =
+      new RespBuilder()
+          .withType(TYPE_INVALID_QUERY_PARAM_VALUE)
+          .withTitle(TITLE_INVALID_QUERY_PARAM_VALUE)
+          .withDetail(DETAIL_INVALID_CURSOR)
+          .getResponse();
   private final QueryDecoder queryDecoder = new QueryDecoder();
   private NLPSearchService nlpService;
   private GeocodingService geoService;
@@ -47,6 +68,12 @@ public class DatabaseServiceImpl implements DatabaseService {
   private String mlayerInstanceIndex;
   private String mlayerDomainIndex;
   private WebClient webClient;
+  private String nlpSearchMode = NLP_SEARCH_MODE_SCRIPT;
+  private int knnNumCandidates = DEFAULT_KNN_NUM_CANDIDATES;
+  private boolean idKeyedDocuments;
+  private RatingSummaries ratingSummaries;
+  private ChangeFeed changeFeed;
+  private DistributedCache distributedCache;
 
   /**
    * Constructs a new DatabaseServiceImpl instance with the given ElasticClient and index names.
@@ -127,6 +154,148 @@ public class DatabaseServiceImpl implements DatabaseService {
     geoPluggedIn = true;
   }
 
+  /**
+   * Selects how NLP searches are executed against the word vectors of the catalogue items.
+   *
+   * @param nlpSearchMode <code>script</code> to score every document with a script_score query,
+   *     <code>knn</code> to run an approximate kNN search on the indexed vectors
+   * @param knnNumCandidates number of nearest neighbour candidates considered per shard in kNN mode
+   */
+  public void setNlpSearchOptions(String nlpSearchMode, int knnNumCandidates) {
+    this.nlpSearchMode = nlpSearchMode;
+    this.knnNumCandidates = knnNumCandidates;
+  }
+
+  /**
+   * Selects how catalogue items are addressed in the document index.
+   *
+   * @param idKeyedDocuments true if the elastic id of every item is its item id, so items are read
+   *     with a real time get and written without first searching for their elastic id; false for
+   *     indices with elastic generated ids which have not been migrated with {@link
+   *     IdKeyedMigration}
+   */
+  public void setIdKeyedDocuments(boolean idKeyedDocuments) {
+    this.idKeyedDocuments = idKeyedDocuments;
+  }
+
+  /**
+   * Serves average ratings from precomputed rating summaries, which are refreshed whenever a
+   * rating is written.
+   *
+   * @param ratingSummaries the rating summaries, null to aggregate the ratings on every request
+   */
+  void setRatingSummaries(RatingSummaries ratingSummaries) {
+    this.ratingSummaries = ratingSummaries;
+  }
+
+  /**
+   * Serves the changes of the catalogue from its change feed.
+   *
+   * @param changeFeed the change feed, null if the change feed is not enabled
+   */
+  void setChangeFeed(ChangeFeed changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  /**
+   * Serves items and mlayer instances and domains from a cache shared by the nodes of the cluster.
+   *
+   * @param distributedCache the cache, null if the catalogue is not clustered over Hazelcast
+   */
+  void setDistributedCache(DistributedCache distributedCache) {
+    this.distributedCache = distributedCache;
+  }
+
+  /**
+   * Wraps the handler of an item write so that the end-to-end latency of the write, including the
+   * wait for the index refresh, is recorded in a histogram tagged by operation and outcome.
+   *
+   * @param operation insert, update or delete
+   * @param handler the handler of the write request
+   * @return handler which records the latency before delegating to the given handler
+   */
+  private static Handler<AsyncResult<JsonObject>> timedWrite(
+      String operation, Handler<AsyncResult<JsonObject>> handler) {
+    Timer.Sample sample = Timer.start();
+    return ar -> {
+      LatencyMetrics.record(
+          sample, WRITE_LATENCY_METRIC, ar.succeeded(), OPERATION_TAG, operation);
+      handler.handle(ar);
+    };
+  }
+
+  /**
+   * Wraps the handler of a search or count so that its latency in the database service, from the
+   * decoding of the request to the response, is recorded in a histogram tagged by search type.
+   *
+   * @param operation search or count
+   * @param request the search request
+   * @param handler the handler of the search request
+   * @return handler which records the latency before delegating to the given handler
+   */
+  private static Handler<AsyncResult<JsonObject>> timedSearch(
+      String operation, JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+    Timer.Sample sample = Timer.start();
+    return ar -> {
+      LatencyMetrics.recordSearch(
+          sample, STAGE_DATABASE, operation, request.getString(SEARCH_TYPE), ar.succeeded());
+      handler.handle(ar);
+    };
+  }
+
+  /**
+   * Decodes a search or count request into an ES query, recording the latency of the decoding.
+   *
+   * @param operation search or count
+   * @param request the search request
+   * @return the ES query, or the error of the request
+   */
+  private JsonObject decodeSearch(String operation, JsonObject request) {
+    Timer.Sample sample = Timer.start();
+    JsonObject query = queryDecoder.searchQuery(request);
+    LatencyMetrics.recordSearch(
+        sample,
+        STAGE_DECODING,
+        operation,
+        request.getString(SEARCH_TYPE),
+        !query.containsKey(ERROR));
+    return query;
+  }
+
+  /**
+   * Wraps the handler of a write so that the written items are removed from the distributed cache
+   * before the write is acknowledged, so a client reads its own writes on every node.
+   *
+   * @param ids ids of the written items
+   * @param handler the handler of the write request
+   * @return handler which invalidates the items before delegating to the given handler
+   */
+  private Handler<AsyncResult<JsonObject>> invalidateItems(
+      List<String> ids, Handler<AsyncResult<JsonObject>> handler) {
+    DistributedCache cache = distributedCache;
+    if (cache == null) {
+      return handler;
+    }
+    return ar -> cache.remove(ITEM_CACHE, ids).onComplete(done -> handler.handle(ar));
+  }
+
+  /**
+   * Wraps the handler of an mlayer write so that the cached responses of its type are cleared
+   * before the write is acknowledged.
+   *
+   * @param name name of the map of the cache
+   * @param handler the handler of the write request
+   * @return handler which clears the map before delegating to the given handler
+   */
+  private Handler<AsyncResult<JsonObject>> invalidateMlayer(
+      String name, Handler<AsyncResult<JsonObject>> handler) {
+    DistributedCache cache = distributedCache;
+    if (cache == null) {
+      return handler;
+    }
+    return ar -> cache.clear(name).onComplete(done -> handler.handle(ar));
+  }
+
   private static boolean isInvalidRelForGivenItem(JsonObject request, String itemType) {
     if (request.getString(RELATIONSHIP).equalsIgnoreCase("resource")
         && itemType.equalsIgnoreCase(ITEM_TYPE_RESOURCE)) {
@@ -151,7 +320,10 @@ public class DatabaseServiceImpl implements DatabaseService {
   }
 
   @Override
-  public DatabaseService searchQuery(JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+  public DatabaseService searchQuery(
+      JsonObject request, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler =
+        timedSearch(OPERATION_SEARCH, request, resultHandler);
 
     LOGGER.debug("Info: searchQuery");
 
@@ -171,7 +343,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     }
 
     /* Construct the query to be made */
-    JsonObject query = queryDecoder.searchQuery(request);
+    JsonObject query = decodeSearch(OPERATION_SEARCH, request);
     if (query.containsKey(ERROR)) {
 
       LOGGER.error("Fail: Query returned with an error");
@@ -181,6 +353,11 @@ public class DatabaseServiceImpl implements DatabaseService {
 
     LOGGER.debug("Info: Query constructed;" + query.toString());
 
+    if (request.containsKey(CURSOR)) {
+      searchPage(query, request.getString(CURSOR), handler);
+      return this;
+    }
+
     client.searchAsync(
         query.toString(),
         docIndex,
@@ -207,8 +384,7 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService nlpSearchQuery(
       JsonArray request, Handler<AsyncResult<JsonObject>> handler) {
     JsonArray embeddings = request.getJsonArray(0);
-    client.scriptSearch(
-        embeddings,
+    Handler<AsyncResult<JsonObject>> searchHandler =
         searchRes -> {
           if (searchRes.succeeded()) {
             LOGGER.debug("Success:Successful DB request");
@@ -217,7 +393,12 @@ public class DatabaseServiceImpl implements DatabaseService {
             LOGGER.error("Fail: DB request;" + searchRes.cause().getMessage());
             handler.handle(Future.failedFuture(internalErrorResp));
           }
-        });
+        };
+    if (NLP_SEARCH_MODE_KNN.equalsIgnoreCase(nlpSearchMode)) {
+      client.knnSearch(embeddings, knnNumCandidates, searchHandler);
+    } else {
+      client.scriptSearch(embeddings, searchHandler);
+    }
     return this;
   }
 
@@ -239,7 +420,12 @@ public class DatabaseServiceImpl implements DatabaseService {
     params.stream()
         .forEach(
             param -> {
-              futures.add(client.scriptLocationSearch(embeddings, (JsonObject) param));
+              if (NLP_SEARCH_MODE_KNN.equalsIgnoreCase(nlpSearchMode)) {
+                futures.add(
+                    client.knnLocationSearch(embeddings, (JsonObject) param, knnNumCandidates));
+              } else {
+                futures.add(client.scriptLocationSearch(embeddings, (JsonObject) param));
+              }
             });
 
     // For each future, add the result to a result object
@@ -279,7 +465,10 @@ public class DatabaseServiceImpl implements DatabaseService {
   }
 
   @Override
-  public DatabaseService countQuery(JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+  public DatabaseService countQuery(
+      JsonObject request, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler =
+        timedSearch(OPERATION_COUNT, request, resultHandler);
 
     request.put(SEARCH, false);
 
@@ -290,7 +479,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     }
 
     /* Construct the query to be made */
-    JsonObject query = queryDecoder.searchQuery(request);
+    JsonObject query = decodeSearch(OPERATION_COUNT, request);
     if (query.containsKey(ERROR)) {
 
       LOGGER.error("Fail: Query returned with an error");
@@ -322,7 +511,9 @@ public class DatabaseServiceImpl implements DatabaseService {
    * @return the current DatabaseService instance
    */
   @Override
-  public DatabaseService createItem(JsonObject doc, Handler<AsyncResult<JsonObject>> handler) {
+  public DatabaseService createItem(
+      JsonObject doc, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler = timedWrite(INSERT, resultHandler);
 
     RespBuilder respBuilder = new RespBuilder();
     String id = doc.getString("id");
@@ -335,7 +526,7 @@ public class DatabaseServiceImpl implements DatabaseService {
               .withResult(id, INSERT, FAILED)
               .withDetail("Insertion Failed")
               .getResponse();
-      String checkItem = GET_DOC_QUERY.replace("$1", id).replace("$2", "");
+      String checkItem = GET_DOC_TEMPLATE.render(id, "");
 
       verifyInstance(instanceId)
           .onComplete(
@@ -343,9 +534,39 @@ public class DatabaseServiceImpl implements DatabaseService {
                 if (instanceHandler.succeeded()) {
                   LOGGER.debug("Info: Instance info;" + instanceHandler.result());
 
-                  client.searchAsync(
-                      checkItem.toString(),
-                      docIndex,
+                  Handler<AsyncResult<JsonObject>> postHandler =
+                      postRes -> {
+                        if (postRes.succeeded()) {
+                          handler.handle(
+                              Future.succeededFuture(
+                                  respBuilder
+                                      .withType(TYPE_SUCCESS)
+                                      .withTitle(TITLE_SUCCESS)
+                                      .withResult(doc)
+                                      .withDetail("Success: Item created")
+                                      .getJsonResponse()));
+                        } else if (DOC_EXISTS.equals(postRes.cause().getMessage())) {
+                          handler.handle(
+                              Future.failedFuture(
+                                  respBuilder
+                                      .withType(TYPE_ALREADY_EXISTS)
+                                      .withTitle(TITLE_ALREADY_EXISTS)
+                                      .withResult(id, INSERT, FAILED, "Fail: Doc Exists")
+                                      .withDetail("Fail: Doc Exists")
+                                      .getResponse()));
+                        } else {
+                          handler.handle(Future.failedFuture(errorJson));
+                          LOGGER.error("Fail: Insertion failed" + postRes.cause());
+                        }
+                      };
+                  Promise<JsonObject> check = Promise.promise();
+                  if (idKeyedDocuments) {
+                    /* The create request itself fails if the id is taken */
+                    check.complete(new JsonObject().put(TOTAL_HITS, 0));
+                  } else {
+                    client.searchAsync(checkItem, docIndex, check);
+                  }
+                  check.future().onComplete(
                       checkRes -> {
                         if (checkRes.failed()) {
                           LOGGER.error("Fail: Insertion failed;" + checkRes.cause());
@@ -392,25 +613,7 @@ public class DatabaseServiceImpl implements DatabaseService {
                                           doc.put(
                                               WORD_VECTOR_KEY, ar.result().getJsonArray("result"));
                                           /* Insert document */
-                                          client.docPostAsync(
-                                              docIndex,
-                                              doc.toString(),
-                                              postRes -> {
-                                                if (postRes.succeeded()) {
-                                                  handler.handle(
-                                                      Future.succeededFuture(
-                                                          respBuilder
-                                                              .withType(TYPE_SUCCESS)
-                                                              .withTitle(TITLE_SUCCESS)
-                                                              .withResult(doc)
-                                                              .withDetail("Success: Item created")
-                                                              .getJsonResponse()));
-                                                } else {
-                                                  handler.handle(Future.failedFuture(errorJson));
-                                                  LOGGER.error(
-                                                      "Fail: Insertion failed" + postRes.cause());
-                                                }
-                                              });
+                                          insertItem(doc, postHandler);
                                         } else {
                                           LOGGER.error("Error: Document embeddings not created");
                                         }
@@ -418,32 +621,7 @@ public class DatabaseServiceImpl implements DatabaseService {
                                 });
                           } else {
                             /* Insert document */
-                            new Timer()
-                                .schedule(
-                                    new TimerTask() {
-                                      public void run() {
-                                        client.docPostAsync(
-                                            docIndex,
-                                            doc.toString(),
-                                            postRes -> {
-                                              if (postRes.succeeded()) {
-                                                handler.handle(
-                                                    Future.succeededFuture(
-                                                        respBuilder
-                                                            .withType(TYPE_SUCCESS)
-                                                            .withTitle(TITLE_SUCCESS)
-                                                            .withResult(doc)
-                                                            .withDetail("Success: Item created")
-                                                            .getJsonResponse()));
-                                              } else {
-                                                handler.handle(Future.failedFuture(errorJson));
-                                                LOGGER.error(
-                                                    "Fail: Insertion failed" + postRes.cause());
-                                              }
-                                            });
-                                      }
-                                    },
-                                    STATIC_DELAY_TIME);
+                            insertItem(doc, postHandler);
                           }
                         }
                       });
@@ -473,6 +651,45 @@ public class DatabaseServiceImpl implements DatabaseService {
     }
   }
 
+  /**
+   * Writes a new item to the document index, under its item id if documents are keyed by item id.
+   *
+   * @param doc item to be inserted
+   * @param handler the handler of the write, failed with {@link Constants#DOC_EXISTS} if documents
+   *     are keyed by item id and the item already exists
+   */
+  private void insertItem(JsonObject doc, Handler<AsyncResult<JsonObject>> handler) {
+    if (idKeyedDocuments) {
+      client.docCreateAsync(doc.getString(ID), docIndex, doc.toString(), handler);
+    } else {
+      client.docPostAsync(docIndex, doc.toString(), handler);
+    }
+  }
+
+  /**
+   * Gets an item with a real time get of its item id, in the format of a {@link
+   * ElasticClient#searchGetId} result.
+   *
+   * @param id item id, which is also the elastic id of the item
+   * @param type type the item must have
+   * @return Future with the elastic id in results if the item exists and is of the given type
+   */
+  private Future<JsonObject> getItemDocId(String id, String type) {
+    Promise<JsonObject> promise = Promise.promise();
+    client.docGetAsync(id, docIndex, promise);
+    return promise
+        .future()
+        .map(
+            getRes -> {
+              JsonArray docIds = new JsonArray();
+              JsonArray items = getRes.getJsonArray(RESULTS);
+              if (items.size() == 1 && items.getJsonObject(0).getJsonArray(TYPE).contains(type)) {
+                docIds.add(id);
+              }
+              return new JsonObject().put(TOTAL_HITS, docIds.size()).put(RESULTS, docIds);
+            });
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -480,147 +697,443 @@ public class DatabaseServiceImpl implements DatabaseService {
    * @return the current DatabaseService instance
    */
   @Override
-  public DatabaseService updateItem(JsonObject doc, Handler<AsyncResult<JsonObject>> handler) {
+  public DatabaseService updateItem(
+      JsonObject doc, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler =
+        timedWrite(
+            UPDATE, invalidateItems(Collections.singletonList(doc.getString(ID)), resultHandler));
 
     RespBuilder respBuilder = new RespBuilder();
     String id = doc.getString("id");
     String type = doc.getJsonArray("type").getString(0);
-    String checkQuery =
-        GET_DOC_QUERY_WITH_TYPE.replace("$1", id).replace("$3", type).replace("$2", "id");
-
-    new Timer()
-        .schedule(
-            new TimerTask() {
-              public void run() {
-                client.searchGetId(
-                    checkQuery,
+    Promise<JsonObject> check = Promise.promise();
+    if (idKeyedDocuments) {
+      getItemDocId(id, type).onComplete(check);
+    } else {
+      client.searchGetId(GET_DOC_WITH_TYPE_TEMPLATE.render(id, "id", type), docIndex, check);
+    }
+
+    check.future().onComplete(
+        checkRes -> {
+          if (checkRes.failed()) {
+            LOGGER.error("Fail: Check query fail;" + checkRes.cause());
+            handler.handle(Future.failedFuture(internalErrorResp));
+            return;
+          }
+          if (checkRes.succeeded()) {
+            if (checkRes.result().getInteger(TOTAL_HITS) != 1) {
+              LOGGER.error("Fail: Doc doesn't exist, can't update");
+              handler.handle(
+                  Future.failedFuture(
+                      respBuilder
+                          .withType(TYPE_ITEM_NOT_FOUND)
+                          .withTitle(TITLE_ITEM_NOT_FOUND)
+                          .withResult(
+                              id,
+                              UPDATE,
+                              FAILED,
+                              "Fail: Doc doesn't exist, can't update")
+                          .withDetail("Fail: Doc doesn't exist, can't update")
+                          .getResponse()));
+              return;
+            }
+            String docId = checkRes.result().getJsonArray(RESULTS).getString(0);
+            client.docPutAsync(
+                docId,
+                docIndex,
+                doc.toString(),
+                putRes -> {
+                  if (putRes.succeeded()) {
+                    handler.handle(
+                        Future.succeededFuture(
+                            respBuilder
+                                .withType(TYPE_SUCCESS)
+                                .withTitle(TITLE_SUCCESS)
+                                .withResult(doc)
+                                .withDetail("Success: Item updated successfully")
+                                .getJsonResponse()));
+                  } else {
+                    handler.handle(Future.failedFuture(internalErrorResp));
+                    LOGGER.error("Fail: Updation failed;" + putRes.cause());
+                  }
+                });
+          }
+        });
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param items JsonArray
+   * @return the current DatabaseService instance
+   */
+  @Override
+  public DatabaseService createItems(
+      JsonArray items, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler = timedWrite(BULK_INSERT, resultHandler);
+
+    JsonArray results = new JsonArray();
+    List<JsonObject> docs = new ArrayList<>();
+    Map<String, Future<Boolean>> instanceChecks = new HashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      JsonObject doc = items.getJsonObject(i);
+      if (doc.getString(ID) == null) {
+        results.add(bulkResult(doc, INSERT, FAILED, DETAIL_ID_NOT_FOUND));
+        continue;
+      }
+      docs.add(doc);
+      /* Items of a batch usually share an instance, verify each distinct one only once */
+      instanceChecks.computeIfAbsent(doc.getString(INSTANCE), this::verifyInstance);
+    }
+    if (docs.isEmpty()) {
+      bulkWrite(INSERT, docs, null, results, handler);
+      return this;
+    }
+
+    Future.join(new ArrayList<>(instanceChecks.values()))
+        .onComplete(
+            instancesHandler ->
+                client.searchAsyncGetId(
+                    docIdsQuery(docs).toString(),
                     docIndex,
                     checkRes -> {
                       if (checkRes.failed()) {
-                        LOGGER.error("Fail: Check query fail;" + checkRes.cause());
+                        LOGGER.error("Fail: Insertion failed;" + checkRes.cause());
                         handler.handle(Future.failedFuture(internalErrorResp));
                         return;
                       }
-                      if (checkRes.succeeded()) {
-                        if (checkRes.result().getInteger(TOTAL_HITS) != 1) {
-                          LOGGER.error("Fail: Doc doesn't exist, can't update");
-                          handler.handle(
-                              Future.failedFuture(
-                                  respBuilder
-                                      .withType(TYPE_ITEM_NOT_FOUND)
-                                      .withTitle(TITLE_ITEM_NOT_FOUND)
-                                      .withResult(
-                                          id,
-                                          UPDATE,
-                                          FAILED,
-                                          "Fail: Doc doesn't exist, can't update")
-                                      .withDetail("Fail: Doc doesn't exist, can't update")
-                                      .getResponse()));
-                          return;
+                      Set<String> existingIds = new HashSet<>();
+                      checkRes
+                          .result()
+                          .getJsonArray(RESULTS, new JsonArray())
+                          .forEach(
+                              hit ->
+                                  existingIds.add(
+                                      ((JsonObject) hit).getJsonObject(SOURCE).getString(ID)));
+
+                      List<JsonObject> pending = new ArrayList<>();
+                      List<Future<JsonObject>> enriched = new ArrayList<>();
+                      for (JsonObject doc : docs) {
+                        Future<Boolean> instanceCheck = instanceChecks.get(doc.getString(INSTANCE));
+                        if (instanceCheck.failed()) {
+                          results.add(
+                              bulkResult(
+                                  doc,
+                                  INSERT,
+                                  FAILED,
+                                  instanceCheck.cause().getLocalizedMessage()));
+                        } else if (existingIds.contains(doc.getString(ID))) {
+                          results.add(bulkResult(doc, INSERT, FAILED, "Fail: Doc Exists"));
+                        } else {
+                          doc.put(SUMMARY_KEY, Summarizer.summarize(doc));
+                          pending.add(doc);
+                          enriched.add(enrichItem(doc));
                         }
-                        String docId = checkRes.result().getJsonArray(RESULTS).getString(0);
-                        client.docPutAsync(
-                            docId,
-                            docIndex,
-                            doc.toString(),
-                            putRes -> {
-                              if (putRes.succeeded()) {
-                                handler.handle(
-                                    Future.succeededFuture(
-                                        respBuilder
-                                            .withType(TYPE_SUCCESS)
-                                            .withTitle(TITLE_SUCCESS)
-                                            .withResult(doc)
-                                            .withDetail("Success: Item updated successfully")
-                                            .getJsonResponse()));
-                              } else {
-                                handler.handle(Future.failedFuture(internalErrorResp));
-                                LOGGER.error("Fail: Updation failed;" + putRes.cause());
-                              }
-                            });
                       }
-                    });
-              }
-            },
-            STATIC_DELAY_TIME);
+
+                      Future.join(enriched)
+                          .onComplete(
+                              enrichHandler -> {
+                                List<JsonObject> writes = new ArrayList<>();
+                                for (int i = 0; i < pending.size(); i++) {
+                                  if (enriched.get(i).succeeded()) {
+                                    writes.add(pending.get(i));
+                                  } else {
+                                    results.add(
+                                        bulkResult(
+                                            pending.get(i), INSERT, FAILED, "Insertion Failed"));
+                                  }
+                                }
+                                bulkWrite(INSERT, writes, null, results, handler);
+                              });
+                    }));
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param items JsonArray
+   * @return the current DatabaseService instance
+   */
   @Override
-  public DatabaseService deleteItem(JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+  public DatabaseService updateItems(
+      JsonArray items, Handler<AsyncResult<JsonObject>> resultHandler) {
+    List<String> ids =
+        items.stream()
+            .filter(JsonObject.class::isInstance)
+            .map(item -> ((JsonObject) item).getString(ID))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    Handler<AsyncResult<JsonObject>> handler =
+        timedWrite(BULK_UPDATE, invalidateItems(ids, resultHandler));
+
+    JsonArray results = new JsonArray();
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      JsonObject doc = items.getJsonObject(i);
+      if (doc.getString(ID) == null) {
+        results.add(bulkResult(doc, UPDATE, FAILED, DETAIL_ID_NOT_FOUND));
+      } else {
+        docs.add(doc);
+      }
+    }
+    if (docs.isEmpty()) {
+      bulkWrite(UPDATE, docs, null, results, handler);
+      return this;
+    }
+
+    client.searchAsyncGetId(
+        docIdsQuery(docs).toString(),
+        docIndex,
+        checkRes -> {
+          if (checkRes.failed()) {
+            LOGGER.error("Fail: Check query fail;" + checkRes.cause());
+            handler.handle(Future.failedFuture(internalErrorResp));
+            return;
+          }
+          Map<String, JsonObject> existing = new HashMap<>();
+          checkRes
+              .result()
+              .getJsonArray(RESULTS, new JsonArray())
+              .forEach(
+                  hit -> {
+                    JsonObject result = (JsonObject) hit;
+                    existing.put(result.getJsonObject(SOURCE).getString(ID), result);
+                  });
+
+          List<JsonObject> writes = new ArrayList<>();
+          List<String> docIds = new ArrayList<>();
+          for (JsonObject doc : docs) {
+            JsonObject hit = existing.get(doc.getString(ID));
+            if (hit == null
+                || !hit.getJsonObject(SOURCE)
+                    .getJsonArray(TYPE)
+                    .contains(doc.getJsonArray(TYPE).getString(0))) {
+              results.add(
+                  bulkResult(doc, UPDATE, FAILED, "Fail: Doc doesn't exist, can't update"));
+            } else {
+              writes.add(doc);
+              docIds.add(hit.getString(DOC_ID));
+            }
+          }
+          bulkWrite(UPDATE, writes, docIds, results, handler);
+        });
+    return this;
+  }
+
+  /**
+   * Writes the documents with a single bulk request and appends the outcome of every document to
+   * the results of the batch.
+   *
+   * @param operation insert or update
+   * @param docs documents to be written
+   * @param docIds elastic ids of the documents to overwrite, null for new documents, which are
+   *     created under their item id, failing if the id is taken, or under an elastic assigned id
+   * @param results per item results of the batch
+   * @param handler the handler of the batch
+   */
+  private void bulkWrite(
+      String operation,
+      List<JsonObject> docs,
+      List<String> docIds,
+      JsonArray results,
+      Handler<AsyncResult<JsonObject>> handler) {
+    if (docs.isEmpty()) {
+      handler.handle(Future.succeededFuture(bulkResponse(results)));
+      return;
+    }
+    String actionName =
+        docIds == null && idKeyedDocuments ? BULK_CREATE_ACTION : BULK_INDEX_ACTION;
+    JsonArray operations = new JsonArray();
+    for (int i = 0; i < docs.size(); i++) {
+      JsonObject action = new JsonObject();
+      if (docIds != null) {
+        action.put(DOC_ID, docIds.get(i));
+      } else if (idKeyedDocuments) {
+        action.put(DOC_ID, docs.get(i).getString(ID));
+      }
+      operations.add(new JsonObject().put(actionName, action)).add(docs.get(i));
+    }
+    client.docBulkAsync(
+        docIndex,
+        operations,
+        bulkRes -> {
+          if (bulkRes.failed()) {
+            LOGGER.error("Fail: Bulk write failed;" + bulkRes.cause());
+            handler.handle(Future.failedFuture(internalErrorResp));
+            return;
+          }
+          JsonArray outcomes = bulkRes.result().getJsonArray(ITEMS);
+          for (int i = 0; i < docs.size(); i++) {
+            JsonObject outcome = outcomes.getJsonObject(i).getJsonObject(actionName);
+            if (outcome.getInteger(BULK_STATUS, 0) == 409) {
+              /* Created by another request since the existence check */
+              results.add(bulkResult(docs.get(i), operation, FAILED, "Fail: Doc Exists"));
+            } else if (outcome.containsKey(BULK_ERROR)) {
+              LOGGER.error("Fail: Bulk item write failed;" + outcome.getValue(BULK_ERROR));
+              results.add(
+                  bulkResult(
+                      docs.get(i),
+                      operation,
+                      FAILED,
+                      outcome.getJsonObject(BULK_ERROR).getString(BULK_REASON)));
+            } else {
+              results.add(bulkResult(docs.get(i), operation, SUCCESS, null));
+            }
+          }
+          handler.handle(Future.succeededFuture(bulkResponse(results)));
+        });
+  }
+
+  /**
+   * Adds the geo summary and the word vector to an item which is onboarded on an instance, the
+   * same way as {@link #createItem(JsonObject, Handler)} does for a single item.
+   *
+   * @param doc item to be inserted
+   * @return Future which completes with the enriched item
+   */
+  private Future<JsonObject> enrichItem(JsonObject doc) {
+    Promise<JsonObject> promise = Promise.promise();
+    String instanceId = doc.getString(INSTANCE);
+    if (!geoPluggedIn || !nlpPluggedIn || instanceId == null || instanceId.isBlank()) {
+      promise.complete(doc);
+      return promise.future();
+    }
+    geoService.geoSummarize(
+        doc,
+        geoHandler -> {
+          /* Not going to check if success or fail */
+          JsonObject geoResult;
+          try {
+            geoResult = new JsonObject(geoHandler.result());
+          } catch (Exception e) {
+            LOGGER.debug("no geocoding result generated");
+            geoResult = new JsonObject();
+          }
+          doc.put(GEOSUMMARY_KEY, geoResult);
+          nlpService.getEmbedding(
+              doc,
+              ar -> {
+                if (ar.succeeded()) {
+                  doc.put(WORD_VECTOR_KEY, ar.result().getJsonArray("result"));
+                  promise.complete(doc);
+                } else {
+                  LOGGER.error("Error: Document embeddings not created");
+                  promise.fail(ar.cause());
+                }
+              });
+        });
+    return promise.future();
+  }
+
+  private static JsonObject bulkResult(
+      JsonObject doc, String operation, String status, String detail) {
+    JsonObject result =
+        new JsonObject()
+            .put(ID, doc.getString(ID))
+            .put(NAME, doc.getString(NAME))
+            .put(METHOD, operation)
+            .put(STATUS, status);
+    if (detail != null) {
+      result.put(DETAIL, detail);
+    }
+    return result;
+  }
+
+  private static JsonObject bulkResponse(JsonArray results) {
+    return new RespBuilder()
+        .withType(TYPE_SUCCESS)
+        .withTitle(TITLE_SUCCESS)
+        .withResult(results)
+        .withDetail("Success: Bulk write completed")
+        .getJsonResponse();
+  }
+
+  static JsonObject docIdsQuery(List<JsonObject> docs) {
+    JsonArray ids = new JsonArray();
+    docs.forEach(doc -> ids.add(doc.getString(ID)));
+    return new JsonObject()
+        .put(SIZE_KEY, ids.size())
+        .put(SOURCE, new JsonArray().add(ID).add(TYPE))
+        .put(QUERY_KEY, new JsonObject().put(TERMS_KEY, new JsonObject().put(ID_KEYWORD, ids)));
+  }
+
+  @Override
+  public DatabaseService deleteItem(
+      JsonObject request, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Handler<AsyncResult<JsonObject>> handler =
+        timedWrite(
+            DELETE,
+            invalidateItems(Collections.singletonList(request.getString(ID)), resultHandler));
 
     LOGGER.debug("Info: Deleting item");
 
     RespBuilder respBuilder = new RespBuilder();
     String id = request.getString("id");
 
-    new Timer()
-        .schedule(
-            new TimerTask() {
-              public void run() {
-                String checkQuery = "";
+    String checkQuery = "";
 
-                /* the check query checks if any type item is present more than once.
-                If it's present then the item cannot be deleted.  */
-                checkQuery = QUERY_RESOURCE_GRP.replace("$1", id);
+    /* the check query checks if any type item is present more than once.
+    If it's present then the item cannot be deleted.  */
+    checkQuery = RESOURCE_GRP_TEMPLATE.render(id);
 
-                client.searchGetId(
-                    checkQuery,
-                    docIndex,
-                    checkRes -> {
-                      if (checkRes.failed()) {
-                        LOGGER.error("Fail: Check query fail;" + checkRes.cause().getMessage());
-                        handler.handle(Future.failedFuture(internalErrorResp));
-                      }
+    client.searchGetId(
+        checkQuery,
+        docIndex,
+        checkRes -> {
+          if (checkRes.failed()) {
+            LOGGER.error("Fail: Check query fail;" + checkRes.cause().getMessage());
+            handler.handle(Future.failedFuture(internalErrorResp));
+            return;
+          }
 
-                      if (checkRes.succeeded()) {
-                        LOGGER.debug("Success: Check index for doc");
-                        if (checkRes.result().getInteger(TOTAL_HITS) > 1) {
-                          LOGGER.error("Fail: Can't delete, doc has associated item;");
-                          handler.handle(
-                              Future.failedFuture(
-                                  respBuilder
-                                      .withType(TYPE_OPERATION_NOT_ALLOWED)
-                                      .withTitle(TITLE_OPERATION_NOT_ALLOWED)
-                                      .withResult(id, "Fail: Can't delete, doc has associated item")
-                                      .getResponse()));
-                          return;
-                        } else if (checkRes.result().getInteger(TOTAL_HITS) < 1) {
-                          LOGGER.error("Fail: Doc doesn't exist, can't delete;");
-                          handler.handle(
-                              Future.failedFuture(
-                                  respBuilder
-                                      .withType(TYPE_ITEM_NOT_FOUND)
-                                      .withTitle(TITLE_ITEM_NOT_FOUND)
-                                      .withResult(id, "Fail: Doc doesn't exist, can't delete")
-                                      .getResponse()));
-                          return;
-                        }
-                      }
+          if (checkRes.succeeded()) {
+            LOGGER.debug("Success: Check index for doc");
+            if (checkRes.result().getInteger(TOTAL_HITS) > 1) {
+              LOGGER.error("Fail: Can't delete, doc has associated item;");
+              handler.handle(
+                  Future.failedFuture(
+                      respBuilder
+                          .withType(TYPE_OPERATION_NOT_ALLOWED)
+                          .withTitle(TITLE_OPERATION_NOT_ALLOWED)
+                          .withResult(id, "Fail: Can't delete, doc has associated item")
+                          .getResponse()));
+              return;
+            } else if (checkRes.result().getInteger(TOTAL_HITS) < 1) {
+              LOGGER.error("Fail: Doc doesn't exist, can't delete;");
+              handler.handle(
+                  Future.failedFuture(
+                      respBuilder
+                          .withType(TYPE_ITEM_NOT_FOUND)
+                          .withTitle(TITLE_ITEM_NOT_FOUND)
+                          .withResult(id, "Fail: Doc doesn't exist, can't delete")
+                          .getResponse()));
+              return;
+            }
+          }
 
-                      String docId = checkRes.result().getJsonArray(RESULTS).getString(0);
-                      client.docDelAsync(
-                          docId,
-                          docIndex,
-                          delRes -> {
-                            if (delRes.succeeded()) {
-                              handler.handle(
-                                  Future.succeededFuture(
-                                      respBuilder
-                                          .withType(TYPE_SUCCESS)
-                                          .withTitle(TITLE_SUCCESS)
-                                          .withResult(id)
-                                          .withDetail("Success: Item deleted successfully")
-                                          .getJsonResponse()));
-                            } else {
-                              handler.handle(Future.failedFuture(internalErrorResp));
-                              LOGGER.error("Fail: Deletion failed;" + delRes.cause().getMessage());
-                            }
-                          });
-                    });
-              }
-            },
-            STATIC_DELAY_TIME);
+          String docId = checkRes.result().getJsonArray(RESULTS).getString(0);
+          client.docDelAsync(
+              docId,
+              docIndex,
+              delRes -> {
+                if (delRes.succeeded()) {
+                  handler.handle(
+                      Future.succeededFuture(
+                          respBuilder
+                              .withType(TYPE_SUCCESS)
+                              .withTitle(TITLE_SUCCESS)
+                              .withResult(id)
+                              .withDetail("Success: Item deleted successfully")
+                              .getJsonResponse()));
+                } else {
+                  handler.handle(Future.failedFuture(internalErrorResp));
+                  LOGGER.error("Fail: Deletion failed;" + delRes.cause().getMessage());
+                }
+              });
+        });
     return this;
   }
 
@@ -631,11 +1144,12 @@ public class DatabaseServiceImpl implements DatabaseService {
 
     RespBuilder respBuilder = new RespBuilder();
     String itemId = request.getString(ID);
-    String getQuery = GET_DOC_QUERY.replace("$1", itemId).replace("$2", "");
+    Future<JsonObject> get =
+        distributedCache == null || itemId == null
+            ? fetchItem(itemId)
+            : distributedCache.get(ITEM_CACHE, itemId, () -> fetchItem(itemId));
 
-    client.searchAsync(
-        getQuery,
-        docIndex,
+    get.onComplete(
         clientHandler -> {
           if (clientHandler.succeeded()) {
             LOGGER.debug("Success: Successful DB request");
@@ -657,6 +1171,16 @@ public class DatabaseServiceImpl implements DatabaseService {
     return this;
   }
 
+  private Future<JsonObject> fetchItem(String itemId) {
+    Promise<JsonObject> get = Promise.promise();
+    if (idKeyedDocuments) {
+      client.docGetAsync(itemId, docIndex, get);
+    } else {
+      client.searchAsync(GET_DOC_TEMPLATE.render(itemId, ""), docIndex, get);
+    }
+    return get.future();
+  }
+
   @Override
   public DatabaseService listItems(JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
 
@@ -665,6 +1189,11 @@ public class DatabaseServiceImpl implements DatabaseService {
 
     LOGGER.debug("Info: Listing items;" + elasticQuery);
 
+    if (request.containsKey(CURSOR)) {
+      aggregationPage(new JsonObject(elasticQuery), request.getString(CURSOR), handler);
+      return this;
+    }
+
     client.listAggregationAsync(
         elasticQuery,
         clientHandler -> {
@@ -690,6 +1219,21 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService listOwnerOrCos(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
     RespBuilder respBuilder = new RespBuilder();
+
+    /* Owners and COS are listed as documents, so a cursor pages through the documents */
+    if (request.containsKey(CURSOR)) {
+      JsonObject listRequest = request.copy();
+      String cursor = (String) listRequest.remove(CURSOR);
+      JsonObject query = new JsonObject(queryDecoder.listItemQuery(listRequest));
+      query.remove(AGGREGATION_KEY);
+      query.put(
+          SIZE_KEY,
+          listRequest.getInteger(
+              LIMIT, FILTER_PAGINATION_SIZE - listRequest.getInteger(OFFSET, 0)));
+      searchPage(query, cursor, handler);
+      return this;
+    }
+
     String elasticQuery = queryDecoder.listItemQuery(request);
 
     LOGGER.debug("Info: Listing items;" + elasticQuery);
@@ -716,13 +1260,51 @@ public class DatabaseServiceImpl implements DatabaseService {
     return this;
   }
 
+  @Override
+  public DatabaseService exportItems(
+      JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+    JsonObject query = queryDecoder.exportQuery(request);
+
+    LOGGER.debug("Info: Exporting items;" + query);
+
+    searchPage(query, request.getString(CURSOR), handler);
+    return this;
+  }
+
+  @Override
+  public DatabaseService getChanges(JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+    if (changeFeed == null) {
+      handler.handle(
+          Future.failedFuture(
+              new RespBuilder()
+                  .withType(TYPE_INTERNAL_SERVER_ERROR)
+                  .withTitle(TITLE_INTERNAL_SERVER_ERROR)
+                  .withDetail(DETAIL_CHANGE_FEED_DISABLED)
+                  .getResponse()));
+      return this;
+    }
+
+    changeFeed
+        .changes(Long.parseLong(request.getString(RESUME_TOKEN)), request.getInteger(LIMIT))
+        .onComplete(
+            changesRes -> {
+              if (changesRes.succeeded()) {
+                handler.handle(Future.succeededFuture(changesRes.result()));
+              } else {
+                LOGGER.error("Fail: DB request has failed;" + changesRes.cause());
+                handler.handle(Future.failedFuture(internalErrorResp));
+              }
+            });
+    return this;
+  }
+
   @Override
   public DatabaseService listRelationship(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
     RespBuilder respBuilder = new RespBuilder();
 
     StringBuilder typeQuery =
-        new StringBuilder(GET_TYPE_SEARCH.replace("$1", request.getString(ID)));
+        new StringBuilder(TYPE_SEARCH_TEMPLATE.render(request.getString(ID)));
     LOGGER.debug("typeQuery: " + typeQuery);
 
     client.searchAsync(
@@ -772,7 +1354,7 @@ public class DatabaseServiceImpl implements DatabaseService {
               String elasticQuery = queryDecoder.listRelationshipQuery(request);
               LOGGER.debug("Info: Query constructed;" + elasticQuery);
               if (elasticQuery != null) {
-                handleClientSearchAsync(handler, respBuilder, elasticQuery);
+                handleClientSearchAsync(request, handler, respBuilder, elasticQuery);
               } else {
                 handler.handle(
                     Future.failedFuture(
@@ -791,7 +1373,14 @@ public class DatabaseServiceImpl implements DatabaseService {
   }
 
   private void handleClientSearchAsync(
-      Handler<AsyncResult<JsonObject>> handler, RespBuilder respBuilder, String elasticQuery) {
+      JsonObject request,
+      Handler<AsyncResult<JsonObject>> handler,
+      RespBuilder respBuilder,
+      String elasticQuery) {
+    if (request.containsKey(CURSOR)) {
+      searchPage(new JsonObject(elasticQuery), request.getString(CURSOR), handler);
+      return;
+    }
     client.searchAsync(
         elasticQuery,
         docIndex,
@@ -812,13 +1401,77 @@ public class DatabaseServiceImpl implements DatabaseService {
         });
   }
 
+  /**
+   * Gets the page of the results of a search query at the position of a cursor.
+   *
+   * @param query search query
+   * @param cursor cursor of the request
+   * @param handler handler of the page
+   */
+  private void searchPage(
+      JsonObject query, String cursor, Handler<AsyncResult<JsonObject>> handler) {
+    SearchCursor position;
+    try {
+      position = SearchCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      LOGGER.error("Fail: Invalid cursor;" + e.getMessage());
+      handler.handle(Future.failedFuture(invalidCursorResp));
+      return;
+    }
+    client.searchPageAsync(docIndex, query, position).onComplete(pageHandler(position, handler));
+  }
+
+  /**
+   * Gets the page of the buckets of a list query at the position of a cursor.
+   *
+   * @param query list query with a composite aggregation
+   * @param cursor cursor of the request
+   * @param handler handler of the page
+   */
+  private void aggregationPage(
+      JsonObject query, String cursor, Handler<AsyncResult<JsonObject>> handler) {
+    SearchCursor position;
+    try {
+      position = SearchCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      LOGGER.error("Fail: Invalid cursor;" + e.getMessage());
+      handler.handle(Future.failedFuture(invalidCursorResp));
+      return;
+    }
+    client
+        .aggregationPageAsync(docIndex, query, position)
+        .onComplete(pageHandler(position, handler));
+  }
+
+  private static Handler<AsyncResult<JsonObject>> pageHandler(
+      SearchCursor cursor, Handler<AsyncResult<JsonObject>> handler) {
+    return pageRes -> {
+      if (pageRes.succeeded()) {
+        LOGGER.debug("Success: Successful DB request");
+        handler.handle(Future.succeededFuture(pageRes.result()));
+      } else if (!cursor.isStart() && isClientError(pageRes.cause())) {
+        /* ES rejects the position of a tampered cursor, or its point in time has expired */
+        LOGGER.error("Fail: Cursor rejected;" + pageRes.cause().getMessage());
+        handler.handle(Future.failedFuture(invalidCursorResp));
+      } else {
+        LOGGER.error("Fail: DB request has failed;" + pageRes.cause());
+        handler.handle(Future.failedFuture(internalErrorResp));
+      }
+    };
+  }
+
+  private static boolean isClientError(Throwable cause) {
+    return cause instanceof ResponseException
+        && ((ResponseException) cause).getResponse().getStatusLine().getStatusCode() < 500;
+  }
+
   private void handleResourceGroupFetchForRs(
       JsonObject request,
       Handler<AsyncResult<JsonObject>> handler,
       RespBuilder respBuilder,
       JsonObject relType) {
     StringBuilder typeQuery4RsGroup =
-        new StringBuilder(GET_RSGROUP.replace("$1", relType.getString(ID)));
+        new StringBuilder(RSGROUP_TEMPLATE.render(relType.getString(ID)));
     LOGGER.debug("typeQuery4RsGroup: " + typeQuery4RsGroup);
 
     client.searchAsync(
@@ -834,7 +1487,7 @@ public class DatabaseServiceImpl implements DatabaseService {
 
             LOGGER.debug("Info: Query constructed;" + elasticQuery);
 
-            handleClientSearchAsync(handler, respBuilder, elasticQuery);
+            handleClientSearchAsync(request, handler, respBuilder, elasticQuery);
           }
         });
   }
@@ -845,7 +1498,7 @@ public class DatabaseServiceImpl implements DatabaseService {
       RespBuilder respBuilder,
       JsonObject relType) {
     StringBuilder typeQuery4Rserver =
-        new StringBuilder(GET_TYPE_SEARCH.replace("$1", relType.getString(PROVIDER)));
+        new StringBuilder(TYPE_SEARCH_TEMPLATE.render(relType.getString(PROVIDER)));
     LOGGER.debug("typeQuery4Rserver: " + typeQuery4Rserver);
 
     client.searchAsync(
@@ -862,7 +1515,7 @@ public class DatabaseServiceImpl implements DatabaseService {
             LOGGER.debug("Info: Query constructed;" + elasticQuery);
 
             if (elasticQuery != null) {
-              handleClientSearchAsync(handler, respBuilder, elasticQuery);
+              handleClientSearchAsync(request, handler, respBuilder, elasticQuery);
             } else {
               handler.handle(
                   Future.failedFuture(
@@ -1009,7 +1662,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     RespBuilder respBuilder = new RespBuilder();
     String ratingId = ratingDoc.getString("ratingID");
 
-    String checkForExistingRecord = GET_RDOC_QUERY.replace("$1", ratingId).replace("$2", "");
+    String checkForExistingRecord = GET_RDOC_TEMPLATE.render(ratingId, "");
 
     client.searchAsync(
         checkForExistingRecord,
@@ -1042,6 +1695,7 @@ public class DatabaseServiceImpl implements DatabaseService {
                 ratingDoc.toString(),
                 postRes -> {
                   if (postRes.succeeded()) {
+                    refreshRatingSummary(ratingDoc.getString(ID));
                     handler.handle(
                         Future.succeededFuture(
                             respBuilder
@@ -1072,7 +1726,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     RespBuilder respBuilder = new RespBuilder();
     String ratingId = ratingDoc.getString("ratingID");
 
-    String checkForExistingRecord = GET_RDOC_QUERY.replace("$1", ratingId).replace("$2", "");
+    String checkForExistingRecord = GET_RDOC_TEMPLATE.render(ratingId, "");
 
     client.searchGetId(
         checkForExistingRecord,
@@ -1104,6 +1758,7 @@ public class DatabaseServiceImpl implements DatabaseService {
                 ratingDoc.toString(),
                 putRes -> {
                   if (putRes.succeeded()) {
+                    refreshRatingSummary(ratingDoc.getString(ID));
                     handler.handle(
                         Future.succeededFuture(
                             respBuilder
@@ -1127,7 +1782,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     RespBuilder respBuilder = new RespBuilder();
     String ratingId = request.getString("ratingID");
 
-    String checkForExistingRecord = GET_RDOC_QUERY.replace("$1", ratingId).replace("$2", "");
+    String checkForExistingRecord = GET_RDOC_TEMPLATE.render(ratingId, "");
 
     client.searchGetId(
         checkForExistingRecord,
@@ -1158,6 +1813,7 @@ public class DatabaseServiceImpl implements DatabaseService {
                 ratingIndex,
                 putRes -> {
                   if (putRes.succeeded()) {
+                    refreshRatingSummary(request.getString(ID));
                     handler.handle(
                         Future.succeededFuture(
                             respBuilder
@@ -1181,11 +1837,25 @@ public class DatabaseServiceImpl implements DatabaseService {
     String query;
     if (request.containsKey("ratingID")) {
       String ratingId = request.getString("ratingID");
-      query = GET_RATING_DOCS.replace("$1", "ratingID").replace("$2", ratingId);
+      query = RATING_DOCS_TEMPLATE.render("ratingID", ratingId);
       LOGGER.debug(query);
     } else {
       String id = request.getString(ID);
       if (request.containsKey(TYPE) && request.getString(TYPE).equalsIgnoreCase("average")) {
+        if (ratingSummaries != null) {
+          ratingSummaries
+              .average(id)
+              .onComplete(
+                  getRes -> {
+                    if (getRes.succeeded()) {
+                      handler.handle(Future.succeededFuture(getRes.result()));
+                    } else {
+                      LOGGER.error("Fail: failed getting average rating: " + getRes.cause());
+                      handler.handle(Future.failedFuture(internalErrorResp));
+                    }
+                  });
+          return this;
+        }
         Future<List<String>> getAssociatedIdFuture = getAssociatedIDs(id);
         getAssociatedIdFuture.onComplete(
             ids -> {
@@ -1219,7 +1889,7 @@ public class DatabaseServiceImpl implements DatabaseService {
 
         return this;
       } else {
-        query = GET_RATING_DOCS.replace("$1", "id.keyword").replace("$2", id);
+        query = RATING_DOCS_TEMPLATE.render("id.keyword", id);
         LOGGER.debug(query);
       }
     }
@@ -1245,11 +1915,22 @@ public class DatabaseServiceImpl implements DatabaseService {
     return this;
   }
 
+  /* The summary is only a cache of the ratings, so a failed refresh does not fail the write */
+  private void refreshRatingSummary(String id) {
+    if (ratingSummaries == null || id == null) {
+      return;
+    }
+    ratingSummaries
+        .refresh(id)
+        .onFailure(
+            e -> LOGGER.error("Fail: Refreshing the rating summary of " + id + " failed; " + e));
+  }
+
   private Future<List<String>> getAssociatedIDs(String id) {
     Promise<List<String>> promise = Promise.promise();
 
     StringBuilder query =
-        new StringBuilder(GET_ASSOCIATED_ID_QUERY.replace("$1", id).replace("$2", id));
+        new StringBuilder(ASSOCIATED_ID_TEMPLATE.render(id, id));
     LOGGER.debug(query);
     client.searchAsync(
         query.toString(),
@@ -1281,7 +1962,8 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService createMlayerInstance(
       JsonObject instanceDoc, Handler<AsyncResult<JsonObject>> handler) {
     MlayerInstance getMlayerInstance = new MlayerInstance(client, mlayerInstanceIndex);
-    getMlayerInstance.createMlayerInstance(instanceDoc, handler);
+    getMlayerInstance.createMlayerInstance(
+        instanceDoc, invalidateMlayer(MLAYER_INSTANCE_CACHE, handler));
     return this;
   }
 
@@ -1289,7 +1971,20 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService getMlayerInstance(
       JsonObject requestParams, Handler<AsyncResult<JsonObject>> handler) {
     MlayerInstance getMlayerInstance = new MlayerInstance(client, mlayerInstanceIndex);
-    getMlayerInstance.getMlayerInstance(requestParams, handler);
+    if (distributedCache == null) {
+      getMlayerInstance.getMlayerInstance(requestParams, handler);
+      return this;
+    }
+    distributedCache
+        .get(
+            MLAYER_INSTANCE_CACHE,
+            DistributedCache.key(requestParams),
+            () -> {
+              Promise<JsonObject> get = Promise.promise();
+              getMlayerInstance.getMlayerInstance(requestParams, get);
+              return get.future();
+            })
+        .onComplete(handler);
     return this;
   }
 
@@ -1297,7 +1992,8 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService deleteMlayerInstance(
       String instanceId, Handler<AsyncResult<JsonObject>> handler) {
     MlayerInstance mlayerInstance = new MlayerInstance(client, mlayerInstanceIndex);
-    mlayerInstance.deleteMlayerInstance(instanceId, handler);
+    mlayerInstance.deleteMlayerInstance(
+        instanceId, invalidateMlayer(MLAYER_INSTANCE_CACHE, handler));
     return this;
   }
 
@@ -1305,7 +2001,7 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService updateMlayerInstance(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
     MlayerInstance mlayerInstance = new MlayerInstance(client, mlayerInstanceIndex);
-    mlayerInstance.updateMlayerInstance(request, handler);
+    mlayerInstance.updateMlayerInstance(request, invalidateMlayer(MLAYER_INSTANCE_CACHE, handler));
     return this;
   }
 
@@ -1313,7 +2009,7 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService createMlayerDomain(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
     MlayerDomain mlayerDomain = new MlayerDomain(client, mlayerDomainIndex);
-    mlayerDomain.createMlayerDomain(request, handler);
+    mlayerDomain.createMlayerDomain(request, invalidateMlayer(MLAYER_DOMAIN_CACHE, handler));
     return this;
   }
 
@@ -1321,7 +2017,20 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService getMlayerDomain(
       JsonObject requestParams, Handler<AsyncResult<JsonObject>> handler) {
     MlayerDomain mlayerDomain = new MlayerDomain(client, mlayerDomainIndex);
-    mlayerDomain.getMlayerDomain(requestParams, handler);
+    if (distributedCache == null) {
+      mlayerDomain.getMlayerDomain(requestParams, handler);
+      return this;
+    }
+    distributedCache
+        .get(
+            MLAYER_DOMAIN_CACHE,
+            DistributedCache.key(requestParams),
+            () -> {
+              Promise<JsonObject> get = Promise.promise();
+              mlayerDomain.getMlayerDomain(requestParams, get);
+              return get.future();
+            })
+        .onComplete(handler);
     return this;
   }
 
@@ -1329,7 +2038,7 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService updateMlayerDomain(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
     MlayerDomain mlayerDomain = new MlayerDomain(client, mlayerDomainIndex);
-    mlayerDomain.updateMlayerDomain(request, handler);
+    mlayerDomain.updateMlayerDomain(request, invalidateMlayer(MLAYER_DOMAIN_CACHE, handler));
     return this;
   }
 
@@ -1337,7 +2046,7 @@ public class DatabaseServiceImpl implements DatabaseService {
   public DatabaseService deleteMlayerDomain(
       String domainId, Handler<AsyncResult<JsonObject>> handler) {
     MlayerDomain mlayerDomain = new MlayerDomain(client, mlayerDomainIndex);
-    mlayerDomain.deleteMlayerDomain(domainId, handler);
+    mlayerDomain.deleteMlayerDomain(domainId, invalidateMlayer(MLAYER_DOMAIN_CACHE, handler));
     return this;
   }
 
@@ -1400,7 +2109,7 @@ public class DatabaseServiceImpl implements DatabaseService {
     }
 
     String checkInstance =
-        GET_INSTANCE_CASE_INSENSITIVE_QUERY.replace("$1", instanceId).replace("$2", "");
+        INSTANCE_CASE_INSENSITIVE_TEMPLATE.render(instanceId, "");
     client.searchAsync(
         checkInstance,
         docIndex,
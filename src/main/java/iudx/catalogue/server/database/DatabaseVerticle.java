@@ -1,7 +1,13 @@
 package iudx.catalogue.server.database;
 
+import static iudx.catalogue.server.database.Constants.DEFAULT_KNN_NUM_CANDIDATES;
+import static iudx.catalogue.server.database.Constants.DEFAULT_RATING_SUMMARY_RECONCILE_SECONDS;
+import static iudx.catalogue.server.database.Constants.DEFAULT_SLOW_QUERY_THRESHOLD_MS;
+import static iudx.catalogue.server.database.Constants.NLP_SEARCH_MODE_SCRIPT;
+import static iudx.catalogue.server.database.Constants.REFRESH_WAIT_FOR;
 import static iudx.catalogue.server.util.Constants.*;
 
+import com.hazelcast.core.HazelcastInstance;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -10,8 +16,13 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.databroker.DataBrokerService;
 import iudx.catalogue.server.geocoding.GeocodingService;
+import iudx.catalogue.server.mlayer.vocabulary.DataModelCache;
 import iudx.catalogue.server.nlpsearch.NLPSearchService;
+import iudx.catalogue.server.util.LocalServices;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * The Database Verticle.
@@ -26,7 +37,9 @@ import iudx.catalogue.server.nlpsearch.NLPSearchService;
  */
 public class DatabaseVerticle extends AbstractVerticle {
 
-  private DatabaseService database;
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseVerticle.class);
+
+  private DatabaseServiceImpl database;
   private String databaseIp;
   private String docIndex;
   private String ratingIndex;
@@ -35,10 +48,26 @@ public class DatabaseVerticle extends AbstractVerticle {
   private String databaseUser;
   private String databasePassword;
   private int databasePort;
+  private String refreshPolicy;
   private ElasticClient client;
   private JsonArray optionalModules;
   private ServiceBinder binder;
   private MessageConsumer<JsonObject> consumer;
+  private final HazelcastInstance hazelcast;
+
+  /** Constructs the verticle without a distributed cache. */
+  public DatabaseVerticle() {
+    this(null);
+  }
+
+  /**
+   * Constructs the verticle.
+   *
+   * @param hazelcast the Hazelcast instance of the cluster, which holds the distributed cache
+   */
+  public DatabaseVerticle(HazelcastInstance hazelcast) {
+    this.hazelcast = hazelcast;
+  }
 
   /**
    * Helper function to create a WebClient to talk to the vocabulary server.
@@ -70,8 +99,14 @@ public class DatabaseVerticle extends AbstractVerticle {
     mlayerIndex = config().getString(MLAYER_INSTANCE_INDEX);
     mlayerDomainIndex = config().getString(MLAYER_DOMAIN_INDEX);
     optionalModules = config().getJsonArray(OPTIONAL_MODULES);
+    refreshPolicy = config().getString(REFRESH_POLICY, REFRESH_WAIT_FOR);
 
-    client = new ElasticClient(databaseIp, databasePort, docIndex, databaseUser, databasePassword);
+    client =
+        new ElasticClient(
+            databaseIp, databasePort, docIndex, databaseUser, databasePassword, refreshPolicy);
+    client.setSlowQueryThresholdMs(
+        config().getLong(SLOW_QUERY_THRESHOLD, DEFAULT_SLOW_QUERY_THRESHOLD_MS));
+    DataModelCache.getInstance(vertx, config());
 
     if (optionalModules.contains(NLPSEARCH_PACKAGE_NAME)
         && optionalModules.contains(GEOCODING_PACKAGE_NAME)) {
@@ -98,12 +133,66 @@ public class DatabaseVerticle extends AbstractVerticle {
               mlayerDomainIndex);
     }
 
+    database.setNlpSearchOptions(
+        config().getString(NLP_SEARCH_MODE, NLP_SEARCH_MODE_SCRIPT),
+        config().getInteger(KNN_NUM_CANDIDATES, DEFAULT_KNN_NUM_CANDIDATES));
+    database.setIdKeyedDocuments(config().getBoolean(ID_KEYED_DOCUMENTS, false));
+
+    String ratingSummaryIndex = config().getString(RATING_SUMMARY_INDEX);
+    if (ratingSummaryIndex != null && !ratingSummaryIndex.isBlank()) {
+      RatingSummaries ratingSummaries =
+          new RatingSummaries(vertx, client, docIndex, ratingIndex, ratingSummaryIndex);
+      /* Averages are aggregated from the ratings until the summaries are built */
+      ratingSummaries
+          .start(
+              config()
+                  .getLong(RATING_SUMMARY_RECONCILE, DEFAULT_RATING_SUMMARY_RECONCILE_SECONDS))
+          .onComplete(
+              started -> {
+                if (started.succeeded()) {
+                  database.setRatingSummaries(ratingSummaries);
+                } else {
+                  LOGGER.error("Fail: Rating summaries unavailable; " + started.cause());
+                }
+              });
+    }
+
+    String changeFeedIndex = config().getString(CHANGE_FEED_INDEX);
+    if (changeFeedIndex != null && !changeFeedIndex.isBlank()) {
+      String changeFeedExchange = config().getString(CHANGE_FEED_EXCHANGE, "");
+      DataBrokerService broker =
+          changeFeedExchange.isBlank()
+              ? null
+              : DataBrokerService.createProxy(vertx, BROKER_SERVICE_ADDRESS);
+      ChangeFeed changeFeed =
+          new ChangeFeed(vertx, client, changeFeedIndex, broker, changeFeedExchange);
+      changeFeed
+          .start()
+          .onComplete(
+              started -> {
+                if (started.succeeded()) {
+                  database.setChangeFeed(changeFeed);
+                } else {
+                  LOGGER.error("Fail: Change feed unavailable; " + started.cause());
+                }
+              });
+    }
+
+    /* The maps of the cache are configured by the clustered deployer */
+    if (config().containsKey(DISTRIBUTED_CACHE) && hazelcast != null) {
+      DistributedCache distributedCache = new DistributedCache(vertx, hazelcast);
+      distributedCache.bindMetrics();
+      database.setDistributedCache(distributedCache);
+    }
+
     consumer =
         binder.setAddress(DATABASE_SERVICE_ADDRESS).register(DatabaseService.class, database);
+    LocalServices.register(vertx, DATABASE_SERVICE_ADDRESS, database);
   }
 
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, DATABASE_SERVICE_ADDRESS, database);
   }
 }
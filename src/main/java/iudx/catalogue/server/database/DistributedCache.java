@@ -0,0 +1,255 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.TOTAL_HITS;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.util.LatencyMetrics;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of items, mlayer instances and mlayer domains shared by the nodes of a Hazelcast cluster,
+ * so that the documents read on every page of the catalogue do not go to Elasticsearch every time.
+ *
+ * <p>Each type of document is kept in its own Hazelcast map, with its own TTL and its own cap on
+ * the heap used by the map on a node. Each node also keeps a near cache of the entries it reads,
+ * which is invalidated by Hazelcast when an entry changes anywhere in the cluster. Items are cached
+ * under their id, and are removed once they are updated or deleted. Mlayer responses are cached
+ * under their request parameters, and a write of an instance or a domain clears its map. Only
+ * responses with results are cached, so an item created after it was looked up is found.
+ *
+ * <p>A get which misses puts a lease under the key before reading the database, and the response
+ * only replaces the lease if it is still there. An invalidation while the database is read removes
+ * the lease, so the response it read, which may be stale, is not cached.
+ *
+ * <p>The maps are configured by the clustered deployer from {@link #mapConfigs}. The cache never
+ * fails a request: if Hazelcast cannot be reached, the document is read from Elasticsearch.
+ */
+public final class DistributedCache {
+
+  private static final Logger LOGGER = LogManager.getLogger(DistributedCache.class);
+  private final Vertx vertx;
+  private final HazelcastInstance hazelcast;
+
+  /**
+   * Constructs a distributed cache.
+   *
+   * @param vertx the vertx instance
+   * @param hazelcast the Hazelcast instance of the cluster manager
+   */
+  DistributedCache(Vertx vertx, HazelcastInstance hazelcast) {
+    this.vertx = vertx;
+    this.hazelcast = hazelcast;
+  }
+
+  /**
+   * Builds the configuration of the maps of the cache, to be added to the configuration of
+   * Hazelcast before the node joins the cluster.
+   *
+   * @param cacheConfig the <code>distributedCache</code> configuration, with optional objects
+   *     <code>items</code>, <code>mlayerInstances</code> and <code>mlayerDomains</code>, each with
+   *     <code>ttlSeconds</code>, <code>maxSizeMb</code> and <code>nearCacheMaxEntries</code>
+   * @return configuration of the maps
+   */
+  public static List<MapConfig> mapConfigs(JsonObject cacheConfig) {
+    List<MapConfig> mapConfigs = new ArrayList<>();
+    mapConfigs.add(
+        mapConfig(
+            ITEM_CACHE,
+            cacheConfig.getJsonObject(CACHE_ITEMS, new JsonObject()),
+            DEFAULT_ITEM_CACHE_TTL_SECONDS,
+            DEFAULT_ITEM_CACHE_MAX_SIZE_MB));
+    mapConfigs.add(
+        mapConfig(
+            MLAYER_INSTANCE_CACHE,
+            cacheConfig.getJsonObject(CACHE_MLAYER_INSTANCES, new JsonObject()),
+            DEFAULT_MLAYER_CACHE_TTL_SECONDS,
+            DEFAULT_MLAYER_CACHE_MAX_SIZE_MB));
+    mapConfigs.add(
+        mapConfig(
+            MLAYER_DOMAIN_CACHE,
+            cacheConfig.getJsonObject(CACHE_MLAYER_DOMAINS, new JsonObject()),
+            DEFAULT_MLAYER_CACHE_TTL_SECONDS,
+            DEFAULT_MLAYER_CACHE_MAX_SIZE_MB));
+    return mapConfigs;
+  }
+
+  private static MapConfig mapConfig(
+      String name, JsonObject config, int defaultTtlSeconds, int defaultMaxSizeMb) {
+    int ttlSeconds = config.getInteger(CACHE_TTL, defaultTtlSeconds);
+    NearCacheConfig nearCacheConfig =
+        new NearCacheConfig(name)
+            .setInMemoryFormat(InMemoryFormat.OBJECT)
+            .setInvalidateOnChange(true)
+            .setTimeToLiveSeconds(ttlSeconds)
+            .setEvictionConfig(
+                new EvictionConfig()
+                    .setEvictionPolicy(EvictionPolicy.LRU)
+                    .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                    .setSize(
+                        config.getInteger(
+                            CACHE_NEAR_MAX_ENTRIES, DEFAULT_NEAR_CACHE_MAX_ENTRIES)));
+    return new MapConfig(name)
+        .setTimeToLiveSeconds(ttlSeconds)
+        .setEvictionConfig(
+            new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+                .setSize(config.getInteger(CACHE_MAX_SIZE_MB, defaultMaxSizeMb)))
+        .setNearCacheConfig(nearCacheConfig);
+  }
+
+  /**
+   * Key of an mlayer response, independent of the order of the request parameters.
+   *
+   * @param requestParams the parameters of the mlayer request
+   * @return the key of the response
+   */
+  static String key(JsonObject requestParams) {
+    return new JsonObject(new TreeMap<>(requestParams.getMap())).encode();
+  }
+
+  void bindMetrics() {
+    for (String name : List.of(ITEM_CACHE, MLAYER_INSTANCE_CACHE, MLAYER_DOMAIN_CACHE)) {
+      HazelcastCacheMetrics.monitor(LatencyMetrics.registry(), map(name));
+    }
+  }
+
+  /**
+   * Gets a response from the cache, or else from the database.
+   *
+   * @param name name of the map of the cache
+   * @param key key of the response
+   * @param load reads the response from the database on a miss
+   * @return Future of the response
+   */
+  Future<JsonObject> get(String name, String key, Supplier<Future<JsonObject>> load) {
+    IMap<String, String> map = map(name);
+    return Future.fromCompletionStage(map.getAsync(key), vertx.getOrCreateContext())
+        .recover(
+            err -> {
+              LOGGER.error("Fail: Cache {} unavailable; {}", name, err.getMessage());
+              /* Read from the database without taking a lease */
+              return Future.succeededFuture(CACHE_LEASE_PREFIX);
+            })
+        .compose(
+            cached -> {
+              if (cached != null && !cached.startsWith(CACHE_LEASE_PREFIX)) {
+                return Future.succeededFuture(new JsonObject(cached));
+              }
+              Future<String> lease =
+                  cached == null ? lease(name, key) : Future.succeededFuture();
+              return lease.compose(
+                  held -> {
+                    Future<JsonObject> loaded = load.get();
+                    return loaded.eventually(() -> fill(name, key, held, loaded));
+                  });
+            });
+  }
+
+  /**
+   * Takes the lease of a missing key, which is removed along with the key when it is invalidated.
+   *
+   * @return Future of the lease, or of null if another get holds it or Hazelcast cannot be reached
+   */
+  private Future<String> lease(String name, String key) {
+    String lease = CACHE_LEASE_PREFIX + UUID.randomUUID();
+    return vertx
+        .<String>executeBlocking(
+            () ->
+                map(name).putIfAbsent(key, lease, CACHE_LEASE_TTL_SECONDS, TimeUnit.SECONDS) == null
+                    ? lease
+                    : null,
+            false)
+        .otherwise(
+            err -> {
+              LOGGER.error("Fail: Cache {} lease not taken; {}", name, err.getMessage());
+              return null;
+            });
+  }
+
+  /**
+   * Replaces a lease by the loaded response. The response is only cached if the lease is still
+   * there, so a response read before the key was invalidated is dropped.
+   */
+  private Future<Void> fill(
+      String name, String key, String lease, Future<JsonObject> loaded) {
+    if (lease == null) {
+      return Future.succeededFuture();
+    }
+    IMap<String, String> map = map(name);
+    return vertx
+        .<Boolean>executeBlocking(
+            () ->
+                loaded.succeeded() && loaded.result().getInteger(TOTAL_HITS, 0) > 0
+                    ? map.replace(key, lease, loaded.result().encode())
+                    : map.remove(key, lease),
+            false)
+        .onFailure(err -> LOGGER.error("Fail: Cache {} not filled; {}", name, err.getMessage()))
+        .<Void>mapEmpty()
+        .otherwiseEmpty();
+  }
+
+  /**
+   * Removes items from the cache on every node.
+   *
+   * @param name name of the map of the cache
+   * @param keys keys of the items
+   * @return Future completed once the items are removed
+   */
+  Future<Void> remove(String name, Collection<String> keys) {
+    IMap<String, String> map = map(name);
+    List<Future<String>> removals = new ArrayList<>();
+    for (String key : keys) {
+      if (key == null) {
+        continue;
+      }
+      removals.add(Future.fromCompletionStage(map.removeAsync(key), vertx.getOrCreateContext()));
+    }
+    return Future.join(removals)
+        .onFailure(err -> LOGGER.error("Fail: Cache {} not invalidated; {}", name, err))
+        .<Void>mapEmpty()
+        .otherwiseEmpty();
+  }
+
+  /**
+   * Clears a map of the cache on every node.
+   *
+   * @param name name of the map of the cache
+   * @return Future completed once the map is cleared
+   */
+  Future<Void> clear(String name) {
+    return vertx
+        .<Void>executeBlocking(
+            () -> {
+              map(name).clear();
+              return null;
+            },
+            false)
+        .onFailure(err -> LOGGER.error("Fail: Cache {} not cleared; {}", name, err))
+        .otherwiseEmpty();
+  }
+
+  private IMap<String, String> map(String name) {
+    return hazelcast.getMap(name);
+  }
+}
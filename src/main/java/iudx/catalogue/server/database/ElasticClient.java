@@ -8,23 +8,36 @@ import static iudx.catalogue.server.geocoding.util.Constants.TYPE;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.validator.Constants.VALIDATION_FAILURE_MSG;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.nio.entity.NStringEntity;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
 import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 
@@ -35,6 +48,8 @@ public final class ElasticClient {
   private static final Logger LOGGER = LogManager.getLogger(ElasticClient.class);
   private final RestClient client;
   private String index;
+  private String refreshPolicy;
+  private long slowQueryThresholdMs = DEFAULT_SLOW_QUERY_THRESHOLD_MS;
 
   /**
    * ElasticClient - Wrapper around ElasticSearch low level client.
@@ -45,12 +60,37 @@ public final class ElasticClient {
    */
   public ElasticClient(String databaseIp, int databasePort, String index,
                         String databaseUser, String databasePassword) {
+    this(databaseIp, databasePort, index, databaseUser, databasePassword, REFRESH_WAIT_FOR);
+  }
+
+  /**
+   * ElasticClient - Wrapper around ElasticSearch low level client with an explicit refresh policy
+   * for document writes.
+   *
+   * @param databaseIp IP of the DB
+   * @param databasePort Port
+   * @param refreshPolicy value of the ES <code>refresh</code> parameter sent with every doc write
+   *     (<code>wait_for</code>, <code>true</code> or <code>false</code>)
+   */
+  public ElasticClient(String databaseIp, int databasePort, String index,
+                        String databaseUser, String databasePassword, String refreshPolicy) {
     CredentialsProvider credentials = new BasicCredentialsProvider();
     credentials.setCredentials(AuthScope.ANY,
                                 new UsernamePasswordCredentials(databaseUser, databasePassword));
     client = RestClient.builder(new HttpHost(databaseIp, databasePort)).setHttpClientConfigCallback(
         httpClientBuilder -> httpClientBuilder.setDefaultCredentialsProvider(credentials)).build();
     this.index = index;
+    this.refreshPolicy = refreshPolicy;
+  }
+
+  /**
+   * Sets the latency above which a request is logged along with its body, such as the query
+   * generated for a search.
+   *
+   * @param slowQueryThresholdMs threshold in milliseconds, 0 or less to log no request
+   */
+  public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+    this.slowQueryThresholdMs = slowQueryThresholdMs;
   }
 
   /**
@@ -68,7 +108,7 @@ public final class ElasticClient {
 
     DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
 
-    client.performRequestAsync(request, new ResponseListener() {
+    timedRequestAsync(request, new ResponseListener() {
       @Override
       public void onSuccess(Response response) {
 
@@ -78,6 +118,11 @@ public final class ElasticClient {
             promise.fail(DATABASE_BAD_QUERY);
             return;
           }
+          if (ElasticResponseDecoder.decodes(options)) {
+            promise.complete(
+                ElasticResponseDecoder.decodeHits(response.getEntity().getContent(), options));
+            return;
+          }
           JsonObject responseJson = new JsonObject(EntityUtils.toString(response.getEntity()));
           int totalHits = responseJson.getJsonObject(HITS)
                   .getJsonObject(TOTAL)
@@ -294,7 +339,7 @@ public final class ElasticClient {
           }
           promise.complete(responseMsg.getResponse());
 
-        } catch (IOException e) {
+        } catch (IOException | DecodeException e) {
           promise.fail(e);
         } finally {
           EntityUtils.consumeQuietly(response.getEntity());
@@ -466,53 +511,107 @@ public final class ElasticClient {
    */
   public Future<JsonObject> scriptLocationSearch(JsonArray queryVector, JsonObject queryParams) {
 
-    StringBuilder query = new StringBuilder("{\"query\": {\"script_score\": {\"query\": {\"bool\":"
-            + " {\"should\": [");
-    if (queryParams.containsKey(BOROUGH)) {
-      query.append("{\"match\": {\"_geosummary._geocoded.results.borough\": \"")
-              .append(queryParams.getString(BOROUGH)).append("\"}},");
-    }
-    if (queryParams.containsKey(LOCALITY)) {
-      query.append("{\"match\": {\"_geosummary._geocoded.results.locality\": \"")
-                      .append(queryParams.getString(LOCALITY)).append("\"}},");
-    }
-    if (queryParams.containsKey(COUNTY)) {
-      query.append("{\"match\": {\"_geosummary._geocoded.results.county\": \"")
-              .append(queryParams.getString(COUNTY)).append("\"}},");
-    }
-    if (queryParams.containsKey(REGION)) {
-      query.append("{\"match\": {\"_geosummary._geocoded.results.region\": \"")
-              .append(queryParams.getString(REGION)).append("\"}},");
-    }
-    if (queryParams.containsKey(COUNTRY)) {
-      query.append("{\"match\": {\"_geosummary._geocoded.results.country\": \"")
-              .append(queryParams.getString(COUNTRY)).append("\"}}");
-    } else {
-      query.deleteCharAt(query.length() - 1);
-    }
-    JsonArray bboxCoords = queryParams.getJsonArray(BBOX);
-    query.append("],\"minimum_should_match\": 1, \"filter\": {\"geo_shape\":"
-                    + " {\"location.geometry\": {\"shape\": {\"type\": \"envelope\",")
-        .append("\"coordinates\": [ [ ").append(bboxCoords.getFloat(0)).append(",")
-            .append(bboxCoords.getFloat(3)).append("],")
-        .append("[").append(bboxCoords.getFloat(2)).append(",").append(bboxCoords
-                    .getFloat(1)).append("] ]}, \"relation\": \"intersects\" }}}}},")
-        .append("\"script\": {\"source\": \"doc['_word_vector'].size() == 0 ? 0 : "
-                + "cosineSimilarity(params.query_vector, '_word_vector') + 1.0\",")
-        .append("\"params\": { \"query_vector\":").append(queryVector.toString())
-            .append("}}}}, \"_source\": {\"excludes\": [\"_word_vector\"]}}");
+    String query = "{\"query\": {\"script_score\": {\"query\": "
+        + geoSummaryFilter(queryParams)
+        + ", \"script\": {\"source\": \"doc['_word_vector'].size() == 0 ? 0 : "
+        + "cosineSimilarity(params.query_vector, '_word_vector') + 1.0\","
+        + "\"params\": { \"query_vector\":" + queryVector.toString()
+        + "}}}}, \"_source\": {\"excludes\": [\"_word_vector\"]}}";
 
     Request queryRequest = new Request(REQUEST_GET, index + "/_search");
-    queryRequest.setJsonEntity(query.toString());
+    queryRequest.setJsonEntity(query);
+    return searchAsync(queryRequest, SOURCE_ONLY);
+  }
+
+  /**
+   * Performs an approximate kNN search on the indexed <code>_word_vector</code> field. Unlike
+   * {@link #scriptSearch(JsonArray, Handler)}, which scores every document in the index, ES only
+   * visits <code>numCandidates</code> nearest neighbours per shard through the HNSW graph.
+   *
+   * @param queryVector the query vector in a JSON array format
+   * @param numCandidates number of nearest neighbour candidates considered per shard
+   * @param resultHandler the handler for the result of the search operation
+   * @return the ElasticClient instance for chaining calls
+   */
+  public ElasticClient knnSearch(
+      JsonArray queryVector, int numCandidates, Handler<AsyncResult<JsonObject>> resultHandler) {
+    Request queryRequest = new Request(REQUEST_GET, index + "/_search");
+    queryRequest.setJsonEntity(knnQuery(queryVector, numCandidates, null).toString());
     Future<JsonObject> future = searchAsync(queryRequest, SOURCE_ONLY);
-    Promise<JsonObject> promise = Promise.promise();
+    future.onComplete(resultHandler);
+    return this;
+  }
 
-    future.onSuccess(h -> {
-      promise.complete(future.result());
-    }).onFailure(h -> {
-      promise.fail(future.cause());
-    });
-    return promise.future();
+  /**
+   * Performs an approximate kNN search restricted to the documents matching the geocoded location,
+   * the kNN counterpart of {@link #scriptLocationSearch(JsonArray, JsonObject)}.
+   *
+   * @param queryVector The vector to use for the query.
+   * @param queryParams The parameters to filter results based on location.
+   * @param numCandidates number of nearest neighbour candidates considered per shard
+   * @return A Future of a JsonObject containing the search results.
+   */
+  public Future<JsonObject> knnLocationSearch(
+      JsonArray queryVector, JsonObject queryParams, int numCandidates) {
+    Request queryRequest = new Request(REQUEST_GET, index + "/_search");
+    queryRequest.setJsonEntity(
+        knnQuery(queryVector, numCandidates, geoSummaryFilter(queryParams)).toString());
+    return searchAsync(queryRequest, SOURCE_ONLY);
+  }
+
+  /**
+   * Builds the body of a kNN search on the <code>_word_vector</code> field.
+   *
+   * @param queryVector the query vector
+   * @param numCandidates number of nearest neighbour candidates considered per shard
+   * @param filter optional query the neighbours have to match, may be null
+   * @return kNN search body
+   */
+  static JsonObject knnQuery(JsonArray queryVector, int numCandidates, JsonObject filter) {
+    JsonObject knn = new JsonObject()
+        .put(FIELD, WORD_VECTOR_KEY)
+        .put(QUERY_VECTOR, queryVector)
+        .put(K, NLP_SEARCH_SIZE)
+        .put(NUM_CANDIDATES, Math.max(numCandidates, NLP_SEARCH_SIZE));
+    if (filter != null) {
+      knn.put(FILTER, filter);
+    }
+    return new JsonObject()
+        .put(KNN, knn)
+        .put(SIZE_KEY, NLP_SEARCH_SIZE)
+        .put(SOURCE, new JsonObject().put(EXCLUDES, new JsonArray().add(WORD_VECTOR_KEY)));
+  }
+
+  /**
+   * Builds the bool query matching documents whose geocoded summary contains any of the given
+   * location names and whose location intersects the bounding box of the geocoding result.
+   *
+   * @param queryParams a single geocoding result
+   * @return bool query
+   */
+  static JsonObject geoSummaryFilter(JsonObject queryParams) {
+    JsonArray should = new JsonArray();
+    for (String key : new String[] {BOROUGH, LOCALITY, COUNTY, REGION, COUNTRY}) {
+      if (queryParams.containsKey(key)) {
+        should.add(new JsonObject().put(MATCH_KEY,
+            new JsonObject().put("_geosummary._geocoded.results." + key,
+                queryParams.getString(key))));
+      }
+    }
+    JsonArray bboxCoords = queryParams.getJsonArray(BBOX);
+    JsonObject envelope = new JsonObject()
+        .put(TYPE, GEO_BBOX)
+        .put(COORDINATES_KEY, new JsonArray()
+            .add(new JsonArray().add(bboxCoords.getFloat(0)).add(bboxCoords.getFloat(3)))
+            .add(new JsonArray().add(bboxCoords.getFloat(2)).add(bboxCoords.getFloat(1))));
+    JsonObject geoShape = new JsonObject().put(GEO_SHAPE_KEY, new JsonObject()
+        .put("location" + GEO_KEY, new JsonObject()
+            .put(SHAPE_KEY, envelope)
+            .put(GEO_RELATION_KEY, INTERSECTS)));
+    return new JsonObject().put(BOOL_KEY, new JsonObject()
+        .put(SHOULD_KEY, should)
+        .put(MINIMUM_SHOULD_MATCH, 1)
+        .put(FILTER, geoShape));
   }
 
 
@@ -583,7 +682,7 @@ public final class ElasticClient {
 
     DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
 
-    client.performRequestAsync(request, new ResponseListener() {
+    timedRequestAsync(request, new ResponseListener() {
       @Override
       public void onSuccess(Response response) {
 
@@ -645,6 +744,7 @@ public final class ElasticClient {
     // TODO: Validation
     Request docRequest = new Request(REQUEST_POST, index + "/_doc");
     docRequest.setJsonEntity(doc.toString());
+    withRefresh(docRequest);
 
     Future<JsonObject> future = docAsync(REQUEST_POST, docRequest);
     future.onComplete(resultHandler);
@@ -664,13 +764,69 @@ public final class ElasticClient {
       Handler<AsyncResult<JsonObject>> resultHandler) {
 
     // TODO: Validation
-    Request docRequest = new Request(REQUEST_PUT, index + "/_doc/" + docId);
+    Request docRequest = new Request(REQUEST_PUT, index + "/_doc/" + encodeId(docId));
     docRequest.setJsonEntity(doc.toString());
+    withRefresh(docRequest);
     Future<JsonObject> future = docAsync(REQUEST_PUT, docRequest);
     future.onComplete(resultHandler);
     return this;
   }
 
+  /**
+   * docCreateAsync - Wrapper around elasticsearch async doc create request. The document is stored
+   * under the given id and the request fails with {@link Constants#DOC_EXISTS} if a document with
+   * that id already exists, so no search is needed to check for duplicates.
+   *
+   * @param docId Document id (elastic id)
+   * @param index Index to write to
+   * @param doc Document
+   * @param resultHandler JsonObject
+   */
+  public ElasticClient docCreateAsync(String docId, String index, String doc,
+      Handler<AsyncResult<JsonObject>> resultHandler) {
+
+    Request docRequest = new Request(REQUEST_PUT, index + "/_create/" + encodeId(docId));
+    docRequest.setJsonEntity(doc);
+    withRefresh(docRequest);
+    Future<JsonObject> future = docAsync(REQUEST_PUT, docRequest);
+    future.onComplete(resultHandler);
+    return this;
+  }
+
+  /**
+   * docGetAsync - Wrapper around elasticsearch async doc get request. The get is real time, so a
+   * document is found as soon as it is written, without waiting for an index refresh.
+   *
+   * @param docId Document id (elastic id)
+   * @param index Index to read from
+   * @param resultHandler JsonObject result in the format of {@link #searchAsync(String, String,
+   *     Handler)}, with the source of the document in <code>results</code> or no results and
+   *     <code>totalHits</code> 0 if there is no such document
+   */
+  public ElasticClient docGetAsync(String docId, String index,
+      Handler<AsyncResult<JsonObject>> resultHandler) {
+
+    Request docRequest = new Request(REQUEST_GET, index + "/_doc/" + encodeId(docId));
+    docRequest.addParameter(SOURCE_EXCLUDES, SUMMARY_KEY + "," + WORD_VECTOR_KEY);
+    /* A missing document is a result, not an error */
+    docRequest.addParameter(IGNORE, "404");
+    Future<JsonObject> future =
+        jsonAsync(docRequest)
+            .map(
+                responseJson -> {
+                  DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
+                  if (responseJson.getBoolean(FOUND, false)) {
+                    responseMsg.statusSuccess().setTotalHits(1);
+                    responseMsg.addResult(responseJson.getJsonObject(SOURCE));
+                  } else {
+                    responseMsg.statusSuccess().setTotalHits(0).addResult();
+                  }
+                  return responseMsg.getResponse();
+                });
+    future.onComplete(resultHandler);
+    return this;
+  }
+
   /**
    * docDelAsync - Wrapper around elasticsearch async doc delete request.
    *
@@ -683,7 +839,8 @@ public final class ElasticClient {
       Handler<AsyncResult<JsonObject>> resultHandler) {
 
     // TODO: Validation
-    Request docRequest = new Request(REQUEST_DELETE, index + "/_doc/" + docId);
+    Request docRequest = new Request(REQUEST_DELETE, index + "/_doc/" + encodeId(docId));
+    withRefresh(docRequest);
 
     Future<JsonObject> future = docAsync(REQUEST_DELETE, docRequest);
     future.onComplete(resultHandler);
@@ -694,13 +851,482 @@ public final class ElasticClient {
       String docId, String index, String doc, Handler<AsyncResult<JsonObject>> resultHandler) {
 
     // TODO: Validation
-    Request docRequest = new Request(REQUEST_POST, index + "/_update/" + docId);
+    Request docRequest = new Request(REQUEST_POST, index + "/_update/" + encodeId(docId));
     docRequest.setJsonEntity(doc.toString());
+    withRefresh(docRequest);
     Future<JsonObject> future = docAsync(REQUEST_POST, docRequest);
     future.onComplete(resultHandler);
     return this;
   }
 
+  /**
+   * docBulkAsync - Wrapper around elasticsearch async bulk request.
+   *
+   * @param index Index to write to
+   * @param operations action and source lines of the bulk request, in order
+   * @param resultHandler JsonObject with the per action outcome in <code>items</code>
+   */
+  public ElasticClient docBulkAsync(
+      String index, JsonArray operations, Handler<AsyncResult<JsonObject>> resultHandler) {
+
+    Request docRequest = new Request(REQUEST_POST, index + "/_bulk");
+    docRequest.setEntity(
+        new NStringEntity(
+            bulkBody(operations),
+            ContentType.create(MIME_APPLICATION_NDJSON, StandardCharsets.UTF_8)));
+    withRefresh(docRequest);
+    Future<JsonObject> future = docAsync(REQUEST_POST, docRequest);
+    future.onComplete(resultHandler);
+    return this;
+  }
+
+  /**
+   * Encodes the bulk operations as newline delimited JSON, one action or source per line.
+   *
+   * @param operations action and source lines of the bulk request
+   * @return NDJSON body of the bulk request
+   */
+  static String bulkBody(JsonArray operations) {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < operations.size(); i++) {
+      body.append(operations.getJsonObject(i).encode()).append('\n');
+    }
+    return body.toString();
+  }
+
+  /**
+   * Gets the mappings and the analysis settings of an index, in the format of a create index
+   * request.
+   *
+   * @param index name of the index or of an alias to it
+   * @return Future of the index definition
+   */
+  Future<JsonObject> indexDefinitionAsync(String index) {
+    return jsonAsync(new Request(REQUEST_GET, encodeId(index)))
+        .map(
+            responseJson -> {
+              /* The response is keyed by the concrete index name, which may differ for an alias */
+              String concreteIndex = responseJson.fieldNames().iterator().next();
+              JsonObject concrete = responseJson.getJsonObject(concreteIndex);
+              JsonObject definition =
+                  new JsonObject().put(MAPPINGS, concrete.getJsonObject(MAPPINGS));
+              JsonObject analysis =
+                  concrete.getJsonObject(SETTINGS).getJsonObject(INDEX).getJsonObject(ANALYSIS);
+              if (analysis != null) {
+                JsonObject settings = new JsonObject().put(ANALYSIS, analysis);
+                definition.put(SETTINGS, new JsonObject().put(INDEX, settings));
+              }
+              return definition;
+            });
+  }
+
+  /**
+   * Creates an index.
+   *
+   * @param index name of the index
+   * @param definition mappings and settings of the index
+   * @return Future which completes once the index is created
+   */
+  Future<JsonObject> createIndexAsync(String index, JsonObject definition) {
+    Request request = new Request(REQUEST_PUT, encodeId(index));
+    request.setJsonEntity(definition.encode());
+    return jsonAsync(request);
+  }
+
+  /**
+   * Starts copying the documents of one index to another, using the value of a field of every
+   * document as its elastic id in the destination index.
+   *
+   * @param source index to copy from
+   * @param dest index to copy to
+   * @param field source field holding the id of the document
+   * @return Future of the id of the reindex task
+   */
+  Future<String> reindexByFieldAsync(String source, String dest, String field) {
+    JsonObject body =
+        new JsonObject()
+            .put("source", new JsonObject().put(INDEX, source))
+            .put("dest", new JsonObject().put(INDEX, dest))
+            .put(
+                "script",
+                new JsonObject()
+                    .put("source", REINDEX_BY_FIELD_SCRIPT)
+                    .put("params", new JsonObject().put(FIELD, field)));
+    Request request = new Request(REQUEST_POST, "_reindex");
+    request.addParameter("wait_for_completion", "false");
+    request.addParameter(REFRESH, "true");
+    request.setJsonEntity(body.encode());
+    return jsonAsync(request).map(responseJson -> responseJson.getString(TASK));
+  }
+
+  /**
+   * Gets the status of a task, with its response once it is <code>completed</code>.
+   *
+   * @param taskId id of the task
+   * @return Future of the task status
+   */
+  Future<JsonObject> taskAsync(String taskId) {
+    return jsonAsync(new Request(REQUEST_GET, "_tasks/" + encodeId(taskId)));
+  }
+
+  /**
+   * Checks if an index exists.
+   *
+   * @param index name of the index or of an alias to it
+   * @return Future of true if the index exists
+   */
+  Future<Boolean> indexExistsAsync(String index) {
+    Promise<Boolean> promise = Promise.promise();
+    Context context = Vertx.currentContext();
+
+    timedRequestAsync(
+        new Request(REQUEST_HEAD, encodeId(index)),
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            /* A HEAD request is not failed on 404 */
+            promise.complete(response.getStatusLine().getStatusCode() == 200);
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            promise.fail(e);
+          }
+        });
+    return onContext(context, promise.future());
+  }
+
+  /**
+   * Creates an index unless it exists.
+   *
+   * @param index name of the index
+   * @param definition settings and mappings of the index
+   * @return Future which completes once the index exists
+   */
+  Future<Void> ensureIndexAsync(String index, JsonObject definition) {
+    return indexExistsAsync(index)
+        .compose(
+            exists -> {
+              if (exists) {
+                return Future.succeededFuture();
+              }
+              return createIndexAsync(index, definition)
+                  .<Void>mapEmpty()
+                  /* Another instance may have created the index since it was checked */
+                  .recover(
+                      e ->
+                          indexExistsAsync(index)
+                              .compose(
+                                  created ->
+                                      created
+                                          ? Future.<Void>succeededFuture()
+                                          : Future.<Void>failedFuture(e)));
+            });
+  }
+
+  /**
+   * Runs a search and returns the complete ES response, for searches whose aggregations do not fit
+   * the result formats of {@link #searchAsync(String, String, Handler)}.
+   *
+   * @param index Index to search on
+   * @param query Query
+   * @return Future of the search response
+   */
+  Future<JsonObject> searchJsonAsync(String index, JsonObject query) {
+    Request request = new Request(REQUEST_GET, index + "/_search");
+    request.setJsonEntity(query.encode());
+    return jsonAsync(request);
+  }
+
+  /**
+   * Deletes the documents matching a query.
+   *
+   * @param index Index to delete from
+   * @param query Query
+   * @return Future of the delete by query response
+   */
+  Future<JsonObject> deleteByQueryAsync(String index, JsonObject query) {
+    Request request = new Request(REQUEST_POST, index + "/_delete_by_query");
+    request.setJsonEntity(query.encode());
+    return jsonAsync(request);
+  }
+
+  /**
+   * Gets a page of search results from a point in time of the index, sorted by item id. A point in
+   * time is opened for the first page and closed once the last page has been read.
+   *
+   * @param index Index to search on
+   * @param query Query, with the page size
+   * @param cursor position of the page
+   * @return Future of the page in the format of {@link #searchAsync(String, String, Handler)}, with
+   *     a <code>nextCursor</code> unless it is the last page
+   */
+  Future<JsonObject> searchPageAsync(String index, JsonObject query, SearchCursor cursor) {
+    Future<String> pit =
+        cursor.pitId() == null ? openPitAsync(index) : Future.succeededFuture(cursor.pitId());
+    return pit.compose(
+        pitId -> {
+          JsonObject body = query.copy();
+          body.remove(FROM);
+          body.put(PIT, new JsonObject().put(ID, pitId).put(KEEP_ALIVE, PIT_KEEP_ALIVE))
+              .put(SORT, new JsonArray().add(new JsonObject().put(ID_KEYWORD, "asc")));
+          if (cursor.searchAfter() != null) {
+            body.put(SEARCH_AFTER, cursor.searchAfter());
+          }
+          Request request = new Request(REQUEST_POST, "/_search" + FILTER_PATH_PAGE);
+          request.setJsonEntity(body.encode());
+          return searchAsync(request, SOURCE_ONLY)
+              .map(
+                  page -> {
+                    /* ES may hand out a new id for the point in time with every page */
+                    String nextPitId = (String) page.remove(PIT_ID);
+                    JsonArray lastSort = (JsonArray) page.remove(SORT);
+                    if (nextPitId == null) {
+                      nextPitId = pitId;
+                    }
+                    JsonArray results = page.getJsonArray(RESULTS);
+                    if (results == null) {
+                      results = new JsonArray();
+                      page.put(RESULTS, results);
+                    }
+                    if (lastSort != null && results.size() >= pageSize(query)) {
+                      page.put(
+                          NEXT_CURSOR, new SearchCursor(nextPitId, lastSort, null).encode());
+                    } else {
+                      closePitAsync(nextPitId);
+                    }
+                    return page;
+                  });
+        });
+  }
+
+  /**
+   * Gets a page of the buckets of a composite aggregation named <code>results</code>.
+   *
+   * @param index Index to search on
+   * @param query Query, with the composite aggregation and its page size
+   * @param cursor position of the page
+   * @return Future of the page in the format of {@link #listAggregationAsync(String, Handler)},
+   *     with a <code>nextCursor</code> unless it is the last page
+   */
+  Future<JsonObject> aggregationPageAsync(String index, JsonObject query, SearchCursor cursor) {
+    JsonObject body = query.copy();
+    JsonObject composite =
+        body.getJsonObject(AGGREGATION_KEY).getJsonObject(RESULTS).getJsonObject(COMPOSITE);
+    if (cursor.afterKey() != null) {
+      composite.put(AFTER, cursor.afterKey());
+    }
+    Request request = new Request(REQUEST_GET, index + "/_search" + FILTER_PATH_AGGREGATION_PAGE);
+    request.setJsonEntity(body.encode());
+    return jsonAsync(request)
+        .map(
+            response -> {
+              JsonObject aggregation =
+                  response
+                      .getJsonObject(AGGREGATIONS, new JsonObject())
+                      .getJsonObject(RESULTS, new JsonObject());
+              JsonArray results = new JsonArray();
+              for (Object bucket : aggregation.getJsonArray(BUCKETS, new JsonArray())) {
+                results.add(((JsonObject) bucket).getJsonObject(KEY).getValue(KEY));
+              }
+              JsonObject page =
+                  new JsonObject()
+                      .put(TYPE, TYPE_SUCCESS)
+                      .put(TITLE, TITLE_SUCCESS)
+                      .put(TOTAL_HITS, results.size())
+                      .put(RESULTS, results);
+              JsonObject afterKey = aggregation.getJsonObject(AFTER_KEY);
+              if (afterKey != null && results.size() >= composite.getInteger(SIZE_KEY)) {
+                page.put(NEXT_CURSOR, new SearchCursor(null, null, afterKey).encode());
+              }
+              return page;
+            });
+  }
+
+  private Future<String> openPitAsync(String index) {
+    Request request =
+        new Request(REQUEST_POST, index + "/_pit?" + KEEP_ALIVE + "=" + PIT_KEEP_ALIVE);
+    return jsonAsync(request).map(response -> response.getString(ID));
+  }
+
+  private void closePitAsync(String pitId) {
+    Request request = new Request(REQUEST_DELETE, "/_pit");
+    request.setJsonEntity(new JsonObject().put(ID, pitId).encode());
+    /* An unclosed point in time is released by ES once its keep alive expires */
+    jsonAsync(request)
+        .onFailure(e -> LOGGER.warn("Failed to close point in time: {}", e.getMessage()));
+  }
+
+  private static int pageSize(JsonObject query) {
+    /* The size of a search query may have been put as a String */
+    Object size = query.getValue(SIZE_KEY);
+    return size == null ? DEFAULT_SEARCH_SIZE : Integer.parseInt(String.valueOf(size));
+  }
+
+  /**
+   * Performs a request and parses its JSON response.
+   *
+   * @param request Elastic Request
+   * @return Future of the response body, failed if ES responds with an error status
+   */
+  private Future<JsonObject> jsonAsync(Request request) {
+    Promise<JsonObject> promise = Promise.promise();
+    Context context = Vertx.currentContext();
+
+    timedRequestAsync(
+        request,
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            try {
+              promise.complete(new JsonObject(EntityUtils.toString(response.getEntity())));
+            } catch (Exception e) {
+              promise.fail(e);
+            } finally {
+              EntityUtils.consumeQuietly(response.getEntity());
+            }
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            promise.fail(e);
+          }
+        });
+    return onContext(context, promise.future());
+  }
+
+  /**
+   * Performs a request, recording its latency tagged by method and endpoint, such as <code>GET
+   * _search</code>, and logging its body if it is slower than the slow query threshold.
+   *
+   * @param request Elastic Request
+   * @param listener listener of the response
+   */
+  private void timedRequestAsync(Request request, ResponseListener listener) {
+    Timer.Sample sample = Timer.start();
+    client.performRequestAsync(
+        request,
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            recordLatency(request, sample, true);
+            listener.onSuccess(response);
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            recordLatency(request, sample, false);
+            listener.onFailure(e);
+          }
+        });
+  }
+
+  private void recordLatency(Request request, Timer.Sample sample, boolean succeeded) {
+    String endpoint = endpointTag(request.getEndpoint());
+    long latencyMs =
+        TimeUnit.NANOSECONDS.toMillis(
+            LatencyMetrics.record(
+                sample,
+                ES_LATENCY_METRIC,
+                succeeded,
+                METHOD_TAG,
+                request.getMethod(),
+                ENDPOINT_TAG,
+                endpoint));
+    if (slowQueryThresholdMs > 0 && latencyMs > slowQueryThresholdMs) {
+      if (SLOW_QUERY_LOGGED_ENDPOINTS.contains(endpoint)) {
+        LOGGER.warn(
+            "Slow request; {} {} took {} ms; {}",
+            request.getMethod(),
+            request.getEndpoint(),
+            latencyMs,
+            queryOf(request));
+      } else {
+        LOGGER.warn(
+            "Slow request; {} {} took {} ms",
+            request.getMethod(),
+            request.getEndpoint(),
+            latencyMs);
+      }
+    }
+  }
+
+  /**
+   * Reads the start of the query of a request, without copying the rest of the body.
+   *
+   * @param request the request
+   * @return at most {@link Constants#SLOW_QUERY_MAX_LOGGED_BYTES} bytes of the query
+   */
+  private static String queryOf(Request request) {
+    HttpEntity entity = request.getEntity();
+    if (entity == null || !entity.isRepeatable()) {
+      return "";
+    }
+    try (InputStream content = entity.getContent()) {
+      return new String(
+          content.readNBytes(SLOW_QUERY_MAX_LOGGED_BYTES), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return e.getMessage();
+    }
+  }
+
+  /**
+   * Gets the ES API of a request from its endpoint, without the index or document, which keeps the
+   * number of tag values small.
+   *
+   * @param endpoint endpoint of the request, such as <code>index/_doc/id</code>
+   * @return the API of the request, such as <code>_doc</code>, or <code>index</code> for requests
+   *     on an index itself
+   */
+  static String endpointTag(String endpoint) {
+    String path = endpoint.split("\\?", 2)[0];
+    for (String segment : path.split("/")) {
+      if (segment.startsWith("_")) {
+        return segment;
+      }
+    }
+    return "index";
+  }
+
+  /**
+   * Encodes an id for use as a segment of the request path. Item ids may contain characters such
+   * as <code>/</code> which are not allowed in a path segment.
+   *
+   * @param id document id
+   * @return the URL encoded id
+   */
+  static String encodeId(String id) {
+    return URLEncoder.encode(id, StandardCharsets.UTF_8).replace("+", "%20");
+  }
+
+  /**
+   * Completes the result of a request on the caller's context instead of the ES I/O reactor thread.
+   *
+   * @param context context of the caller, null if not called from a Vert.x thread
+   * @param future result of the request
+   * @return Future which completes on the context of the caller
+   */
+  private static <T> Future<T> onContext(Context context, Future<T> future) {
+    if (context == null) {
+      return future;
+    }
+    Promise<T> contextPromise = Promise.promise();
+    future.onComplete(ar -> context.runOnContext(v -> contextPromise.handle(ar)));
+    return contextPromise.future();
+  }
+
+  /**
+   * Adds the configured refresh policy to a write request so that the document is visible to
+   * searches once the request returns, instead of relying on a fixed delay before reading it back.
+   *
+   * @param request write request to ES
+   */
+  private void withRefresh(Request request) {
+    if (refreshPolicy != null && !refreshPolicy.isBlank()) {
+      request.addParameter(REFRESH, refreshPolicy);
+    }
+  }
+
   /**
    * DbResponseMessageBuilder} Message builder for search APIs.
    */
@@ -753,8 +1379,9 @@ public final class ElasticClient {
    */
   private Future<JsonObject> docAsync(String method, Request request) {
     Promise<JsonObject> promise = Promise.promise();
+    Context context = Vertx.currentContext();
 
-    client.performRequestAsync(
+    timedRequestAsync(
         request,
         new ResponseListener() {
           @Override
@@ -769,8 +1396,13 @@ public final class ElasticClient {
                     return;
                   }
                   break;
-                case REQUEST_DELETE:
                 case REQUEST_PUT:
+                  if (statusCode == 201 || statusCode == 200) {
+                    promise.complete(responseJson);
+                    return;
+                  }
+                  break;
+                case REQUEST_DELETE:
                   if (statusCode == 200) {
                     promise.complete(responseJson);
                     return;
@@ -789,9 +1421,16 @@ public final class ElasticClient {
 
           @Override
           public void onFailure(Exception e) {
+            /* Only a create fails on a taken id, other writes conflict on versions */
+            if (request.getEndpoint().contains("/_create/")
+                && e instanceof ResponseException
+                && ((ResponseException) e).getResponse().getStatusLine().getStatusCode() == 409) {
+              promise.fail(DOC_EXISTS);
+              return;
+            }
             promise.fail(e);
           }
         });
-    return promise.future();
+    return onContext(context, promise.future());
   }
 }
@@ -0,0 +1,196 @@
+package iudx.catalogue.server.database;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builders for Elasticsearch queries.
+ *
+ * <p>The static methods build query clauses directly as {@link JsonObject}s, so values never go
+ * through string substitution and reparsing. {@link Template} precompiles the JSON query templates
+ * of {@link Constants} once and renders them with JSON escaped values, so ids containing quotes or
+ * backslashes cannot break or alter the query.
+ */
+public final class ElasticQuery {
+
+  private static final String BOOL = "bool";
+
+  private ElasticQuery() {}
+
+  /** Returns <code>{"term":{field:value}}</code>. */
+  public static JsonObject term(String field, Object value) {
+    return clause("term", field, value);
+  }
+
+  /** Returns <code>{"terms":{field:values}}</code>. */
+  public static JsonObject terms(String field, JsonArray values) {
+    return clause("terms", field, values);
+  }
+
+  /** Returns <code>{"match":{field:value}}</code>. */
+  public static JsonObject match(String field, Object value) {
+    return clause("match", field, value);
+  }
+
+  /** Returns <code>{"query_string":{"query":query}}</code>. */
+  public static JsonObject queryString(String query) {
+    return clause("query_string", "query", query);
+  }
+
+  /**
+   * Returns a geo_shape clause.
+   *
+   * @param field the geo field, e.g. location.geometry
+   * @param shape the shape, with its type, coordinates and optional radius
+   * @param relation the spatial relation, e.g. intersects
+   * @return <code>{"geo_shape":{field:{"shape":shape,"relation":relation}}}</code>
+   */
+  public static JsonObject geoShape(String field, JsonObject shape, String relation) {
+    return clause(
+        "geo_shape", field, new JsonObject().put("shape", shape).put("relation", relation));
+  }
+
+  /** Returns <code>{"bool":{"must":queries}}</code>. */
+  public static JsonObject must(JsonArray queries) {
+    return clause(BOOL, "must", queries);
+  }
+
+  /** Returns <code>{"bool":{"should":queries}}</code>. */
+  public static JsonObject should(JsonArray queries) {
+    return clause(BOOL, "should", queries);
+  }
+
+  private static JsonObject clause(String type, String field, Object value) {
+    return new JsonObject().put(type, new JsonObject().put(field, value));
+  }
+
+  /**
+   * A JSON query template with <code>$1</code> to <code>$9</code> placeholders, split into its
+   * literal parts once.
+   *
+   * <p>Placeholders inside a JSON string are replaced with the JSON escaped value. Placeholders
+   * outside a string, such as the <code>_source</code> list in <code>"_source":[$2]</code>, take
+   * the value verbatim and must only be given JSON built by the caller.
+   */
+  public static final class Template {
+
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean[] quoted;
+    private final int literalLength;
+
+    private Template(List<String> literals, List<Integer> slots, List<Boolean> quoted) {
+      this.literals = literals.toArray(new String[0]);
+      this.slots = new int[slots.size()];
+      this.quoted = new boolean[quoted.size()];
+      int length = 0;
+      for (int i = 0; i < this.slots.length; i++) {
+        this.slots[i] = slots.get(i);
+        this.quoted[i] = quoted.get(i);
+      }
+      for (String literal : this.literals) {
+        length += literal.length();
+      }
+      this.literalLength = length;
+    }
+
+    /**
+     * Splits a query template into its literal parts and placeholders.
+     *
+     * @param template JSON query template
+     * @return the compiled template
+     */
+    public static Template compile(String template) {
+      List<String> literals = new ArrayList<>();
+      List<Integer> slots = new ArrayList<>();
+      List<Boolean> quoted = new ArrayList<>();
+      StringBuilder literal = new StringBuilder();
+      boolean inString = false;
+      for (int i = 0; i < template.length(); i++) {
+        char c = template.charAt(i);
+        if (c == '$' && i + 1 < template.length() && Character.isDigit(template.charAt(i + 1))) {
+          literals.add(literal.toString());
+          literal.setLength(0);
+          slots.add(template.charAt(++i) - '1');
+          quoted.add(inString);
+          continue;
+        }
+        if (c == '"') {
+          inString = !inString;
+        } else if (c == '\\' && inString && i + 1 < template.length()) {
+          literal.append(c);
+          c = template.charAt(++i);
+        }
+        literal.append(c);
+      }
+      literals.add(literal.toString());
+      return new Template(literals, slots, quoted);
+    }
+
+    /**
+     * Renders the query.
+     *
+     * @param values the values of $1, $2, ... in order
+     * @return the query as JSON text
+     */
+    public String render(String... values) {
+      int length = literalLength;
+      for (int slot : slots) {
+        length += values[slot] == null ? 0 : values[slot].length();
+      }
+      StringBuilder query = new StringBuilder(length + 16);
+      for (int i = 0; i < slots.length; i++) {
+        query.append(literals[i]);
+        String value = Objects.requireNonNull(values[slots[i]], "query parameter missing");
+        if (quoted[i]) {
+          escape(value, query);
+        } else {
+          query.append(value);
+        }
+      }
+      return query.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Renders the query and parses it.
+     *
+     * @param values the values of $1, $2, ... in order
+     * @return the query as a JsonObject
+     */
+    public JsonObject toJson(String... values) {
+      return new JsonObject(render(values));
+    }
+
+    private static void escape(String value, StringBuilder out) {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '"':
+            out.append("\\\"");
+            break;
+          case '\\':
+            out.append("\\\\");
+            break;
+          case '\n':
+            out.append("\\n");
+            break;
+          case '\r':
+            out.append("\\r");
+            break;
+          case '\t':
+            out.append("\\t");
+            break;
+          default:
+            if (c < 0x20) {
+              out.append(String.format("\\u%04x", (int) c));
+            } else {
+              out.append(c);
+            }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * ElasticResponseDecoder - Decodes the hits of an ES search response while it is read from the
+ * connection, instead of reading the whole response into a String and then into a JsonObject tree
+ * from which the results are copied.
+ *
+ * <p>Only the values returned to the caller are materialized: the <code>_source</code> of every hit
+ * for {@link Constants#SOURCE_ONLY} searches, without the <code>_summary</code> and <code>
+ * _word_vector</code> fields, or its <code>_id</code> for {@link Constants#DOC_IDS_ONLY} searches.
+ * The excluded fields and the rest of the response are skipped in the stream.
+ *
+ * <p>For paged searches the <code>pit_id</code> of the response and the <code>sort</code> values of
+ * the last hit are added to the decoded response, when the response has them.
+ */
+final class ElasticResponseDecoder {
+  private static final JsonFactory FACTORY = new JsonFactory();
+  private static final Set<String> EXCLUDED_SOURCE_FIELDS = Set.of(SUMMARY_KEY, WORD_VECTOR_KEY);
+
+  private ElasticResponseDecoder() {}
+
+  /**
+   * Checks if the results of a search can be decoded from the response stream.
+   *
+   * @param options the result format of the search
+   * @return true for source only and doc ids only searches
+   */
+  static boolean decodes(String options) {
+    return SOURCE_ONLY.equals(options) || DOC_IDS_ONLY.equals(options);
+  }
+
+  /**
+   * Decodes a search response into the result format of {@link ElasticClient#searchAsync(String,
+   * String, io.vertx.core.Handler)}.
+   *
+   * @param content the response body
+   * @param options {@link Constants#SOURCE_ONLY} or {@link Constants#DOC_IDS_ONLY}
+   * @return JsonObject with <code>totalHits</code> and the decoded <code>results</code>
+   * @throws IOException if the response cannot be read or is not a search response
+   */
+  static JsonObject decodeHits(InputStream content, String options) throws IOException {
+    int totalHits = 0;
+    JsonArray results = new JsonArray();
+    JsonObject paging = new JsonObject();
+    try (JsonParser parser = FACTORY.createParser(content)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if (HITS.equals(field)) {
+          totalHits = readHits(parser, options, results, paging);
+        } else if (PIT_ID.equals(field)) {
+          paging.put(PIT_ID, parser.getText());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    JsonObject response =
+        new JsonObject()
+            .put(TYPE, TYPE_SUCCESS)
+            .put(TITLE, TITLE_SUCCESS)
+            .put(TOTAL_HITS, totalHits);
+    /* As before, a page past the last hit has no results */
+    if (totalHits == 0 || !results.isEmpty()) {
+      response.put(RESULTS, results);
+    }
+    return response.mergeIn(paging);
+  }
+
+  /*
+   * Reads the outer hits object, adding the result of every hit and the sort values of the last
+   * hit of a paged search; returns the total hits
+   */
+  private static int readHits(
+      JsonParser parser, String options, JsonArray results, JsonObject paging)
+      throws IOException {
+    expect(parser.currentToken(), JsonToken.START_OBJECT);
+    int totalHits = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (TOTAL.equals(field) && token == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String totalField = parser.getCurrentName();
+          parser.nextToken();
+          if (VALUE.equals(totalField)) {
+            totalHits = parser.getIntValue();
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else if (HITS.equals(field) && token == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readHit(parser, options, results, paging);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return totalHits;
+  }
+
+  private static void readHit(
+      JsonParser parser, String options, JsonArray results, JsonObject paging)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (SOURCE_ONLY.equals(options) && SOURCE.equals(field)) {
+        results.add(readObject(parser, EXCLUDED_SOURCE_FIELDS));
+      } else if (DOC_IDS_ONLY.equals(options) && DOC_ID.equals(field)) {
+        results.add(parser.getText());
+      } else if (SORT.equals(field)) {
+        paging.put(SORT, readValue(parser));
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static JsonObject readObject(JsonParser parser, Set<String> excluded)
+      throws IOException {
+    expect(parser.currentToken(), JsonToken.START_OBJECT);
+    JsonObject object = new JsonObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (excluded.contains(field)) {
+        parser.skipChildren();
+      } else {
+        object.put(field, readValue(parser));
+      }
+    }
+    return object;
+  }
+
+  private static Object readValue(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    switch (token) {
+      case START_OBJECT:
+        return readObject(parser, Set.of());
+      case START_ARRAY:
+        JsonArray array = new JsonArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          array.add(readValue(parser));
+        }
+        return array;
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new DecodeException("Unexpected token in search response: " + token);
+    }
+  }
+
+  private static void expect(JsonToken token, JsonToken expected) {
+    if (token != expected) {
+      throw new DecodeException("Expected " + expected + " in search response, got " + token);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.cli.CLI;
+import io.vertx.core.cli.CommandLine;
+import io.vertx.core.cli.Option;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * IdKeyedMigration - Copies the document index to a new index in which the elastic id of every
+ * item is its item id.
+ *
+ * <p>Elastic ids cannot be changed in place, so the items are reindexed into a new index with the
+ * mappings and analysis settings of the current one. Once the copy completes, <code>docIndex
+ * </code> is pointed at the new index, or an alias is moved to it, and <code>idKeyedDocuments
+ * </code> is enabled for the Database Verticle. Items written while the copy runs are not copied,
+ * so writes should be stopped for the duration of the migration.
+ */
+public final class IdKeyedMigration {
+  private static final Logger LOGGER = LogManager.getLogger(IdKeyedMigration.class);
+
+  private IdKeyedMigration() {}
+
+  /**
+   * Copies the items of an index to a new index keyed by item id.
+   *
+   * @param vertx the vertx instance, used to poll the reindex task
+   * @param client the ElasticClient
+   * @param source index with elastic generated ids
+   * @param target index to create, which must not exist
+   * @return Future of the reindex task response, failed if any item could not be copied
+   */
+  static Future<JsonObject> migrate(
+      Vertx vertx, ElasticClient client, String source, String target) {
+    return client
+        .indexDefinitionAsync(source)
+        .compose(definition -> client.createIndexAsync(target, definition))
+        .compose(created -> client.reindexByFieldAsync(source, target, ID))
+        .compose(taskId -> awaitTask(vertx, client, taskId));
+  }
+
+  private static Future<JsonObject> awaitTask(Vertx vertx, ElasticClient client, String taskId) {
+    return client
+        .taskAsync(taskId)
+        .compose(
+            status -> {
+              if (status.getBoolean(COMPLETED, false)) {
+                JsonObject response = status.getJsonObject(RESPONSE);
+                JsonArray failures =
+                    response == null ? null : response.getJsonArray(FAILURES, new JsonArray());
+                if (failures == null || !failures.isEmpty()) {
+                  return Future.failedFuture("Reindex failed: " + status.encode());
+                }
+                return Future.succeededFuture(response);
+              }
+              Promise<Void> poll = Promise.promise();
+              vertx.setTimer(TASK_POLL_INTERVAL_MS, id -> poll.complete());
+              return poll.future().compose(polled -> awaitTask(vertx, client, taskId));
+            });
+  }
+
+  private static JsonObject getDatabaseConfig(JsonObject configurations) {
+    JsonArray modules = configurations.getJsonArray("modules");
+    for (int i = 0; i < modules.size(); i++) {
+      JsonObject config = modules.getJsonObject(i);
+      if (DatabaseVerticle.class.getName().equals(config.getString(ID))) {
+        return config.mergeIn(configurations.getJsonObject("commonConfig", new JsonObject()), true);
+      }
+    }
+    throw new IllegalArgumentException("No Database Verticle in the configuration");
+  }
+
+  /**
+   * Main method that migrates the document index configured for the Database Verticle.
+   *
+   * @param args the command line arguments
+   */
+  public static void main(String[] args) throws Exception {
+    CLI cli =
+        CLI.create("IUDX Cat Migration")
+            .setSummary("A CLI to key the catalogue document index by item id")
+            .addOption(
+                new Option()
+                    .setLongName("help")
+                    .setShortName("h")
+                    .setFlag(true)
+                    .setDescription("display help"))
+            .addOption(
+                new Option()
+                    .setLongName("config")
+                    .setShortName("c")
+                    .setRequired(true)
+                    .setDescription("configuration file"))
+            .addOption(
+                new Option()
+                    .setLongName("target")
+                    .setShortName("t")
+                    .setDescription(
+                        "index to create, <docIndex>" + ID_KEYED_INDEX_SUFFIX + " by default"));
+
+    StringBuilder usageString = new StringBuilder();
+    cli.usage(usageString);
+    CommandLine commandLine = cli.parse(Arrays.asList(args), false);
+    if (!commandLine.isValid() || commandLine.isFlagEnabled("help")) {
+      LOGGER.info(usageString);
+      return;
+    }
+
+    JsonObject config =
+        getDatabaseConfig(
+            new JsonObject(
+                new String(
+                    Files.readAllBytes(Paths.get(commandLine.getOptionValue("config"))),
+                    StandardCharsets.UTF_8)));
+    String docIndex = config.getString(DOC_INDEX);
+    String targetIndex =
+        commandLine.getOptionValue("target") == null
+            ? docIndex + ID_KEYED_INDEX_SUFFIX
+            : commandLine.getOptionValue("target");
+    ElasticClient client =
+        new ElasticClient(
+            config.getString(DATABASE_IP),
+            config.getInteger(DATABASE_PORT),
+            docIndex,
+            config.getString(DATABASE_UNAME),
+            config.getString(DATABASE_PASSWD));
+
+    Vertx vertx = Vertx.vertx();
+    migrate(vertx, client, docIndex, targetIndex)
+        .onComplete(
+            migrated -> {
+              if (migrated.succeeded()) {
+                LOGGER.info(
+                    "Copied {} items to {}; set docIndex to {} and idKeyedDocuments to true",
+                    migrated.result().getInteger(CREATED),
+                    targetIndex,
+                    targetIndex);
+              } else {
+                LOGGER.fatal("Migration of {} failed; {}", docIndex, migrated.cause().getMessage());
+              }
+              vertx.close().onComplete(closed -> System.exit(migrated.succeeded() ? 0 : 1));
+            });
+  }
+}
@@ -1,6 +1,7 @@
 package iudx.catalogue.server.database;
 
 import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.database.ElasticQuery.*;
 import static iudx.catalogue.server.util.Constants.*;
 
 import io.vertx.core.json.JsonArray;
@@ -13,6 +14,16 @@ import org.apache.logging.log4j.Logger;
 public final class QueryDecoder {
 
   private static final Logger LOGGER = LogManager.getLogger(QueryDecoder.class);
+  private static final JsonArray PARENT_OBJECT_FIELDS =
+      new JsonArray()
+          .add("type")
+          .add("provider")
+          .add("ownerUserId")
+          .add("resourceGroup")
+          .add("resourceServer")
+          .add("resourceServerRegURL")
+          .add("cos")
+          .add("cos_admin");
 
   private static JsonObject handleResponseFiltering(
       JsonObject request, String relationshipType, String elasticQuery) {
@@ -54,24 +65,16 @@ public final class QueryDecoder {
 
     String searchType = request.getString(SEARCH_TYPE);
     JsonObject elasticQuery = new JsonObject();
-    String queryGeoShape = null;
+    JsonObject queryGeoShape = null;
     JsonArray mustQuery = new JsonArray();
     Boolean match = false;
 
     if (searchType.equalsIgnoreCase("getParentObjectInfo")) {
-      elasticQuery =
-          new JsonObject(
-              GET_DOC_QUERY
-                  .replace("$1", request.getString(ID))
-                  .replace(
-                      "$2",
-                      "\"type\",\"provider\",\"ownerUserId\","
-                          + "\"resourceGroup\",\"resourceServer\","
-                          + "\"resourceServerRegURL\", \"cos\", \"cos_admin\""));
-      return elasticQuery;
+      return elasticQuery
+          .put(SOURCE, PARENT_OBJECT_FIELDS.copy())
+          .put(QUERY_KEY, term(ID_KEYWORD, request.getString(ID)));
     }
 
-    /* TODO: Pagination for large result set */
     if (request.getBoolean(SEARCH)) {
       Integer limit =
           request.getInteger(LIMIT, FILTER_PAGINATION_SIZE - request.getInteger(OFFSET, 0));
@@ -93,10 +96,12 @@ public final class QueryDecoder {
         coordinates = request.getJsonArray(COORDINATES_KEY);
         relation = request.getString(GEORELATION);
         int radius = request.getInteger(MAX_DISTANCE);
-        String radiusStr = ",\"radius\": \"$1m\"".replace("$1", Integer.toString(radius));
-        queryGeoShape = GEO_SHAPE_QUERY.replace("$1", GEO_CIRCLE)
-            .replace("$2", coordinates.toString() + radiusStr).replace("$3", relation)
-            .replace("$4", geoProperty + GEO_KEY);
+        JsonObject shape =
+            new JsonObject()
+                .put(TYPE_KEY, GEO_CIRCLE)
+                .put(COORDINATES_KEY, coordinates)
+                .put("radius", radius + "m");
+        queryGeoShape = geoShape(geoProperty + GEO_KEY, shape, relation);
       } else if (POLYGON.equalsIgnoreCase(geometry) || LINESTRING.equalsIgnoreCase(geometry)) {
         relation = request.getString(GEORELATION);
         coordinates = request.getJsonArray(COORDINATES_KEY);
@@ -114,17 +119,17 @@ public final class QueryDecoder {
                       .withDetail(DETAIL_INVALID_COORDINATE_POLYGON)
                       .getJsonResponse());
         }
-        queryGeoShape = GEO_SHAPE_QUERY.replace("$1", geometry)
-                .replace("$2", coordinates.toString())
-            .replace("$3", relation).replace("$4", geoProperty + GEO_KEY);
+        JsonObject shape =
+            new JsonObject().put(TYPE_KEY, geometry).put(COORDINATES_KEY, coordinates);
+        queryGeoShape = geoShape(geoProperty + GEO_KEY, shape, relation);
 
       } else if (BBOX.equalsIgnoreCase(geometry)) {
         /* Construct the query for BBOX */
         relation = request.getString(GEORELATION);
         coordinates = request.getJsonArray(COORDINATES_KEY);
-        queryGeoShape = GEO_SHAPE_QUERY
-                .replace("$1", GEO_BBOX).replace("$2", coordinates.toString())
-            .replace("$3", relation).replace("$4", geoProperty + GEO_KEY);
+        JsonObject shape =
+            new JsonObject().put(TYPE_KEY, GEO_BBOX).put(COORDINATES_KEY, coordinates);
+        queryGeoShape = geoShape(geoProperty + GEO_KEY, shape, relation);
       } else {
         return new JsonObject().put(ERROR, new RespBuilder()
                     .withType(TYPE_INVALID_GEO_PARAM)
@@ -143,8 +148,7 @@ public final class QueryDecoder {
       if (request.containsKey(Q_VALUE) && !request.getString(Q_VALUE).isBlank()) {
         /* constructing db queries */
         String textAttr = request.getString(Q_VALUE);
-        String textQuery = TEXT_QUERY.replace("$1", textAttr);
-        mustQuery.add(new JsonObject(textQuery));
+        mustQuery.add(queryString(textAttr));
       } else {
         return new JsonObject().put(ERROR, new RespBuilder()
                     .withType(TYPE_BAD_TEXT_QUERY)
@@ -172,31 +176,26 @@ public final class QueryDecoder {
             JsonArray shouldQuery = new JsonArray();
             JsonArray valueArray = valueAttrs.getJsonArray(i);
             for (int j = 0; j < valueArray.size(); j++) {
-              String matchQuery;
               /* Attribute related queries using "match" and without the ".keyword" */
               if (propertyAttrs.getString(i).equals(TAGS)
                   || propertyAttrs.getString(i).equals(DESCRIPTION_ATTR)
                   || propertyAttrs.getString(i).startsWith(LOCATION)) {
 
-                matchQuery = MATCH_QUERY.replace("$1", propertyAttrs.getString(i))
-                                        .replace("$2", valueArray.getString(j));
-                shouldQuery.add(new JsonObject(matchQuery));
+                shouldQuery.add(match(propertyAttrs.getString(i), valueArray.getString(j)));
                 /* Attribute related queries using "match" and with the ".keyword" */
               } else {
                 /* checking keyword in the query paramters */
                 if (propertyAttrs.getString(i).endsWith(KEYWORD_KEY)) {
-                  matchQuery = MATCH_QUERY.replace("$1", propertyAttrs.getString(i))
-                                          .replace("$2", valueArray.getString(j));
+                  shouldQuery.add(match(propertyAttrs.getString(i), valueArray.getString(j)));
                 } else {
 
                   /* add keyword if not avaialble */
-                  matchQuery = MATCH_QUERY.replace("$1", propertyAttrs.getString(i) + KEYWORD_KEY)
-                                          .replace("$2", valueArray.getString(j));
+                  shouldQuery.add(
+                      match(propertyAttrs.getString(i) + KEYWORD_KEY, valueArray.getString(j)));
                 }
-                shouldQuery.add(new JsonObject(matchQuery));
               }
             }
-            mustQuery.add(new JsonObject(SHOULD_QUERY.replace("$1", shouldQuery.toString())));
+            mustQuery.add(should(shouldQuery));
           }
         } else {
           return new JsonObject().put(ERROR, new RespBuilder()
@@ -212,9 +211,9 @@ public final class QueryDecoder {
     String instanceId = request.getString(INSTANCE);
 
     if (instanceId != null) {
-      String instanceFilter = INSTANCE_FILTER.replace("$1", instanceId);
+      JsonObject instanceFilter = match(INSTANCE, instanceId);
       LOGGER.debug("Info: Instance found in query;" + instanceFilter);
-      mustQuery.add(new JsonObject(instanceFilter));
+      mustQuery.add(instanceFilter);
     }
 
     /* checking the requests for limit attribute */
@@ -266,19 +265,10 @@ public final class QueryDecoder {
               .getJsonResponse());
     } else {
 
-      JsonObject boolQuery = new JsonObject(MUST_QUERY.replace("$1", mustQuery.toString()));
+      JsonObject boolQuery = must(mustQuery);
       /* return fully formed elastic query */
       if (queryGeoShape != null) {
-        try {
-          boolQuery.getJsonObject("bool").put(FILTER,
-              new JsonArray().add(new JsonObject(queryGeoShape)));
-        } catch (Exception e) {
-          return new JsonObject().put(ERROR, new RespBuilder()
-                      .withType(TYPE_INVALID_GEO_VALUE)
-                      .withTitle(TITLE_INVALID_GEO_VALUE)
-                      .withDetail(DETAIL_INVALID_COORDINATE_POLYGON)
-                      .getJsonResponse());
-        }
+        boolQuery.getJsonObject("bool").put(FILTER, new JsonArray().add(queryGeoShape));
       }
       return elasticQuery.put(QUERY_KEY, boolQuery);
     }
@@ -501,6 +491,56 @@ public final class QueryDecoder {
         request.getInteger(LIMIT, FILTER_PAGINATION_SIZE - request.getInteger(OFFSET, 0));
     elasticQuery = tempQuery.replace("$size", limit.toString());
 
+    /* With a cursor, the items are paged through as the buckets of a composite aggregation */
+    if (request.containsKey(CURSOR)) {
+      return compositeListQuery(new JsonObject(elasticQuery)).toString();
+    }
+
     return elasticQuery;
   }
+
+  /**
+   * Constructs the query for exporting the items of the catalogue, optionally filtered by their
+   * type, instance and provider.
+   *
+   * @param request Json object with the optional type, instance and provider of the items
+   * @return JsonObject of the query for a page of the export
+   */
+  public JsonObject exportQuery(JsonObject request) {
+    JsonArray filters = new JsonArray();
+    if (request.containsKey(TYPE)) {
+      filters.add(term(TYPE + KEYWORD_KEY, request.getString(TYPE)));
+    }
+    if (request.containsKey(INSTANCE)) {
+      filters.add(term(INSTANCE + KEYWORD_KEY, request.getString(INSTANCE)));
+    }
+    if (request.containsKey(PROVIDER)) {
+      filters.add(term(PROVIDER + KEYWORD_KEY, request.getString(PROVIDER)));
+    }
+    JsonObject query =
+        filters.isEmpty() ? new JsonObject().put(MATCH_ALL, new JsonObject()) : must(filters);
+    return new JsonObject().put(QUERY_KEY, query).put(SIZE_KEY, EXPORT_PAGE_SIZE);
+  }
+
+  /**
+   * Converts the terms aggregation of a list query into a composite aggregation of the same field
+   * and size, whose buckets can be paged through after the key of the last bucket of a page.
+   *
+   * @param listQuery list query with a terms aggregation named <code>results</code>
+   * @return the list query with a composite aggregation and without hits
+   */
+  static JsonObject compositeListQuery(JsonObject listQuery) {
+    JsonObject terms =
+        listQuery.getJsonObject(AGGREGATION_KEY).getJsonObject(RESULTS).getJsonObject(TERMS_KEY);
+    JsonObject field = new JsonObject().put(FIELD, terms.getValue(FIELD));
+    JsonObject source = new JsonObject().put(KEY, new JsonObject().put(TERMS_KEY, field));
+    JsonObject composite =
+        new JsonObject()
+            .put(SIZE_KEY, Integer.parseInt(String.valueOf(terms.getValue(SIZE_KEY))))
+            .put(SOURCES, new JsonArray().add(source));
+    JsonObject aggregation = new JsonObject().put(COMPOSITE, composite);
+    return listQuery
+        .put(SIZE_KEY, 0)
+        .put(AGGREGATION_KEY, new JsonObject().put(RESULTS, aggregation));
+  }
 }
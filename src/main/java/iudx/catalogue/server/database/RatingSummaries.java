@@ -0,0 +1,421 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * RatingSummaries - Keeps the count, sum and histogram of the approved ratings of every item in a
+ * summary index, so that the average rating of an item or of a resource group is read with a
+ * single get instead of an aggregation over all of its ratings.
+ *
+ * <p>The summary document of an item has the item id as its elastic id and holds one entry per
+ * rated item it covers: the item itself and, for a resource group, each of its resources. An entry
+ * is recomputed from the rating index whenever a rating of the item is written, instead of being
+ * adjusted by the difference, so a repeated refresh is harmless and a lost one is corrected by the
+ * next. The summary index is also rebuilt periodically, to repair entries missed while the
+ * database was unavailable or overwritten by concurrent refreshes of the same item. The time of
+ * the last rebuild is shared by the cluster, so the index is rebuilt by one node per interval.
+ */
+final class RatingSummaries {
+  private static final Logger LOGGER = LogManager.getLogger(RatingSummaries.class);
+  private final Vertx vertx;
+  private final ElasticClient client;
+  private final String docIndex;
+  private final String ratingIndex;
+  private final String summaryIndex;
+
+  /**
+   * Constructs the rating summaries of a catalogue.
+   *
+   * @param vertx the vertx instance, used to schedule rebuilds
+   * @param client the ElasticClient
+   * @param docIndex index of the catalogue items, used to find the resource group of an item
+   * @param ratingIndex index of the ratings
+   * @param summaryIndex index of the rating summaries
+   */
+  RatingSummaries(
+      Vertx vertx, ElasticClient client, String docIndex, String ratingIndex, String summaryIndex) {
+    this.vertx = vertx;
+    this.client = client;
+    this.docIndex = docIndex;
+    this.ratingIndex = ratingIndex;
+    this.summaryIndex = summaryIndex;
+  }
+
+  /**
+   * Creates the summary index if it does not exist, then rebuilds it unless another node just did,
+   * and schedules its periodic rebuild.
+   *
+   * @param reconcileSeconds interval between rebuilds of the summary index
+   * @return Future which completes once the summary index is built and can serve averages
+   */
+  Future<Void> start(long reconcileSeconds) {
+    long intervalMillis = reconcileSeconds * 1000;
+    return client
+        .ensureIndexAsync(summaryIndex, new JsonObject(RATING_SUMMARY_MAPPINGS))
+        .compose(
+            created ->
+                vertx
+                    .sharedData()
+                    .getLockWithTimeout(RATING_SUMMARY_LOCK, RATING_SUMMARY_START_LOCK_TIMEOUT_MS))
+        .compose(lock -> reconcile(intervalMillis).onComplete(reconciled -> lock.release()))
+        .onSuccess(
+            started -> vertx.setPeriodic(intervalMillis, id -> reconcileIfIdle(intervalMillis)))
+        .mapEmpty();
+  }
+
+  /**
+   * Recomputes the summary of an item from its approved ratings, in the summary document of the
+   * item and in that of its resource group. Called after a rating of the item is written.
+   *
+   * @param itemId id of the rated item
+   * @return Future which completes once both summary documents are written
+   */
+  Future<Void> refresh(String itemId) {
+    long updatedAt = System.currentTimeMillis();
+    JsonObject query =
+        new JsonObject()
+            .put(SIZE_KEY, 0)
+            .put(
+                QUERY_KEY,
+                ElasticQuery.must(
+                    new JsonArray().add(ElasticQuery.term(ID_KEYWORD, itemId)).add(approved())))
+            .put(AGGREGATION_KEY, summaryAggregations());
+    Future<JsonObject> entry =
+        client
+            .searchJsonAsync(ratingIndex, query)
+            .map(response -> entry(response.getJsonObject(AGGREGATIONS)));
+    Future<Map<String, String>> groups = resourceGroups(List.of(itemId));
+
+    return Future.all(entry, groups)
+        .compose(
+            found -> {
+              JsonArray operations = new JsonArray();
+              addUpdate(operations, itemId, itemId, entry.result(), updatedAt);
+              String group = groups.result().get(itemId);
+              if (group != null) {
+                addUpdate(operations, group, itemId, entry.result(), updatedAt);
+              }
+              return bulk(operations);
+            });
+  }
+
+  /**
+   * Gets the average rating of an item and, for a resource group, of each of its resources, in the
+   * format of the rating aggregation of {@link ElasticClient#ratingAggregationAsync}.
+   *
+   * @param id id of the item
+   * @return Future of the average ratings, with no results if the item has no approved ratings
+   */
+  Future<JsonObject> average(String id) {
+    Promise<JsonObject> promise = Promise.promise();
+    client.docGetAsync(id, summaryIndex, promise);
+    return promise
+        .future()
+        .map(
+            response -> {
+              JsonArray results = new JsonArray();
+              if (response.getInteger(TOTAL_HITS) != 0) {
+                JsonObject items =
+                    response.getJsonArray(RESULTS).getJsonObject(0).getJsonObject(ITEMS);
+                /* In the order of a terms aggregation: most rated first, then by id */
+                items.fieldNames().stream()
+                    .sorted(
+                        Comparator.comparing(
+                                (String item) -> items.getJsonObject(item).getLong(COUNT))
+                            .reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .forEach(
+                        item -> {
+                          JsonObject entry = items.getJsonObject(item);
+                          results.add(
+                              new JsonObject()
+                                  .put(ID, item)
+                                  .put(TOTAL_RATINGS, String.valueOf(entry.getLong(COUNT)))
+                                  .put(
+                                      AVERAGE_RATING,
+                                      entry.getDouble(SUM) / entry.getLong(COUNT)));
+                        });
+              }
+              return new JsonObject()
+                  .put(TYPE, TYPE_SUCCESS)
+                  .put(TITLE, TITLE_SUCCESS)
+                  .put(TOTAL_HITS, results.size())
+                  .put(RESULTS, results);
+            });
+  }
+
+  /** Rebuilds the summary index if it is due and no other node is rebuilding it. */
+  private void reconcileIfIdle(long intervalMillis) {
+    vertx
+        .sharedData()
+        .getLockWithTimeout(RATING_SUMMARY_LOCK, RATING_SUMMARY_LOCK_TIMEOUT_MS)
+        .onSuccess(
+            lock ->
+                reconcile(intervalMillis)
+                    .onComplete(reconciled -> lock.release())
+                    .onFailure(
+                        e -> LOGGER.warn("Rating summaries not rebuilt; " + e.getMessage())));
+  }
+
+  /**
+   * Rebuilds the summary index, unless a node of the cluster rebuilt it within the interval. Called
+   * with the rebuild lock held.
+   *
+   * @param intervalMillis interval between rebuilds of the summary index
+   * @return Future of whether the index was rebuilt
+   */
+  Future<Boolean> reconcile(long intervalMillis) {
+    return vertx
+        .sharedData()
+        .getCounter(RATING_SUMMARY_REBUILT_AT)
+        .compose(
+            rebuiltAt ->
+                rebuiltAt
+                    .get()
+                    .compose(
+                        last -> {
+                          long startedAt = System.currentTimeMillis();
+                          if (startedAt - last < intervalMillis) {
+                            LOGGER.debug("Rating summaries rebuilt at {}, skipping", last);
+                            return Future.succeededFuture(false);
+                          }
+                          return rebuild()
+                              .onSuccess(
+                                  rebuilt -> LOGGER.info("Rebuilt {} rating summaries", rebuilt))
+                              .compose(rebuilt -> rebuiltAt.compareAndSet(last, startedAt))
+                              .map(true);
+                        }));
+  }
+
+  /**
+   * Recomputes every summary document from the rating index and deletes the summaries of items
+   * which no longer have approved ratings.
+   *
+   * @return Future of the number of summary documents written
+   */
+  Future<Integer> rebuild() {
+    long startedAt = System.currentTimeMillis();
+    Map<String, JsonObject> summaries = new HashMap<>();
+    JsonObject stale =
+        new JsonObject()
+            .put("conflicts", "proceed")
+            .put(
+                QUERY_KEY,
+                new JsonObject()
+                    .put(
+                        "range",
+                        new JsonObject().put(UPDATED_AT, new JsonObject().put("lt", startedAt))));
+
+    return summarize(null, summaries)
+        .compose(summarized -> write(new ArrayList<>(summaries.entrySet()), 0, startedAt))
+        .compose(written -> client.deleteByQueryAsync(summaryIndex, stale))
+        .map(deleted -> summaries.size());
+  }
+
+  /* Collects the summaries of a page of rated items and of the pages after it */
+  private Future<Void> summarize(JsonObject after, Map<String, JsonObject> summaries) {
+    JsonObject composite =
+        new JsonObject()
+            .put(SIZE_KEY, RATING_SUMMARY_PAGE_SIZE)
+            .put(
+                SOURCES,
+                new JsonArray()
+                    .add(
+                        new JsonObject()
+                            .put(
+                                ID,
+                                new JsonObject()
+                                    .put(TERMS_KEY, new JsonObject().put(FIELD, ID_KEYWORD)))));
+    if (after != null) {
+      composite.put(AFTER, after);
+    }
+    JsonObject query =
+        new JsonObject()
+            .put(SIZE_KEY, 0)
+            .put(QUERY_KEY, approved())
+            .put(
+                AGGREGATION_KEY,
+                new JsonObject()
+                    .put(
+                        RESULTS,
+                        new JsonObject()
+                            .put(COMPOSITE, composite)
+                            .put(AGGREGATION_KEY, summaryAggregations())));
+
+    return client
+        .searchJsonAsync(ratingIndex, query)
+        .compose(
+            response -> {
+              JsonObject page = response.getJsonObject(AGGREGATIONS).getJsonObject(RESULTS);
+              JsonArray buckets = page.getJsonArray(BUCKETS);
+              if (buckets.isEmpty()) {
+                return Future.succeededFuture();
+              }
+              Map<String, JsonObject> entries = new LinkedHashMap<>();
+              for (int i = 0; i < buckets.size(); i++) {
+                JsonObject bucket = buckets.getJsonObject(i);
+                JsonObject entry = entry(bucket);
+                if (entry != null) {
+                  entries.put(bucket.getJsonObject(KEY).getString(ID), entry);
+                }
+              }
+              return resourceGroups(new ArrayList<>(entries.keySet()))
+                  .compose(
+                      groups -> {
+                        entries.forEach(
+                            (item, entry) -> {
+                              addEntry(summaries, item, item, entry);
+                              if (groups.containsKey(item)) {
+                                addEntry(summaries, groups.get(item), item, entry);
+                              }
+                            });
+                        JsonObject afterKey = page.getJsonObject(AFTER_KEY);
+                        return afterKey == null
+                            ? Future.<Void>succeededFuture()
+                            : summarize(afterKey, summaries);
+                      });
+            });
+  }
+
+  /* Writes the rebuilt summary documents a page at a time */
+  private Future<Void> write(
+      List<Map.Entry<String, JsonObject>> summaries, int from, long updatedAt) {
+    if (from >= summaries.size()) {
+      return Future.succeededFuture();
+    }
+    JsonArray operations = new JsonArray();
+    int to = Math.min(from + RATING_SUMMARY_PAGE_SIZE, summaries.size());
+    for (int i = from; i < to; i++) {
+      String id = summaries.get(i).getKey();
+      operations
+          .add(new JsonObject().put(BULK_INDEX_ACTION, new JsonObject().put(DOC_ID, id)))
+          .add(
+              new JsonObject()
+                  .put(ID, id)
+                  .put(UPDATED_AT, updatedAt)
+                  .put(ITEMS, summaries.get(i).getValue()));
+    }
+    return bulk(operations).compose(written -> write(summaries, to, updatedAt));
+  }
+
+  private Future<Void> bulk(JsonArray operations) {
+    Promise<JsonObject> promise = Promise.promise();
+    client.docBulkAsync(summaryIndex, operations, promise);
+    return promise
+        .future()
+        .compose(
+            response -> {
+              JsonArray outcomes = response.getJsonArray(ITEMS, new JsonArray());
+              for (int i = 0; i < outcomes.size(); i++) {
+                /* Every outcome is keyed by its action */
+                JsonObject outcome = outcomes.getJsonObject(i);
+                JsonObject result = outcome.getJsonObject(outcome.fieldNames().iterator().next());
+                if (result.containsKey(BULK_ERROR)) {
+                  return Future.failedFuture(result.getValue(BULK_ERROR).toString());
+                }
+              }
+              return Future.succeededFuture();
+            });
+  }
+
+  /* Finds the resource group of each of the items which is a resource */
+  private Future<Map<String, String>> resourceGroups(List<String> itemIds) {
+    JsonObject query =
+        new JsonObject()
+            .put(SIZE_KEY, itemIds.size())
+            .put(QUERY_KEY, ElasticQuery.terms(ID_KEYWORD, new JsonArray(itemIds)))
+            .put(SOURCE, new JsonArray().add(ID).add(RESOURCE_GRP));
+    return client
+        .searchJsonAsync(docIndex, query)
+        .map(
+            response -> {
+              Map<String, String> groups = new HashMap<>();
+              JsonArray hits = response.getJsonObject(HITS).getJsonArray(HITS);
+              for (int i = 0; i < hits.size(); i++) {
+                JsonObject item = hits.getJsonObject(i).getJsonObject(SOURCE);
+                if (item.getString(RESOURCE_GRP) != null) {
+                  groups.put(item.getString(ID), item.getString(RESOURCE_GRP));
+                }
+              }
+              return groups;
+            });
+  }
+
+  private static JsonObject approved() {
+    return ElasticQuery.match(RATING_STATUS, RATING_APPROVED);
+  }
+
+  private static JsonObject summaryAggregations() {
+    return new JsonObject()
+        .put(RATING_STATS, new JsonObject().put("stats", new JsonObject().put(FIELD, RATING)))
+        .put(
+            RATING_HISTOGRAM,
+            new JsonObject()
+                .put(HISTOGRAM, new JsonObject().put(FIELD, RATING).put("interval", 1)));
+  }
+
+  /**
+   * Builds the summary entry of an item from its rating aggregations.
+   *
+   * @param aggregations the stats and histogram aggregations of the ratings of the item
+   * @return the count, sum and histogram of the ratings, null if the item has no ratings
+   */
+  private static JsonObject entry(JsonObject aggregations) {
+    JsonObject stats = aggregations.getJsonObject(RATING_STATS);
+    if (stats.getLong(COUNT, 0L) == 0) {
+      return null;
+    }
+    JsonObject histogram = new JsonObject();
+    JsonArray buckets = aggregations.getJsonObject(RATING_HISTOGRAM).getJsonArray(BUCKETS);
+    for (int i = 0; i < buckets.size(); i++) {
+      JsonObject bucket = buckets.getJsonObject(i);
+      if (bucket.getLong(DOC_COUNT) > 0) {
+        histogram.put(
+            String.valueOf(bucket.getDouble(KEY).intValue()), bucket.getLong(DOC_COUNT));
+      }
+    }
+    return new JsonObject()
+        .put(COUNT, stats.getLong(COUNT))
+        .put(SUM, stats.getDouble(SUM))
+        .put(HISTOGRAM, histogram);
+  }
+
+  private static void addEntry(
+      Map<String, JsonObject> summaries, String docId, String itemId, JsonObject entry) {
+    summaries.computeIfAbsent(docId, id -> new JsonObject()).put(itemId, entry);
+  }
+
+  private static void addUpdate(
+      JsonArray operations, String docId, String itemId, JsonObject entry, long updatedAt) {
+    JsonObject params =
+        new JsonObject().put(ITEM, itemId).put("entry", entry).put(UPDATED_AT, updatedAt);
+    operations
+        .add(
+            new JsonObject()
+                .put(
+                    BULK_UPDATE_ACTION,
+                    new JsonObject().put(DOC_ID, docId).put("retry_on_conflict", 3)))
+        .add(
+            new JsonObject()
+                .put("scripted_upsert", true)
+                .put("upsert", new JsonObject().put(ID, docId).put(ITEMS, new JsonObject()))
+                .put(
+                    "script",
+                    new JsonObject().put("source", RATING_SUMMARY_SCRIPT).put("params", params)));
+  }
+}
@@ -0,0 +1,104 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * SearchCursor - Position of a client in a paged crawl of search, relationship or list results.
+ *
+ * <p>Search and relationship pages are read from an ES point in time, sorted by item id, and every
+ * page continues after the sort values of the last hit of the previous page, so deep pages cost the
+ * same as the first one. List pages continue after the key of the last bucket of a composite
+ * aggregation. The position is handed to the client as an opaque URL safe token.
+ */
+final class SearchCursor {
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final String pitId;
+  private final JsonArray searchAfter;
+  private final JsonObject afterKey;
+
+  SearchCursor(String pitId, JsonArray searchAfter, JsonObject afterKey) {
+    this.pitId = pitId;
+    this.searchAfter = searchAfter;
+    this.afterKey = afterKey;
+  }
+
+  /**
+   * Decodes the cursor given by the client.
+   *
+   * @param token {@link iudx.catalogue.server.util.Constants#CURSOR_START} for the first page, or
+   *     the <code>nextCursor</code> of the previous page
+   * @return the position of the page
+   * @throws IllegalArgumentException if the token is not a cursor
+   */
+  static SearchCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      throw new IllegalArgumentException("Empty cursor");
+    }
+    if (CURSOR_START.equals(token)) {
+      return new SearchCursor(null, null, null);
+    }
+    JsonObject position;
+    try {
+      position = new JsonObject(new String(DECODER.decode(token), StandardCharsets.UTF_8));
+    } catch (DecodeException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+    try {
+      SearchCursor cursor =
+          new SearchCursor(
+              position.getString(PIT),
+              position.getJsonArray(SEARCH_AFTER),
+              position.getJsonObject(AFTER));
+      if (cursor.isStart()) {
+        throw new IllegalArgumentException("Cursor has no position");
+      }
+      return cursor;
+    } catch (ClassCastException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+
+  /**
+   * Encodes the cursor for the client.
+   *
+   * @return opaque URL safe token
+   */
+  String encode() {
+    JsonObject position = new JsonObject();
+    if (pitId != null) {
+      position.put(PIT, pitId);
+    }
+    if (searchAfter != null) {
+      position.put(SEARCH_AFTER, searchAfter);
+    }
+    if (afterKey != null) {
+      position.put(AFTER, afterKey);
+    }
+    return ENCODER.encodeToString(position.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  boolean isStart() {
+    return pitId == null && searchAfter == null && afterKey == null;
+  }
+
+  String pitId() {
+    return pitId;
+  }
+
+  JsonArray searchAfter() {
+    return searchAfter;
+  }
+
+  JsonObject afterKey() {
+    return afterKey;
+  }
+}
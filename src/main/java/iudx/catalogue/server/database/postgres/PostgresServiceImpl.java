@@ -3,6 +3,7 @@ package iudx.catalogue.server.database.postgres;
 
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -11,6 +12,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Row;
 import iudx.catalogue.server.database.RespBuilder;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.util.List;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -20,6 +22,7 @@ import org.apache.logging.log4j.Logger;
 
 public class PostgresServiceImpl implements PostgresService {
   private static final Logger LOGGER = LogManager.getLogger(PostgresServiceImpl.class);
+  private static final String POSTGRES = "postgres";
   private final PgPool client;
 
   public PostgresServiceImpl(final PgPool pgclient) {
@@ -33,10 +36,18 @@ public class PostgresServiceImpl implements PostgresService {
     Collector<Row, ?, List<JsonObject>> rowCollector =
         Collectors.mapping(row -> row.toJson(), Collectors.toList());
 
-    client
-        .withConnection(
-            connection ->
-                connection.query(query).collecting(rowCollector).execute().map(row -> row.value()))
+    Timer.Sample sample = Timer.start();
+    LatencyMetrics.timeDependency(
+            sample,
+            POSTGRES,
+            "query",
+            client.withConnection(
+                connection ->
+                    connection
+                        .query(query)
+                        .collecting(rowCollector)
+                        .execute()
+                        .map(row -> row.value())))
         .onSuccess(
             successHandler -> {
               JsonArray result = new JsonArray(successHandler);
@@ -64,10 +75,17 @@ public class PostgresServiceImpl implements PostgresService {
       final String query, Handler<AsyncResult<JsonObject>> handler) {
 
     LOGGER.debug(query);
-    client
-        .withConnection(
-            connection ->
-                connection.query(query).execute().map(rows -> rows.iterator().next().getInteger(0)))
+    Timer.Sample sample = Timer.start();
+    LatencyMetrics.timeDependency(
+            sample,
+            POSTGRES,
+            "count",
+            client.withConnection(
+                connection ->
+                    connection
+                        .query(query)
+                        .execute()
+                        .map(rows -> rows.iterator().next().getInteger(0))))
         .onSuccess(
             count -> {
               handler.handle(Future.succeededFuture(new JsonObject().put("totalHits", count)));
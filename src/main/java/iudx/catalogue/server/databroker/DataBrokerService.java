@@ -7,6 +7,7 @@ import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -33,6 +34,24 @@ public interface DataBrokerService {
       String routingKey,
       Handler<AsyncResult<JsonObject>> handler);
 
+  /**
+   * Publishes a batch of messages, one message per element, and completes once the broker has
+   * confirmed every message of the batch.
+   *
+   * @param bodies the messages to publish
+   * @param toExchange exchange the messages are published to
+   * @param routingKey routing key of the messages
+   * @param handler completed with a success response once the batch is confirmed, failed if any
+   *     message is nacked, not confirmed in time or could not be published
+   * @return DataBrokerService which is a service
+   */
+  @Fluent
+  DataBrokerService publishMessages(
+      JsonArray bodies,
+      String toExchange,
+      String routingKey,
+      Handler<AsyncResult<JsonObject>> handler);
+
   @GenIgnore
   static DataBrokerService createProxy(Vertx vertx, String address) {
     return new DataBrokerServiceVertxEBProxy(vertx, address);
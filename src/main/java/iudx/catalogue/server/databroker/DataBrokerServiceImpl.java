@@ -6,9 +6,12 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rabbitmq.RabbitMQClient;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,6 +29,7 @@ import org.apache.logging.log4j.Logger;
  */
 public class DataBrokerServiceImpl implements DataBrokerService {
   private static final Logger LOGGER = LogManager.getLogger(DataBrokerServiceImpl.class);
+  private static final long CONFIRM_TIMEOUT_MS = 5000;
 
   private RabbitMQClient client;
 
@@ -35,6 +39,9 @@ public class DataBrokerServiceImpl implements DataBrokerService {
    */
   public DataBrokerServiceImpl(RabbitMQClient client) {
     this.client = client;
+    /* Publisher confirms are enabled on every (re)connected channel for publishMessages */
+    this.client.addConnectionEstablishedCallback(
+        promise -> this.client.confirmSelect().onComplete(promise));
     this.client.start(
         startHandler -> {
           if (startHandler.succeeded()) {
@@ -78,4 +85,40 @@ public class DataBrokerServiceImpl implements DataBrokerService {
         });
     return this;
   }
+
+  @Override
+  public DataBrokerService publishMessages(
+      JsonArray bodies,
+      String toExchange,
+      String routingKey,
+      Handler<AsyncResult<JsonObject>> handler) {
+
+    if (!client.isConnected()) {
+      client.start();
+    }
+
+    List<Future<Void>> publishes = new ArrayList<>(bodies.size());
+    for (Object body : bodies) {
+      publishes.add(client.basicPublish(toExchange, routingKey, Buffer.buffer(body.toString())));
+    }
+    Future.all(publishes)
+        .compose(published -> client.waitForConfirms(CONFIRM_TIMEOUT_MS))
+        .onComplete(
+            confirmHandler -> {
+              if (confirmHandler.succeeded()) {
+                JsonObject result =
+                    new JsonObject().put("type", TYPE_SUCCESS).put(TOTAL_HITS, bodies.size());
+                handler.handle(Future.succeededFuture(result));
+              } else {
+                LOGGER.error("Fail: Batch of {} messages not confirmed", bodies.size());
+                RespBuilder respBuilder =
+                    new RespBuilder()
+                        .withType(TYPE_INTERNAL_SERVER_ERROR)
+                        .withTitle(TITLE_INTERNAL_SERVER_ERROR)
+                        .withDetail(confirmHandler.cause().getLocalizedMessage());
+                handler.handle(Future.failedFuture(respBuilder.getResponse()));
+              }
+            });
+    return this;
+  }
 }
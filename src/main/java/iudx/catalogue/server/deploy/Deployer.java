@@ -2,6 +2,8 @@ package iudx.catalogue.server.deploy;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.DiscoveryStrategyConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.zookeeper.ZookeeperDiscoveryProperties;
 import com.hazelcast.zookeeper.ZookeeperDiscoveryStrategyFactory;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -10,7 +12,9 @@ import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
 import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
@@ -29,6 +33,8 @@ import io.vertx.micrometer.MicrometerMetricsOptions;
 import io.vertx.micrometer.VertxPrometheusOptions;
 import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
+import iudx.catalogue.server.database.DatabaseVerticle;
+import iudx.catalogue.server.database.DistributedCache;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -81,7 +87,7 @@ public class Deployer {
 
     String moduleName = moduleConfigurations.getString("id");
     int numInstances = moduleConfigurations.getInteger("verticleInstances");
-    vertx.deployVerticle(moduleName,
+    deployModule(vertx, moduleName,
         new DeploymentOptions().setInstances(numInstances).setConfig(moduleConfigurations), ar -> {
           if (ar.succeeded()) {
             LOGGER.info("Deployed " + moduleName);
@@ -122,7 +128,7 @@ public class Deployer {
     config.mergeIn(commonConfigs, true);
 
     int numInstances = config.getInteger("verticleInstances");
-    vertx.deployVerticle(moduleName,
+    deployModule(vertx, moduleName,
             new DeploymentOptions().setInstances(numInstances).setConfig(config), ar -> {
               if (ar.succeeded()) {
                 LOGGER.info("Deployed " + moduleName);
@@ -134,6 +140,26 @@ public class Deployer {
             });
   }
 
+  /**
+   * Deploys a module. The database module is given the Hazelcast instance of the cluster manager,
+   * which holds its distributed cache.
+   *
+   * @param vertx the vert.x instance
+   * @param moduleName the id of the module
+   * @param options the deployment options of the module
+   * @param handler called once the module is deployed
+   */
+  private static void deployModule(Vertx vertx, String moduleName, DeploymentOptions options,
+      Handler<AsyncResult<String>> handler) {
+    if (moduleName.equals(DatabaseVerticle.class.getName())
+        && mgr instanceof HazelcastClusterManager) {
+      HazelcastInstance hazelcast = ((HazelcastClusterManager) mgr).getHazelcastInstance();
+      vertx.deployVerticle(() -> new DatabaseVerticle(hazelcast), options, handler);
+    } else {
+      vertx.deployVerticle(moduleName, options, handler);
+    }
+  }
+
   private static JsonObject getConfigForModule(int moduleIndex, JsonObject configurations) {
     JsonObject commonConfigs = configurations.getJsonObject("commonConfig");
     JsonObject config = configurations.getJsonArray("modules").getJsonObject(moduleIndex);
@@ -151,6 +177,21 @@ public class Deployer {
    */
   public static ClusterManager getClusterManager(
       String host, List<String> zookeepers, String clusterID) {
+    return getClusterManager(host, zookeepers, clusterID, null);
+  }
+
+  /**
+   * Creates a Hazelcast cluster manager as {@link #getClusterManager(String, List, String)} does,
+   * along with the maps of the distributed cache of the catalogue.
+   *
+   * @param host The public address of the host that the node will use.
+   * @param zookeepers A list of Zookeeper URLs used for node discovery.
+   * @param clusterID A unique identifier for the cluster to which the node belongs.
+   * @param cacheConfig configuration of the distributed cache, null if it is not enabled
+   * @return A ClusterManager instance that uses Hazelcast and Zookeeper-based discovery.
+   */
+  public static ClusterManager getClusterManager(
+      String host, List<String> zookeepers, String clusterID, JsonObject cacheConfig) {
     Config config = new Config();
     config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
     config.getNetworkConfig().setPublicAddress(host);
@@ -163,6 +204,11 @@ public class Deployer {
     discoveryStrategyConfig.addProperty(ZookeeperDiscoveryProperties.GROUP.key(), clusterID);
     config.getNetworkConfig().getJoin().getDiscoveryConfig()
         .addDiscoveryStrategyConfig(discoveryStrategyConfig);
+    if (cacheConfig != null) {
+      for (MapConfig mapConfig : DistributedCache.mapConfigs(cacheConfig)) {
+        config.addMapConfig(mapConfig);
+      }
+    }
 
     return new HazelcastClusterManager(config);
   }
@@ -170,17 +216,18 @@ public class Deployer {
   /**
    * Returns an instance of {@link MetricsOptions} configured with Micrometer
    * metrics options for Prometheus
-   * along with additional labels and enabled status.
+   * along with additional labels and enabled status. HTTP server metrics are labelled by route
+   * and published as histograms, so the latency of each API can be told apart.
    * @return an instance of {@link MetricsOptions}
    */
   public static MetricsOptions getMetricsOptions() {
     return new MicrometerMetricsOptions()
         .setPrometheusOptions(
             new VertxPrometheusOptions().setEnabled(true).setStartEmbeddedServer(true)
-                .setEmbeddedServerOptions(new HttpServerOptions().setPort(9000)))
-        // .setPublishQuantiles(true))
+                .setEmbeddedServerOptions(new HttpServerOptions().setPort(9000))
+                .setPublishQuantiles(true))
         .setLabels(EnumSet.of(Label.EB_ADDRESS, Label.EB_FAILURE, Label.HTTP_CODE,
-            Label.HTTP_METHOD))
+            Label.HTTP_METHOD, Label.HTTP_ROUTE))
         .setEnabled(true);
   }
 
@@ -223,7 +270,10 @@ public class Deployer {
     JsonObject configuration = new JsonObject(config);
     List<String> zookeepers = configuration.getJsonArray("zookeepers").getList();
     String clusterId = configuration.getString("clusterId");
-    mgr = getClusterManager(host, zookeepers, clusterId);
+    JsonObject cacheConfig =
+        configuration.getJsonObject("commonConfig", new JsonObject())
+            .getJsonObject("distributedCache");
+    mgr = getClusterManager(host, zookeepers, clusterId, cacheConfig);
     EventBusOptions ebOptions = new EventBusOptions().setHost(host);
     VertxOptions options = new VertxOptions().setClusterManager(mgr).setEventBusOptions(ebOptions)
         .setMetricsOptions(getMetricsOptions());
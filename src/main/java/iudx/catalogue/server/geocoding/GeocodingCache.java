@@ -0,0 +1,109 @@
+package iudx.catalogue.server.geocoding;
+
+import static iudx.catalogue.server.geocoding.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.util.CoalescingCache;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the results of the geocoding and reverse geocoding lookups made to Pelias.
+ *
+ * <p>Addresses are cached under their text in lower case with the whitespace collapsed, and points
+ * under their coordinates rounded to a configurable number of decimal places, so that nearby points
+ * share a lookup. Entries are bounded by size and expire after a TTL, as the gazetteer of Pelias
+ * seldom changes. Concurrent lookups of a key missing from the cache wait for a single call to
+ * Pelias. Failed lookups are not cached. One cache is shared by all the geocoding verticles
+ * deployed on a node.
+ */
+final class GeocodingCache {
+
+  private static volatile GeocodingCache cacheInstance;
+  private final CoalescingCache<String> cache;
+  private final int precision;
+
+  /**
+   * Constructs a geocoding cache.
+   *
+   * @param maxSize maximum number of cached results
+   * @param ttlSeconds seconds after which a cached result expires
+   * @param precision number of decimal places the coordinates of a point are rounded to
+   */
+  GeocodingCache(long maxSize, long ttlSeconds, int precision) {
+    this.cache = new CoalescingCache<>(maxSize, ttlSeconds);
+    this.precision = precision;
+  }
+
+  /**
+   * Returns the cache shared by all verticles deployed on this node, creating it on first use.
+   *
+   * @param config module config carrying the optional geocodingCacheMaxSize,
+   *     geocodingCacheTtlSeconds and reverseGeocodingPrecision keys
+   * @return the node local GeocodingCache
+   */
+  static GeocodingCache getInstance(JsonObject config) {
+    if (cacheInstance == null) {
+      synchronized (GeocodingCache.class) {
+        if (cacheInstance == null) {
+          GeocodingCache instance =
+              new GeocodingCache(
+                  config.getLong(GEOCODING_CACHE_MAX_SIZE, DEFAULT_GEOCODING_CACHE_MAX_SIZE),
+                  config.getLong(GEOCODING_CACHE_TTL, DEFAULT_GEOCODING_CACHE_TTL),
+                  config.getInteger(
+                      REVERSE_GEOCODING_PRECISION, DEFAULT_REVERSE_GEOCODING_PRECISION));
+          instance.cache.bindMetrics(GEOCODING_CACHE_METRIC);
+          cacheInstance = instance;
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  /**
+   * Gets the result of a lookup from the cache, or else from the lookup, which is made once for
+   * all the concurrent requests of a key.
+   *
+   * @param key normalized key of the lookup
+   * @param lookup makes the lookup on a miss
+   * @return Future of the result of the lookup
+   */
+  Future<String> get(String key, Supplier<Future<String>> lookup) {
+    return cache.get(key, lookup);
+  }
+
+  static String addressKey(String address) {
+    return "search:" + address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  static String pointKey(String lat, String lon) {
+    return "reverse:" + lat + "," + lon;
+  }
+
+  /**
+   * Rounds a coordinate to the precision of the cache.
+   *
+   * @param coordinate latitude or longitude in decimal degrees
+   * @return the rounded coordinate, or the coordinate itself if it is not a number
+   */
+  String quantize(String coordinate) {
+    if (coordinate == null) {
+      return null;
+    }
+    try {
+      return new BigDecimal(coordinate.trim())
+          .setScale(precision, RoundingMode.HALF_UP)
+          .stripTrailingZeros()
+          .toPlainString();
+    } catch (NumberFormatException e) {
+      return coordinate;
+    }
+  }
+
+  long size() {
+    return cache.size();
+  }
+}
@@ -11,6 +11,7 @@ import static iudx.catalogue.server.geocoding.util.Constants.SERVICE_TIMEOUT;
 import static iudx.catalogue.server.geocoding.util.Constants.TYPE;
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -20,6 +21,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import iudx.catalogue.server.util.Constants;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.lang.StringBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,9 +40,11 @@ import org.apache.logging.log4j.Logger;
 public class GeocodingServiceImpl implements GeocodingService {
 
   private static final Logger LOGGER = LogManager.getLogger(GeocodingServiceImpl.class);
+  private static final String PELIAS = "pelias";
   static WebClient webClient;
   private final String peliasUrl;
   private final int peliasPort;
+  private final GeocodingCache cache;
   StringBuilder sb = new StringBuilder();
 
   /**
@@ -52,13 +56,39 @@ public class GeocodingServiceImpl implements GeocodingService {
    * @param peliasPort the port number of the Pelias geocoding service
    */
   public GeocodingServiceImpl(WebClient webClient, String peliasUrl, int peliasPort) {
+    this(webClient, peliasUrl, peliasPort, null);
+  }
+
+  /**
+   * Constructs a new instance of GeocodingServiceImpl which caches the results of Pelias.
+   *
+   * @param webClient the WebClient used to perform HTTP requests
+   * @param peliasUrl the URL of the Pelias geocoding service
+   * @param peliasPort the port number of the Pelias geocoding service
+   * @param cache the cache of the geocoding results, null to always call Pelias
+   */
+  GeocodingServiceImpl(
+      WebClient webClient, String peliasUrl, int peliasPort, GeocodingCache cache) {
     this.webClient = webClient;
     this.peliasUrl = peliasUrl;
     this.peliasPort = peliasPort;
+    this.cache = cache;
   }
 
   @Override
   public void geocoder(String location, Handler<AsyncResult<String>> handler) {
+    if (cache == null || location == null) {
+      searchPelias(location).onComplete(handler);
+      return;
+    }
+    cache
+        .get(GeocodingCache.addressKey(location), () -> searchPelias(location))
+        .onComplete(handler);
+  }
+
+  private Future<String> searchPelias(String location) {
+    Timer.Sample sample = Timer.start();
+    Promise<String> promise = Promise.promise();
     webClient
         .get(peliasPort, peliasUrl, "/v1/search")
         .timeout(SERVICE_TIMEOUT)
@@ -98,19 +128,19 @@ public class GeocodingServiceImpl implements GeocodingService {
                 }
                 LOGGER.debug("Request succeeded!");
                 JsonObject result = new JsonObject().put(RESULTS, resultArray);
-                handler.handle(Future.succeededFuture(result.toString()));
+                promise.complete(result.toString());
 
               } else {
                 LOGGER.error("Failed to find coordinates");
-                handler.handle(
-                    Future.failedFuture(
-                        new JsonObject()
-                            .put("type", TYPE_ITEM_NOT_FOUND)
-                            .put("title", TITLE_ITEM_NOT_FOUND)
-                            .put("detail", "Failed to find coordinates")
-                            .toString()));
+                promise.fail(
+                    new JsonObject()
+                        .put("type", TYPE_ITEM_NOT_FOUND)
+                        .put("title", TITLE_ITEM_NOT_FOUND)
+                        .put("detail", "Failed to find coordinates")
+                        .toString());
               }
             });
+    return LatencyMetrics.timeDependency(sample, PELIAS, "search", promise.future());
   }
 
   private JsonObject generateGeocodingJson(JsonObject property) {
@@ -156,6 +186,24 @@ public class GeocodingServiceImpl implements GeocodingService {
 
   @Override
   public void reverseGeocoder(String lat, String lon, Handler<AsyncResult<JsonObject>> handler) {
+    if (cache == null) {
+      reversePelias(lat, lon).onComplete(handler);
+      return;
+    }
+    /* Nearby points share a lookup of the point they are rounded to */
+    String pointLat = cache.quantize(lat);
+    String pointLon = cache.quantize(lon);
+    cache
+        .get(
+            GeocodingCache.pointKey(pointLat, pointLon),
+            () -> reversePelias(pointLat, pointLon).map(JsonObject::encode))
+        .map(JsonObject::new)
+        .onComplete(handler);
+  }
+
+  private Future<JsonObject> reversePelias(String lat, String lon) {
+    Timer.Sample sample = Timer.start();
+    Promise<JsonObject> promise = Promise.promise();
     webClient
         .get(peliasPort, peliasUrl, "/v1/reverse")
         .timeout(SERVICE_TIMEOUT)
@@ -166,12 +214,13 @@ public class GeocodingServiceImpl implements GeocodingService {
             ar -> {
               if (ar.succeeded()) {
                 LOGGER.debug("Request succeeded!");
-                handler.handle(Future.succeededFuture(ar.result().body().toJsonObject()));
+                promise.complete(ar.result().body().toJsonObject());
               } else {
                 LOGGER.error("Failed to find location");
-                handler.handle(Future.failedFuture(ar.cause()));
+                promise.fail(ar.cause());
               }
             });
+    return LatencyMetrics.timeDependency(sample, PELIAS, "reverse", promise.future());
   }
 
   private Promise<JsonObject> reverseGeocoderHelper(String lat, String lon) {
@@ -1,5 +1,6 @@
 package iudx.catalogue.server.geocoding;
 
+import static iudx.catalogue.server.geocoding.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
 import io.vertx.core.AbstractVerticle;
@@ -9,6 +10,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,11 +48,17 @@ public class GeocodingVerticle extends AbstractVerticle {
     binder = new ServiceBinder(vertx);
     peliasUrl = config().getString("peliasUrl");
     peliasPort = config().getInteger("peliasPort");
-    geocoding = new GeocodingServiceImpl(createWebClient(vertx, config()), peliasUrl, peliasPort);
+    geocoding =
+        new GeocodingServiceImpl(
+            createWebClient(vertx, config()),
+            peliasUrl,
+            peliasPort,
+            GeocodingCache.getInstance(config()));
 
     consumer =
         binder.setAddress(GEOCODING_SERVICE_ADDRESS)
       .register(GeocodingService.class, geocoding);
+    LocalServices.register(vertx, GEOCODING_SERVICE_ADDRESS, geocoding);
   }
 
   static WebClient createWebClient(Vertx vertx, JsonObject config) {
@@ -77,5 +85,6 @@ public class GeocodingVerticle extends AbstractVerticle {
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, GEOCODING_SERVICE_ADDRESS, geocoding);
   }
 }
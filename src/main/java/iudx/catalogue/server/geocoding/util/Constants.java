@@ -22,4 +22,12 @@ public class Constants {
   public static final String GEOCODED = "_geocoded";
   public static final String REVERSE_GEOCODED = "_reverseGeocoded";
   public static final int SERVICE_TIMEOUT = 3000;
+
+  public static final String GEOCODING_CACHE_MAX_SIZE = "geocodingCacheMaxSize";
+  public static final String GEOCODING_CACHE_TTL = "geocodingCacheTtlSeconds";
+  public static final String REVERSE_GEOCODING_PRECISION = "reverseGeocodingPrecision";
+  public static final String GEOCODING_CACHE_METRIC = "cat.geocoding.cache";
+  public static final long DEFAULT_GEOCODING_CACHE_MAX_SIZE = 10000;
+  public static final long DEFAULT_GEOCODING_CACHE_TTL = 86400;
+  public static final int DEFAULT_REVERSE_GEOCODING_PRECISION = 4;
 }
@@ -3,6 +3,7 @@ package iudx.catalogue.server.mlayer;
 import static iudx.catalogue.server.database.Constants.*;
 import static iudx.catalogue.server.mlayer.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.METHOD;
 import static iudx.catalogue.server.util.Constants.NAME;
 import static iudx.catalogue.server.util.Constants.PROVIDERS;
 
@@ -10,6 +11,8 @@ import com.google.common.hash.Hashing;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.database.DatabaseService;
@@ -30,6 +33,8 @@ public class MlayerServiceImpl implements MlayerService {
   private String catSummaryTable;
   private JsonObject configJson;
   private JsonArray excludedIdsJson;
+  private Vertx vertx;
+  private PopularDatasetsView popularDatasetsView;
 
   MlayerServiceImpl(
       DatabaseService databaseService, PostgresService postgresService, JsonObject config) {
@@ -41,6 +46,22 @@ public class MlayerServiceImpl implements MlayerService {
     excludedIdsJson = configJson.getJsonArray("excluded_ids");
   }
 
+  /**
+   * Creates the service with a precomputed popular datasets view which is rebuilt when instances,
+   * domains or items change.
+   */
+  MlayerServiceImpl(
+      Vertx vertx,
+      DatabaseService databaseService,
+      PostgresService postgresService,
+      JsonObject config) {
+    this(databaseService, postgresService, config);
+    this.vertx = vertx;
+    popularDatasetsView = new PopularDatasetsView(vertx, this::buildPopularDatasets);
+    popularDatasetsView.start(
+        config.getLong(POPULAR_DATASETS_REFRESH, PopularDatasetsView.DEFAULT_REFRESH_SECONDS));
+  }
+
   @Override
   public MlayerService createMlayerInstance(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
@@ -57,6 +78,7 @@ public class MlayerServiceImpl implements MlayerService {
         createMlayerInstanceHandler -> {
           if (createMlayerInstanceHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Instance Recorded");
+            publishChange(id, INSTANCE_CHANGE, REQUEST_POST);
             handler.handle(Future.succeededFuture(createMlayerInstanceHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Instance creation failed");
@@ -92,6 +114,7 @@ public class MlayerServiceImpl implements MlayerService {
         deleteMlayerInstanceHandler -> {
           if (deleteMlayerInstanceHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Instance Deleted");
+            publishChange(request, INSTANCE_CHANGE, REQUEST_DELETE);
             handler.handle(Future.succeededFuture(deleteMlayerInstanceHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Instance deletion failed");
@@ -113,6 +136,7 @@ public class MlayerServiceImpl implements MlayerService {
         updateMlayerHandler -> {
           if (updateMlayerHandler.succeeded()) {
             LOGGER.info("Success: mlayer instance Updated");
+            publishChange(id, INSTANCE_CHANGE, REQUEST_PUT);
             handler.handle(Future.succeededFuture(updateMlayerHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Instance updation failed");
@@ -139,6 +163,7 @@ public class MlayerServiceImpl implements MlayerService {
         createMlayerDomainHandler -> {
           if (createMlayerDomainHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Domain Recorded");
+            publishChange(id, DOMAIN_CHANGE, REQUEST_POST);
             handler.handle(Future.succeededFuture(createMlayerDomainHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Domain creation failed");
@@ -173,6 +198,7 @@ public class MlayerServiceImpl implements MlayerService {
         deleteMlayerDomainHandler -> {
           if (deleteMlayerDomainHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Doamin Deleted");
+            publishChange(request, DOMAIN_CHANGE, REQUEST_DELETE);
             handler.handle(Future.succeededFuture(deleteMlayerDomainHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Domain deletion failed");
@@ -195,6 +221,7 @@ public class MlayerServiceImpl implements MlayerService {
         updateMlayerHandler -> {
           if (updateMlayerHandler.succeeded()) {
             LOGGER.info("Success: mlayer domain updated");
+            publishChange(id, DOMAIN_CHANGE, REQUEST_PUT);
             handler.handle(Future.succeededFuture(updateMlayerHandler.result()));
           } else {
             LOGGER.error("Fail: Mlayer Domain updation Failed");
@@ -348,6 +375,23 @@ public class MlayerServiceImpl implements MlayerService {
   @Override
   public MlayerService getMlayerPopularDatasets(
       String instance, Handler<AsyncResult<JsonObject>> handler) {
+    Future<JsonObject> popularDatasets =
+        popularDatasetsView == null
+            ? buildPopularDatasets(instance)
+            : popularDatasetsView.get(instance);
+    popularDatasets.onComplete(handler);
+    return this;
+  }
+
+  /**
+   * Computes the landing page summary of an instance from the most accessed resource groups in
+   * the audit table and the catalogue.
+   *
+   * @param instance the mlayer instance, may be empty
+   * @return future of the landing page summary
+   */
+  Future<JsonObject> buildPopularDatasets(String instance) {
+    Promise<JsonObject> promise = Promise.promise();
     String query = GET_HIGH_COUNT_DATASET.replace("$1", databaseTable);
     LOGGER.debug("postgres query" + query);
     postgresService.executeQuery(
@@ -371,20 +415,20 @@ public class MlayerServiceImpl implements MlayerService {
                 getPopularDatasetsHandler -> {
                   if (getPopularDatasetsHandler.succeeded()) {
                     LOGGER.info("Success: Getting data for the landing page.");
-                    handler.handle(Future.succeededFuture(getPopularDatasetsHandler.result()));
+                    promise.complete(getPopularDatasetsHandler.result());
                   } else {
                     LOGGER.error("Fail: Getting data for the landing page.");
-                    handler.handle(Future.failedFuture(getPopularDatasetsHandler.cause()));
+                    promise.fail(getPopularDatasetsHandler.cause());
                   }
                 });
 
           } else {
             LOGGER.debug("postgres query failed");
-            handler.handle(Future.failedFuture(dbHandler.cause()));
+            promise.fail(dbHandler.cause());
           }
         });
 
-    return this;
+    return promise.future();
   }
 
   @Override
@@ -424,4 +468,13 @@ public class MlayerServiceImpl implements MlayerService {
         });
     return this;
   }
+
+  private void publishChange(String id, String kind, String method) {
+    if (vertx != null) {
+      JsonObject change = new JsonObject().put(ID, id).put(CHANGE_KIND, kind).put(METHOD, method);
+      vertx.eventBus().publish(CATALOGUE_CHANGES_ADDRESS, change);
+      /* Sent, not published, so that the change is recorded once whatever the number of feeds */
+      vertx.eventBus().send(CHANGE_FEED_ADDRESS, change);
+    }
+  }
 }
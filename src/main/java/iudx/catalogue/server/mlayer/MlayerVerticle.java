@@ -8,6 +8,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.database.DatabaseService;
 import iudx.catalogue.server.database.postgres.PostgresService;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,13 +27,15 @@ public class MlayerVerticle extends AbstractVerticle {
     postgresService = PostgresService.createProxy(vertx, PG_SERVICE_ADDRESS);
     binder = new ServiceBinder(vertx);
 
-    mlayer = new MlayerServiceImpl(databaseService, postgresService, config());
+    mlayer = new MlayerServiceImpl(vertx, databaseService, postgresService, config());
     consumer = binder.setAddress(MLAYER_SERVICE_ADDRESS).register(MlayerService.class, mlayer);
+    LocalServices.register(vertx, MLAYER_SERVICE_ADDRESS, mlayer);
     LOGGER.info("Mlayer Service Started");
   }
 
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, MLAYER_SERVICE_ADDRESS, mlayer);
   }
 }
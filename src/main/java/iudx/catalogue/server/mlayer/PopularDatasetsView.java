@@ -0,0 +1,145 @@
+package iudx.catalogue.server.mlayer;
+
+import static iudx.catalogue.server.mlayer.util.Constants.VIEW_VERSION;
+import static iudx.catalogue.server.util.Constants.CATALOGUE_CHANGES_ADDRESS;
+
+import com.google.common.hash.Hashing;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Precomputed landing page summary (popular datasets, counts and domains) of every mlayer instance.
+ *
+ * <p>Requests are served from memory. The first request for an instance builds its view, and
+ * concurrent requests for the same instance share that build. Changes published on the catalogue
+ * change address schedule a debounced rebuild of every view and the views are also rebuilt
+ * periodically. The previous view is served until its rebuild completes, and kept if it fails.
+ *
+ * <p>Each view carries a version derived from its content which callers can use as an ETag.
+ */
+final class PopularDatasetsView {
+
+  private static final Logger LOGGER = LogManager.getLogger(PopularDatasetsView.class);
+  static final long DEFAULT_REFRESH_SECONDS = 300;
+  static final long DEBOUNCE_MILLIS = 2000;
+  /* Instance names come from a query parameter, so the number of views kept is bounded */
+  static final int MAX_VIEWS = 64;
+
+  private final Vertx vertx;
+  private final Function<String, Future<JsonObject>> builder;
+  private final Map<String, JsonObject> views = new ConcurrentHashMap<>();
+  private final Map<String, Future<JsonObject>> builds = new ConcurrentHashMap<>();
+  private long rebuildTimer = -1;
+
+  /**
+   * Creates the view.
+   *
+   * @param vertx the vertx instance used for the rebuild timers and change events
+   * @param builder computes the landing page summary of an instance from the databases
+   */
+  PopularDatasetsView(Vertx vertx, Function<String, Future<JsonObject>> builder) {
+    this.vertx = vertx;
+    this.builder = builder;
+  }
+
+  /**
+   * Starts the periodic rebuild and subscribes to catalogue changes.
+   *
+   * @param refreshSeconds interval at which every view is rebuilt
+   */
+  void start(long refreshSeconds) {
+    vertx.setPeriodic(refreshSeconds * 1000, id -> rebuildAll());
+    vertx.eventBus().<JsonObject>consumer(CATALOGUE_CHANGES_ADDRESS, message -> markDirty());
+  }
+
+  /**
+   * Returns the landing page summary of an instance, building it on a miss.
+   *
+   * @param instance the mlayer instance, may be empty
+   * @return future of a copy of the summary, carrying its version in the viewVersion field
+   */
+  Future<JsonObject> get(String instance) {
+    JsonObject view = views.get(instance);
+    if (view != null) {
+      return Future.succeededFuture(view.copy());
+    }
+    return build(instance).map(JsonObject::copy);
+  }
+
+  private Future<JsonObject> build(String instance) {
+    Promise<JsonObject> promise = Promise.promise();
+    Future<JsonObject> running = builds.putIfAbsent(instance, promise.future());
+    if (running != null) {
+      return running;
+    }
+    Future<JsonObject> built;
+    try {
+      built = builder.apply(instance);
+    } catch (RuntimeException e) {
+      built = Future.failedFuture(e);
+    }
+    built
+        .map(PopularDatasetsView::versioned)
+        .onSuccess(
+            view -> {
+              if (views.containsKey(instance) || views.size() < MAX_VIEWS) {
+                views.put(instance, view);
+              }
+            })
+        .onComplete(
+            ar -> {
+              builds.remove(instance);
+              promise.handle(ar);
+            });
+    return promise.future();
+  }
+
+  private static JsonObject versioned(JsonObject response) {
+    JsonObject view = response.copy();
+    view.remove(VIEW_VERSION);
+    return view.put(
+        VIEW_VERSION, Hashing.sha256().hashBytes(view.toBuffer().getBytes()).toString());
+  }
+
+  /** Schedules a rebuild of every view, coalescing bursts of changes into one rebuild. */
+  synchronized void markDirty() {
+    if (rebuildTimer != -1) {
+      return;
+    }
+    rebuildTimer =
+        vertx.setTimer(
+            DEBOUNCE_MILLIS,
+            id -> {
+              synchronized (this) {
+                rebuildTimer = -1;
+              }
+              rebuildAll();
+            });
+  }
+
+  private void rebuildAll() {
+    LOGGER.debug("Rebuilding {} popular dataset views", views.size());
+    views
+        .keySet()
+        .forEach(
+            instance ->
+                build(instance)
+                    .onFailure(
+                        cause ->
+                            LOGGER.warn(
+                                "Keeping previous popular datasets of instance {}; {}",
+                                instance,
+                                cause.getMessage())));
+  }
+
+  int size() {
+    return views.size();
+  }
+}
@@ -15,4 +15,6 @@ public class Constants {
       "select count(api) as counts , COALESCE(SUM(size), 0) as size from $a ";
 
   public static final String EXCLUDED_IDS_QUERY = " and userid NOT IN ($3)";
+  public static final String POPULAR_DATASETS_REFRESH = "popularDatasetsRefreshSeconds";
+  public static final String VIEW_VERSION = "viewVersion";
 }
@@ -2,20 +2,25 @@ package iudx.catalogue.server.mlayer.vocabulary;
 
 import static iudx.catalogue.server.database.Constants.GET_ALL_DATASETS_BY_RS_GRP;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import iudx.catalogue.server.database.ElasticClient;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,10 +28,24 @@ import org.apache.logging.log4j.Logger;
 public class DataModel {
   private static final Logger LOGGER = LogManager.getLogger(DataModel.class);
   private static final int MAX_CONCURRENT_REQUESTS = 10; // limit to 10 concurrent requests
+  static final long FETCH_TIMEOUT_MS = 5000;
+  private static final int MAX_FETCH_RETRIES = 2;
+  private static final long RETRY_BACKOFF_MS = 200;
+  private static final String FETCH_LATENCY_METRIC = "cat.datamodel.fetch.latency";
+  private static final String FETCH_QUEUE_METRIC = "cat.datamodel.fetch.queue";
+  /* Shared by every DataModel so the limit holds across concurrent landing page requests */
+  static final FetchLimiter FETCH_LIMITER = new FetchLimiter(MAX_CONCURRENT_REQUESTS);
+
+  static {
+    Gauge.builder(FETCH_QUEUE_METRIC, FETCH_LIMITER, FetchLimiter::queueDepth)
+        .description("Data model fetches waiting for a free slot")
+        .register(LatencyMetrics.registry());
+  }
+
   private final ElasticClient client;
   private final WebClient webClient;
   private final String docIndex;
-  private final Semaphore semaphore = new Semaphore(MAX_CONCURRENT_REQUESTS);
+  private final DataModelCache dataModelCache;
 
   /**
    * Constructor for DataModel.
@@ -35,9 +54,15 @@ public class DataModel {
    * @param docIndex The index name where data are stored/retrieved in elastic.
    */
   public DataModel(WebClient webClient, ElasticClient client, String docIndex) {
+    this(webClient, client, docIndex, DataModelCache.shared());
+  }
+
+  DataModel(
+      WebClient webClient, ElasticClient client, String docIndex, DataModelCache dataModelCache) {
     this.webClient = webClient;
     this.client = client;
     this.docIndex = docIndex;
+    this.dataModelCache = dataModelCache;
   }
 
   /**
@@ -133,26 +158,30 @@ public class DataModel {
     }
     for (String classId : uniqueClassIds) {
       String dmUrl = contextUrl + classId + ".jsonld";
-      acquireSemaphoreAndFetchDataModel(
-          classId, dmUrl, idToClassIdMap, idToSubClassMap, pendingRequests, promise);
-    }
-
-    return promise.future();
-  }
-
-  private void acquireSemaphoreAndFetchDataModel(
-      String classId,
-      String dmUrl,
-      Map<String, String> idToClassIdMap,
-      JsonObject idToSubClassMap,
-      AtomicInteger pendingRequests,
-      Promise<JsonObject> promise) {
-    try {
-      semaphore.acquire();
-      webClient
-          .getAbs(dmUrl)
-          .send(
+      JsonObject cached = dataModelCache.get(dmUrl);
+      if (cached != null && dataModelCache.isFresh(cached)) {
+        mapSubClass(
+            classId, cached.getString(DataModelCache.SUB_CLASS_OF), idToClassIdMap,
+            idToSubClassMap);
+        if (pendingRequests.decrementAndGet() == 0) {
+          promise.complete(idToSubClassMap);
+        }
+        continue;
+      }
+      FETCH_LIMITER
+          .submit(() -> fetchDataModel(dmUrl, cached))
+          .onComplete(
               dmAr -> {
+                if (cached != null && dmAr.succeeded() && dmAr.result().statusCode() == 304) {
+                  dataModelCache.touch(dmUrl);
+                  mapSubClass(
+                      classId, cached.getString(DataModelCache.SUB_CLASS_OF), idToClassIdMap,
+                      idToSubClassMap);
+                  if (pendingRequests.decrementAndGet() == 0) {
+                    promise.complete(idToSubClassMap);
+                  }
+                  return;
+                }
                 handleDataModelResponse(
                     dmAr,
                     classId,
@@ -161,15 +190,65 @@ public class DataModel {
                     pendingRequests,
                     promise,
                     dmUrl);
-                semaphore.release();
               });
-    } catch (InterruptedException e) {
-      LOGGER.error("Semaphore acquisition interrupted for URL: {}", dmUrl, e);
-      semaphore.release();
-      if (pendingRequests.decrementAndGet() == 0) {
-        promise.complete(idToSubClassMap);
-      }
     }
+
+    return promise.future();
+  }
+
+  /**
+   * Fetches one data model, retrying failed attempts, and records the time taken.
+   *
+   * @param dmUrl The URL of the data model.
+   * @param cached The cached entry used to revalidate the data model, may be null.
+   * @return Future containing the HTTP response of the last attempt.
+   */
+  private Future<HttpResponse<Buffer>> fetchDataModel(String dmUrl, JsonObject cached) {
+    Timer.Sample sample = Timer.start();
+    return fetchWithRetry(dmUrl, cached, 0)
+        .onComplete(
+            ar ->
+                sample.stop(
+                    Timer.builder(FETCH_LATENCY_METRIC)
+                        .description("Latency of data model fetches from the vocabulary server")
+                        .tag("outcome", ar.succeeded() ? "success" : "failure")
+                        .register(LatencyMetrics.registry())));
+  }
+
+  private Future<HttpResponse<Buffer>> fetchWithRetry(
+      String dmUrl, JsonObject cached, int attempt) {
+    return DataModelCache.conditional(webClient.getAbs(dmUrl), cached)
+        .timeout(FETCH_TIMEOUT_MS)
+        .send()
+        .compose(
+            response ->
+                response.statusCode() >= 500
+                    ? Future.failedFuture("Data model server returned " + response.statusCode())
+                    : Future.succeededFuture(response))
+        .recover(
+            cause -> {
+              if (attempt >= MAX_FETCH_RETRIES) {
+                return Future.failedFuture(cause);
+              }
+              long backoff = RETRY_BACKOFF_MS << attempt;
+              LOGGER.warn(
+                  "Retrying data model fetch for URL: {} in {} ms; {}",
+                  dmUrl,
+                  backoff,
+                  cause.getMessage());
+              Promise<HttpResponse<Buffer>> retry = Promise.promise();
+              Context context = Vertx.currentContext();
+              if (context == null) {
+                fetchWithRetry(dmUrl, cached, attempt + 1).onComplete(retry);
+              } else {
+                context
+                    .owner()
+                    .setTimer(
+                        backoff,
+                        id -> fetchWithRetry(dmUrl, cached, attempt + 1).onComplete(retry));
+              }
+              return retry.future();
+            });
   }
 
   /**
@@ -209,35 +288,15 @@ public class DataModel {
         }
 
         if (dmJson != null) {
-          JsonArray graph = dmJson.getJsonArray("@graph");
-
-          if (graph != null) {
-            for (Object obj : graph) {
-              if (obj instanceof JsonObject) {
-                JsonObject graphItem = (JsonObject) obj;
-                if (("iudx:" + classId).equals(graphItem.getString("@id"))) {
-                  JsonObject subClassOfObj = graphItem.getJsonObject("rdfs:subClassOf");
-                  if (subClassOfObj != null) {
-                    String subClassIdStr = subClassOfObj.getString("@id");
-                    if (subClassIdStr != null && subClassIdStr.contains(":")) {
-                      String subClassId = subClassIdStr.split(":")[1];
-                      for (Map.Entry<String, String> entry : idToClassIdMap.entrySet()) {
-                        if (entry.getValue().equals(classId)) {
-                          idToSubClassMap.put(entry.getKey(), subClassId);
-                        }
-                      }
-                    } else {
-                      LOGGER.error("Invalid @id in rdfs:subClassOf for class ID: {}", classId);
-                    }
-                  } else {
-                    LOGGER.error("Missing rdfs:subClassOf for class ID: {}", classId);
-                  }
-                  break;
-                }
-              }
-            }
-          } else {
-            LOGGER.error("Invalid graph array in response for URL: {}", dmUrl);
+          String subClassId = subClassOf(dmJson, classId, dmUrl);
+          if (subClassId != null) {
+            mapSubClass(classId, subClassId, idToClassIdMap, idToSubClassMap);
+            dataModelCache.store(
+                dmUrl,
+                classId,
+                subClassId,
+                dmResponse.getHeader(HttpHeaders.ETAG.toString()),
+                dmResponse.getHeader(HttpHeaders.LAST_MODIFIED.toString()));
           }
         }
       }
@@ -249,4 +308,51 @@ public class DataModel {
       promise.complete(idToSubClassMap);
     }
   }
+
+  /**
+   * Finds the super class of a class in a data model document.
+   *
+   * @param dmJson The data model document.
+   * @param classId The class id of the data model.
+   * @param dmUrl The URL of the data model.
+   * @return the class id of the super class, or null if the document does not declare one.
+   */
+  static String subClassOf(JsonObject dmJson, String classId, String dmUrl) {
+    JsonArray graph = dmJson.getJsonArray("@graph");
+    if (graph == null) {
+      LOGGER.error("Invalid graph array in response for URL: {}", dmUrl);
+      return null;
+    }
+    for (Object obj : graph) {
+      if (obj instanceof JsonObject) {
+        JsonObject graphItem = (JsonObject) obj;
+        if (("iudx:" + classId).equals(graphItem.getString("@id"))) {
+          JsonObject subClassOfObj = graphItem.getJsonObject("rdfs:subClassOf");
+          if (subClassOfObj == null) {
+            LOGGER.error("Missing rdfs:subClassOf for class ID: {}", classId);
+            return null;
+          }
+          String subClassIdStr = subClassOfObj.getString("@id");
+          if (subClassIdStr != null && subClassIdStr.contains(":")) {
+            return subClassIdStr.split(":")[1];
+          }
+          LOGGER.error("Invalid @id in rdfs:subClassOf for class ID: {}", classId);
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static void mapSubClass(
+      String classId,
+      String subClassId,
+      Map<String, String> idToClassIdMap,
+      JsonObject idToSubClassMap) {
+    for (Map.Entry<String, String> entry : idToClassIdMap.entrySet()) {
+      if (entry.getValue().equals(classId)) {
+        idToSubClassMap.put(entry.getKey(), subClassId);
+      }
+    }
+  }
 }
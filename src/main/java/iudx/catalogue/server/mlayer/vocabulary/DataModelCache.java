@@ -0,0 +1,244 @@
+package iudx.catalogue.server.mlayer.vocabulary;
+
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the super class resolved for each vocabulary data model, keyed by the data model URL.
+ *
+ * <p>Entries younger than the TTL are served without contacting the vocabulary server. Older
+ * entries are revalidated with the ETag and Last-Modified headers of the last response, either by
+ * the request that finds them stale or by a periodic refresher which revalidates entries before
+ * they expire. When a snapshot file is configured the cache is written to it after every refresh
+ * and loaded back on startup.
+ *
+ * <p>Only data models are cached. The <code>@context</code> of an item is used as the base URL of
+ * its data models and is never fetched itself, so there is no context document to cache.
+ */
+public final class DataModelCache {
+
+  private static final Logger LOGGER = LogManager.getLogger(DataModelCache.class);
+  private static final long DEFAULT_TTL_SECONDS = 3600;
+  private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 600;
+  static final String CLASS_ID = "classId";
+  static final String SUB_CLASS_OF = "subClassOf";
+  static final String ETAG = "etag";
+  static final String LAST_MODIFIED = "lastModified";
+  static final String FETCHED_AT = "fetchedAt";
+  private static volatile DataModelCache cacheInstance;
+
+  private final Map<String, JsonObject> entries = new ConcurrentHashMap<>();
+  private final long ttlMillis;
+
+  DataModelCache(long ttlSeconds) {
+    this.ttlMillis = ttlSeconds * 1000;
+  }
+
+  /**
+   * Creates the node wide cache, loads the snapshot file if one is configured and starts the
+   * background refresher. Later calls return the same instance.
+   *
+   * @param vertx the vertx instance used for the refresher and the snapshot file
+   * @param config module config carrying the optional dataModelCacheTtlSeconds,
+   *     dataModelRefreshIntervalSeconds and dataModelCacheFile keys
+   * @return the node wide DataModelCache
+   */
+  public static DataModelCache getInstance(Vertx vertx, JsonObject config) {
+    if (cacheInstance == null) {
+      synchronized (DataModelCache.class) {
+        if (cacheInstance == null) {
+          DataModelCache instance =
+              new DataModelCache(config.getLong(DATA_MODEL_CACHE_TTL, DEFAULT_TTL_SECONDS));
+          instance.start(
+              vertx,
+              WebClient.create(vertx),
+              config.getLong(DATA_MODEL_REFRESH_INTERVAL, DEFAULT_REFRESH_INTERVAL_SECONDS),
+              config.getString(DATA_MODEL_CACHE_FILE));
+          cacheInstance = instance;
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  /** Returns the node wide cache, or an in-memory one without refresher if none was started. */
+  static DataModelCache shared() {
+    if (cacheInstance == null) {
+      synchronized (DataModelCache.class) {
+        if (cacheInstance == null) {
+          cacheInstance = new DataModelCache(DEFAULT_TTL_SECONDS);
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  private void start(
+      Vertx vertx, WebClient webClient, long refreshIntervalSeconds, String snapshotFile) {
+    if (snapshotFile != null && !snapshotFile.isBlank()) {
+      vertx
+          .fileSystem()
+          .exists(snapshotFile)
+          .compose(
+              exists ->
+                  exists
+                      ? vertx.fileSystem().readFile(snapshotFile)
+                      : Future.succeededFuture(Buffer.buffer("{}")))
+          .onSuccess(
+              snapshot -> {
+                JsonObject stored = snapshot.toJsonObject();
+                stored.forEach(
+                    entry -> entries.putIfAbsent(entry.getKey(), (JsonObject) entry.getValue()));
+                LOGGER.info("Loaded {} data models from {}", stored.size(), snapshotFile);
+              })
+          .onFailure(
+              cause -> LOGGER.error("Failed to load data model snapshot; {}", cause.getMessage()));
+    }
+    vertx.setPeriodic(
+        refreshIntervalSeconds * 1000,
+        id ->
+            refresh(webClient, refreshIntervalSeconds * 1000)
+                .onComplete(done -> writeSnapshot(vertx, snapshotFile)));
+  }
+
+  /**
+   * Returns the cached entry of a data model.
+   *
+   * @param dmUrl URL of the data model
+   * @return a copy of the entry, or null when the data model was never resolved
+   */
+  JsonObject get(String dmUrl) {
+    JsonObject entry = entries.get(dmUrl);
+    return entry == null ? null : entry.copy();
+  }
+
+  boolean isFresh(JsonObject entry) {
+    return System.currentTimeMillis() - entry.getLong(FETCHED_AT, 0L) < ttlMillis;
+  }
+
+  void store(
+      String dmUrl, String classId, String subClassOf, String etag, String lastModified) {
+    JsonObject entry =
+        new JsonObject()
+            .put(CLASS_ID, classId)
+            .put(SUB_CLASS_OF, subClassOf)
+            .put(FETCHED_AT, System.currentTimeMillis());
+    if (etag != null) {
+      entry.put(ETAG, etag);
+    }
+    if (lastModified != null) {
+      entry.put(LAST_MODIFIED, lastModified);
+    }
+    entries.put(dmUrl, entry);
+  }
+
+  /** Marks an entry as fresh again after the vocabulary server confirmed it is unchanged. */
+  void touch(String dmUrl) {
+    entries.computeIfPresent(
+        dmUrl, (url, entry) -> entry.copy().put(FETCHED_AT, System.currentTimeMillis()));
+  }
+
+  /**
+   * Adds the revalidation headers of a cached entry to a data model request.
+   *
+   * @param request the data model request
+   * @param entry cached entry of the data model, may be null
+   * @return the request
+   */
+  static HttpRequest<Buffer> conditional(HttpRequest<Buffer> request, JsonObject entry) {
+    if (entry != null && entry.containsKey(ETAG)) {
+      request.putHeader(HttpHeaders.IF_NONE_MATCH.toString(), entry.getString(ETAG));
+    }
+    if (entry != null && entry.containsKey(LAST_MODIFIED)) {
+      request.putHeader(HttpHeaders.IF_MODIFIED_SINCE.toString(), entry.getString(LAST_MODIFIED));
+    }
+    return request;
+  }
+
+  /** Revalidates the entries which would expire before the next refresh. */
+  Future<Void> refresh(WebClient webClient, long refreshIntervalMillis) {
+    List<Future<Void>> revalidations = new ArrayList<>();
+    long expiresBefore = System.currentTimeMillis() + refreshIntervalMillis - ttlMillis;
+    entries.forEach(
+        (dmUrl, entry) -> {
+          if (entry.getLong(FETCHED_AT, 0L) <= expiresBefore) {
+            revalidations.add(revalidate(webClient, dmUrl, entry));
+          }
+        });
+    LOGGER.debug("Revalidating {} data models", revalidations.size());
+    return Future.join(revalidations).mapEmpty();
+  }
+
+  private Future<Void> revalidate(WebClient webClient, String dmUrl, JsonObject entry) {
+    return DataModel.FETCH_LIMITER
+        .submit(
+            () ->
+                conditional(webClient.getAbs(dmUrl), entry)
+                    .timeout(DataModel.FETCH_TIMEOUT_MS)
+                    .send())
+        .onSuccess(response -> update(dmUrl, entry, response))
+        .onFailure(
+            cause ->
+                LOGGER.warn("Failed to revalidate data model {}; {}", dmUrl, cause.getMessage()))
+        .mapEmpty();
+  }
+
+  private void update(String dmUrl, JsonObject entry, HttpResponse<Buffer> response) {
+    if (response.statusCode() == 304) {
+      touch(dmUrl);
+      return;
+    }
+    String subClassOf = null;
+    if (response.statusCode() == 200 && response.body() != null) {
+      try {
+        subClassOf =
+            DataModel.subClassOf(
+                response.body().toJsonObject(), entry.getString(CLASS_ID), dmUrl);
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to parse JSON response from URL: {}", dmUrl, e);
+      }
+    }
+    if (subClassOf == null) {
+      /* Let the next request fetch it again instead of serving a stale super class */
+      entries.remove(dmUrl);
+    } else {
+      store(
+          dmUrl,
+          entry.getString(CLASS_ID),
+          subClassOf,
+          response.getHeader(HttpHeaders.ETAG.toString()),
+          response.getHeader(HttpHeaders.LAST_MODIFIED.toString()));
+    }
+  }
+
+  private void writeSnapshot(Vertx vertx, String snapshotFile) {
+    if (snapshotFile == null || snapshotFile.isBlank()) {
+      return;
+    }
+    JsonObject snapshot = new JsonObject();
+    entries.forEach(snapshot::put);
+    vertx
+        .fileSystem()
+        .writeFile(snapshotFile, snapshot.toBuffer())
+        .onFailure(
+            cause -> LOGGER.error("Failed to write data model snapshot; {}", cause.getMessage()));
+  }
+
+  int size() {
+    return entries.size();
+  }
+}
@@ -0,0 +1,87 @@
+package iudx.catalogue.server.mlayer.vocabulary;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous tasks in flight without blocking the caller.
+ *
+ * <p>Tasks submitted while every permit is taken are queued and started, on the context they were
+ * submitted from, as soon as a running task completes.
+ */
+final class FetchLimiter {
+
+  private final int maxConcurrent;
+  private final Deque<Runnable> waiting = new ArrayDeque<>();
+  private int inFlight;
+
+  FetchLimiter(int maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  /**
+   * Runs the task once a permit is free.
+   *
+   * @param task supplies the asynchronous operation to run
+   * @return future completed with the outcome of the task
+   */
+  <T> Future<T> submit(Supplier<Future<T>> task) {
+    Promise<T> promise = Promise.promise();
+    Runnable start =
+        () -> {
+          Future<T> result;
+          try {
+            result = task.get();
+          } catch (RuntimeException e) {
+            result = Future.failedFuture(e);
+          }
+          result.onComplete(
+              ar -> {
+                release();
+                promise.handle(ar);
+              });
+        };
+
+    boolean runNow;
+    synchronized (this) {
+      runNow = inFlight < maxConcurrent;
+      if (runNow) {
+        inFlight++;
+      } else {
+        Context context = Vertx.currentContext();
+        waiting.add(context == null ? start : () -> context.runOnContext(v -> start.run()));
+      }
+    }
+    if (runNow) {
+      start.run();
+    }
+    return promise.future();
+  }
+
+  private void release() {
+    Runnable next;
+    synchronized (this) {
+      next = waiting.poll();
+      if (next == null) {
+        inFlight--;
+      }
+    }
+    /* The permit is handed over to the next task rather than released */
+    if (next != null) {
+      next.run();
+    }
+  }
+
+  synchronized int queueDepth() {
+    return waiting.size();
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+}
@@ -12,6 +12,7 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.authenticator.AuthenticationService;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -52,6 +53,7 @@ public class MockAuthenticationVerticle extends AbstractVerticle {
     consumer =
         binder.setAddress(AUTH_SERVICE_ADDRESS)
       .register(AuthenticationService.class, authentication);
+    LocalServices.register(vertx, AUTH_SERVICE_ADDRESS, authentication);
   }
 
   static WebClient createWebClient(Vertx vertx, JsonObject config) {
@@ -87,5 +89,6 @@ public class MockAuthenticationVerticle extends AbstractVerticle {
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, AUTH_SERVICE_ADDRESS, authentication);
   }
 }
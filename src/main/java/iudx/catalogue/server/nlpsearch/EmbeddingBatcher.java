@@ -0,0 +1,151 @@
+package iudx.catalogue.server.nlpsearch;
+
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import iudx.catalogue.server.util.LatencyMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Groups the documents whose embeddings are requested close together, as when items are onboarded
+ * in bulk, into a single call to the batch endpoint of the NLP service.
+ *
+ * <p>A batch is sent once it has <code>maxBatchSize</code> documents, or <code>windowMs</code>
+ * after its first document, whichever is earlier. The batch endpoint takes a JSON array of
+ * documents and responds with the embeddings in the same order, as <code>{"result": [[...], ...]}
+ * </code>. Each document gets <code>{"result": [...]}</code>, the response of the single document
+ * endpoint. If the batch fails, every document in it fails.
+ *
+ * <p>The batcher is used from the context of the NLP search verticle only, so it is not thread
+ * safe.
+ */
+final class EmbeddingBatcher {
+
+  private static final Logger LOGGER = LogManager.getLogger(EmbeddingBatcher.class);
+  private static final String RESULT = "result";
+  private final Vertx vertx;
+  private final WebClient client;
+  private final String host;
+  private final int port;
+  private final String path;
+  private final int maxBatchSize;
+  private final long windowMs;
+  private List<JsonObject> documents = new ArrayList<>();
+  private List<Promise<JsonObject>> waiting = new ArrayList<>();
+  private long timer = -1;
+
+  /**
+   * Constructs a batcher of the embeddings of documents.
+   *
+   * @param vertx the vertx instance
+   * @param client the WebClient used to call the NLP service
+   * @param host host of the NLP service
+   * @param port port of the NLP service
+   * @param path path of the batch endpoint of the NLP service
+   * @param maxBatchSize maximum number of documents in a batch
+   * @param windowMs milliseconds a batch waits for more documents
+   */
+  EmbeddingBatcher(
+      Vertx vertx,
+      WebClient client,
+      String host,
+      int port,
+      String path,
+      int maxBatchSize,
+      long windowMs) {
+    this.vertx = vertx;
+    this.client = client;
+    this.host = host;
+    this.port = port;
+    this.path = path;
+    this.maxBatchSize = maxBatchSize;
+    this.windowMs = windowMs;
+  }
+
+  /**
+   * Adds a document to the next batch.
+   *
+   * @param doc the document for which an embedding is required
+   * @return Future of the embedding of the document
+   */
+  Future<JsonObject> embed(JsonObject doc) {
+    Promise<JsonObject> promise = Promise.promise();
+    documents.add(doc);
+    waiting.add(promise);
+    if (documents.size() >= maxBatchSize) {
+      flush();
+    } else if (timer < 0) {
+      timer =
+          vertx.setTimer(
+              windowMs,
+              id -> {
+                timer = -1;
+                flush();
+              });
+    }
+    return promise.future();
+  }
+
+  private void flush() {
+    if (timer >= 0) {
+      vertx.cancelTimer(timer);
+      timer = -1;
+    }
+    if (documents.isEmpty()) {
+      return;
+    }
+    JsonArray batch = new JsonArray(documents);
+    List<Promise<JsonObject>> batchPromises = waiting;
+    documents = new ArrayList<>();
+    waiting = new ArrayList<>();
+    LOGGER.debug("Info: Requesting embeddings of {} documents", batch.size());
+
+    Timer.Sample sample = Timer.start();
+    client
+        .post(port, host, path)
+        .timeout(SERVICE_TIMEOUT)
+        .sendJson(
+            batch,
+            ar -> {
+              LatencyMetrics.record(
+                  sample,
+                  DEPENDENCY_LATENCY_METRIC,
+                  ar.succeeded(),
+                  SERVICE_TAG,
+                  NLPSearchServiceImpl.NLP,
+                  OPERATION_TAG,
+                  "embeddingBatch");
+              JsonArray results = null;
+              if (ar.succeeded() && ar.result().statusCode() == 200) {
+                try {
+                  results = ar.result().bodyAsJsonObject().getJsonArray(RESULT);
+                } catch (RuntimeException e) {
+                  LOGGER.error("Error: Invalid embeddings of the batch; " + e.getMessage());
+                }
+              }
+              if (results == null || results.size() != batchPromises.size()) {
+                Throwable cause =
+                    ar.failed()
+                        ? ar.cause()
+                        : new IllegalStateException("Embeddings of the batch not created");
+                LOGGER.error("Error: Document embeddings not created; " + cause.getMessage());
+                batchPromises.forEach(promise -> promise.fail(cause));
+                return;
+              }
+              for (int i = 0; i < batchPromises.size(); i++) {
+                batchPromises
+                    .get(i)
+                    .complete(new JsonObject().put(RESULT, results.getJsonArray(i)));
+              }
+            });
+  }
+}
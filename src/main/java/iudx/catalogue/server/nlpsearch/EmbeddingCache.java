@@ -0,0 +1,121 @@
+package iudx.catalogue.server.nlpsearch;
+
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.util.CoalescingCache;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the embeddings of NLP search queries, so that popular queries do not go to the NLP
+ * service every time.
+ *
+ * <p>Queries are cached under their text with the whitespace collapsed. The embedding vector is
+ * kept as a <code>float[]</code>, which takes a fraction of the memory of a JsonArray of boxed
+ * numbers, along with the rest of the response of the NLP service. Entries are bounded by size and
+ * expire after a TTL. Concurrent searches of a query missing from the cache wait for a single call
+ * to the NLP service. Failed searches are not cached. One cache is shared by all the NLP search
+ * verticles deployed on a node.
+ */
+final class EmbeddingCache {
+
+  private static final String RESULT = "result";
+  private static volatile EmbeddingCache cacheInstance;
+  private final CoalescingCache<Embedding> cache;
+
+  /**
+   * Constructs an embedding cache.
+   *
+   * @param maxSize maximum number of cached queries
+   * @param ttlSeconds seconds after which a cached embedding expires
+   */
+  EmbeddingCache(long maxSize, long ttlSeconds) {
+    this.cache = new CoalescingCache<>(maxSize, ttlSeconds, Embedding::isNumeric);
+  }
+
+  /**
+   * Returns the cache shared by all verticles deployed on this node, creating it on first use.
+   *
+   * @param config module config carrying the optional embeddingCacheMaxSize and
+   *     embeddingCacheTtlSeconds keys
+   * @return the node local EmbeddingCache
+   */
+  static EmbeddingCache getInstance(JsonObject config) {
+    if (cacheInstance == null) {
+      synchronized (EmbeddingCache.class) {
+        if (cacheInstance == null) {
+          EmbeddingCache instance =
+              new EmbeddingCache(
+                  config.getLong(EMBEDDING_CACHE_MAX_SIZE, DEFAULT_EMBEDDING_CACHE_MAX_SIZE),
+                  config.getLong(EMBEDDING_CACHE_TTL, DEFAULT_EMBEDDING_CACHE_TTL));
+          instance.cache.bindMetrics(EMBEDDING_CACHE_METRIC);
+          cacheInstance = instance;
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  /**
+   * Gets the response of the NLP service to a query from the cache, or else from the search, which
+   * is made once for all the concurrent requests of the query.
+   *
+   * @param query the search query
+   * @param search calls the NLP service on a miss
+   * @return Future of the response, with the embedding of the query in <code>result</code>
+   */
+  Future<JsonObject> get(String query, Supplier<Future<JsonObject>> search) {
+    String key = query.trim().replaceAll("\\s+", " ");
+    return cache.get(key, () -> search.get().map(Embedding::of)).map(Embedding::toJson);
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  private static final class Embedding {
+    private final float[] vector;
+    private final JsonObject rest;
+
+    private Embedding(float[] vector, JsonObject rest) {
+      this.vector = vector;
+      this.rest = rest;
+    }
+
+    /* Only responses with a numeric embedding are kept as a vector, and cached */
+    private static Embedding of(JsonObject response) {
+      JsonArray result = response.getJsonArray(RESULT);
+      if (result == null) {
+        return new Embedding(null, response);
+      }
+      float[] vector = new float[result.size()];
+      for (int i = 0; i < vector.length; i++) {
+        Object value = result.getValue(i);
+        if (!(value instanceof Number)) {
+          return new Embedding(null, response);
+        }
+        vector[i] = ((Number) value).floatValue();
+      }
+      JsonObject rest = response.copy();
+      rest.remove(RESULT);
+      return new Embedding(vector, rest);
+    }
+
+    private boolean isNumeric() {
+      return vector != null;
+    }
+
+    private JsonObject toJson() {
+      if (vector == null) {
+        return rest.copy();
+      }
+      JsonArray result = new JsonArray();
+      for (float value : vector) {
+        result.add(value);
+      }
+      return rest.copy().put(RESULT, result);
+    }
+  }
+}
@@ -2,11 +2,14 @@ package iudx.catalogue.server.nlpsearch;
 
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
+import iudx.catalogue.server.util.LatencyMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -25,9 +28,12 @@ import org.apache.logging.log4j.Logger;
 public class NLPSearchServiceImpl implements NLPSearchService {
 
   private static final Logger LOGGER = LogManager.getLogger(NLPSearchServiceImpl.class);
+  static final String NLP = "nlp";
   static WebClient webClient;
   private final String nlpServiceUrl;
   private final int nlpServicePort;
+  private final EmbeddingCache queryCache;
+  private final EmbeddingBatcher batcher;
 
   /**
    * Constructs a new instance of NLPSearchServiceImpl with the given parameters.
@@ -36,13 +42,45 @@ public class NLPSearchServiceImpl implements NLPSearchService {
    * @param nlpServicePort the port number of the NLP service
    */
   public NLPSearchServiceImpl(WebClient client, String nlpServiceUrl, int nlpServicePort) {
+    this(client, nlpServiceUrl, nlpServicePort, null, null);
+  }
+
+  /**
+   * Constructs a new instance of NLPSearchServiceImpl which caches the embeddings of queries and
+   * batches the embeddings of documents.
+   *
+   * @param client the WebClient used to make HTTP requests to the NLP service
+   * @param nlpServiceUrl the URL of the NLP service
+   * @param nlpServicePort the port number of the NLP service
+   * @param queryCache the cache of the embeddings of queries, null to always call the service
+   * @param batcher the batcher of the embeddings of documents, null to embed them one by one
+   */
+  NLPSearchServiceImpl(
+      WebClient client,
+      String nlpServiceUrl,
+      int nlpServicePort,
+      EmbeddingCache queryCache,
+      EmbeddingBatcher batcher) {
     webClient = client;
     this.nlpServiceUrl = nlpServiceUrl;
     this.nlpServicePort = nlpServicePort;
+    this.queryCache = queryCache;
+    this.batcher = batcher;
   }
 
   @Override
   public NLPSearchService search(String query, Handler<AsyncResult<JsonObject>> handler) {
+    if (queryCache == null || query == null) {
+      searchService(query).onComplete(handler);
+    } else {
+      queryCache.get(query, () -> searchService(query)).onComplete(handler);
+    }
+    return this;
+  }
+
+  private Future<JsonObject> searchService(String query) {
+    Timer.Sample sample = Timer.start();
+    Promise<JsonObject> promise = Promise.promise();
     webClient
          .get(nlpServicePort, nlpServiceUrl, "/search")
          .timeout(SERVICE_TIMEOUT)
@@ -50,21 +88,34 @@ public class NLPSearchServiceImpl implements NLPSearchService {
          .putHeader("Accept", "application/json").send(ar -> {
            if (ar.succeeded()) {
              LOGGER.debug("Success: NLP Search; Request succeeded");
-             handler.handle(Future.succeededFuture(ar.result().body().toJsonObject()));
+             promise.complete(ar.result().body().toJsonObject());
            } else {
              LOGGER.error("Fail: NLP Search failed");
-             handler.handle(Future.failedFuture(ar.cause()));
+             promise.fail(ar.cause());
            }
          });
-    return this;
+    return LatencyMetrics.timeDependency(sample, NLP, "search", promise.future());
   }
 
   @Override
   public NLPSearchService getEmbedding(JsonObject doc, Handler<AsyncResult<JsonObject>> handler) {
+    if (batcher != null) {
+      batcher.embed(doc).onComplete(handler);
+      return this;
+    }
+    Timer.Sample sample = Timer.start();
     webClient
         .post(nlpServicePort, nlpServiceUrl, "/indexdoc")
         .timeout(SERVICE_TIMEOUT)
         .sendJsonObject(doc, ar -> {
+          LatencyMetrics.record(
+              sample,
+              DEPENDENCY_LATENCY_METRIC,
+              ar.succeeded(),
+              SERVICE_TAG,
+              NLP,
+              OPERATION_TAG,
+              "embedding");
           if (ar.succeeded()) {
             LOGGER.debug("Info: Document embeddings created");
             handler.handle(Future.succeededFuture(ar.result().body().toJsonObject()));
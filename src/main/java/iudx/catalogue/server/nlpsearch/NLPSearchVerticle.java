@@ -9,6 +9,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -47,11 +48,28 @@ public class NLPSearchVerticle extends AbstractVerticle {
     binder = new ServiceBinder(vertx);
     nlpServiceUrl = config().getString("nlpServiceUrl");
     nlpServicePort = config().getInteger("nlpServicePort");
-    nlpSearch = new NLPSearchServiceImpl(createWebClient(vertx, config()),
-                                          nlpServiceUrl, nlpServicePort);
+    WebClient client = createWebClient(vertx, config());
+    /* Documents are batched only when the NLP service has a batch endpoint */
+    String batchPath = config().getString(NLP_BATCH_PATH);
+    EmbeddingBatcher batcher = null;
+    if (batchPath != null && !batchPath.isBlank()) {
+      batcher =
+          new EmbeddingBatcher(
+              vertx,
+              client,
+              nlpServiceUrl,
+              nlpServicePort,
+              batchPath,
+              config().getInteger(EMBEDDING_BATCH_SIZE, DEFAULT_EMBEDDING_BATCH_SIZE),
+              config().getLong(EMBEDDING_BATCH_WINDOW, DEFAULT_EMBEDDING_BATCH_WINDOW));
+    }
+    nlpSearch =
+        new NLPSearchServiceImpl(
+            client, nlpServiceUrl, nlpServicePort, EmbeddingCache.getInstance(config()), batcher);
     consumer =
         binder.setAddress(NLP_SERVICE_ADDRESS)
       .register(NLPSearchService.class, nlpSearch);
+    LocalServices.register(vertx, NLP_SERVICE_ADDRESS, nlpSearch);
   }
 
   static WebClient createWebClient(Vertx vertx, JsonObject config) {
@@ -78,5 +96,6 @@ public class NLPSearchVerticle extends AbstractVerticle {
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, NLP_SERVICE_ADDRESS, nlpSearch);
   }
 }
@@ -9,6 +9,7 @@ import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.database.DatabaseService;
 import iudx.catalogue.server.database.postgres.PostgresService;
 import iudx.catalogue.server.databroker.DataBrokerService;
+import iudx.catalogue.server.util.LocalServices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -60,11 +61,13 @@ public class RatingVerticle extends AbstractVerticle {
     rating = new RatingServiceImpl(ratingExchangeName,
             rsauditingtable, minReadNumber, databaseService, dataBrokerService, postgresService);
     consumer = binder.setAddress(RATING_SERVICE_ADDRESS).register(RatingService.class, rating);
+    LocalServices.register(vertx, RATING_SERVICE_ADDRESS, rating);
     LOGGER.info("Rating Service Started");
   }
 
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, RATING_SERVICE_ADDRESS, rating);
   }
 }
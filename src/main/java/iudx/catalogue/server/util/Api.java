@@ -13,6 +13,7 @@ public class Api {
   private StringBuilder routeItems;
   private StringBuilder routUpdateItems;
   private StringBuilder routeDeleteItems;
+  private StringBuilder routeItemsBulk;
   private StringBuilder routeInstance;
   private StringBuilder routeRelationship;
   private StringBuilder routeSearch;
@@ -21,6 +22,8 @@ public class Api {
   private StringBuilder routeGetItems;
   private StringBuilder routeCount;
   private StringBuilder routeRelSearch;
+  private StringBuilder routeExport;
+  private StringBuilder routeChanges;
   private StringBuilder routeGeoCoordinates;
   private StringBuilder routeGeoReverse;
   private StringBuilder routeListResourceGroupRel;
@@ -62,6 +65,7 @@ public class Api {
     routeItems = new StringBuilder(dxApiBasePath).append(ROUTE_ITEMS);
     routUpdateItems = new StringBuilder(dxApiBasePath).append(ROUTE_UPDATE_ITEMS);
     routeDeleteItems = new StringBuilder(dxApiBasePath).append(ROUTE_DELETE_ITEMS);
+    routeItemsBulk = new StringBuilder(dxApiBasePath).append(ROUTE_ITEMS_BULK);
     routeInstance = new StringBuilder(dxApiBasePath).append(ROUTE_INSTANCE);
     routeRelationship = new StringBuilder(dxApiBasePath).append(ROUTE_RELATIONSHIP);
     routeSearch = new StringBuilder(dxApiBasePath).append(ROUTE_SEARCH);
@@ -70,6 +74,8 @@ public class Api {
     routeGetItems = new StringBuilder(dxApiBasePath).append(ROUTE_GET_ITEM);
     routeCount = new StringBuilder(dxApiBasePath).append(ROUTE_COUNT);
     routeRelSearch = new StringBuilder(dxApiBasePath).append(ROUTE_REL_SEARCH);
+    routeExport = new StringBuilder(dxApiBasePath).append(ROUTE_EXPORT);
+    routeChanges = new StringBuilder(dxApiBasePath).append(ROUTE_CHANGES);
     routeGeoCoordinates = new StringBuilder(dxApiBasePath).append(ROUTE_GEO_COORDINATES);
     routeGeoReverse = new StringBuilder(dxApiBasePath).append(ROUTE_GEO_REVERSE);
     routeListResourceGroupRel =
@@ -99,6 +105,10 @@ public class Api {
     return routeDeleteItems.toString();
   }
 
+  public String getRouteItemsBulk() {
+    return routeItemsBulk.toString();
+  }
+
   public String getRouteInstance() {
     return routeInstance.toString();
   }
@@ -131,6 +141,14 @@ public class Api {
     return routeRelSearch.toString();
   }
 
+  public String getRouteExport() {
+    return routeExport.toString();
+  }
+
+  public String getRouteChanges() {
+    return routeChanges.toString();
+  }
+
   public String getRouteGeoCoordinates() {
     return routeGeoCoordinates.toString();
   }
@@ -0,0 +1,123 @@
+package iudx.catalogue.server.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Node local cache of values loaded asynchronously, such as the responses of a service the
+ * catalogue depends on.
+ *
+ * <p>Entries are bounded by size and expire after a TTL. Concurrent gets of a key missing from the
+ * cache wait for a single load. Failed loads and values which are not valid are not cached, and a
+ * cached value which is no longer valid is loaded again.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class CoalescingCache<V> {
+
+  private static final Logger LOGGER = LogManager.getLogger(CoalescingCache.class);
+  private final Cache<String, V> cache;
+  private final Map<String, Future<V>> pending = new ConcurrentHashMap<>();
+  private final Predicate<V> valid;
+  /* Bumped by invalidateAll, so that loads started before it are not cached */
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Constructs a cache of values which are always valid.
+   *
+   * @param maxSize maximum number of cached values
+   * @param ttlSeconds seconds after which a cached value expires
+   */
+  public CoalescingCache(long maxSize, long ttlSeconds) {
+    this(maxSize, ttlSeconds, value -> true);
+  }
+
+  /**
+   * Constructs a cache.
+   *
+   * @param maxSize maximum number of cached values
+   * @param ttlSeconds seconds after which a cached value expires
+   * @param valid whether a value can be cached, or served from the cache
+   */
+  public CoalescingCache(long maxSize, long ttlSeconds, Predicate<V> valid) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.valid = valid;
+  }
+
+  public void bindMetrics(String name) {
+    GuavaCacheMetrics.monitor(LatencyMetrics.registry(), cache, name);
+  }
+
+  /**
+   * Gets a value from the cache, or else from the load, which is made once for all the concurrent
+   * gets of the key.
+   *
+   * @param key key of the value
+   * @param load loads the value on a miss
+   * @return Future of the value
+   */
+  public Future<V> get(String key, Supplier<Future<V>> load) {
+    V cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (valid.test(cached)) {
+        return Future.succeededFuture(cached);
+      }
+      cache.invalidate(key);
+    }
+    long loadGeneration = generation.get();
+    Promise<V> promise = Promise.promise();
+    Future<V> inFlight = pending.putIfAbsent(key, promise.future());
+    if (inFlight != null) {
+      LOGGER.debug("Waiting for the load of {}", key);
+      return inFlight;
+    }
+    Future<V> result;
+    try {
+      result = load.get();
+    } catch (RuntimeException e) {
+      result = Future.failedFuture(e);
+    }
+    result.onComplete(
+        done -> {
+          if (done.succeeded()
+              && done.result() != null
+              && valid.test(done.result())
+              && generation.get() == loadGeneration) {
+            cache.put(key, done.result());
+          }
+          pending.remove(key, promise.future());
+          promise.handle(done);
+        });
+    return promise.future();
+  }
+
+  /**
+   * Drops every cached value. Loads in flight are neither cached nor waited for by later gets.
+   */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    pending.clear();
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+}
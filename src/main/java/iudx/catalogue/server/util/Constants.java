@@ -22,6 +22,19 @@ public class Constants {
   public static final String MLAYER_SERVICE_ADDRESSS = "iudx.catalogue.mlayer.service";
   public static final String BROKER_SERVICE_ADDRESS = "iudx.catalogue.databroker.service";
   public static final String PG_SERVICE_ADDRESS = "iudx.catalogue.pgsql.service";
+  public static final String PARENT_CACHE_INVALIDATION_ADDRESS =
+      "iudx.catalogue.parent.cache.invalidate";
+  public static final String RESPONSE_CACHE_INVALIDATION_ADDRESS =
+      "iudx.catalogue.response.cache.invalidate";
+  public static final String CATALOGUE_CHANGES_ADDRESS = "iudx.catalogue.changes";
+  public static final String CHANGE_KIND = "kind";
+  public static final String ITEM_CHANGE = "item";
+  public static final String INSTANCE_CHANGE = "mlayerInstance";
+  public static final String DOMAIN_CHANGE = "mlayerDomain";
+  /* Changes sent to the change feed, which records each one exactly once */
+  public static final String CHANGE_FEED_ADDRESS = "iudx.catalogue.changefeed";
+  public static final String CHANGE_FEED_RECORDED_ADDRESS = "iudx.catalogue.changefeed.recorded";
+  public static final String RESUME_TOKEN = "resumeToken";
 
 
   /** General. */
@@ -39,6 +52,17 @@ public class Constants {
   public static final String RATING_INDEX = "ratingIndex";
   public static final String MLAYER_INSTANCE_INDEX = "mlayerInstanceIndex";
   public static final String MLAYER_DOMAIN_INDEX = "mlayerDomainIndex";
+  public static final String REFRESH_POLICY = "refreshPolicy";
+  public static final String NLP_SEARCH_MODE = "nlpSearchMode";
+  public static final String KNN_NUM_CANDIDATES = "knnNumCandidates";
+  public static final String ID_KEYED_DOCUMENTS = "idKeyedDocuments";
+  public static final String RATING_SUMMARY_INDEX = "ratingSummaryIndex";
+  public static final String RATING_SUMMARY_RECONCILE = "ratingSummaryReconcileSeconds";
+  public static final String CHANGE_FEED_INDEX = "changeFeedIndex";
+  public static final String CHANGE_FEED_EXCHANGE = "changeFeedExchange";
+  public static final String DATA_MODEL_CACHE_TTL = "dataModelCacheTtlSeconds";
+  public static final String DATA_MODEL_REFRESH_INTERVAL = "dataModelRefreshIntervalSeconds";
+  public static final String DATA_MODEL_CACHE_FILE = "dataModelCacheFile";
 
   public static final String PUBLIC_KEY = "publicKey";
   public static final String DATABASE_PASSWD = "databasePassword";
@@ -117,6 +141,9 @@ public class Constants {
   public static final String Q_VALUE = "q";
   public static final String LIMIT = "limit";
   public static final String OFFSET = "offset";
+  public static final String CURSOR = "cursor";
+  public static final String CURSOR_START = "start";
+  public static final String NEXT_CURSOR = "nextCursor";
 
   /** SearchTypes. */
   public static final String SEARCH_TYPE = "searchType";
@@ -128,6 +155,7 @@ public class Constants {
 
   public static final String MESSAGE = "detail";
   public static final String RESULTS = "results";
+  public static final String ITEMS = "items";
   public static final String METHOD = "method";
   public static final String HTTP_METHOD = "httpMethod";
   public static final String STATUS = "title";
@@ -160,6 +188,7 @@ public class Constants {
   public static final String REQUEST_POST = "POST";
   public static final String REQUEST_PUT = "PUT";
   public static final String REQUEST_PATCH = "PATCH";
+  public static final String REQUEST_HEAD = "HEAD";
   public static final String REQUEST_DELETE = "DELETE";
 
   /** Error Messages. */
@@ -185,6 +214,47 @@ public class Constants {
   public static final int MAXDISTANCE_LIMIT = 10000; // 10KM
   public static final int SERVICE_TIMEOUT = 3000;
   public static final int POPULAR_DATASET_COUNT = 6;
+  public static final int BULK_ITEMS_LIMIT = 1000;
+
+  /* Parent item cache */
+  public static final String PARENT_CACHE_MAX_SIZE = "parentCacheMaxSize";
+  public static final String PARENT_CACHE_TTL = "parentCacheTtlSeconds";
+  public static final String PARENT_CACHE_METRIC = "cat.parent.cache";
+  public static final long DEFAULT_PARENT_CACHE_MAX_SIZE = 10000;
+  public static final long DEFAULT_PARENT_CACHE_TTL = 300;
+  public static final String RESPONSE_CACHE_MAX_BYTES = "responseCacheMaxBytes";
+  public static final String RESPONSE_CACHE_TTL = "responseCacheTtlSeconds";
+  public static final String RESPONSE_CACHE_METRIC = "cat.response.cache";
+  public static final long DEFAULT_RESPONSE_CACHE_MAX_BYTES = 64 * 1024 * 1024;
+  public static final long DEFAULT_RESPONSE_CACHE_TTL = 600;
+  public static final String EMBEDDING_CACHE_MAX_SIZE = "embeddingCacheMaxSize";
+  public static final String EMBEDDING_CACHE_TTL = "embeddingCacheTtlSeconds";
+  public static final String EMBEDDING_CACHE_METRIC = "cat.embedding.cache";
+  public static final long DEFAULT_EMBEDDING_CACHE_MAX_SIZE = 10000;
+  public static final long DEFAULT_EMBEDDING_CACHE_TTL = 86400;
+  public static final String NLP_BATCH_PATH = "nlpBatchPath";
+  public static final String EMBEDDING_BATCH_SIZE = "embeddingBatchSize";
+  public static final String EMBEDDING_BATCH_WINDOW = "embeddingBatchWindowMs";
+  public static final int DEFAULT_EMBEDDING_BATCH_SIZE = 16;
+  public static final long DEFAULT_EMBEDDING_BATCH_WINDOW = 20;
+  /* Direct calls of the services deployed in the same JVM */
+  public static final String LOCAL_SERVICE_CALLS = "localServiceCalls";
+  public static final String DISTRIBUTED_CACHE = "distributedCache";
+  /* Latency metrics */
+  public static final String SEARCH_LATENCY_METRIC = "cat.search.latency";
+  public static final String DEPENDENCY_LATENCY_METRIC = "cat.dependency.latency";
+  public static final String STAGE_TAG = "stage";
+  public static final String SEARCH_TYPE_TAG = "searchType";
+  public static final String SERVICE_TAG = "service";
+  public static final String OPERATION_TAG = "operation";
+  public static final String OUTCOME_TAG = "outcome";
+  public static final String SLOW_QUERY_THRESHOLD = "slowQueryThresholdMs";
+  public static final String STAGE_API = "api";
+  public static final String STAGE_MAPPING = "mapping";
+  public static final String STAGE_DATABASE = "database";
+  public static final String STAGE_DECODING = "decoding";
+  public static final String OPERATION_SEARCH = "search";
+  public static final String OPERATION_COUNT = "count";
 
 
 
@@ -199,6 +269,7 @@ public class Constants {
   public static final String TYPE_ALREADY_EXISTS = "urn:dx:cat:AlreadyExists";
   public static final String TYPE_SUCCESS = "urn:dx:cat:Success";
   public static final String TYPE_FAIL = "urn:dx:cat:Fail";
+  public static final String TYPE_PARTIAL_SUCCESS = "urn:dx:cat:PartialSuccess";
   public static final String TYPE_ACCESS_DENIED = "urn:dx:cat:AccessDenied";
   public static final String TYPE_TOKEN_INVALID = "urn:dx:cat:InvalidAuthorizationToken";
   public static final String TYPE_MISSING_TOKEN = "urn:dx:cat:MissingAuthorizationToken";
@@ -218,6 +289,8 @@ public class Constants {
   public static final String TITLE_ID_NONEXISTANT = "ID doesn't exist";
   public static final String TITLE_ALREADY_EXISTS = "Item already exists";
   public static final String TITLE_SUCCESS = "Success";
+  public static final String TITLE_PARTIAL_SUCCESS = "Partial Success";
+  public static final String TITLE_FAIL = "Failed";
   public static final String TITLE_TOKEN_INVALID = "Token is invalid";
   public static final String TITLE_MISSING_TOKEN = "Token is missing";
   public static final String TITLE_ITEM_NOT_FOUND = "Item is not found";
@@ -246,6 +319,8 @@ public class Constants {
 
   public static final String DETAIL_INVALID_COORDINATE_POLYGON = "Coordinate mismatch (Polygon)";
   public static final String DETAIL_INVALID_BBOX = "Issue with bbox coordinates";
+  public static final String DETAIL_INVALID_CURSOR = "Invalid or expired cursor";
+  public static final String DETAIL_CHANGE_FEED_DISABLED = "The change feed is not enabled";
   public static final String DETAIL_INVALID_GEO_PARAMETER = "Missing/Invalid geo parameters";
   public static final String DETAIL_INVALID_RESPONSE_FILTER =
           "Missing/Invalid responseFilter parameters";
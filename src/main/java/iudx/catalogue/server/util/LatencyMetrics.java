@@ -0,0 +1,129 @@
+package iudx.catalogue.server.util;
+
+import static iudx.catalogue.server.util.Constants.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.micrometer.backends.BackendRegistries;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency timers of the stages of a request, from the API through the services to Elasticsearch,
+ * Postgres, Pelias and the NLP service, published to Prometheus as histograms.
+ *
+ * <p>Every timer is tagged with the outcome of the call, so slow failures, such as timeouts, do
+ * not hide in the latency of the successful calls.
+ */
+public final class LatencyMetrics {
+
+  private LatencyMetrics() {}
+
+  /**
+   * Gets the registry of the Vert.x metrics, which is scraped by Prometheus, or else the global
+   * registry, as in tests.
+   *
+   * @return the meter registry
+   */
+  public static MeterRegistry registry() {
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    return registry == null ? Metrics.globalRegistry : registry;
+  }
+
+  /**
+   * Records the latency of a call in a histogram.
+   *
+   * @param sample the sample started before the call
+   * @param name name of the timer
+   * @param succeeded whether the call succeeded
+   * @param tags pairs of tag names and values
+   * @return the latency in nanoseconds
+   */
+  public static long record(Timer.Sample sample, String name, boolean succeeded, String... tags) {
+    return sample.stop(
+        Timer.builder(name)
+            .tags(tags)
+            .tag(OUTCOME_TAG, succeeded ? "success" : "failure")
+            .publishPercentileHistogram()
+            .register(registry()));
+  }
+
+  /**
+   * Records the latency of a stage of a search or count, tagged by the type of the search.
+   *
+   * @param sample the sample started at the beginning of the stage
+   * @param stage the stage of the search, such as <code>api</code> or <code>decoding</code>
+   * @param operation search or count
+   * @param searchType the search type of the request
+   * @param succeeded whether the stage succeeded
+   */
+  public static void recordSearch(
+      Timer.Sample sample, String stage, String operation, String searchType, boolean succeeded) {
+    record(
+        sample,
+        SEARCH_LATENCY_METRIC,
+        succeeded,
+        STAGE_TAG,
+        stage,
+        OPERATION_TAG,
+        operation,
+        SEARCH_TYPE_TAG,
+        searchTypeTag(searchType));
+  }
+
+  /**
+   * Records the latency of a call to a service the catalogue depends on, once it completes.
+   *
+   * @param sample the sample started before the call
+   * @param service the service called, such as <code>pelias</code>
+   * @param operation the operation called
+   * @param call the result of the call
+   * @param <T> the type of the result
+   * @return the result of the call
+   */
+  public static <T> Future<T> timeDependency(
+      Timer.Sample sample, String service, String operation, Future<T> call) {
+    return call.onComplete(
+        done ->
+            record(
+                sample,
+                DEPENDENCY_LATENCY_METRIC,
+                done.succeeded(),
+                SERVICE_TAG,
+                service,
+                OPERATION_TAG,
+                operation));
+  }
+
+  /**
+   * Gets the tag of a search type, such as <code>geo_text</code> for <code>
+   * geoSearch_textSearch_</code>, which keeps the number of tag values small.
+   *
+   * @param searchType the search type of the request
+   * @return the tag of the search type, <code>none</code> if there is none
+   */
+  public static String searchTypeTag(String searchType) {
+    if (searchType == null) {
+      return "none";
+    }
+    List<String> types = new ArrayList<>();
+    if (searchType.contains(SEARCH_TYPE_GEO)) {
+      types.add("geo");
+    }
+    if (searchType.contains(SEARCH_TYPE_TEXT)) {
+      types.add("text");
+    }
+    if (searchType.contains(SEARCH_TYPE_ATTRIBUTE)) {
+      types.add("attribute");
+    }
+    if (searchType.contains(SEARCH_TYPE_TAGS)) {
+      types.add("tags");
+    }
+    if (searchType.contains(RESPONSE_FILTER)) {
+      types.add("filter");
+    }
+    return types.isEmpty() ? "none" : String.join("_", types);
+  }
+}
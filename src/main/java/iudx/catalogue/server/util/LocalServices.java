@@ -0,0 +1,191 @@
+package iudx.catalogue.server.util;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Registry of the services deployed in this JVM, so that co-located verticles call them directly
+ * instead of through the event bus.
+ *
+ * <p>A service verticle registers its implementation under the address of its service, along with
+ * its context. A proxy created by {@link #createProxy} calls a registered implementation on that
+ * context, round robin over the verticle instances, and hands the result back on the context of
+ * the caller, which keeps the threading of an event bus call. Requests and results are copied, as
+ * the local event bus would, so neither side sees the other modify them, but nothing is encoded,
+ * no reply consumer or timer is set up per call, and failures reach the caller as they were raised.
+ * When no implementation is registered, as on a node of a cluster without the service, the proxy
+ * calls the service through its event bus proxy, so the contract of the service is unchanged.
+ */
+public final class LocalServices {
+
+  private static final Logger LOGGER = LogManager.getLogger(LocalServices.class);
+  private static final String REGISTRY = "iudx.catalogue.local.services";
+
+  private LocalServices() {}
+
+  /**
+   * Registers the implementation of a service, to be called on the current context.
+   *
+   * @param vertx the vertx instance
+   * @param address the event bus address of the service
+   * @param service the implementation of the service
+   */
+  public static void register(Vertx vertx, String address, Object service) {
+    Context context = vertx.getOrCreateContext();
+    registrations(vertx, address).services.add(new Registered(service, context));
+    LOGGER.debug("Registered local service {}", address);
+  }
+
+  /**
+   * Removes the implementation of a service, once its verticle is undeployed.
+   *
+   * @param vertx the vertx instance
+   * @param address the event bus address of the service
+   * @param service the implementation of the service
+   */
+  public static void unregister(Vertx vertx, String address, Object service) {
+    registrations(vertx, address).services.removeIf(registered -> registered.service == service);
+  }
+
+  /**
+   * Creates a proxy calling the implementation of a service registered in this JVM, or else its
+   * event bus proxy.
+   *
+   * @param vertx the vertx instance
+   * @param type the interface of the service
+   * @param address the event bus address of the service
+   * @param remote the event bus proxy of the service
+   * @param <T> the type of the service
+   * @return the proxy of the service
+   */
+  public static <T> T createProxy(Vertx vertx, Class<T> type, String address, T remote) {
+    Registrations registrations = registrations(vertx, address);
+    InvocationHandler invocationHandler =
+        (proxy, method, args) -> {
+          if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+              case "equals":
+                return proxy == args[0];
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              default:
+                return type.getSimpleName() + " proxy of " + address;
+            }
+          }
+          Registered registered = registrations.next();
+          if (registered != null) {
+            invokeLocal(registered, method, args);
+            return method.getReturnType() == type ? proxy : null;
+          }
+          try {
+            Object result = method.invoke(remote, args);
+            return result == remote ? proxy : result;
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        };
+    return type.cast(
+        Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void invokeLocal(Registered registered, Method method, Object[] args) {
+    Context caller = Vertx.currentContext();
+    Object[] copies = new Object[args == null ? 0 : args.length];
+    Handler<AsyncResult<Object>> resultHandler = null;
+    for (int i = 0; i < copies.length; i++) {
+      if (args[i] instanceof Handler) {
+        Handler<AsyncResult<Object>> handler = (Handler<AsyncResult<Object>>) args[i];
+        resultHandler =
+            result -> {
+              AsyncResult<Object> copied =
+                  result.succeeded()
+                      ? Future.succeededFuture(copy(result.result()))
+                      : Future.failedFuture(result.cause());
+              if (caller == null) {
+                handler.handle(copied);
+              } else {
+                caller.runOnContext(v -> handler.handle(copied));
+              }
+            };
+        copies[i] = resultHandler;
+      } else {
+        copies[i] = copy(args[i]);
+      }
+    }
+    Handler<AsyncResult<Object>> failureHandler = resultHandler;
+    registered.context.runOnContext(
+        v -> {
+          try {
+            method.invoke(registered.service, copies);
+          } catch (IllegalAccessException | InvocationTargetException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            LOGGER.error("Local call of {} failed; {}", method.getName(), cause.getMessage());
+            if (failureHandler != null) {
+              failureHandler.handle(Future.failedFuture(cause));
+            }
+          }
+        });
+  }
+
+  private static Object copy(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    }
+    if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    }
+    return value;
+  }
+
+  private static Registrations registrations(Vertx vertx, String address) {
+    LocalMap<String, Registrations> registry = vertx.sharedData().getLocalMap(REGISTRY);
+    return registry.computeIfAbsent(address, key -> new Registrations());
+  }
+
+  /* Implementations of a service, shared by the verticles of a vertx instance */
+  private static final class Registrations implements Shareable {
+    private final List<Registered> services = new CopyOnWriteArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Registered next() {
+      List<Registered> current = services;
+      int size = current.size();
+      if (size == 0) {
+        return null;
+      }
+      try {
+        return current.get(Math.floorMod(calls.getAndIncrement(), size));
+      } catch (IndexOutOfBoundsException e) {
+        /* An instance was unregistered meanwhile */
+        return next();
+      }
+    }
+  }
+
+  private static final class Registered {
+    private final Object service;
+    private final Context context;
+
+    private Registered(Object service, Context context) {
+      this.service = service;
+      this.context = context;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package iudx.catalogue.server.util;
+
+import static iudx.catalogue.server.util.Constants.*;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Node local cache of parent item metadata (type, provider, ownerUserId, resourceServerRegURL,
+ * cos, ...) looked up while creating child items.
+ *
+ * <p>Entries are bounded by size and expire after a configurable TTL. Updating or deleting a
+ * parent invalidates its entry on every node of the cluster through the event bus, so the TTL only
+ * bounds staleness when an invalidation message is lost.
+ */
+public class ParentItemCache {
+
+  private static final Logger LOGGER = LogManager.getLogger(ParentItemCache.class);
+  private static volatile ParentItemCache cacheInstance;
+  private final Vertx vertx;
+  private final Cache<String, JsonObject> cache;
+
+  ParentItemCache(Vertx vertx, long maxSize, long ttlSeconds) {
+    this.vertx = vertx;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cache shared by all verticles deployed on this node, creating it on first use.
+   *
+   * @param vertx the vertx instance used for cluster wide invalidation
+   * @param config module config carrying the optional parentCacheMaxSize and
+   *     parentCacheTtlSeconds keys
+   * @return the node local ParentItemCache
+   */
+  public static ParentItemCache getInstance(Vertx vertx, JsonObject config) {
+    if (cacheInstance == null) {
+      synchronized (ParentItemCache.class) {
+        if (cacheInstance == null) {
+          ParentItemCache instance =
+              new ParentItemCache(
+                  vertx,
+                  config.getLong(PARENT_CACHE_MAX_SIZE, DEFAULT_PARENT_CACHE_MAX_SIZE),
+                  config.getLong(PARENT_CACHE_TTL, DEFAULT_PARENT_CACHE_TTL));
+          instance.bindMetrics();
+          vertx
+              .eventBus()
+              .<String>consumer(
+                  PARENT_CACHE_INVALIDATION_ADDRESS, message -> instance.evict(message.body()));
+          cacheInstance = instance;
+        }
+      }
+    }
+    return cacheInstance;
+  }
+
+  private void bindMetrics() {
+    GuavaCacheMetrics.monitor(LatencyMetrics.registry(), cache, PARENT_CACHE_METRIC);
+  }
+
+  /**
+   * Returns the cached metadata of a parent item.
+   *
+   * @param id id of the parent item
+   * @return a copy of the cached metadata, or null on a miss
+   */
+  public JsonObject get(String id) {
+    if (id == null) {
+      return null;
+    }
+    JsonObject metadata = cache.getIfPresent(id);
+    return metadata == null ? null : metadata.copy();
+  }
+
+  /**
+   * Caches the metadata of a parent item.
+   *
+   * @param id id of the parent item
+   * @param metadata the item's metadata as read from the database
+   */
+  public void put(String id, JsonObject metadata) {
+    if (id != null && metadata != null) {
+      cache.put(id, metadata.copy());
+    }
+  }
+
+  /**
+   * Drops a parent item from the cache on every node. Called once the item is updated or deleted.
+   *
+   * @param id id of the updated or deleted item
+   */
+  public void invalidate(String id) {
+    if (id == null) {
+      return;
+    }
+    evict(id);
+    if (vertx != null) {
+      vertx.eventBus().publish(PARENT_CACHE_INVALIDATION_ADDRESS, id);
+    }
+  }
+
+  private void evict(String id) {
+    LOGGER.debug("Evicting parent item {} from cache", id);
+    cache.invalidate(id);
+  }
+
+  long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+}
@@ -1,5 +1,7 @@
 package iudx.catalogue.server.validator;
 
+import java.util.List;
+
 public class Constants {
 
   /** General definations. */
@@ -13,12 +15,42 @@ public class Constants {
   public static final String ITEM_CREATED_AT = "itemCreatedAt";
   public static final String CONTEXT = "@context";
 
+  /** Bulk link validation query. */
+  public static final String KEYWORD_SUFFIX = ".keyword";
+  public static final String TYPE_KEYWORD = "type.keyword";
+  public static final String TERMS_KEY = "terms";
+  public static final String BOOL_KEY = "bool";
+  public static final String SHOULD_KEY = "should";
+  public static final String SIZE_KEY = "size";
+
   /** Error messages. */
   public static final String NON_EXISTING_LINK_MSG = "No such cat item exists: ";
 
   public static final String VALIDATION_FAILURE_MSG = "Validation failed";
   public static final String INVALID_SCHEMA_MSG = "Invalid Schema";
 
+  /** Schema validation. */
+  public static final String SCHEMA_VALIDATION_POOL = "cat-schema-validation";
+  public static final String SCHEMA_VALIDATION_POOL_SIZE = "schemaValidationPoolSize";
+  public static final int DEFAULT_SCHEMA_VALIDATION_POOL_SIZE = 4;
+  static final String SCHEMA_VALIDATION_METRIC = "cat.schema.validation";
+  static final String SCHEMA_TAG = "schema";
+
+  /** Parent item fields kept in the parent item cache. */
+  public static final List<String> PARENT_ITEM_FIELDS =
+      List.of(
+          "id",
+          "type",
+          "provider",
+          "ownerUserId",
+          "resourceGroup",
+          "resourceServer",
+          "resourceServerRegURL",
+          "cos",
+          "cos_admin");
+  static final String PARENT_ITEM_SOURCE =
+      "\"_source\":[\"" + String.join("\",\"", PARENT_ITEM_FIELDS) + "\"]}";
+
   public static final String ID_MATCH_SUB_QUERY =
       "{\"query\":{\"bool\":{\"should\":[{"
           + "\"bool\":{\"must\":[{"
@@ -34,12 +66,12 @@ public class Constants {
               + "{\"match\":{\"type.keyword\":\"$2\"}},"
               + "{\"match\":{\"$3.keyword\":\"$4\"}},"
               + "{\"match\":{\"provider.keyword\":\"$1\"}}]}}]}},"
-              + "\"_source\":[\"type\"]}");
+              + PARENT_ITEM_SOURCE);
   public static final String PROVIDER_ITEM_EXISTS_QUERY =
       ID_MATCH_SUB_QUERY.concat(
           "{\"bool\":{\"must\":[{\"match\":{\"ownerUserId.keyword\":\"$2\"}},"
               + "{\"match\":{\"resourceServerRegURL.keyword\":\"$3\"}}]}}]}},"
-              + "\"_source\":[\"type\"]}");
+              + PARENT_ITEM_SOURCE);
 
   public static final String RESOURCE_ITEM_EXISTS_QUERY =
       "{\"query\":{\"bool\":{\"should\":[{"
@@ -50,7 +82,27 @@ public class Constants {
           + "\"match\":{\"type.keyword\":\"iudx:Resource\"}},{"
           + "\"match\":{\"name.keyword\":\"$4\"}}, {"
           + "\"match\":{\"resourceGroup.keyword\":\"$3\"}}]}}]}},"
-          + "\"_source\":[\"type\"]}";
+          + PARENT_ITEM_SOURCE;
+
+  /** Name clash checks used when every parent of the item is cached. */
+  public static final String RG_NAME_EXISTS_QUERY =
+      "{\"query\":{\"bool\":{\"must\":[{"
+          + "\"match\":{\"type.keyword\":\"iudx:ResourceGroup\"}},{"
+          + "\"match\":{\"name.keyword\":\"$1\"}},{"
+          + "\"match\":{\"provider.keyword\":\"$2\"}}]}},"
+          + "\"_source\":[\"id\"]}";
+  public static final String RESOURCE_NAME_EXISTS_QUERY =
+      "{\"query\":{\"bool\":{\"must\":[{"
+          + "\"match\":{\"type.keyword\":\"iudx:Resource\"}},{"
+          + "\"match\":{\"name.keyword\":\"$1\"}},{"
+          + "\"match\":{\"resourceGroup.keyword\":\"$2\"}}]}},"
+          + "\"_source\":[\"id\"]}";
+  public static final String PROVIDER_EXISTS_FOR_RS_QUERY =
+      "{\"query\":{\"bool\":{\"must\":[{"
+          + "\"match\":{\"type.keyword\":\"iudx:Provider\"}},{"
+          + "\"match\":{\"ownerUserId.keyword\":\"$1\"}},{"
+          + "\"match\":{\"resourceServerRegURL.keyword\":\"$2\"}}]}},"
+          + "\"_source\":[\"id\"]}";
   public static final String OWNER_ITEM_EXISTS_QUERY =
       "{\"query\":{\"bool\":{\"must\":[{"
           + "\"match\":{\"type\":\"iudx:Owner\"}},"
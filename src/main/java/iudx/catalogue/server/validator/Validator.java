@@ -1,13 +1,19 @@
 package iudx.catalogue.server.validator;
 
+import static iudx.catalogue.server.validator.Constants.*;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jackson.JsonLoader;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import iudx.catalogue.server.util.LatencyMetrics;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,7 +30,9 @@ public final class Validator {
     PKGBASE = '/' + pkgName.replace(".", "/");
   }
 
+  /* fge schemas are immutable once built, so one instance can serve any number of threads */
   private final JsonSchema schema;
+  private final Timer validationTimer;
 
   /**
    * Creates a new instance of Validator that can validate JSON objects against a given JSON schema.
@@ -36,6 +44,11 @@ public final class Validator {
     final JsonNode schemaNode = loadResource(schemaPath);
     final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
     schema = factory.getJsonSchema(schemaNode);
+    validationTimer =
+        Timer.builder(SCHEMA_VALIDATION_METRIC)
+            .description("Time taken to validate a document against a JSON schema")
+            .tag(SCHEMA_TAG, schemaPath.replaceAll("^/|\\.json$", ""))
+            .register(LatencyMetrics.registry());
   }
 
   /**
@@ -67,11 +80,34 @@ public final class Validator {
    * @return isValid boolean
    */
   public Future<String> validate(String obj) {
+    try {
+      return validate(loadString(obj));
+    } catch (IOException e) {
+      return Future.failedFuture(List.of(e.getMessage()).toString());
+    }
+  }
+
+  /**
+   * Check validity of a json object. The object is converted to a Jackson tree directly, without
+   * being encoded to a string and parsed back.
+   *
+   * <p>Validation is CPU bound and can take a while for large documents, callers on an event loop
+   * should run it on a worker.
+   *
+   * @param obj Json object
+   * @return isValid boolean
+   */
+  public Future<String> validate(JsonObject obj) {
+    JsonNode tree = DatabindCodec.mapper().valueToTree(obj);
+    return validate(tree);
+  }
+
+  private Future<String> validate(JsonNode jsonobj) {
     Promise<String> promise = Promise.promise();
     boolean isValid;
     List<String> schemaErrorList = new ArrayList<>();
+    Timer.Sample sample = Timer.start();
     try {
-      JsonNode jsonobj = loadString(obj);
       ProcessingReport report = schema.validate(jsonobj);
       report.forEach(
           x -> {
@@ -82,10 +118,11 @@ public final class Validator {
           });
       isValid = report.isSuccess();
 
-    } catch (IOException | ProcessingException e) {
+    } catch (ProcessingException e) {
       isValid = false;
       schemaErrorList.add(e.getMessage());
     }
+    sample.stop(validationTimer);
 
     if (isValid) {
       promise.complete();
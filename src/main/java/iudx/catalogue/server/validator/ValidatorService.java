@@ -62,6 +62,17 @@ public interface ValidatorService {
   @Fluent
   ValidatorService validateItem(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
 
+  /**
+   * The validateItems method implements the schema and link validation of a batch of resource or
+   * resource group items, resolving the parent items of the whole batch at once.
+   *
+   * @param request which is a JsonObject with the items and the http method
+   * @param handler which is a Request Handler
+   * @return ValidatorService which is a Service
+   */
+  @Fluent
+  ValidatorService validateItems(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
+
   @Fluent
   ValidatorService validateRating(JsonObject request, Handler<AsyncResult<JsonObject>> handler);
 
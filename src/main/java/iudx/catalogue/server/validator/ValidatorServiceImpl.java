@@ -7,9 +7,12 @@ import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.database.ElasticClient;
+import iudx.catalogue.server.database.ElasticQuery.Template;
+import iudx.catalogue.server.util.ParentItemCache;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -32,11 +35,19 @@ import org.apache.logging.log4j.Logger;
 public class ValidatorServiceImpl implements ValidatorService {
 
   private static final Logger LOGGER = LogManager.getLogger(ValidatorServiceImpl.class);
+  private static final Template ITEM_EXISTS = Template.compile(ITEM_EXISTS_QUERY);
+  private static final Template RG_ITEM_EXISTS = Template.compile(RG_ITEM_EXISTS_QUERY);
+  private static final Template PROVIDER_ITEM_EXISTS = Template.compile(PROVIDER_ITEM_EXISTS_QUERY);
+  private static final Template RESOURCE_ITEM_EXISTS = Template.compile(RESOURCE_ITEM_EXISTS_QUERY);
+  private static final Template OWNER_ITEM_EXISTS = Template.compile(OWNER_ITEM_EXISTS_QUERY);
+  private static final Template RG_NAME_EXISTS = Template.compile(RG_NAME_EXISTS_QUERY);
+  private static final Template RESOURCE_NAME_EXISTS = Template.compile(RESOURCE_NAME_EXISTS_QUERY);
+  private static final Template PROVIDER_EXISTS_FOR_RS =
+      Template.compile(PROVIDER_EXISTS_FOR_RS_QUERY);
 
   /** ES client. */
   static ElasticClient client;
 
-  private Future<String> isValidSchema;
   private Validator resourceValidator;
   private Validator resourceGroupValidator;
   private Validator providerValidator;
@@ -53,6 +64,8 @@ public class ValidatorServiceImpl implements ValidatorService {
   private String docIndex;
   private boolean isUacInstance;
   private String vocContext;
+  private ParentItemCache parentCache;
+  private WorkerExecutor schemaExecutor;
 
   /**
    * Constructs a new ValidatorServiceImpl object with the specified ElasticClient and docIndex.
@@ -62,7 +75,45 @@ public class ValidatorServiceImpl implements ValidatorService {
    */
   public ValidatorServiceImpl(
       ElasticClient client, String docIndex, boolean isUacInstance, String vocContext) {
+    this(client, docIndex, isUacInstance, vocContext, null);
+  }
 
+  /**
+   * Constructs a new ValidatorServiceImpl object which resolves parent items through the given
+   * cache before falling back to Elasticsearch.
+   *
+   * @param client the ElasticClient object to use for interacting with the Elasticsearch instance
+   * @param docIndex the index name to use for storing documents in Elasticsearch
+   * @param parentCache node local cache of parent item metadata, may be null
+   */
+  public ValidatorServiceImpl(
+      ElasticClient client,
+      String docIndex,
+      boolean isUacInstance,
+      String vocContext,
+      ParentItemCache parentCache) {
+    this(client, docIndex, isUacInstance, vocContext, parentCache, null);
+  }
+
+  /**
+   * Constructs a new ValidatorServiceImpl object which runs JSON schema validation on the given
+   * worker pool instead of the calling event loop.
+   *
+   * @param client the ElasticClient object to use for interacting with the Elasticsearch instance
+   * @param docIndex the index name to use for storing documents in Elasticsearch
+   * @param parentCache node local cache of parent item metadata, may be null
+   * @param schemaExecutor worker pool for schema validation, validates inline when null
+   */
+  public ValidatorServiceImpl(
+      ElasticClient client,
+      String docIndex,
+      boolean isUacInstance,
+      String vocContext,
+      ParentItemCache parentCache,
+      WorkerExecutor schemaExecutor) {
+
+    this.parentCache = parentCache;
+    this.schemaExecutor = schemaExecutor;
     this.client = client;
     this.docIndex = docIndex;
     this.isUacInstance = isUacInstance;
@@ -134,37 +185,38 @@ public class ValidatorServiceImpl implements ValidatorService {
 
     LOGGER.debug("Info: itemType: " + itemType);
 
+    Validator validator;
     switch (itemType) {
       case ITEM_TYPE_RESOURCE:
-        isValidSchema = resourceValidator.validate(request.toString());
+        validator = resourceValidator;
         break;
       case ITEM_TYPE_RESOURCE_GROUP:
-        isValidSchema = resourceGroupValidator.validate(request.toString());
+        validator = resourceGroupValidator;
         break;
       case ITEM_TYPE_RESOURCE_SERVER:
-        isValidSchema = resourceServerValidator.validate(request.toString());
+        validator = resourceServerValidator;
         break;
       case ITEM_TYPE_PROVIDER:
-        isValidSchema = providerValidator.validate(request.toString());
+        validator = providerValidator;
         break;
       case ITEM_TYPE_COS:
-        isValidSchema = cosItemValidator.validate(request.toString());
+        validator = cosItemValidator;
         break;
       case ITEM_TYPE_OWNER:
-        isValidSchema = ownerItemSchema.validate(request.toString());
+        validator = ownerItemSchema;
         break;
       case "patch:Stack":
-        isValidSchema =  stack4PatchValidator.validate(request.toString());
+        validator = stack4PatchValidator;
         break;
       case "post:Stack":
-        isValidSchema =  stackSchema4Post.validate(request.toString());
+        validator = stackSchema4Post;
         break;
       default:
         handler.handle(Future.failedFuture("Invalid Item Type"));
         return this;
     }
 
-    validateSchema(handler);
+    validateSchema(validator, request, handler);
     return this;
   }
 
@@ -200,6 +252,354 @@ public class ValidatorServiceImpl implements ValidatorService {
     return this;
   }
 
+  /*
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidatorService validateItems(
+      JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+
+    String method = request.getString(HTTP_METHOD);
+    String operation = method.equalsIgnoreCase(REQUEST_POST) ? INSERT : UPDATE;
+    JsonArray items = request.getJsonArray(ITEMS);
+    JsonArray failures = new JsonArray();
+    List<JsonObject> typedItems = new ArrayList<>();
+    List<Future<String>> schemaResults = new ArrayList<>();
+
+    for (int i = 0; i < items.size(); i++) {
+      JsonObject item = items.getJsonObject(i);
+      Set<String> types = new HashSet<String>();
+      if (item.getValue(TYPE) instanceof JsonArray) {
+        item.getJsonArray(TYPE).stream().map(String.class::cast).forEach(types::add);
+      }
+      types.retainAll(ITEM_TYPES);
+      String itemType = types.toString().replaceAll("\\[", "").replaceAll("\\]", "");
+
+      Validator schemaValidator;
+      if (itemType.equals(ITEM_TYPE_RESOURCE)) {
+        schemaValidator = resourceValidator;
+      } else if (itemType.equals(ITEM_TYPE_RESOURCE_GROUP)) {
+        schemaValidator = resourceGroupValidator;
+      } else {
+        failures.add(itemFailure(item, operation, "Invalid Item Type"));
+        continue;
+      }
+      typedItems.add(item);
+      schemaResults.add(runSchemaValidation(schemaValidator, item));
+    }
+
+    Future.join(schemaResults)
+        .onComplete(
+            schemaCheck ->
+                validateBatchLinks(
+                    method, operation, typedItems, schemaResults, failures, handler));
+    return this;
+  }
+
+  /**
+   * Runs the id, name and parent checks on the items of a batch once their schema validation has
+   * completed.
+   */
+  private void validateBatchLinks(
+      String method,
+      String operation,
+      List<JsonObject> typedItems,
+      List<Future<String>> schemaResults,
+      JsonArray failures,
+      Handler<AsyncResult<JsonObject>> handler) {
+    List<JsonObject> candidates = new ArrayList<>();
+    Set<String> ids = new HashSet<>();
+    Set<String> scopedNames = new HashSet<>();
+    Set<String> parentIds = new HashSet<>();
+    Set<String> scopes = new HashSet<>();
+    Set<String> names = new HashSet<>();
+
+    for (int i = 0; i < typedItems.size(); i++) {
+      JsonObject item = typedItems.get(i);
+      String itemType =
+          item.getJsonArray(TYPE).contains(ITEM_TYPE_RESOURCE)
+              ? ITEM_TYPE_RESOURCE
+              : ITEM_TYPE_RESOURCE_GROUP;
+      if (schemaResults.get(i).failed()) {
+        failures.add(itemFailure(item, operation, schemaResults.get(i).cause().getMessage()));
+        continue;
+      }
+
+      if (item.containsKey(ID) && !isValidUuid(item.getString(ID))) {
+        failures.add(itemFailure(item, operation, "validation failed. Incorrect id"));
+        continue;
+      } else if (isUacInstance && !item.containsKey(ID)) {
+        failures.add(
+            itemFailure(item, operation, "mandatory id field not present in request body"));
+        continue;
+      } else if (!item.containsKey(ID)) {
+        item.put(ID, UUID.randomUUID().toString());
+      }
+      if (!ids.add(item.getString(ID))) {
+        failures.add(itemFailure(item, operation, "Fail: Duplicate id in the batch"));
+        continue;
+      }
+
+      String scope = item.getString(parentKey(itemType));
+      if (method.equalsIgnoreCase(REQUEST_POST)
+          && !scopedNames.add(scope + "/" + item.getString(NAME))) {
+        failures.add(itemFailure(item, operation, "Fail: Duplicate name in the batch"));
+        continue;
+      }
+
+      item.put(CONTEXT, vocContext)
+          .put(ITEM_STATUS, ACTIVE)
+          .put(ITEM_CREATED_AT, getUtcDatetimeAsString());
+      parentIds.add(item.getString(PROVIDER));
+      if (itemType.equals(ITEM_TYPE_RESOURCE)) {
+        parentIds.add(item.getString(RESOURCE_SVR));
+        parentIds.add(item.getString(RESOURCE_GRP));
+      }
+      scopes.add(scope);
+      names.add(item.getString(NAME));
+      candidates.add(item);
+    }
+
+    if (candidates.isEmpty()) {
+      handler.handle(
+          Future.succeededFuture(
+              new JsonObject().put(ITEMS, new JsonArray()).put(RESULTS, failures)));
+      return;
+    }
+
+    String itemType = ITEM_TYPE_RESOURCE_GROUP;
+    if (candidates.get(0).getJsonArray(TYPE).contains(ITEM_TYPE_RESOURCE)) {
+      itemType = ITEM_TYPE_RESOURCE;
+    }
+    final String batchType = itemType;
+    final String scopeKey = parentKey(batchType);
+    boolean checkNames = method.equalsIgnoreCase(REQUEST_POST);
+    Map<String, JsonArray> parentTypes = new HashMap<>();
+    Set<String> uncachedParents = new HashSet<>();
+    for (String parentId : parentIds) {
+      JsonArray cachedTypes = cachedParentTypes(parentId);
+      if (cachedTypes == null) {
+        uncachedParents.add(parentId);
+      } else {
+        parentTypes.put(parentId, cachedTypes);
+      }
+    }
+    if (uncachedParents.isEmpty() && !checkNames) {
+      handler.handle(
+          Future.succeededFuture(
+              linkItems(
+                  candidates, failures, operation, batchType, false, parentTypes, Set.of())));
+      return;
+    }
+
+    String checkQuery =
+        linkValidationQuery(batchType, scopeKey, uncachedParents, scopes, names, checkNames)
+            .toString();
+    LOGGER.debug(checkQuery);
+    client.searchAsync(
+        checkQuery,
+        docIndex,
+        res -> {
+          if (res.failed()) {
+            LOGGER.debug("Fail: DB Error");
+            handler.handle(Future.failedFuture(VALIDATION_FAILURE_MSG));
+            return;
+          }
+          Set<String> existingNames = new HashSet<>();
+          res.result()
+              .getJsonArray(RESULTS, new JsonArray())
+              .forEach(
+                  hit -> {
+                    JsonObject doc = (JsonObject) hit;
+                    JsonArray docTypes = doc.getJsonArray(TYPE, new JsonArray());
+                    if (uncachedParents.contains(doc.getString(ID))) {
+                      parentTypes.put(doc.getString(ID), docTypes);
+                      cacheParent(doc);
+                    }
+                    if (docTypes.contains(batchType)) {
+                      existingNames.add(doc.getString(scopeKey) + "/" + doc.getString(NAME));
+                    }
+                  });
+          handler.handle(
+              Future.succeededFuture(
+                  linkItems(
+                      candidates,
+                      failures,
+                      operation,
+                      batchType,
+                      checkNames,
+                      parentTypes,
+                      existingNames)));
+        });
+  }
+
+  /**
+   * Splits the schema-valid items of a batch into the ones whose parents exist (and, for inserts,
+   * whose name is free) and failures.
+   */
+  private static JsonObject linkItems(
+      List<JsonObject> candidates,
+      JsonArray failures,
+      String operation,
+      String batchType,
+      boolean checkNames,
+      Map<String, JsonArray> parentTypes,
+      Set<String> existingNames) {
+    String scopeKey = parentKey(batchType);
+    JsonArray valid = new JsonArray();
+    for (JsonObject item : candidates) {
+      String linkFailure = null;
+      if (batchType.equals(ITEM_TYPE_RESOURCE)
+          && !hasType(parentTypes, item.getString(RESOURCE_SVR), ITEM_TYPE_RESOURCE_SERVER)) {
+        linkFailure = "Fail: Resource Server item doesn't exist";
+      } else if (!hasType(parentTypes, item.getString(PROVIDER), ITEM_TYPE_PROVIDER)) {
+        linkFailure = "Fail: Provider item doesn't exist";
+      } else if (batchType.equals(ITEM_TYPE_RESOURCE)
+          && !hasType(parentTypes, item.getString(RESOURCE_GRP), ITEM_TYPE_RESOURCE_GROUP)) {
+        linkFailure = "Fail: Resource Group item doesn't exist";
+      } else if (checkNames
+          && existingNames.contains(item.getString(scopeKey) + "/" + item.getString(NAME))) {
+        linkFailure =
+            batchType.equals(ITEM_TYPE_RESOURCE)
+                ? String.format(
+                    "Fail: Resource item with the name '%s' already exists in the resource"
+                        + " group '%s'",
+                    item.getString(NAME), item.getString(scopeKey))
+                : String.format(
+                    "Fail: Resource group item with the name '%s' already exists for the"
+                        + " provider '%s'",
+                    item.getString(NAME), item.getString(scopeKey));
+      }
+      if (linkFailure == null) {
+        valid.add(item);
+      } else {
+        failures.add(itemFailure(item, operation, linkFailure));
+      }
+    }
+    return new JsonObject().put(ITEMS, valid).put(RESULTS, failures);
+  }
+
+  /**
+   * Builds a single query which fetches the parents of every item of a batch and, for inserts, the
+   * existing items of the same type which share a name and a parent with an item of the batch.
+   */
+  static JsonObject linkValidationQuery(
+      String itemType,
+      String scopeKey,
+      Set<String> parentIds,
+      Set<String> scopes,
+      Set<String> names,
+      boolean checkNames) {
+    JsonArray should =
+        new JsonArray()
+            .add(
+                new JsonObject()
+                    .put(
+                        TERMS_KEY,
+                        new JsonObject()
+                            .put(ID_KEYWORD, new JsonArray(new ArrayList<>(parentIds)))));
+    int size = parentIds.size();
+    if (checkNames) {
+      JsonArray filter =
+          new JsonArray()
+              .add(new JsonObject().put(TERM, new JsonObject().put(TYPE_KEYWORD, itemType)))
+              .add(
+                  new JsonObject()
+                      .put(
+                          TERMS_KEY,
+                          new JsonObject()
+                              .put(
+                                  scopeKey + KEYWORD_SUFFIX,
+                                  new JsonArray(new ArrayList<>(scopes)))))
+              .add(
+                  new JsonObject()
+                      .put(
+                          TERMS_KEY,
+                          new JsonObject()
+                              .put(NAME + KEYWORD_SUFFIX, new JsonArray(new ArrayList<>(names)))));
+      should.add(new JsonObject().put(BOOL_KEY, new JsonObject().put(FILTER, filter)));
+      size += scopes.size() * names.size();
+    }
+    return new JsonObject()
+        .put(SIZE_KEY, Math.min(size, MAX_RESULT_WINDOW))
+        .put(SOURCE, new JsonArray(new ArrayList<>(PARENT_ITEM_FIELDS)).add(NAME))
+        .put(QUERY_KEY, new JsonObject().put(BOOL_KEY, new JsonObject().put(SHOULD_KEY, should)));
+  }
+
+  private static String parentKey(String itemType) {
+    return itemType.equals(ITEM_TYPE_RESOURCE) ? RESOURCE_GRP : PROVIDER;
+  }
+
+  private static boolean hasType(Map<String, JsonArray> parentTypes, String id, String type) {
+    return parentTypes.containsKey(id) && parentTypes.get(id).contains(type);
+  }
+
+  private JsonArray cachedParentTypes(String id) {
+    JsonObject cached = parentCache == null ? null : parentCache.get(id);
+    if (cached == null || !(cached.getValue(TYPE) instanceof JsonArray)) {
+      return null;
+    }
+    return cached.getJsonArray(TYPE);
+  }
+
+  private boolean isCachedParent(String id, String type) {
+    JsonArray cachedTypes = cachedParentTypes(id);
+    return cachedTypes != null && cachedTypes.contains(type);
+  }
+
+  private void cacheParent(JsonObject doc) {
+    if (parentCache != null) {
+      parentCache.put(doc.getString(ID), doc);
+    }
+  }
+
+  private void cacheParents(JsonObject result, String... parentIds) {
+    if (parentCache == null) {
+      return;
+    }
+    List<String> ids = Arrays.asList(parentIds);
+    result
+        .getJsonArray(RESULTS, new JsonArray())
+        .forEach(
+            hit -> {
+              JsonObject doc = (JsonObject) hit;
+              if (ids.contains(doc.getString(ID))) {
+                parentCache.put(doc.getString(ID), doc);
+              }
+            });
+  }
+
+  /** Succeeds the request unless the name clash query matches an existing item. */
+  private void checkNameClash(
+      String checkQuery,
+      String errorMessage,
+      JsonObject request,
+      Handler<AsyncResult<JsonObject>> handler) {
+    LOGGER.debug(checkQuery);
+    client.searchAsync(
+        checkQuery,
+        docIndex,
+        res -> {
+          if (res.failed()) {
+            LOGGER.debug("Fail: DB Error");
+            handler.handle(Future.failedFuture(VALIDATION_FAILURE_MSG));
+          } else if (res.result().getInteger(TOTAL_HITS, 0) > 0) {
+            handler.handle(Future.failedFuture(errorMessage));
+          } else {
+            handler.handle(Future.succeededFuture(request));
+          }
+        });
+  }
+
+  private static JsonObject itemFailure(JsonObject item, String operation, String detail) {
+    return new JsonObject()
+        .put(ID, item.getString(ID))
+        .put(NAME, item.getString(NAME))
+        .put(METHOD, operation)
+        .put(STATUS, FAILED)
+        .put(DETAIL, detail);
+  }
+
   private void validateResourceGroup(
       JsonObject request, String method, Handler<AsyncResult<JsonObject>> handler) {
     validateId(request, handler, isUacInstance);
@@ -210,12 +610,22 @@ public class ValidatorServiceImpl implements ValidatorService {
 
     request.put(ITEM_STATUS, ACTIVE).put(ITEM_CREATED_AT, getUtcDatetimeAsString());
     String provider = request.getString(PROVIDER);
+    if (isCachedParent(provider, ITEM_TYPE_PROVIDER)) {
+      if (method.equalsIgnoreCase(REQUEST_POST)) {
+        String errorMessage = String.format(
+            "Fail: Resource group item with the name '%s' already exists for the provider '%s'",
+            request.getString(NAME), provider);
+        checkNameClash(
+            RG_NAME_EXISTS.render(request.getString(NAME), provider),
+            errorMessage, request, handler);
+      } else {
+        handler.handle(Future.succeededFuture(request));
+      }
+      return;
+    }
     String checkQuery =
-        RG_ITEM_EXISTS_QUERY
-            .replace("$1", provider)
-            .replace("$2", ITEM_TYPE_RESOURCE_GROUP)
-            .replace("$3", NAME)
-            .replace("$4", request.getString(NAME));
+        RG_ITEM_EXISTS.render(
+            provider, ITEM_TYPE_RESOURCE_GROUP, NAME, request.getString(NAME));
     client.searchAsync(
         checkQuery,
         docIndex,
@@ -225,6 +635,7 @@ public class ValidatorServiceImpl implements ValidatorService {
             handler.handle(Future.failedFuture(VALIDATION_FAILURE_MSG));
             return;
           }
+          cacheParents(res.result(), provider);
           String returnType = getReturnTypeForValidation(res.result());
           LOGGER.debug(returnType);
           if (res.result().getInteger(TOTAL_HITS) < 1 || !returnType.contains(ITEM_TYPE_PROVIDER)) {
@@ -256,11 +667,18 @@ public class ValidatorServiceImpl implements ValidatorService {
     String resourceServer = request.getString(RESOURCE_SVR);
     String ownerUserId = request.getString(PROVIDER_USER_ID);
     String resourceServerUrl = request.getString(RESOURCE_SERVER_URL);
+    if (isCachedParent(resourceServer, ITEM_TYPE_RESOURCE_SERVER)) {
+      if (method.equalsIgnoreCase(REQUEST_POST)) {
+        checkNameClash(
+            PROVIDER_EXISTS_FOR_RS.render(ownerUserId, resourceServerUrl),
+            "Fail: Provider item for this resource server already exists", request, handler);
+      } else {
+        handler.handle(Future.succeededFuture(request));
+      }
+      return;
+    }
     String checkQuery =
-        PROVIDER_ITEM_EXISTS_QUERY
-            .replace("$1", resourceServer)
-            .replace("$2", ownerUserId)
-            .replace("$3", resourceServerUrl);
+        PROVIDER_ITEM_EXISTS.render(resourceServer, ownerUserId, resourceServerUrl);
 
     LOGGER.debug("query provider exists " + checkQuery);
     client.searchAsync(
@@ -272,6 +690,7 @@ public class ValidatorServiceImpl implements ValidatorService {
             handler.handle(Future.failedFuture(VALIDATION_FAILURE_MSG));
             return;
           }
+          cacheParents(res.result(), resourceServer);
           String returnType = getReturnTypeForValidation(res.result());
           LOGGER.debug(returnType);
 
@@ -302,11 +721,7 @@ public class ValidatorServiceImpl implements ValidatorService {
     String cos = request.getString(COS_ITEM);
     String resourceServerUrl = request.getString(RESOURCE_SERVER_URL);
     String checkQuery =
-        ITEM_EXISTS_QUERY
-            .replace("$1", cos)
-            .replace("$2", ITEM_TYPE_RESOURCE_SERVER)
-            .replace("$3", RESOURCE_SERVER_URL)
-            .replace("$4", resourceServerUrl);
+        ITEM_EXISTS.render(cos, ITEM_TYPE_RESOURCE_SERVER, RESOURCE_SERVER_URL, resourceServerUrl);
     LOGGER.debug(checkQuery);
     client.searchAsync(
         checkQuery,
@@ -349,13 +764,25 @@ public class ValidatorServiceImpl implements ValidatorService {
     String provider = request.getString(PROVIDER);
     String resourceGroup = request.getString(RESOURCE_GRP);
     String resourceServer = request.getString(RESOURCE_SVR);
+    if (isCachedParent(resourceServer, ITEM_TYPE_RESOURCE_SERVER)
+        && isCachedParent(provider, ITEM_TYPE_PROVIDER)
+        && isCachedParent(resourceGroup, ITEM_TYPE_RESOURCE_GROUP)) {
+      if (method.equalsIgnoreCase(REQUEST_POST)) {
+        String errorMessage = String.format(
+            "Fail: Resource item with the name '%s' already exists in the resource group '%s'",
+            request.getString(NAME), resourceGroup);
+        checkNameClash(
+            RESOURCE_NAME_EXISTS.render(request.getString(NAME), resourceGroup),
+            errorMessage, request, handler);
+      } else {
+        handler.handle(Future.succeededFuture(request));
+      }
+      return;
+    }
 
     String checkQuery =
-        RESOURCE_ITEM_EXISTS_QUERY
-            .replace("$1", resourceServer)
-            .replace("$2", provider)
-            .replace("$3", resourceGroup)
-            .replace("$4", request.getString(NAME));
+        RESOURCE_ITEM_EXISTS.render(
+            resourceServer, provider, resourceGroup, request.getString(NAME));
     LOGGER.debug(checkQuery);
 
     client.searchAsync(
@@ -367,6 +794,7 @@ public class ValidatorServiceImpl implements ValidatorService {
             handler.handle(Future.failedFuture(VALIDATION_FAILURE_MSG));
             return;
           }
+          cacheParents(res.result(), resourceServer, provider, resourceGroup);
           String returnType = getReturnTypeForValidation(res.result());
           LOGGER.debug(returnType);
 
@@ -406,11 +834,7 @@ public class ValidatorServiceImpl implements ValidatorService {
 
     String owner = request.getString(OWNER);
     String checkQuery =
-        ITEM_EXISTS_QUERY
-            .replace("$1", owner)
-            .replace("$2", ITEM_TYPE_COS)
-            .replace("$3", NAME)
-            .replace("$4", request.getString(NAME));
+        ITEM_EXISTS.render(owner, ITEM_TYPE_COS, NAME, request.getString(NAME));
     LOGGER.debug(checkQuery);
     client.searchAsync(
         checkQuery,
@@ -443,7 +867,7 @@ public class ValidatorServiceImpl implements ValidatorService {
       request.put(ID, uuid.toString());
     }
     request.put(ITEM_STATUS, ACTIVE).put(ITEM_CREATED_AT, getUtcDatetimeAsString());
-    String checkQuery = OWNER_ITEM_EXISTS_QUERY.replace("$1", request.getString(NAME));
+    String checkQuery = OWNER_ITEM_EXISTS.render(request.getString(NAME));
     LOGGER.debug(checkQuery);
     client.searchGetId(
         checkQuery,
@@ -481,8 +905,19 @@ public class ValidatorServiceImpl implements ValidatorService {
     }
   }
 
-  private void validateSchema(Handler<AsyncResult<JsonObject>> handler) {
-    isValidSchema
+  /** Validates on the schema worker pool, or inline when no pool was given. */
+  private Future<String> runSchemaValidation(Validator validator, JsonObject request) {
+    if (schemaExecutor == null) {
+      return validator.validate(request);
+    }
+    return schemaExecutor
+        .executeBlocking(() -> validator.validate(request), false)
+        .compose(result -> result);
+  }
+
+  private void validateSchema(
+      Validator validator, JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
+    runSchemaValidation(validator, request)
         .onSuccess(
             x -> handler.handle(Future.succeededFuture(new JsonObject().put(STATUS, SUCCESS))))
         .onFailure(
@@ -498,44 +933,35 @@ public class ValidatorServiceImpl implements ValidatorService {
   public ValidatorService validateRating(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
 
-    isValidSchema = ratingValidator.validate(request.toString());
-
-    validateSchema(handler);
+    validateSchema(ratingValidator, request, handler);
     return this;
   }
 
   @Override
   public ValidatorService validateMlayerInstance(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
-    isValidSchema = mlayerInstanceValidator.validate(request.toString());
-    validateSchema(handler);
+    validateSchema(mlayerInstanceValidator, request, handler);
     return null;
   }
 
   @Override
   public ValidatorService validateMlayerDomain(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
-    isValidSchema = mlayerDomainValidator.validate(request.toString());
-
-    validateSchema(handler);
+    validateSchema(mlayerDomainValidator, request, handler);
     return this;
   }
 
   @Override
   public ValidatorService validateMlayerGeoQuery(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
-    isValidSchema = mlayerGeoQueryValidator.validate(request.toString());
-
-    validateSchema(handler);
+    validateSchema(mlayerGeoQueryValidator, request, handler);
     return this;
   }
 
   @Override
   public ValidatorService validateMlayerDatasetId(
       JsonObject request, Handler<AsyncResult<JsonObject>> handler) {
-    isValidSchema = mlayerDatasetValidator.validate(request.toString());
-
-    validateSchema(handler);
+    validateSchema(mlayerDatasetValidator, request, handler);
     return this;
   }
 }
@@ -3,12 +3,18 @@ package iudx.catalogue.server.validator;
 import static iudx.catalogue.server.apiserver.util.Constants.UAC_DEPLOYMENT;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.validator.Constants.CONTEXT;
+import static iudx.catalogue.server.validator.Constants.DEFAULT_SCHEMA_VALIDATION_POOL_SIZE;
+import static iudx.catalogue.server.validator.Constants.SCHEMA_VALIDATION_POOL;
+import static iudx.catalogue.server.validator.Constants.SCHEMA_VALIDATION_POOL_SIZE;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.database.ElasticClient;
+import iudx.catalogue.server.util.LocalServices;
+import iudx.catalogue.server.util.ParentItemCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,6 +43,7 @@ public class ValidatorVerticle extends AbstractVerticle {
   private MessageConsumer<JsonObject> consumer;
   private boolean isUacInstance;
   private String vocContext;
+  private WorkerExecutor schemaExecutor;
 
   /**
    * This method is used to start the Verticle. It deploys a verticle in a cluster, registers the
@@ -57,18 +64,35 @@ public class ValidatorVerticle extends AbstractVerticle {
 
     client = new ElasticClient(databaseIp, databasePort, docIndex, databaseUser, databasePassword);
 
+    /* Schema validation is CPU bound, keep it off the event loop on a pool shared by all
+     * instances of this verticle. */
+    schemaExecutor =
+        vertx.createSharedWorkerExecutor(
+            SCHEMA_VALIDATION_POOL,
+            config().getInteger(SCHEMA_VALIDATION_POOL_SIZE, DEFAULT_SCHEMA_VALIDATION_POOL_SIZE));
+
     /* Create or Join a Vert.x Cluster. */
 
     /* Publish the Validator service with the Event Bus against an address. */
 
-    validator = new ValidatorServiceImpl(client, docIndex, isUacInstance, vocContext);
+    validator =
+        new ValidatorServiceImpl(
+            client,
+            docIndex,
+            isUacInstance,
+            vocContext,
+            ParentItemCache.getInstance(vertx, config()),
+            schemaExecutor);
     consumer =
         binder.setAddress(VALIDATION_SERVICE_ADDRESS)
       .register(ValidatorService.class, validator);
+    LocalServices.register(vertx, VALIDATION_SERVICE_ADDRESS, validator);
   }
 
   @Override
   public void stop() {
     binder.unregister(consumer);
+    LocalServices.unregister(vertx, VALIDATION_SERVICE_ADDRESS, validator);
+    schemaExecutor.close();
   }
 }
@@ -0,0 +1,123 @@
+package iudx.catalogue.server.apiserver.util;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class PrecompressedHandlerTest {
+
+  private static final String ASSET = "main.0123456789abcdef.js";
+
+  private static Future<WebClient> serve(Vertx vertx, Path webRoot) throws IOException {
+    Files.writeString(webRoot.resolve(ASSET), "plain asset");
+    Files.writeString(webRoot.resolve(ASSET + ".gz"), "gzip asset");
+    Files.writeString(webRoot.resolve("openapi.yaml"), "plain spec");
+    Router router = Router.router(vertx);
+    router.get("/spec").handler(PrecompressedHandler.forFile(webRoot + "/openapi.yaml"));
+    router.getWithRegex(ROUTE_UI_BUNDLES).handler(PrecompressedHandler.forWebRoot(webRoot + "/"));
+    router.get("/*").handler(routingContext -> routingContext.response().end("static handler"));
+    return vertx
+        .createHttpServer()
+        .requestHandler(router)
+        .listen(0)
+        .map(
+            server ->
+                WebClient.create(
+                    vertx, new WebClientOptions().setDefaultPort(server.actualPort())));
+  }
+
+  private static Future<HttpResponse<Buffer>> get(
+      WebClient client, String uri, String acceptEncoding) {
+    HttpRequest<Buffer> request = client.get(uri);
+    if (acceptEncoding != null) {
+      request.putHeader(HEADER_ACCEPT_ENCODING, acceptEncoding);
+    }
+    return request.send();
+  }
+
+  @Test
+  @DisplayName("test the precompressed variant is served to clients accepting its encoding")
+  public void testVariant(Vertx vertx, VertxTestContext testContext, @TempDir Path webRoot)
+      throws IOException {
+    serve(vertx, webRoot)
+        .compose(
+            client ->
+                get(client, "/" + ASSET, "br, gzip;q=0.8")
+                    .compose(
+                        variant -> {
+                          testContext.verify(
+                              () -> {
+                                assertEquals(200, variant.statusCode());
+                                assertEquals("gzip", variant.getHeader(HEADER_CONTENT_ENCODING));
+                                assertEquals(
+                                    IMMUTABLE_CACHE_CONTROL,
+                                    variant.getHeader(HEADER_CACHE_CONTROL));
+                                assertTrue(
+                                    variant.getHeader(HEADER_CONTENT_TYPE).contains("javascript"));
+                                assertEquals(
+                                    "gzip asset",
+                                    variant.body().toString(StandardCharsets.UTF_8));
+                              });
+                          return get(client, "/" + ASSET, "gzip;q=0");
+                        }))
+        .onComplete(
+            testContext.succeeding(
+                refused ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals("static handler", refused.bodyAsString());
+                          assertEquals(
+                              IMMUTABLE_CACHE_CONTROL, refused.getHeader(HEADER_CACHE_CONTROL));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test a file without a variant or content hash is served as it is")
+  public void testFileWithoutVariant(
+      Vertx vertx, VertxTestContext testContext, @TempDir Path webRoot) throws IOException {
+    serve(vertx, webRoot)
+        .compose(client -> get(client, "/spec", "gzip"))
+        .onComplete(
+            testContext.succeeding(
+                spec ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(200, spec.statusCode());
+                          assertNull(spec.getHeader(HEADER_CONTENT_ENCODING));
+                          assertNull(spec.getHeader(HEADER_CACHE_CONTROL));
+                          assertEquals("plain spec", spec.bodyAsString());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test Accept-Encoding is matched with its q values and wildcard")
+  public void testAccepts(VertxTestContext testContext) {
+    assertTrue(PrecompressedHandler.accepts("gzip, deflate", "gzip"));
+    assertTrue(PrecompressedHandler.accepts("*", "br"));
+    assertFalse(PrecompressedHandler.accepts("gzip;q=0, *", "gzip"));
+    assertFalse(PrecompressedHandler.accepts("deflate", "br"));
+    assertFalse(PrecompressedHandler.accepts(null, "gzip"));
+    testContext.completeNow();
+  }
+}
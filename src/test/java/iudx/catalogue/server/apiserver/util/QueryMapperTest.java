@@ -289,5 +289,17 @@ public class QueryMapperTest {
         assertEquals(errResponse,queryMapper.validateQueryParam(requestBody));
         vertxTestContext.completeNow();
     }
+    @Test
+    @DisplayName("Test validateQueryParam method when offset is given with a cursor")
+    public void testValidateQueryParamCursorWithOffset(VertxTestContext vertxTestContext) {
+        JsonObject requestBody=new JsonObject();
+        requestBody.put(CURSOR,CURSOR_START).put(LIMIT,10).put(OFFSET,10);
+        JsonObject errResponse = new JsonObject().put(STATUS, FAILED).put(TYPE, TYPE_INVALID_PROPERTY_VALUE);
+        errResponse.put(DESC, "The offset cannot be used with a cursor");
+        assertEquals(errResponse,QueryMapper.validateQueryParam(requestBody));
+        requestBody.remove(OFFSET);
+        assertEquals(SUCCESS,QueryMapper.validateQueryParam(requestBody).getString(STATUS));
+        vertxTestContext.completeNow();
+    }
 
 }
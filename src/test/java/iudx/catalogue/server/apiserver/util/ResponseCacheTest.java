@@ -0,0 +1,159 @@
+package iudx.catalogue.server.apiserver.util;
+
+import static iudx.catalogue.server.apiserver.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class ResponseCacheTest {
+
+  private static Future<WebClient> serve(Vertx vertx, ResponseCache cache, AtomicInteger reads) {
+    Router router = Router.router(vertx);
+    router
+        .get("/item")
+        .handler(cache)
+        .handler(
+            routingContext -> {
+              reads.incrementAndGet();
+              routingContext.response().putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
+              ResponseCache.end(
+                  routingContext,
+                  new JsonObject()
+                      .put(ID, routingContext.queryParams().get(ID))
+                      .put("read", reads.get())
+                      .encode());
+            });
+    return vertx
+        .createHttpServer()
+        .requestHandler(router)
+        .listen(0)
+        .map(
+            server ->
+                WebClient.create(
+                    vertx, new WebClientOptions().setDefaultPort(server.actualPort())));
+  }
+
+  private static Future<HttpResponse<Buffer>> get(WebClient client, String uri, String etag) {
+    HttpRequest<Buffer> request = client.get(uri);
+    if (etag != null) {
+      request.putHeader(HEADER_IF_NONE_MATCH, etag);
+    }
+    return request.send();
+  }
+
+  @Test
+  @DisplayName("test cached responses are served with an ETag and revalidated with a 304")
+  public void testConditionalGet(Vertx vertx, VertxTestContext testContext) {
+    ResponseCache cache = new ResponseCache(vertx, 1024 * 1024, 60);
+    AtomicInteger reads = new AtomicInteger();
+    serve(vertx, cache, reads)
+        .compose(
+            client ->
+                get(client, "/item?id=a&x=1", null)
+                    .compose(
+                        first ->
+                            get(client, "/item?x=1&id=a", null)
+                                .compose(
+                                    second -> {
+                                      testContext.verify(
+                                          () -> {
+                                            assertEquals(200, first.statusCode());
+                                            assertEquals(
+                                                first.bodyAsString(), second.bodyAsString());
+                                            assertEquals(
+                                                first.getHeader(HEADER_ETAG),
+                                                second.getHeader(HEADER_ETAG));
+                                            assertEquals(
+                                                MIME_APPLICATION_JSON,
+                                                second.getHeader(HEADER_CONTENT_TYPE));
+                                            assertEquals(1, reads.get());
+                                          });
+                                      return get(
+                                          client, "/item?id=a&x=1", first.getHeader(HEADER_ETAG));
+                                    })))
+        .onComplete(
+            testContext.succeeding(
+                revalidated ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(304, revalidated.statusCode());
+                          assertNull(revalidated.body());
+                          assertEquals(1, reads.get());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test catalogue changes clear the cached responses")
+  public void testInvalidate(Vertx vertx, VertxTestContext testContext) {
+    ResponseCache cache = new ResponseCache(vertx, 1024 * 1024, 60);
+    AtomicInteger reads = new AtomicInteger();
+    serve(vertx, cache, reads)
+        .compose(
+            client ->
+                get(client, "/item?id=a", null)
+                    .compose(
+                        first -> {
+                          cache.invalidate();
+                          return get(client, "/item?id=a", first.getHeader(HEADER_ETAG))
+                              .map(
+                                  second -> {
+                                    testContext.verify(
+                                        () -> {
+                                          assertEquals(200, second.statusCode());
+                                          assertNotEquals(
+                                              first.getHeader(HEADER_ETAG),
+                                              second.getHeader(HEADER_ETAG));
+                                        });
+                                    return second;
+                                  });
+                        }))
+        .onComplete(
+            testContext.succeeding(
+                second ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(2, reads.get());
+                          assertEquals(1, cache.size());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test cache is bounded by the size of the cached responses")
+  public void testMaxBytes(Vertx vertx, VertxTestContext testContext) {
+    ResponseCache cache = new ResponseCache(vertx, 100, 60);
+    AtomicInteger reads = new AtomicInteger();
+    serve(vertx, cache, reads)
+        .compose(
+            client ->
+                get(client, "/item?id=a", null)
+                    .compose(first -> get(client, "/item?id=b", null))
+                    .compose(second -> get(client, "/item?id=c", null)))
+        .onComplete(
+            testContext.succeeding(
+                third ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(3, reads.get());
+                          assertTrue(cache.size() < 3);
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -0,0 +1,150 @@
+package iudx.catalogue.server.auditing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.databroker.DataBrokerService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+public class AuditBatcherTest {
+
+  @TempDir Path tempDir;
+
+  @SuppressWarnings("unchecked")
+  private static DataBrokerService broker(AtomicBoolean available, List<JsonArray> published) {
+    DataBrokerService rmqService = mock(DataBrokerService.class);
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> handler = invocation.getArgument(3);
+              if (available.get()) {
+                published.add(invocation.getArgument(0));
+                handler.handle(Future.succeededFuture(new JsonObject()));
+              } else {
+                handler.handle(Future.failedFuture("broker unavailable"));
+              }
+              return rmqService;
+            })
+        .when(rmqService)
+        .publishMessages(any(), anyString(), anyString(), any());
+    return rmqService;
+  }
+
+  private static JsonObject message(int id) {
+    return new JsonObject().put("primaryKey", "key-" + id);
+  }
+
+  @Test
+  @DisplayName("test messages are published in batches of the configured size")
+  public void testBatchBySize(Vertx vertx, VertxTestContext testContext) {
+    List<JsonArray> published = new ArrayList<>();
+    AuditBatcher batcher =
+        new AuditBatcher(
+            vertx,
+            broker(new AtomicBoolean(true), published),
+            2,
+            100,
+            tempDir.resolve("spill.ndjson").toString());
+
+    for (int i = 0; i < 5; i++) {
+      batcher.add(message(i));
+    }
+    testContext.verify(
+        () -> {
+          assertEquals(2, published.size());
+          assertEquals(2, published.get(0).size());
+          assertEquals(1, batcher.pending());
+        });
+    batcher
+        .flush()
+        .onComplete(
+            testContext.succeeding(
+                flushed ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(3, published.size());
+                          assertEquals(0, batcher.pending());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test unconfirmed batches are spilled to disk and replayed once the broker is back")
+  public void testSpillAndReplay(Vertx vertx, VertxTestContext testContext) {
+    AtomicBoolean available = new AtomicBoolean(false);
+    List<JsonArray> published = new ArrayList<>();
+    Path spillFile = tempDir.resolve("spill.ndjson");
+    AuditBatcher batcher =
+        new AuditBatcher(vertx, broker(available, published), 2, 100, spillFile.toString());
+
+    for (int i = 0; i < 3; i++) {
+      batcher.add(message(i));
+    }
+    batcher
+        .drain()
+        .compose(
+            flushed -> {
+              testContext.verify(
+                  () -> {
+                    assertTrue(published.isEmpty());
+                    assertEquals(3, Files.readAllLines(spillFile).size());
+                  });
+              available.set(true);
+              return batcher.replay();
+            })
+        .onComplete(
+            testContext.succeeding(
+                replayed ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(2, published.size());
+                          assertEquals(3, published.get(0).size() + published.get(1).size());
+                          assertFalse(Files.exists(spillFile));
+                          assertFalse(Files.exists(Path.of(spillFile + ".replay")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test messages beyond the in-memory bound go to the spill file")
+  public void testSpillWhenFull(Vertx vertx, VertxTestContext testContext) {
+    List<JsonArray> published = new ArrayList<>();
+    Path spillFile = tempDir.resolve("spill.ndjson");
+    AuditBatcher batcher =
+        new AuditBatcher(
+            vertx, broker(new AtomicBoolean(true), published), 10, 2, spillFile.toString());
+
+    for (int i = 0; i < 3; i++) {
+      batcher.add(message(i));
+    }
+    batcher
+        .drain()
+        .onComplete(
+            testContext.succeeding(
+                drained ->
+                    testContext.verify(
+                        () -> {
+                          assertTrue(published.isEmpty());
+                          assertEquals(3, Files.readAllLines(spillFile).size());
+                          testContext.completeNow();
+                        })));
+  }
+}
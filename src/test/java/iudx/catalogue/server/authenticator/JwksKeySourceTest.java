@@ -0,0 +1,149 @@
+package iudx.catalogue.server.authenticator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.authenticator.model.JwtData;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class JwksKeySourceTest {
+
+  private static JWKSelector selector(String keyId) {
+    return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+  }
+
+  private static String token(RSAKey key) throws JOSEException {
+    SignedJWT jwt =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+            new JWTClaimsSet.Builder().subject("provider").build());
+    jwt.sign(new RSASSASigner(key));
+    return jwt.serialize();
+  }
+
+  @Test
+  @DisplayName("test keys are fetched for an unknown kid, at most once per interval")
+  public void testUnknownKey(Vertx vertx, VertxTestContext testContext) throws JOSEException {
+    RSAKey first = new RSAKeyGenerator(2048).keyID("first").generate();
+    RSAKey rotated = new RSAKeyGenerator(2048).keyID("rotated").generate();
+    RSAKey unknown = new RSAKeyGenerator(2048).keyID("unknown").generate();
+    AtomicInteger fetches = new AtomicInteger();
+    AtomicReference<JWKSet> served = new AtomicReference<>(new JWKSet(first.toPublicJWK()));
+    vertx
+        .createHttpServer()
+        .requestHandler(
+            request -> {
+              fetches.incrementAndGet();
+              request.response().end(served.get().toString());
+            })
+        .listen(0)
+        .compose(
+            server -> {
+              String url = "http://localhost:" + server.actualPort() + "/certs";
+              JwksKeySource keySource = new JwksKeySource(vertx, WebClient.create(vertx), url, 60);
+              return keySource
+                  .start(3600)
+                  .compose(
+                      started -> {
+                        assertEquals(1, keySource.get(selector("first"), null).size());
+                        assertTrue(keySource.get(selector("rotated"), null).isEmpty());
+                        served.set(new JWKSet(List.of(first.toPublicJWK(), rotated.toPublicJWK())));
+                        return keySource.refresh();
+                      })
+                  .compose(
+                      refreshed -> {
+                        assertEquals(1, keySource.get(selector("rotated"), null).size());
+                        try {
+                          return keySource.ensureKey(token(unknown));
+                        } catch (JOSEException e) {
+                          throw new IllegalStateException(e);
+                        }
+                      })
+                  .map(
+                      ensured -> {
+                        assertTrue(keySource.get(selector("unknown"), null).isEmpty());
+                        return fetches.get();
+                      });
+            })
+        .onComplete(
+            testContext.succeeding(
+                count ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(2, count);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test a cached token is rejected once its key is rotated out")
+  public void testRotationInvalidatesCache(Vertx vertx, VertxTestContext testContext)
+      throws JOSEException {
+    RSAKey first = new RSAKeyGenerator(2048).keyID("first").generate();
+    RSAKey rotated = new RSAKeyGenerator(2048).keyID("rotated").generate();
+    AtomicReference<JWKSet> served = new AtomicReference<>(new JWKSet(first.toPublicJWK()));
+    TokenCache tokenCache = new TokenCache(10, 3600, 30);
+    JwtData jwtData =
+        new JwtData(new JsonObject().put("exp", System.currentTimeMillis() / 1000 + 3600));
+    String token = token(first);
+    vertx
+        .createHttpServer()
+        .requestHandler(request -> request.response().end(served.get().toString()))
+        .listen(0)
+        .compose(
+            server -> {
+              String url = "http://localhost:" + server.actualPort() + "/certs";
+              JwksKeySource keySource =
+                  new JwksKeySource(
+                      vertx, WebClient.create(vertx), url, 60, tokenCache::invalidateAll);
+              /* Stands in for the signature check, which needs the key of the token */
+              Supplier<Future<JwtData>> verify =
+                  () ->
+                      keySource.get(selector("first"), null).isEmpty()
+                          ? Future.failedFuture("no key to verify the token")
+                          : Future.succeededFuture(jwtData);
+              return keySource
+                  .start(3600)
+                  .compose(started -> tokenCache.get(token, verify))
+                  .compose(
+                      verified -> {
+                        assertEquals(1, tokenCache.size());
+                        served.set(new JWKSet(rotated.toPublicJWK()));
+                        return keySource.refresh();
+                      })
+                  .compose(refreshed -> tokenCache.get(token, verify));
+            })
+        .onComplete(
+            testContext.failing(
+                err ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals("no key to verify the token", err.getMessage());
+                          assertEquals(0, tokenCache.size());
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -0,0 +1,57 @@
+package iudx.catalogue.server.authenticator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.authenticator.model.JwtData;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class TokenCacheTest {
+
+  private static JwtData expiringIn(long seconds) {
+    long exp = System.currentTimeMillis() / 1000 + seconds;
+    return new JwtData(new JsonObject().put("sub", "provider").put("exp", exp));
+  }
+
+  @Test
+  @DisplayName("test a verified token is served from the cache until its expiry")
+  public void testCached(VertxTestContext testContext) {
+    TokenCache cache = new TokenCache(10, 60, 30);
+    AtomicInteger verifications = new AtomicInteger();
+    JwtData jwtData = expiringIn(3600);
+    for (int i = 0; i < 3; i++) {
+      JwtData decoded =
+          cache
+              .get(
+                  "token",
+                  () -> {
+                    verifications.incrementAndGet();
+                    return Future.succeededFuture(jwtData);
+                  })
+              .result();
+      assertSame(jwtData, decoded);
+    }
+    assertEquals(1, verifications.get());
+    assertEquals(1, cache.size());
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test tokens expiring within the leeway, or failing verification, are not cached")
+  public void testNotCached(VertxTestContext testContext) {
+    TokenCache cache = new TokenCache(10, 60, 30);
+    cache.get("expiring", () -> Future.succeededFuture(expiringIn(10)));
+    cache.get("expired", () -> Future.succeededFuture(expiringIn(-3600)));
+    cache.get("no expiry", () -> Future.succeededFuture(new JwtData(new JsonObject())));
+    assertTrue(cache.get("invalid", () -> Future.failedFuture("bad signature")).failed());
+    assertEquals(0, cache.size());
+    testContext.completeNow();
+  }
+}
@@ -0,0 +1,125 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.databroker.DataBrokerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+@ExtendWith(VertxExtension.class)
+public class ChangeFeedTest {
+
+  private static JsonObject hitsOf(JsonObject... sources) {
+    JsonArray hits = new JsonArray();
+    for (JsonObject source : sources) {
+      hits.add(new JsonObject().put(SOURCE, source));
+    }
+    return new JsonObject().put(HITS, new JsonObject().put(HITS, hits));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<String> captureWrites(ElasticClient client) {
+    ArgumentCaptor<String> docs = ArgumentCaptor.forClass(String.class);
+    doAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(3))
+                  .handle(Future.succeededFuture(new JsonObject()));
+              return client;
+            })
+        .when(client)
+        .docCreateAsync(any(), eq("changes"), docs.capture(), any());
+    return docs;
+  }
+
+  @Test
+  @DisplayName("test changes are numbered after the last recorded change and published")
+  public void testRecord(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    DataBrokerService broker = mock(DataBrokerService.class);
+    when(client.ensureIndexAsync(eq("changes"), any())).thenReturn(Future.succeededFuture());
+    when(client.searchJsonAsync(eq("changes"), any()))
+        .thenReturn(Future.succeededFuture(hitsOf(new JsonObject().put(SEQUENCE, 41))));
+    ArgumentCaptor<String> docs = captureWrites(client);
+    ChangeFeed changeFeed = new ChangeFeed(vertx, client, "changes", broker, "catalogue-changes");
+
+    changeFeed
+        .start()
+        .compose(
+            started ->
+                changeFeed.record(
+                    new JsonObject()
+                        .put(ID, "item-a")
+                        .put(CHANGE_KIND, ITEM_CHANGE)
+                        .put(METHOD, REQUEST_PUT)))
+        .compose(
+            first ->
+                changeFeed.record(
+                    new JsonObject()
+                        .put(ID, "item-b")
+                        .put(CHANGE_KIND, ITEM_CHANGE)
+                        .put(METHOD, REQUEST_DELETE)))
+        .onComplete(
+            testContext.succeeding(
+                second ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(43L, second.getLong(SEQUENCE));
+                          assertEquals("item-b", second.getString(ID));
+                          assertEquals(
+                              42L, new JsonObject(docs.getAllValues().get(0)).getLong(SEQUENCE));
+                          verify(client).docCreateAsync(eq("43"), eq("changes"), any(), any());
+                          verify(broker)
+                              .publishMessage(
+                                  eq(second), eq("catalogue-changes"), eq(ITEM_CHANGE), any());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test changes are read after a resume token")
+  public void testChanges(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    JsonObject change = new JsonObject().put(SEQUENCE, 8).put(ID, "item-a");
+    when(client.searchJsonAsync(eq("changes"), any()))
+        .thenReturn(Future.succeededFuture(hitsOf(change)))
+        .thenReturn(Future.succeededFuture(hitsOf()));
+    ChangeFeed changeFeed = new ChangeFeed(vertx, client, "changes", null, null);
+
+    changeFeed
+        .changes(7, 10)
+        .onComplete(
+            testContext.succeeding(
+                changes ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(new JsonArray().add(change), changes.getJsonArray(RESULTS));
+                          assertEquals("8", changes.getString(RESUME_TOKEN));
+                          changeFeed
+                              .changes(8, 10)
+                              .onComplete(
+                                  testContext.succeeding(
+                                      none ->
+                                          testContext.verify(
+                                              () -> {
+                                                assertEquals(0, none.getInteger(TOTAL_HITS));
+                                                assertEquals("8", none.getString(RESUME_TOKEN));
+                                                testContext.completeNow();
+                                              })));
+                        })));
+  }
+}
@@ -3,10 +3,15 @@ package iudx.catalogue.server.database;
 import static iudx.catalogue.server.database.Constants.*;
 import static iudx.catalogue.server.mlayer.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
+import static iudx.catalogue.server.util.Constants.NAME;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.*;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -19,6 +24,7 @@ import iudx.catalogue.server.mlayer.vocabulary.DataModel;
 import iudx.catalogue.server.nlpsearch.NLPSearchService;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import jdk.jfr.Description;
 import org.apache.logging.log4j.LogManager;
@@ -27,6 +33,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -237,6 +244,60 @@ public class DatabaseServiceImplTest {
         });
   }
 
+  @Test
+  @Description("test nlpSearchQuery runs a kNN search when the kNN mode is configured")
+  public void testNlpSearchQueryKnn(VertxTestContext vertxTestContext) {
+    JsonArray request = new JsonArray().add(new JsonArray());
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              resultHandler.handle(Future.succeededFuture(new JsonObject()));
+              return null;
+            })
+        .when(client)
+        .knnSearch(any(), anyInt(), any());
+    ((DatabaseServiceImpl) dbService).setNlpSearchOptions(NLP_SEARCH_MODE_KNN, 50);
+
+    dbService.nlpSearchQuery(
+        request,
+        handler -> {
+          if (handler.succeeded()) {
+            verify(client, times(1)).knnSearch(any(), eq(50), any());
+            vertxTestContext.completeNow();
+          } else {
+            vertxTestContext.failNow("Fail");
+          }
+        });
+    ((DatabaseServiceImpl) dbService)
+        .setNlpSearchOptions(NLP_SEARCH_MODE_SCRIPT, DEFAULT_KNN_NUM_CANDIDATES);
+  }
+
+  @Test
+  @Description("test nlpSearchLocationQuery runs a filtered kNN search in the kNN mode")
+  public void testNlpSearchLocationQueryKnn(VertxTestContext vertxTestContext) {
+    JsonArray jsonArray = new JsonArray().add(new JsonObject().put("country", "India"));
+    JsonObject jo = new JsonObject().put(RESULTS, jsonArray);
+    JsonArray request = new JsonArray().add(jsonArray);
+    doAnswer(Answer -> Future.succeededFuture(jo))
+        .when(client)
+        .knnLocationSearch(any(), any(), anyInt());
+    ((DatabaseServiceImpl) dbService).setNlpSearchOptions(NLP_SEARCH_MODE_KNN, 50);
+
+    dbService.nlpSearchLocationQuery(
+        request,
+        jo,
+        handler -> {
+          if (handler.succeeded()) {
+            verify(client, times(1)).knnLocationSearch(any(), any(), eq(50));
+            vertxTestContext.completeNow();
+          } else {
+            vertxTestContext.failNow("Fail");
+          }
+        });
+    ((DatabaseServiceImpl) dbService)
+        .setNlpSearchOptions(NLP_SEARCH_MODE_SCRIPT, DEFAULT_KNN_NUM_CANDIDATES);
+  }
+
   @Test
   @DisplayName("Test nlpsearch location query empty response")
   public void testNlpSearchEmptyResponse(VertxTestContext testContext) {
@@ -521,7 +582,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(1)).docPostAsync(any(), any(), any());
+            verify(client, times(2)).docPostAsync(any(), any(), any());
             //            verify(client, times(9)).searchAsync(any(), any(), any());
             vertxTestContext.completeNow();
           } else {
@@ -585,7 +646,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(8)).searchGetId(any(), any(), any());
+            verify(client, times(9)).searchGetId(any(), any(), any());
             vertxTestContext.completeNow();
           } else {
             vertxTestContext.failNow("Fail");
@@ -710,7 +771,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(9)).searchGetId(any(), any(), any());
+            verify(client, times(10)).searchGetId(any(), any(), any());
             vertxTestContext.completeNow();
           } else {
             vertxTestContext.failNow("Fail");
@@ -788,7 +849,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(6)).searchGetId(any(), any(), any());
+            verify(client, times(7)).searchGetId(any(), any(), any());
             verify(client, times(2)).docPutAsync(any(), any(), any(), any());
             vertxTestContext.completeNow();
           } else {
@@ -1351,7 +1412,7 @@ public class DatabaseServiceImplTest {
         handler -> {
           if (handler.succeeded()) {
             verify(client, times(33)).searchAsync(any(), any(), any());
-            verify(client, times(4)).docPostAsync(any(), any(), any());
+            verify(client, times(5)).docPostAsync(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("Fail");
@@ -1539,7 +1600,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.succeeded()) {
-            verify(client, times(11)).searchGetId(any(), any(), any());
+            verify(client, times(12)).searchGetId(any(), any(), any());
             verify(client, times(5)).docDelAsync(any(), any(), any());
             testContext.completeNow();
           } else {
@@ -1595,7 +1656,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(10)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(12)).searchAsyncGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -1647,7 +1708,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(6)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(8)).searchAsyncGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -1689,7 +1750,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.succeeded()) {
-            verify(client, times(3)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(4)).searchAsyncGetId(any(), any(), any());
             verify(client, times(1)).docPutAsync(any(), any(), any(), any());
             testContext.completeNow();
           } else {
@@ -1733,7 +1794,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(9)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(11)).searchAsyncGetId(any(), any(), any());
             verify(client, times(5)).docPutAsync(any(), any(), any(), any());
             testContext.completeNow();
           } else {
@@ -1766,7 +1827,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(2)).docPostAsync(any(), any(), any());
+            verify(client, times(3)).docPostAsync(any(), any(), any());
             verify(client, times(11)).searchAsync(any(), any(), any());
 
             testContext.completeNow();
@@ -1802,7 +1863,7 @@ public class DatabaseServiceImplTest {
         handler -> {
           if (handler.succeeded()) {
             verify(client, times(20)).searchAsync(any(), any(), any());
-            verify(client, times(3)).docPostAsync(any(), any(), any());
+            verify(client, times(4)).docPostAsync(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("Fail");
@@ -1908,7 +1969,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(13)).searchGetId(any(), any(), any());
+            verify(client, times(14)).searchGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -1930,7 +1991,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(7)).searchGetId(any(), any(), any());
+            verify(client, times(8)).searchGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -1964,7 +2025,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.succeeded()) {
-            verify(client, times(10)).searchGetId(any(), any(), any());
+            verify(client, times(11)).searchGetId(any(), any(), any());
             verify(client, times(4)).docDelAsync(any(), any(), any());
             testContext.completeNow();
           } else {
@@ -2001,7 +2062,7 @@ public class DatabaseServiceImplTest {
         request,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(5)).searchGetId(any(), any(), any());
+            verify(client, times(6)).searchGetId(any(), any(), any());
             verify(client, times(3)).docDelAsync(any(), any(), any());
             testContext.completeNow();
           } else {
@@ -2022,7 +2083,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(7)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(9)).searchAsyncGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -2043,7 +2104,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(2)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(3)).searchAsyncGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -2085,7 +2146,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.succeeded()) {
-            verify(client, times(5)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(6)).searchAsyncGetId(any(), any(), any());
             verify(client, times(3)).docPutAsync(any(), any(), any(), any());
 
             testContext.completeNow();
@@ -2118,7 +2179,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(4)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(5)).searchAsyncGetId(any(), any(), any());
             testContext.completeNow();
           } else {
             testContext.failNow("fail");
@@ -2159,7 +2220,7 @@ public class DatabaseServiceImplTest {
         json,
         handler -> {
           if (handler.failed()) {
-            verify(client, times(8)).searchAsyncGetId(any(), any(), any());
+            verify(client, times(10)).searchAsyncGetId(any(), any(), any());
             verify(client, times(4)).docPutAsync(any(), any(), any(), any());
             testContext.completeNow();
           } else {
@@ -2896,6 +2957,160 @@ public class DatabaseServiceImplTest {
         });
   }
 
+  @Test
+  @Description("testing method delete item records the write latency without a fixed delay")
+  public void testDeleteItemRecordsWriteLatency(VertxTestContext vertxTestContext) {
+    JsonArray jsonArray = new JsonArray().add("docId");
+    JsonObject request =
+        new JsonObject().put("id", "item id").put(TOTAL_HITS, 0).put(RESULTS, jsonArray);
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(request);
+
+    dbService.deleteItem(
+        request,
+        handler -> {
+          Timer timer =
+              Metrics.globalRegistry
+                  .find(WRITE_LATENCY_METRIC)
+                  .tag(OPERATION_TAG, DELETE)
+                  .tag(OUTCOME_TAG, "failure")
+                  .timer();
+          if (handler.failed() && timer != null) {
+            vertxTestContext.completeNow();
+          } else {
+            vertxTestContext.failNow("write latency not recorded");
+          }
+        });
+  }
+
+  @Test
+  @Description("test createItems writes the new items of a batch with one bulk request")
+  public void testCreateItemsBulk(VertxTestContext vertxTestContext) {
+    JsonArray items =
+        new JsonArray()
+            .add(new JsonObject().put(ID, "a").put(NAME, "a"))
+            .add(new JsonObject().put(ID, "b").put(NAME, "b"))
+            .add(new JsonObject().put(ID, "c").put(NAME, "c"))
+            .add(new JsonObject().put(NAME, "d"));
+    JsonObject existing =
+        new JsonObject()
+            .put(SOURCE, new JsonObject().put(ID, "a").put(TYPE, new JsonArray()))
+            .put(DOC_ID, "docA");
+    JsonObject checkResult =
+        new JsonObject().put(TOTAL_HITS, 1).put(RESULTS, new JsonArray().add(existing));
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(checkResult);
+    JsonObject bulkResult =
+        new JsonObject()
+            .put(
+                ITEMS,
+                new JsonArray()
+                    .add(new JsonObject().put(BULK_INDEX_ACTION, new JsonObject().put("_id", "x")))
+                    .add(
+                        new JsonObject()
+                            .put(
+                                BULK_INDEX_ACTION,
+                                new JsonObject()
+                                    .put(
+                                        BULK_ERROR,
+                                        new JsonObject().put(BULK_REASON, "mapping failed")))));
+    doAnswer(
+            invocation -> {
+              JsonArray operations = invocation.getArgument(1);
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              if (operations.size() == 4
+                  && operations.getJsonObject(1).getString(ID).equals("b")
+                  && operations.getJsonObject(1).containsKey(SUMMARY_KEY)) {
+                resultHandler.handle(Future.succeededFuture(bulkResult));
+              } else {
+                resultHandler.handle(Future.failedFuture("unexpected bulk request"));
+              }
+              return null;
+            })
+        .when(client)
+        .docBulkAsync(any(), any(), any());
+
+    dbService.createItems(
+        items,
+        handler -> {
+          if (handler.failed()) {
+            vertxTestContext.failNow(handler.cause());
+            return;
+          }
+          JsonArray results = handler.result().getJsonArray(RESULTS);
+          List<String> statuses =
+              results.stream()
+                  .map(JsonObject.class::cast)
+                  .map(result -> result.getString(NAME) + ":" + result.getString(STATUS))
+                  .collect(Collectors.toList());
+          if (statuses.equals(List.of("d:failed", "a:failed", "b:Success", "c:failed"))
+              && results.getJsonObject(3).getString(DETAIL).equals("mapping failed")) {
+            vertxTestContext.completeNow();
+          } else {
+            vertxTestContext.failNow("unexpected results " + results);
+          }
+        });
+  }
+
+  @Test
+  @Description("test updateItems overwrites only the existing items of a batch")
+  public void testUpdateItemsBulk(VertxTestContext vertxTestContext) {
+    JsonArray type = new JsonArray().add("iudx:Resource");
+    JsonArray items =
+        new JsonArray()
+            .add(new JsonObject().put(ID, "a").put(NAME, "a").put(TYPE, type))
+            .add(new JsonObject().put(ID, "b").put(NAME, "b").put(TYPE, type));
+    JsonObject existing =
+        new JsonObject()
+            .put(SOURCE, new JsonObject().put(ID, "a").put(TYPE, type))
+            .put(DOC_ID, "docA");
+    JsonObject checkResult =
+        new JsonObject().put(TOTAL_HITS, 1).put(RESULTS, new JsonArray().add(existing));
+    when(asyncResult.succeeded()).thenReturn(true);
+    when(asyncResult.result()).thenReturn(checkResult);
+    JsonObject bulkResult =
+        new JsonObject()
+            .put(
+                ITEMS,
+                new JsonArray()
+                    .add(
+                        new JsonObject()
+                            .put(BULK_INDEX_ACTION, new JsonObject().put("_id", "docA"))));
+    doAnswer(
+            invocation -> {
+              JsonArray operations = invocation.getArgument(1);
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              String docId =
+                  operations.getJsonObject(0).getJsonObject(BULK_INDEX_ACTION).getString(DOC_ID);
+              if (operations.size() == 2 && "docA".equals(docId)) {
+                resultHandler.handle(Future.succeededFuture(bulkResult));
+              } else {
+                resultHandler.handle(Future.failedFuture("unexpected bulk request"));
+              }
+              return null;
+            })
+        .when(client)
+        .docBulkAsync(any(), any(), any());
+
+    dbService.updateItems(
+        items,
+        handler -> {
+          if (handler.failed()) {
+            vertxTestContext.failNow(handler.cause());
+            return;
+          }
+          JsonArray results = handler.result().getJsonArray(RESULTS);
+          if (results.size() == 2
+              && results.getJsonObject(0).getString(ID).equals("b")
+              && results.getJsonObject(0).getString(STATUS).equals(FAILED)
+              && results.getJsonObject(1).getString(STATUS).equals(SUCCESS)) {
+            vertxTestContext.completeNow();
+          } else {
+            vertxTestContext.failNow("unexpected results " + results);
+          }
+        });
+  }
+
   @Test
   @Description("testing method search Query when request is successful")
   public void testSearchQueryTextSearch(VertxTestContext vertxTestContext) {
@@ -3035,4 +3250,316 @@ public class DatabaseServiceImplTest {
           }
         });
   }
+
+  @Test
+  @Description("test createItem writes under the item id without a search when keyed by id")
+  public void testCreateItemIdKeyed(VertxTestContext testContext) {
+    ElasticClient keyedClient = mock(ElasticClient.class);
+    DatabaseServiceImpl keyedService =
+        new DatabaseServiceImpl(
+            webClient, keyedClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    keyedService.setIdKeyedDocuments(true);
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(3);
+              resultHandler.handle(Future.succeededFuture(new JsonObject()));
+              return null;
+            })
+        .doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(3);
+              resultHandler.handle(Future.failedFuture(DOC_EXISTS));
+              return null;
+            })
+        .when(keyedClient)
+        .docCreateAsync(eq("item-a"), eq(docIndex), any(), any());
+
+    Promise<JsonObject> created = Promise.promise();
+    Promise<JsonObject> duplicate = Promise.promise();
+    keyedService.createItem(new JsonObject().put(ID, "item-a").put(NAME, "a"), created);
+    keyedService.createItem(new JsonObject().put(ID, "item-a").put(NAME, "a"), duplicate);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(TYPE_SUCCESS, created.future().result().getString(TYPE));
+          assertEquals(
+              TYPE_ALREADY_EXISTS,
+              new JsonObject(duplicate.future().cause().getMessage()).getString(TYPE));
+          verify(keyedClient, never()).searchAsync(any(), any(), any());
+          verify(keyedClient, never()).docPostAsync(any(), any(), any());
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test createItems creates items under their id and reports taken ids when keyed")
+  public void testCreateItemsIdKeyed(VertxTestContext testContext) {
+    ElasticClient keyedClient = mock(ElasticClient.class);
+    DatabaseServiceImpl keyedService =
+        new DatabaseServiceImpl(
+            webClient, keyedClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    keyedService.setIdKeyedDocuments(true);
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              resultHandler.handle(
+                  Future.succeededFuture(
+                      new JsonObject().put(TOTAL_HITS, 0).put(RESULTS, new JsonArray())));
+              return null;
+            })
+        .when(keyedClient)
+        .searchAsyncGetId(any(), eq(docIndex), any());
+    JsonObject conflict =
+        new JsonObject()
+            .put(BULK_STATUS, 409)
+            .put(BULK_ERROR, new JsonObject().put(BULK_REASON, "version conflict"));
+    JsonObject bulkResult =
+        new JsonObject()
+            .put(
+                ITEMS,
+                new JsonArray()
+                    .add(new JsonObject().put(BULK_CREATE_ACTION, conflict))
+                    .add(
+                        new JsonObject()
+                            .put(BULK_CREATE_ACTION, new JsonObject().put(BULK_STATUS, 201))));
+    doAnswer(
+            invocation -> {
+              JsonArray operations = invocation.getArgument(1);
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              JsonObject action = operations.getJsonObject(0).getJsonObject(BULK_CREATE_ACTION);
+              if (action != null && "item-a".equals(action.getString(DOC_ID))) {
+                resultHandler.handle(Future.succeededFuture(bulkResult));
+              } else {
+                resultHandler.handle(Future.failedFuture("unexpected bulk request"));
+              }
+              return null;
+            })
+        .when(keyedClient)
+        .docBulkAsync(eq(docIndex), any(), any());
+
+    Promise<JsonObject> created = Promise.promise();
+    keyedService.createItems(
+        new JsonArray()
+            .add(new JsonObject().put(ID, "item-a").put(NAME, "a"))
+            .add(new JsonObject().put(ID, "item-b").put(NAME, "b")),
+        created);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          JsonArray results = created.future().result().getJsonArray(RESULTS);
+          assertEquals(FAILED, results.getJsonObject(0).getString(STATUS));
+          assertEquals("Fail: Doc Exists", results.getJsonObject(0).getString(DETAIL));
+          assertEquals(SUCCESS, results.getJsonObject(1).getString(STATUS));
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test updateItem gets the item by id and overwrites it when keyed by id")
+  public void testUpdateItemIdKeyed(VertxTestContext testContext) {
+    ElasticClient keyedClient = mock(ElasticClient.class);
+    DatabaseServiceImpl keyedService =
+        new DatabaseServiceImpl(
+            webClient, keyedClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    keyedService.setIdKeyedDocuments(true);
+    JsonArray type = new JsonArray().add(ITEM_TYPE_RESOURCE);
+    JsonObject stored = new JsonObject().put(ID, "item-a").put(TYPE, type);
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              resultHandler.handle(
+                  Future.succeededFuture(
+                      new JsonObject()
+                          .put(TOTAL_HITS, 1)
+                          .put(RESULTS, new JsonArray().add(stored))));
+              return null;
+            })
+        .when(keyedClient)
+        .docGetAsync(eq("item-a"), eq(docIndex), any());
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(3);
+              resultHandler.handle(Future.succeededFuture(new JsonObject()));
+              return null;
+            })
+        .when(keyedClient)
+        .docPutAsync(eq("item-a"), eq(docIndex), any(), any());
+
+    Promise<JsonObject> updated = Promise.promise();
+    Promise<JsonObject> wrongType = Promise.promise();
+    keyedService.updateItem(new JsonObject().put(ID, "item-a").put(TYPE, type), updated);
+    keyedService.updateItem(
+        new JsonObject().put(ID, "item-a").put(TYPE, new JsonArray().add(ITEM_TYPE_PROVIDER)),
+        wrongType);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(TYPE_SUCCESS, updated.future().result().getString(TYPE));
+          assertEquals(
+              TYPE_ITEM_NOT_FOUND,
+              new JsonObject(wrongType.future().cause().getMessage()).getString(TYPE));
+          verify(keyedClient, times(1)).docPutAsync(any(), any(), any(), any());
+          verify(keyedClient, never()).searchGetId(any(), any(), any());
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test searchQuery pages with a cursor and rejects an invalid cursor")
+  public void testSearchQueryCursor(VertxTestContext testContext) {
+    ElasticClient pageClient = mock(ElasticClient.class);
+    DatabaseServiceImpl pageService =
+        new DatabaseServiceImpl(
+            webClient, pageClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    JsonObject page =
+        new JsonObject()
+            .put(TYPE, TYPE_SUCCESS)
+            .put(TOTAL_HITS, 1)
+            .put(RESULTS, new JsonArray())
+            .put(NEXT_CURSOR, "next");
+    when(pageClient.searchPageAsync(eq(docIndex), any(), any()))
+        .thenReturn(Future.succeededFuture(page));
+
+    JsonObject request =
+        new JsonObject()
+            .put(SEARCH_TYPE, "attributeSearch_")
+            .put(PROPERTY, new JsonArray().add("id"))
+            .put(VALUE, new JsonArray().add(new JsonArray().add("item-a")))
+            .put(LIMIT, 10);
+    Promise<JsonObject> paged = Promise.promise();
+    Promise<JsonObject> rejected = Promise.promise();
+    pageService.searchQuery(request.copy().put(CURSOR, CURSOR_START), paged);
+    pageService.searchQuery(request.copy().put(CURSOR, "not a cursor"), rejected);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(page, paged.future().result());
+          assertEquals(
+              TYPE_INVALID_QUERY_PARAM_VALUE,
+              new JsonObject(rejected.future().cause().getMessage()).getString(TYPE));
+          verify(pageClient).searchPageAsync(eq(docIndex), any(), any());
+          verify(pageClient, never()).searchAsync(any(), any(), any());
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test exportItems pages through the filtered items")
+  public void testExportItems(VertxTestContext testContext) {
+    ElasticClient exportClient = mock(ElasticClient.class);
+    DatabaseServiceImpl exportService =
+        new DatabaseServiceImpl(
+            webClient, exportClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    JsonObject page =
+        new JsonObject()
+            .put(TYPE, TYPE_SUCCESS)
+            .put(TOTAL_HITS, 1)
+            .put(RESULTS, new JsonArray().add(new JsonObject().put(ID, "item-a")));
+    ArgumentCaptor<JsonObject> query = ArgumentCaptor.forClass(JsonObject.class);
+    when(exportClient.searchPageAsync(eq(docIndex), query.capture(), any()))
+        .thenReturn(Future.succeededFuture(page));
+
+    Promise<JsonObject> exported = Promise.promise();
+    exportService.exportItems(
+        new JsonObject().put(CURSOR, CURSOR_START).put(INSTANCE, "pune"), exported);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(page, exported.future().result());
+          assertEquals(EXPORT_PAGE_SIZE, query.getValue().getInteger(SIZE_KEY));
+          assertTrue(query.getValue().encode().contains("\"instance.keyword\":\"pune\""));
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test listOwnerOrCos pages through the documents by the limit with a cursor")
+  public void testListOwnerOrCosCursor(VertxTestContext testContext) {
+    ElasticClient pageClient = mock(ElasticClient.class);
+    DatabaseServiceImpl pageService =
+        new DatabaseServiceImpl(
+            webClient, pageClient, docIndex, ratingIndex, mlayerInstanceIndex, mlayerDomainIndex);
+    JsonObject page = new JsonObject().put(TYPE, TYPE_SUCCESS).put(TOTAL_HITS, 1);
+    ArgumentCaptor<JsonObject> query = ArgumentCaptor.forClass(JsonObject.class);
+    when(pageClient.searchPageAsync(eq(docIndex), query.capture(), any()))
+        .thenReturn(Future.succeededFuture(page));
+
+    Promise<JsonObject> listed = Promise.promise();
+    pageService.listOwnerOrCos(
+        new JsonObject()
+            .put(ITEM_TYPE, "owner")
+            .put(TYPE_KEY, "iudx:Owner")
+            .put(LIMIT, 5)
+            .put(CURSOR, CURSOR_START),
+        listed);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(page, listed.future().result());
+          assertEquals(5, query.getValue().getInteger(SIZE_KEY));
+          assertFalse(query.getValue().containsKey(AGGREGATION_KEY));
+          testContext.completeNow();
+        });
+  }
+
+  @Test
+  @Description("test ratings refresh the rating summary and averages are read from it")
+  public void testRatingSummaries(VertxTestContext testContext) {
+    ElasticClient summaryClient = mock(ElasticClient.class);
+    RatingSummaries ratingSummaries = mock(RatingSummaries.class);
+    DatabaseServiceImpl summaryService =
+        new DatabaseServiceImpl(
+            webClient,
+            summaryClient,
+            docIndex,
+            ratingIndex,
+            mlayerInstanceIndex,
+            mlayerDomainIndex);
+    summaryService.setRatingSummaries(ratingSummaries);
+    JsonObject average = new JsonObject().put(TYPE, TYPE_SUCCESS).put(TOTAL_HITS, 1);
+    when(ratingSummaries.refresh("item-a")).thenReturn(Future.succeededFuture());
+    when(ratingSummaries.average("item-a")).thenReturn(Future.succeededFuture(average));
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              resultHandler.handle(
+                  Future.succeededFuture(
+                      new JsonObject()
+                          .put(TOTAL_HITS, 1)
+                          .put(RESULTS, new JsonArray().add("rating-doc"))));
+              return null;
+            })
+        .when(summaryClient)
+        .searchGetId(any(), eq(ratingIndex), any());
+    doAnswer(
+            invocation -> {
+              Handler<AsyncResult<JsonObject>> resultHandler = invocation.getArgument(2);
+              resultHandler.handle(Future.succeededFuture(new JsonObject()));
+              return null;
+            })
+        .when(summaryClient)
+        .docDelAsync(eq("rating-doc"), eq(ratingIndex), any());
+
+    Promise<JsonObject> deleted = Promise.promise();
+    Promise<JsonObject> averaged = Promise.promise();
+    summaryService.deleteRating(
+        new JsonObject().put(ID, "item-a").put("ratingID", "rating-a"), deleted);
+    summaryService.getRatings(new JsonObject().put(ID, "item-a").put(TYPE, "average"), averaged);
+    DatabaseServiceImpl.client = client;
+
+    testContext.verify(
+        () -> {
+          assertEquals(TYPE_SUCCESS, deleted.future().result().getString(TYPE));
+          assertEquals(average, averaged.future().result());
+          verify(ratingSummaries).refresh("item-a");
+          verify(summaryClient, never()).ratingAggregationAsync(any(), any(), any());
+          testContext.completeNow();
+        });
+  }
 }
@@ -0,0 +1,184 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class DistributedCacheTest {
+
+  @SuppressWarnings("unchecked")
+  private static IMap<String, String> mapOf(Map<String, String> entries) {
+    IMap<String, String> map = mock(IMap.class);
+    doAnswer(get -> CompletableFuture.completedFuture(entries.get(get.getArgument(0))))
+        .when(map)
+        .getAsync(anyString());
+    doAnswer(put -> entries.putIfAbsent(put.getArgument(0), put.getArgument(1)))
+        .when(map)
+        .putIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    doAnswer(
+            replace ->
+                entries.replace(
+                    replace.getArgument(0), replace.getArgument(1), replace.getArgument(2)))
+        .when(map)
+        .replace(anyString(), anyString(), anyString());
+    doAnswer(remove -> entries.remove(remove.getArgument(0), remove.getArgument(1)))
+        .when(map)
+        .remove(anyString(), anyString());
+    doAnswer(remove -> CompletableFuture.completedFuture(entries.remove(remove.getArgument(0))))
+        .when(map)
+        .removeAsync(anyString());
+    doAnswer(
+            set -> {
+              entries.put(set.getArgument(0), set.getArgument(1));
+              return CompletableFuture.completedFuture(null);
+            })
+        .when(map)
+        .setAsync(anyString(), anyString());
+    return map;
+  }
+
+  @Test
+  @DisplayName("test found items are cached, missing items are not")
+  public void testGet(Vertx vertx, VertxTestContext testContext) {
+    HazelcastInstance hazelcast = mock(HazelcastInstance.class);
+    Map<String, String> entries = new ConcurrentHashMap<>();
+    doReturn(mapOf(entries)).when(hazelcast).getMap(ITEM_CACHE);
+    JsonObject found = new JsonObject().put("totalHits", 1).put("results", List.of("item"));
+    DistributedCache cache = new DistributedCache(vertx, hazelcast);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache
+        .get(
+            ITEM_CACHE,
+            "found",
+            () -> {
+              loads.incrementAndGet();
+              return Future.succeededFuture(found.copy());
+            })
+        .compose(first -> cache.get(ITEM_CACHE, "found", () -> Future.failedFuture("loaded")))
+        .compose(
+            second -> {
+              assertEquals(found, second);
+              return cache.get(
+                  ITEM_CACHE,
+                  "missing",
+                  () -> {
+                    loads.incrementAndGet();
+                    return Future.succeededFuture(new JsonObject().put("totalHits", 0));
+                  });
+            })
+        .onComplete(
+            testContext.succeeding(
+                missing ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(2, loads.get());
+                          assertEquals(Map.of("found", found.encode()), entries);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test an item read before it is invalidated is not cached")
+  public void testInvalidateDuringLoad(Vertx vertx, VertxTestContext testContext) {
+    HazelcastInstance hazelcast = mock(HazelcastInstance.class);
+    Map<String, String> entries = new ConcurrentHashMap<>();
+    doReturn(mapOf(entries)).when(hazelcast).getMap(ITEM_CACHE);
+    JsonObject stale = new JsonObject().put("totalHits", 1).put("results", List.of("stale"));
+    JsonObject fresh = new JsonObject().put("totalHits", 1).put("results", List.of("fresh"));
+    DistributedCache cache = new DistributedCache(vertx, hazelcast);
+    Promise<Void> reading = Promise.promise();
+    Promise<JsonObject> read = Promise.promise();
+
+    Future<JsonObject> first =
+        cache.get(
+            ITEM_CACHE,
+            "item",
+            () -> {
+              reading.complete();
+              return read.future();
+            });
+    reading
+        .future()
+        .compose(started -> cache.remove(ITEM_CACHE, List.of("item")))
+        .compose(
+            removed -> {
+              read.complete(stale);
+              return first;
+            })
+        .compose(
+            result -> {
+              assertEquals(stale, result);
+              return cache.get(ITEM_CACHE, "item", () -> Future.succeededFuture(fresh));
+            })
+        .onComplete(
+            testContext.succeeding(
+                second ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(fresh, second);
+                          assertEquals(Map.of("item", fresh.encode()), entries);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test maps are configured per type, with defaults")
+  public void testMapConfigs() {
+    JsonObject cacheConfig =
+        new JsonObject()
+            .put(
+                CACHE_ITEMS,
+                new JsonObject()
+                    .put(CACHE_TTL, 60)
+                    .put(CACHE_MAX_SIZE_MB, 128)
+                    .put(CACHE_NEAR_MAX_ENTRIES, 500));
+
+    List<MapConfig> mapConfigs = DistributedCache.mapConfigs(cacheConfig);
+
+    assertEquals(3, mapConfigs.size());
+    MapConfig items = mapConfigs.get(0);
+    assertEquals(ITEM_CACHE, items.getName());
+    assertEquals(60, items.getTimeToLiveSeconds());
+    assertEquals(MaxSizePolicy.USED_HEAP_SIZE, items.getEvictionConfig().getMaxSizePolicy());
+    assertEquals(128, items.getEvictionConfig().getSize());
+    assertTrue(items.getNearCacheConfig().isInvalidateOnChange());
+    assertEquals(500, items.getNearCacheConfig().getEvictionConfig().getSize());
+    MapConfig domains = mapConfigs.get(2);
+    assertEquals(MLAYER_DOMAIN_CACHE, domains.getName());
+    assertEquals(DEFAULT_MLAYER_CACHE_TTL_SECONDS, domains.getTimeToLiveSeconds());
+    assertEquals(DEFAULT_MLAYER_CACHE_MAX_SIZE_MB, domains.getEvictionConfig().getSize());
+  }
+
+  @Test
+  @DisplayName("test keys of mlayer requests do not depend on the order of the parameters")
+  public void testKey() {
+    assertEquals(
+        DistributedCache.key(new JsonObject().put("limit", "10").put("offset", "0")),
+        DistributedCache.key(new JsonObject().put("offset", "0").put("limit", "10")));
+  }
+}
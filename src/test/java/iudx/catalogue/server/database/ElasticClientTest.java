@@ -137,6 +137,14 @@ public class ElasticClientTest {
     vertxTestContext.completeNow();
   }
 
+  @Test
+  @Description("test knn search method ")
+  public void testKnnSearch(VertxTestContext vertxTestContext) {
+    JsonArray queryVector = newWordVector();
+    assertNotNull(elasticClient.knnSearch(queryVector, 100, handler));
+    vertxTestContext.completeNow();
+  }
+
   JsonArray newWordVector() {
     JsonArray result = new JsonArray();
     for(int i=0;i<100;i++)
@@ -0,0 +1,163 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.geocoding.util.Constants.COUNTRY;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.database.ElasticQuery.Template;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ElasticQueryTest {
+
+  @Test
+  @DisplayName("test templates render the same query as string substitution")
+  public void testTemplateMatchesReplace() {
+    String id = "b58da193-23d9-43eb-b98a-a103d4b6103c";
+    assertEquals(
+        new JsonObject(GET_DOC_QUERY.replace("$1", id).replace("$2", "\"id\",\"type\"")),
+        Template.compile(GET_DOC_QUERY).toJson(id, "\"id\",\"type\""));
+    assertEquals(
+        new JsonObject(QUERY_RESOURCE_GRP.replace("$1", id)),
+        Template.compile(QUERY_RESOURCE_GRP).toJson(id));
+    assertEquals(
+        new JsonObject(
+            GET_DOC_QUERY_WITH_TYPE.replace("$1", id).replace("$3", "iudx:Resource")
+                .replace("$2", "id")),
+        Template.compile(GET_DOC_QUERY_WITH_TYPE).toJson(id, "id", "iudx:Resource"));
+  }
+
+  @Test
+  @DisplayName("test values inside strings are escaped and never substituted again")
+  public void testTemplateEscapesValues() {
+    Template template = Template.compile(GET_RATING_DOCS);
+    String value = "a\"b\\c$2\n";
+    JsonObject query = template.toJson("id.keyword", value);
+    assertEquals(
+        value,
+        query
+            .getJsonObject("query")
+            .getJsonObject("bool")
+            .getJsonArray("must")
+            .getJsonObject(0)
+            .getJsonObject("match")
+            .getString("id.keyword"));
+  }
+
+  @Test
+  @DisplayName("test clause builders produce the template queries")
+  public void testClauseBuilders() {
+    assertEquals(
+        new JsonObject(MATCH_QUERY.replace("$1", "tags").replace("$2", "aqi")),
+        ElasticQuery.match("tags", "aqi"));
+    assertEquals(
+        new JsonObject(TERM_QUERY.replace("$1", "id.keyword").replace("$2", "abc")),
+        ElasticQuery.term("id.keyword", "abc"));
+    assertEquals(
+        new JsonObject(TEXT_QUERY.replace("$1", "pune aqi")), ElasticQuery.queryString("pune aqi"));
+    assertEquals(
+        new JsonObject(INSTANCE_FILTER.replace("$1", "pune")),
+        ElasticQuery.match(INSTANCE, "pune"));
+
+    JsonArray coordinates = new JsonArray("[[73.87,18.51],[73.88,18.52]]");
+    JsonObject shape =
+        new JsonObject().put("type", "envelope").put("coordinates", coordinates);
+    assertEquals(
+        new JsonObject(
+            GEO_SHAPE_QUERY
+                .replace("$1", "envelope")
+                .replace("$2", coordinates.toString())
+                .replace("$3", "within")
+                .replace("$4", "location.geometry")),
+        ElasticQuery.geoShape("location.geometry", shape, "within"));
+  }
+
+  @Test
+  @DisplayName("test attribute search query")
+  public void testAttributeSearchQuery() {
+    JsonObject request =
+        new JsonObject()
+            .put(SEARCH_TYPE, "attributeSearch_")
+            .put(SEARCH, false)
+            .put(PROPERTY, new JsonArray().add("tags").add("provider"))
+            .put(
+                VALUE,
+                new JsonArray()
+                    .add(new JsonArray().add("aqi"))
+                    .add(new JsonArray().add("pune\"provider")))
+            .put(INSTANCE, "pune");
+
+    JsonObject expected =
+        new JsonObject()
+            .put(
+                QUERY_KEY,
+                ElasticQuery.must(
+                    new JsonArray()
+                        .add(ElasticQuery.should(new JsonArray().add(ElasticQuery.match(
+                            "tags", "aqi"))))
+                        .add(ElasticQuery.should(new JsonArray().add(ElasticQuery.match(
+                            "provider.keyword", "pune\"provider"))))
+                        .add(ElasticQuery.match(INSTANCE, "pune"))));
+    assertEquals(expected, new QueryDecoder().searchQuery(request));
+  }
+
+  @Test
+  @DisplayName("test bulk body is encoded as one json document per line")
+  public void testBulkBody() {
+    JsonArray operations =
+        new JsonArray()
+            .add(new JsonObject().put("index", new JsonObject()))
+            .add(new JsonObject().put("description", "line one\nline two"));
+
+    String[] lines = ElasticClient.bulkBody(operations).split("\n", -1);
+
+    assertEquals(3, lines.length);
+    assertEquals("{\"index\":{}}", lines[0]);
+    assertEquals(new JsonObject().put("description", "line one\nline two").encode(), lines[1]);
+    assertEquals("", lines[2]);
+  }
+
+  @Test
+  @DisplayName("test export query filters by the given type, instance and provider")
+  public void testExportQuery() {
+    QueryDecoder queryDecoder = new QueryDecoder();
+    assertEquals(
+        new JsonObject()
+            .put(QUERY_KEY, new JsonObject().put(MATCH_ALL, new JsonObject()))
+            .put(SIZE_KEY, EXPORT_PAGE_SIZE),
+        queryDecoder.exportQuery(new JsonObject().put(CURSOR, CURSOR_START)));
+
+    JsonObject query =
+        queryDecoder.exportQuery(
+            new JsonObject().put(TYPE, ITEM_TYPE_RESOURCE).put(PROVIDER, "provider-a"));
+
+    assertEquals(
+        new JsonArray()
+            .add(ElasticQuery.term("type.keyword", ITEM_TYPE_RESOURCE))
+            .add(ElasticQuery.term("provider.keyword", "provider-a")),
+        query.getJsonObject(QUERY_KEY).getJsonObject("bool").getJsonArray("must"));
+  }
+
+  @Test
+  @DisplayName("test knn query body")
+  public void testKnnQuery() {
+    JsonArray wordVector = new JsonArray().add(0.5).add(1.5).add(2.5);
+    JsonObject params =
+        new JsonObject()
+            .put(COUNTRY, "India")
+            .put(BBOX, new JsonArray().add(77.5).add(13.0).add(77.6).add(13.1));
+
+    JsonObject knn =
+        ElasticClient.knnQuery(wordVector, 5, ElasticClient.geoSummaryFilter(params))
+            .getJsonObject("knn");
+
+    assertEquals("_word_vector", knn.getString("field"));
+    assertEquals(wordVector, knn.getJsonArray("query_vector"));
+    assertEquals(10, knn.getInteger("num_candidates"));
+    assertEquals(
+        1, knn.getJsonObject("filter").getJsonObject("bool").getJsonArray("should").size());
+  }
+}
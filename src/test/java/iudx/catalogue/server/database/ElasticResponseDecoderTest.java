@@ -0,0 +1,129 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ElasticResponseDecoderTest {
+
+  private static InputStream stream(JsonObject response) {
+    return new ByteArrayInputStream(response.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static JsonObject searchResponse(int totalHits, JsonArray hits) {
+    JsonObject outerHits =
+        new JsonObject().put(TOTAL, new JsonObject().put(VALUE, totalHits).put("relation", "eq"));
+    if (hits != null) {
+      outerHits.put(HITS, hits);
+    }
+    return new JsonObject().put("took", 3).put(HITS, outerHits);
+  }
+
+  @Test
+  @DisplayName("test sources are decoded without the summary and word vector fields")
+  public void testDecodeSources() throws IOException {
+    JsonObject source =
+        new JsonObject()
+            .put(ID, "item-a")
+            .put(TYPE, new JsonArray().add(ITEM_TYPE_RESOURCE))
+            .put(
+                LOCATION,
+                new JsonObject()
+                    .put(
+                        GEOMETRY,
+                        new JsonObject().put(COORDINATES, new JsonArray().add(73.8).add(18))))
+            .putNull(DESCRIPTION_ATTR)
+            .put("public", true)
+            .put("size", 12345678901L);
+    JsonObject stored =
+        source
+            .copy()
+            .put(SUMMARY_KEY, "item a summary")
+            .put(WORD_VECTOR_KEY, new JsonArray().add(0.1).add(0.2));
+    JsonArray hits =
+        new JsonArray()
+            .add(new JsonObject().put(DOC_ID, "doc-a").put(SOURCE, stored))
+            .add(new JsonObject().put(DOC_ID, "doc-b").put(SOURCE, new JsonObject().put(ID, "b")));
+
+    JsonObject decoded =
+        ElasticResponseDecoder.decodeHits(stream(searchResponse(2, hits)), SOURCE_ONLY);
+
+    assertEquals(
+        new JsonObject()
+            .put(TYPE, TYPE_SUCCESS)
+            .put(TITLE, TITLE_SUCCESS)
+            .put(TOTAL_HITS, 2)
+            .put(RESULTS, new JsonArray().add(source).add(new JsonObject().put(ID, "b"))),
+        decoded);
+  }
+
+  @Test
+  @DisplayName("test doc ids are decoded")
+  public void testDecodeDocIds() throws IOException {
+    JsonArray hits =
+        new JsonArray()
+            .add(new JsonObject().put(DOC_ID, "doc-a"))
+            .add(new JsonObject().put(DOC_ID, "doc-b"));
+
+    JsonObject decoded =
+        ElasticResponseDecoder.decodeHits(stream(searchResponse(2, hits)), DOC_IDS_ONLY);
+
+    assertEquals(new JsonArray().add("doc-a").add("doc-b"), decoded.getJsonArray(RESULTS));
+  }
+
+  @Test
+  @DisplayName("test responses without hits")
+  public void testDecodeWithoutHits() throws IOException {
+    JsonObject none =
+        ElasticResponseDecoder.decodeHits(stream(searchResponse(0, null)), SOURCE_ONLY);
+    assertEquals(0, none.getInteger(TOTAL_HITS));
+    assertEquals(new JsonArray(), none.getJsonArray(RESULTS));
+
+    /* A page past the last hit */
+    JsonObject past =
+        ElasticResponseDecoder.decodeHits(stream(searchResponse(5, null)), SOURCE_ONLY);
+    assertEquals(5, past.getInteger(TOTAL_HITS));
+    assertFalse(past.containsKey(RESULTS));
+  }
+
+  @Test
+  @DisplayName("test the point in time and the sort values of the last hit of a page are decoded")
+  public void testDecodePage() throws IOException {
+    JsonArray hits =
+        new JsonArray()
+            .add(
+                new JsonObject()
+                    .put(SOURCE, new JsonObject().put(ID, "a"))
+                    .put(SORT, new JsonArray().add("a").add(1)))
+            .add(
+                new JsonObject()
+                    .put(SOURCE, new JsonObject().put(ID, "b"))
+                    .put(SORT, new JsonArray().add("b").add(2)));
+
+    JsonObject decoded =
+        ElasticResponseDecoder.decodeHits(
+            stream(searchResponse(5, hits).put(PIT_ID, "pit-1")), SOURCE_ONLY);
+
+    assertEquals("pit-1", decoded.getString(PIT_ID));
+    assertEquals(new JsonArray().add("b").add(2), decoded.getJsonArray(SORT));
+    assertEquals(2, decoded.getJsonArray(RESULTS).size());
+  }
+
+  @Test
+  @DisplayName("test a response which is not a search response fails to decode")
+  public void testDecodeInvalid() {
+    InputStream content = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+    assertThrows(
+        DecodeException.class, () -> ElasticResponseDecoder.decodeHits(content, SOURCE_ONLY));
+  }
+}
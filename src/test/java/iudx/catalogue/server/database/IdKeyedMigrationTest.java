@@ -0,0 +1,64 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class IdKeyedMigrationTest {
+
+  private static ElasticClient client(JsonObject taskStatus) {
+    ElasticClient client = mock(ElasticClient.class);
+    JsonObject definition = new JsonObject().put(MAPPINGS, new JsonObject());
+    when(client.indexDefinitionAsync("cat")).thenReturn(Future.succeededFuture(definition));
+    when(client.createIndexAsync("cat-by-id", definition))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+    when(client.reindexByFieldAsync("cat", "cat-by-id", "id"))
+        .thenReturn(Future.succeededFuture("node:1"));
+    when(client.taskAsync("node:1")).thenReturn(Future.succeededFuture(taskStatus));
+    return client;
+  }
+
+  @Test
+  @DisplayName("test the index is copied into a new index with the same mappings")
+  public void testMigrate(Vertx vertx, VertxTestContext testContext) {
+    JsonObject response = new JsonObject().put(CREATED, 3).put(FAILURES, new JsonArray());
+    ElasticClient client = client(new JsonObject().put(COMPLETED, true).put(RESPONSE, response));
+
+    IdKeyedMigration.migrate(vertx, client, "cat", "cat-by-id")
+        .onComplete(
+            testContext.succeeding(
+                migrated ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(3, migrated.getInteger(CREATED));
+                          verify(client).createIndexAsync(eq("cat-by-id"), any());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test the migration fails if any item is not copied")
+  public void testMigrateWithFailures(Vertx vertx, VertxTestContext testContext) {
+    JsonObject response =
+        new JsonObject()
+            .put(CREATED, 2)
+            .put(FAILURES, new JsonArray().add(new JsonObject().put("id", "item-c")));
+    ElasticClient client = client(new JsonObject().put(COMPLETED, true).put(RESPONSE, response));
+
+    IdKeyedMigration.migrate(vertx, client, "cat", "cat-by-id")
+        .onComplete(testContext.failing(cause -> testContext.completeNow()));
+  }
+}
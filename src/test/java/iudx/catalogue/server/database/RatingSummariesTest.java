@@ -0,0 +1,204 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+@ExtendWith(VertxExtension.class)
+public class RatingSummariesTest {
+
+  private static final String GROUP = "iisc.ac.in/rs.iudx.io/pune-env-flood";
+  private static final String RESOURCE = GROUP + "/FWR055";
+
+  private static JsonObject ratingAggregations(long count, double sum, JsonArray histogram) {
+    return new JsonObject()
+        .put(
+            AGGREGATIONS,
+            new JsonObject()
+                .put(RATING_STATS, new JsonObject().put(COUNT, count).put(SUM, sum))
+                .put(RATING_HISTOGRAM, new JsonObject().put(BUCKETS, histogram)));
+  }
+
+  private static JsonObject groupOf(String id, String group) {
+    JsonObject source = new JsonObject().put(ID, id).put(RESOURCE_GRP, group);
+    JsonArray hits = new JsonArray().add(new JsonObject().put(SOURCE, source));
+    return new JsonObject().put(HITS, new JsonObject().put(HITS, hits));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<JsonArray> captureBulk(ElasticClient client) {
+    ArgumentCaptor<JsonArray> operations = ArgumentCaptor.forClass(JsonArray.class);
+    doAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(
+                      Future.succeededFuture(new JsonObject().put(ITEMS, new JsonArray())));
+              return client;
+            })
+        .when(client)
+        .docBulkAsync(eq("summary"), operations.capture(), any());
+    return operations;
+  }
+
+  @Test
+  @DisplayName("test refresh writes the summary of a resource to its own and its group's summary")
+  public void testRefresh(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    JsonArray histogram =
+        new JsonArray()
+            .add(new JsonObject().put(KEY, 3.0).put(DOC_COUNT, 1))
+            .add(new JsonObject().put(KEY, 4.0).put(DOC_COUNT, 0))
+            .add(new JsonObject().put(KEY, 5.0).put(DOC_COUNT, 1));
+    when(client.searchJsonAsync(eq("rating"), any()))
+        .thenReturn(Future.succeededFuture(ratingAggregations(2, 8.0, histogram)));
+    when(client.searchJsonAsync(eq("cat"), any()))
+        .thenReturn(Future.succeededFuture(groupOf(RESOURCE, GROUP)));
+    ArgumentCaptor<JsonArray> operations = captureBulk(client);
+
+    new RatingSummaries(vertx, client, "cat", "rating", "summary")
+        .refresh(RESOURCE)
+        .onComplete(
+            testContext.succeeding(
+                refreshed ->
+                    testContext.verify(
+                        () -> {
+                          JsonArray written = operations.getValue();
+                          assertEquals(4, written.size());
+                          assertEquals(
+                              RESOURCE,
+                              written.getJsonObject(0).getJsonObject(BULK_UPDATE_ACTION)
+                                  .getString(DOC_ID));
+                          assertEquals(
+                              GROUP,
+                              written.getJsonObject(2).getJsonObject(BULK_UPDATE_ACTION)
+                                  .getString(DOC_ID));
+                          JsonObject params =
+                              written.getJsonObject(3).getJsonObject("script")
+                                  .getJsonObject("params");
+                          assertEquals(RESOURCE, params.getString(ITEM));
+                          assertEquals(
+                              new JsonObject()
+                                  .put(COUNT, 2L)
+                                  .put(SUM, 8.0)
+                                  .put(HISTOGRAM, new JsonObject().put("3", 1L).put("5", 1L)),
+                              params.getJsonObject("entry"));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test refresh removes the summary of an item without approved ratings")
+  public void testRefreshWithoutRatings(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    when(client.searchJsonAsync(eq("rating"), any()))
+        .thenReturn(Future.succeededFuture(ratingAggregations(0, 0, new JsonArray())));
+    when(client.searchJsonAsync(eq("cat"), any()))
+        .thenReturn(
+            Future.succeededFuture(
+                new JsonObject().put(HITS, new JsonObject().put(HITS, new JsonArray()))));
+    ArgumentCaptor<JsonArray> operations = captureBulk(client);
+
+    new RatingSummaries(vertx, client, "cat", "rating", "summary")
+        .refresh(GROUP)
+        .onComplete(
+            testContext.succeeding(
+                refreshed ->
+                    testContext.verify(
+                        () -> {
+                          JsonArray written = operations.getValue();
+                          assertEquals(2, written.size());
+                          JsonObject params =
+                              written.getJsonObject(1).getJsonObject("script")
+                                  .getJsonObject("params");
+                          assertTrue(params.containsKey("entry"));
+                          assertNull(params.getValue("entry"));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test average ratings are read from the summary of the item")
+  @SuppressWarnings("unchecked")
+  public void testAverage(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    JsonObject items =
+        new JsonObject()
+            .put(RESOURCE, new JsonObject().put(COUNT, 2).put(SUM, 7.0))
+            .put(GROUP, new JsonObject().put(COUNT, 3).put(SUM, 12.0));
+    JsonObject summary =
+        new JsonObject()
+            .put(TYPE, TYPE_SUCCESS)
+            .put(TOTAL_HITS, 1)
+            .put(RESULTS, new JsonArray().add(new JsonObject().put(ID, GROUP).put(ITEMS, items)));
+    doAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.succeededFuture(summary));
+              return client;
+            })
+        .when(client)
+        .docGetAsync(eq(GROUP), eq("summary"), any());
+
+    new RatingSummaries(vertx, client, "cat", "rating", "summary")
+        .average(GROUP)
+        .onComplete(
+            testContext.succeeding(
+                average ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(2, average.getInteger(TOTAL_HITS));
+                          JsonArray results = average.getJsonArray(RESULTS);
+                          assertEquals(
+                              new JsonObject()
+                                  .put(ID, GROUP)
+                                  .put(TOTAL_RATINGS, "3")
+                                  .put(AVERAGE_RATING, 4.0),
+                              results.getJsonObject(0));
+                          assertEquals(
+                              new JsonObject()
+                                  .put(ID, RESOURCE)
+                                  .put(TOTAL_RATINGS, "2")
+                                  .put(AVERAGE_RATING, 3.5),
+                              results.getJsonObject(1));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test the summary index is not rebuilt again within the interval")
+  public void testReconcileSkipsRecentRebuild(Vertx vertx, VertxTestContext testContext) {
+    ElasticClient client = mock(ElasticClient.class);
+    RatingSummaries summaries = new RatingSummaries(vertx, client, "cat", "rating", "summary");
+
+    vertx
+        .sharedData()
+        .getCounter(RATING_SUMMARY_REBUILT_AT)
+        .compose(rebuiltAt -> rebuiltAt.compareAndSet(0, System.currentTimeMillis()))
+        .compose(set -> summaries.reconcile(3600000))
+        .onComplete(
+            testContext.succeeding(
+                rebuilt ->
+                    testContext.verify(
+                        () -> {
+                          assertFalse(rebuilt);
+                          verifyNoInteractions(client);
+                          testContext.completeNow();
+                        })));
+  }
+}
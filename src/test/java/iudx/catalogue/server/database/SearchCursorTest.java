@@ -0,0 +1,82 @@
+package iudx.catalogue.server.database;
+
+import static iudx.catalogue.server.database.Constants.*;
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SearchCursorTest {
+
+  @Test
+  @DisplayName("test a cursor is decoded from the token it is encoded to")
+  public void testRoundTrip() {
+    JsonArray searchAfter = new JsonArray().add("iisc.ac.in/rs.iudx.io/pune-env-flood").add(42);
+    String token = new SearchCursor("pit-1", searchAfter, null).encode();
+
+    assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    SearchCursor cursor = SearchCursor.decode(token);
+    assertEquals("pit-1", cursor.pitId());
+    assertEquals(searchAfter, cursor.searchAfter());
+    assertNull(cursor.afterKey());
+
+    JsonObject afterKey = new JsonObject().put(KEY, "iisc.ac.in");
+    assertEquals(
+        afterKey, SearchCursor.decode(new SearchCursor(null, null, afterKey).encode()).afterKey());
+  }
+
+  @Test
+  @DisplayName("test the start cursor is the first page")
+  public void testStart() {
+    assertTrue(SearchCursor.decode(CURSOR_START).isStart());
+  }
+
+  @Test
+  @DisplayName("test tokens which are not cursors are rejected")
+  public void testInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(""));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not a cursor"));
+    String notJson = Base64.getUrlEncoder().encodeToString("[]".getBytes(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(notJson));
+    String wrongType =
+        Base64.getUrlEncoder()
+            .encodeToString(
+                new JsonObject().put(SEARCH_AFTER, "a").encode().getBytes(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(wrongType));
+    String empty =
+        Base64.getUrlEncoder().encodeToString("{}".getBytes(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(empty));
+  }
+
+  @Test
+  @DisplayName("test lists with a cursor page through a composite aggregation")
+  public void testListItemQueryWithCursor() {
+    JsonObject request =
+        new JsonObject()
+            .put(ITEM_TYPE, "dummy")
+            .put(TYPE_KEY, "dummy")
+            .put(LIMIT, 2)
+            .put(CURSOR, CURSOR_START);
+
+    JsonObject query = new JsonObject(new QueryDecoder().listItemQuery(request));
+
+    JsonObject composite =
+        query.getJsonObject(AGGREGATION_KEY).getJsonObject(RESULTS).getJsonObject(COMPOSITE);
+    assertEquals(0, query.getInteger(SIZE_KEY));
+    assertEquals(2, composite.getInteger(SIZE_KEY));
+    assertEquals(
+        new JsonArray()
+            .add(
+                new JsonObject()
+                    .put(
+                        KEY,
+                        new JsonObject()
+                            .put(TERMS_KEY, new JsonObject().put(FIELD, ID_KEYWORD)))),
+        composite.getJsonArray(SOURCES));
+  }
+}
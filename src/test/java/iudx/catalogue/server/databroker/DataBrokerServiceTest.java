@@ -1,9 +1,11 @@
 package iudx.catalogue.server.databroker;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -121,4 +123,51 @@ public class DataBrokerServiceTest {
           }
         });
   }
+
+  @Test
+  @DisplayName("Success: test publish batch with confirms")
+  void successfulPublishMessagesTest(VertxTestContext testContext) {
+    RabbitMQClient client = mock(RabbitMQClient.class);
+    when(client.isConnected()).thenReturn(true);
+    when(client.basicPublish(anyString(), anyString(), (Buffer) any()))
+        .thenReturn(Future.succeededFuture());
+    when(client.waitForConfirms(anyLong())).thenReturn(Future.succeededFuture());
+
+    new DataBrokerServiceImpl(client).publishMessages(
+        new JsonArray().add(new JsonObject()).add(new JsonObject()),
+        "auditing",
+        "#",
+        handler -> {
+          if (handler.succeeded()) {
+            verify(client, times(2)).basicPublish(anyString(), anyString(), (Buffer) any());
+            assertEquals(TYPE_SUCCESS, handler.result().getString("type"));
+            testContext.completeNow();
+          } else {
+            testContext.failNow("Fail");
+          }
+        });
+  }
+
+  @Test
+  @DisplayName("Fail: test publish batch not confirmed")
+  void failPublishMessagesTest(VertxTestContext testContext) {
+    RabbitMQClient client = mock(RabbitMQClient.class);
+    when(client.isConnected()).thenReturn(true);
+    when(client.basicPublish(anyString(), anyString(), (Buffer) any()))
+        .thenReturn(Future.succeededFuture());
+    when(client.waitForConfirms(anyLong()))
+        .thenReturn(Future.failedFuture("timed out waiting for confirms"));
+
+    new DataBrokerServiceImpl(client).publishMessages(
+        new JsonArray().add(new JsonObject()),
+        "auditing",
+        "#",
+        handler -> {
+          if (handler.succeeded()) {
+            testContext.failNow("Fail");
+          } else {
+            testContext.completeNow();
+          }
+        });
+  }
 }
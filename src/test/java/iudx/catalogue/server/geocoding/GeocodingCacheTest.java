@@ -0,0 +1,81 @@
+package iudx.catalogue.server.geocoding;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class GeocodingCacheTest {
+
+  @Test
+  @DisplayName("test concurrent misses of a key make a single lookup")
+  public void testCoalescing(VertxTestContext testContext) {
+    GeocodingCache cache = new GeocodingCache(10, 60, 4);
+    AtomicInteger lookups = new AtomicInteger();
+    Promise<String> pelias = Promise.promise();
+    Future<String> first =
+        cache.get(
+            GeocodingCache.addressKey("Pune"),
+            () -> {
+              lookups.incrementAndGet();
+              return pelias.future();
+            });
+    Future<String> second =
+        cache.get(
+            GeocodingCache.addressKey("  pune "),
+            () -> {
+              lookups.incrementAndGet();
+              return Future.succeededFuture("other");
+            });
+    pelias.complete("result");
+
+    assertEquals("result", first.result());
+    assertEquals("result", second.result());
+    assertEquals(
+        "result",
+        cache.get(GeocodingCache.addressKey("PUNE"), () -> Future.failedFuture("miss")).result());
+    assertEquals(1, lookups.get());
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test failed lookups are not cached")
+  public void testFailureNotCached(VertxTestContext testContext) {
+    GeocodingCache cache = new GeocodingCache(10, 60, 4);
+    assertTrue(cache.get("search:pune", () -> Future.failedFuture("not found")).failed());
+    assertEquals(0, cache.size());
+    assertEquals(
+        "result", cache.get("search:pune", () -> Future.succeededFuture("result")).result());
+    assertEquals(1, cache.size());
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test points are rounded to the configured precision")
+  public void testQuantize(VertxTestContext testContext) {
+    GeocodingCache cache = new GeocodingCache(10, 60, 3);
+    assertEquals("18.52", cache.quantize("18.52043"));
+    assertEquals("73.857", cache.quantize(" 73.8567 "));
+    assertEquals("north", cache.quantize("north"));
+    assertEquals(
+        GeocodingCache.pointKey(cache.quantize("18.5204"), cache.quantize("73.8567")),
+        GeocodingCache.pointKey(cache.quantize("18.52041"), cache.quantize("73.85671")));
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test the verticles of a node share one cache")
+  public void testGetInstance() {
+    GeocodingCache cache = GeocodingCache.getInstance(new JsonObject());
+
+    assertSame(cache, GeocodingCache.getInstance(new JsonObject()));
+  }
+}
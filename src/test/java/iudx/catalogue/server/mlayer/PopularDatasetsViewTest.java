@@ -0,0 +1,124 @@
+package iudx.catalogue.server.mlayer;
+
+import static iudx.catalogue.server.mlayer.util.Constants.VIEW_VERSION;
+import static iudx.catalogue.server.util.Constants.CATALOGUE_CHANGES_ADDRESS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class PopularDatasetsViewTest {
+
+  @Test
+  @DisplayName("test concurrent misses share one build and later requests are served from memory")
+  public void testSingleFlightBuild(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger builds = new AtomicInteger();
+    Promise<JsonObject> pending = Promise.promise();
+    PopularDatasetsView view =
+        new PopularDatasetsView(
+            vertx,
+            instance -> {
+              builds.incrementAndGet();
+              return pending.future();
+            });
+
+    Future<JsonObject> first = view.get("pune");
+    Future<JsonObject> second = view.get("pune");
+    pending.complete(new JsonObject().put("totalDatasets", 10));
+
+    Future.all(first, second)
+        .compose(done -> view.get("pune"))
+        .onComplete(
+            testContext.succeeding(
+                result ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals(1, builds.get());
+                          assertEquals(10, result.getInteger("totalDatasets"));
+                          assertEquals(
+                              first.result().getString(VIEW_VERSION),
+                              result.getString(VIEW_VERSION));
+                          assertEquals(1, view.size());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test a catalogue change rebuilds the view with a new version")
+  public void testRebuildOnChange(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger builds = new AtomicInteger();
+    PopularDatasetsView view =
+        new PopularDatasetsView(
+            vertx,
+            instance ->
+                Future.succeededFuture(
+                    new JsonObject().put("totalDatasets", builds.incrementAndGet())));
+    view.start(PopularDatasetsView.DEFAULT_REFRESH_SECONDS);
+
+    view.get("")
+        .onComplete(
+            testContext.succeeding(
+                before -> {
+                  vertx.eventBus().publish(CATALOGUE_CHANGES_ADDRESS, new JsonObject());
+                  vertx.eventBus().publish(CATALOGUE_CHANGES_ADDRESS, new JsonObject());
+                  vertx.setTimer(
+                      PopularDatasetsView.DEBOUNCE_MILLIS + 500,
+                      id ->
+                          view.get("")
+                              .onComplete(
+                                  testContext.succeeding(
+                                      after ->
+                                          testContext.verify(
+                                              () -> {
+                                                assertEquals(2, builds.get());
+                                                assertEquals(2, after.getInteger("totalDatasets"));
+                                                assertNotEquals(
+                                                    before.getString(VIEW_VERSION),
+                                                    after.getString(VIEW_VERSION));
+                                                testContext.completeNow();
+                                              }))));
+                }));
+  }
+
+  @Test
+  @DisplayName("test the previous view is kept when a rebuild fails")
+  public void testKeepViewOnFailedRebuild(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger builds = new AtomicInteger();
+    PopularDatasetsView view =
+        new PopularDatasetsView(
+            vertx,
+            instance ->
+                builds.incrementAndGet() == 1
+                    ? Future.succeededFuture(new JsonObject().put("totalDatasets", 1))
+                    : Future.failedFuture("database unavailable"));
+
+    view.get("")
+        .onComplete(
+            testContext.succeeding(
+                before -> {
+                  view.markDirty();
+                  vertx.setTimer(
+                      PopularDatasetsView.DEBOUNCE_MILLIS + 500,
+                      id ->
+                          view.get("")
+                              .onComplete(
+                                  testContext.succeeding(
+                                      after ->
+                                          testContext.verify(
+                                              () -> {
+                                                assertEquals(2, builds.get());
+                                                assertEquals(before, after);
+                                                testContext.completeNow();
+                                              }))));
+                }));
+  }
+}
@@ -36,11 +36,13 @@ public class DataModelTest {
   @Mock private HttpRequest<Buffer> mockHttpRequest;
   @Mock private Buffer mockBuffer;
   @InjectMocks private DataModel dataModel;
+  private DataModelCache dataModelCache;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    dataModel = new DataModel(webClient, mockElasticClient, "test-index");
+    dataModelCache = new DataModelCache(3600);
+    dataModel = new DataModel(webClient, mockElasticClient, "test-index", dataModelCache);
   }
 
   @Test
@@ -52,6 +54,7 @@ public class DataModelTest {
                 new JsonArray()
                     .add(
                         new JsonObject()
+                            .put("id", "Resource")
                             .put("@context", "https://example.com/")
                             .put("type", new JsonArray().add("dummy").add("iudx:Resource"))));
     // Mocking Elasticsearch client's async search
@@ -60,13 +63,15 @@ public class DataModelTest {
             invocation -> {
               ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
                   .handle(Future.succeededFuture(respone));
-              vertxTestContext.completeNow();
               return null;
             });
-    lenient().when(webClient.getAbs(anyString())).thenReturn(mockHttpRequest);
-    lenient().when(mockHttpRequest.send()).thenReturn(Future.succeededFuture(mockHttpResponse));
-    lenient()
-        .when(mockHttpResponse.body())
+    when(webClient.getAbs(anyString())).thenReturn(mockHttpRequest);
+    when(mockHttpRequest.timeout(anyLong())).thenReturn(mockHttpRequest);
+    when(mockHttpRequest.send()).thenReturn(Future.succeededFuture(mockHttpResponse));
+    when(mockHttpResponse.statusCode()).thenReturn(200);
+    when(mockHttpResponse.headers()).thenReturn(mockHeaders);
+    when(mockHeaders.get(anyString())).thenReturn("application/json");
+    when(mockHttpResponse.body())
         .thenReturn(
             Buffer.buffer(
                 "{ \"@graph\": [ { \"@id\": \"iudx:Resource\", \"rdfs:subClassOf\": { \"@id\": \"iudx:SuperClass\" } } ] }"));
@@ -79,6 +84,7 @@ public class DataModelTest {
             JsonObject result = ar.result();
             assertNotNull(result);
             assertEquals("SuperClass", result.getString("Resource"));
+            vertxTestContext.completeNow();
           } else {
             fail("Test failed with exception: " + ar.cause().getMessage());
             vertxTestContext.failNow(ar.cause());
@@ -162,4 +168,102 @@ public class DataModelTest {
               }
             });
   }
+
+  @Test
+  void RetryFailedDataModelFetchTest(VertxTestContext vertxTestContext) {
+    JsonObject respone =
+        new JsonObject()
+            .put(
+                "results",
+                new JsonArray()
+                    .add(
+                        new JsonObject()
+                            .put("id", "dataset")
+                            .put("@context", "https://example.com/")
+                            .put("type", new JsonArray().add("dummy").add("iudx:Resource"))));
+    when(mockElasticClient.searchAsync(anyString(), anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.succeededFuture(respone));
+              return null;
+            });
+    when(webClient.getAbs(anyString())).thenReturn(mockHttpRequest);
+    when(mockHttpRequest.timeout(anyLong())).thenReturn(mockHttpRequest);
+    when(mockHttpRequest.send())
+        .thenReturn(Future.failedFuture("timeout"))
+        .thenReturn(Future.succeededFuture(mockHttpResponse));
+    when(mockHttpResponse.statusCode()).thenReturn(200);
+    when(mockHttpResponse.headers()).thenReturn(mockHeaders);
+    when(mockHeaders.get(anyString())).thenReturn("application/json");
+    when(mockHttpResponse.body())
+        .thenReturn(
+            Buffer.buffer(
+                "{ \"@graph\": [ { \"@id\": \"iudx:Resource\", \"rdfs:subClassOf\": "
+                    + "{ \"@id\": \"iudx:SuperClass\" } } ] }"));
+
+    dataModel
+        .getDataModelInfo()
+        .onComplete(
+            vertxTestContext.succeeding(
+                result ->
+                    vertxTestContext.verify(
+                        () -> {
+                          assertEquals("SuperClass", result.getString("dataset"));
+                          verify(mockHttpRequest, times(2)).send();
+                          vertxTestContext.completeNow();
+                        })));
+  }
+
+  @Test
+  void CachedDataModelTest(VertxTestContext vertxTestContext) {
+    JsonObject respone =
+        new JsonObject()
+            .put(
+                "results",
+                new JsonArray()
+                    .add(
+                        new JsonObject()
+                            .put("id", "dataset")
+                            .put("@context", "https://example.com/")
+                            .put("type", new JsonArray().add("dummy").add("iudx:Resource"))));
+    when(mockElasticClient.searchAsync(anyString(), anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              ((Handler<AsyncResult<JsonObject>>) invocation.getArgument(2))
+                  .handle(Future.succeededFuture(respone));
+              return null;
+            });
+    String dmUrl = "https://example.com/Resource.jsonld";
+
+    // fresh entries are served without contacting the vocabulary server
+    dataModelCache.store(dmUrl, "Resource", "SuperClass", "\"v1\"", null);
+    dataModel
+        .getDataModelInfo()
+        .compose(
+            fresh -> {
+              assertEquals("SuperClass", fresh.getString("dataset"));
+              verify(webClient, never()).getAbs(anyString());
+
+              // stale entries are revalidated with their ETag
+              DataModelCache expiredCache = new DataModelCache(0);
+              expiredCache.store(dmUrl, "Resource", "SuperClass", "\"v1\"", null);
+              when(webClient.getAbs(anyString())).thenReturn(mockHttpRequest);
+              when(mockHttpRequest.putHeader(anyString(), anyString())).thenReturn(mockHttpRequest);
+              when(mockHttpRequest.timeout(anyLong())).thenReturn(mockHttpRequest);
+              when(mockHttpRequest.send()).thenReturn(Future.succeededFuture(mockHttpResponse));
+              when(mockHttpResponse.statusCode()).thenReturn(304);
+              return new DataModel(webClient, mockElasticClient, "test-index", expiredCache)
+                  .getDataModelInfo();
+            })
+        .onComplete(
+            vertxTestContext.succeeding(
+                revalidated ->
+                    vertxTestContext.verify(
+                        () -> {
+                          assertEquals("SuperClass", revalidated.getString("dataset"));
+                          verify(mockHttpRequest).putHeader("if-none-match", "\"v1\"");
+                          vertxTestContext.completeNow();
+                        })));
+  }
 }
@@ -0,0 +1,49 @@
+package iudx.catalogue.server.mlayer.vocabulary;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class FetchLimiterTest {
+
+  @Test
+  void QueuesTasksBeyondLimitTest(VertxTestContext vertxTestContext) {
+    FetchLimiter limiter = new FetchLimiter(2);
+    List<Promise<String>> running = new ArrayList<>();
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(
+          limiter.submit(
+              () -> {
+                Promise<String> promise = Promise.promise();
+                running.add(promise);
+                return promise.future();
+              }));
+    }
+    assertEquals(2, running.size());
+    assertEquals(2, limiter.inFlight());
+    assertEquals(3, limiter.queueDepth());
+
+    running.get(0).complete("first");
+    assertEquals(3, running.size());
+    assertEquals(2, limiter.queueDepth());
+    assertEquals("first", results.get(0).result());
+
+    for (int i = 1; i < 5; i++) {
+      running.get(i).fail("failed");
+    }
+    assertEquals(5, running.size());
+    assertEquals(0, limiter.inFlight());
+    assertEquals(0, limiter.queueDepth());
+    assertTrue(results.get(4).failed());
+    vertxTestContext.completeNow();
+  }
+}
@@ -0,0 +1,86 @@
+package iudx.catalogue.server.nlpsearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class EmbeddingCacheTest {
+
+  private static JsonObject response() {
+    return new JsonObject()
+        .put("result", new JsonArray().add(0.5).add(-1.25).add(2))
+        .put("model", "sentence-embedding");
+  }
+
+  @Test
+  @DisplayName("test concurrent searches of a query make a single call to the NLP service")
+  public void testCoalescing(VertxTestContext testContext) {
+    EmbeddingCache cache = new EmbeddingCache(10, 60);
+    AtomicInteger searches = new AtomicInteger();
+    Promise<JsonObject> nlp = Promise.promise();
+    Future<JsonObject> first =
+        cache.get(
+            "water  tanks",
+            () -> {
+              searches.incrementAndGet();
+              return nlp.future();
+            });
+    Future<JsonObject> second =
+        cache.get(
+            " water tanks ",
+            () -> {
+              searches.incrementAndGet();
+              return Future.succeededFuture(new JsonObject());
+            });
+    nlp.complete(response());
+
+    assertEquals(response(), first.result());
+    assertEquals(response(), second.result());
+    assertNotSame(first.result(), second.result());
+    JsonObject cached =
+        cache.get("water tanks", () -> Future.failedFuture("miss")).result();
+    assertEquals("sentence-embedding", cached.getString("model"));
+    assertEquals(
+        new JsonArray().add(0.5f).add(-1.25f).add(2f), cached.getJsonArray("result"));
+    assertEquals(1, searches.get());
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test failed searches and responses without an embedding are not cached")
+  public void testFailureNotCached(VertxTestContext testContext) {
+    EmbeddingCache cache = new EmbeddingCache(10, 60);
+    assertTrue(cache.get("parking", () -> Future.failedFuture("unavailable")).failed());
+    assertTrue(
+        cache
+            .get(
+                "parking",
+                () -> {
+                  throw new IllegalStateException("no client");
+                })
+            .failed());
+    cache.get("parking", () -> Future.succeededFuture(new JsonObject().put("error", "none")));
+    assertEquals(0, cache.size());
+    cache.get("parking", () -> Future.succeededFuture(response()));
+    assertEquals(1, cache.size());
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test the verticles of a node share one cache")
+  public void testGetInstance() {
+    EmbeddingCache cache = EmbeddingCache.getInstance(new JsonObject());
+
+    assertSame(cache, EmbeddingCache.getInstance(new JsonObject()));
+  }
+}
@@ -0,0 +1,53 @@
+package iudx.catalogue.server.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CoalescingCacheTest {
+
+  @Test
+  @DisplayName("test invalid values are served but not cached")
+  public void testInvalidNotCached() {
+    CoalescingCache<String> cache = new CoalescingCache<>(10, 60, value -> !value.isEmpty());
+
+    assertEquals("", cache.get("key", () -> Future.succeededFuture("")).result());
+    assertEquals(0, cache.size());
+    assertEquals("value", cache.get("key", () -> Future.succeededFuture("value")).result());
+    assertEquals("value", cache.get("key", () -> Future.failedFuture("miss")).result());
+  }
+
+  @Test
+  @DisplayName("test a load in flight is neither cached nor joined after the cache is invalidated")
+  public void testInvalidateAllDuringLoad() {
+    CoalescingCache<String> cache = new CoalescingCache<>(10, 60);
+    AtomicInteger loads = new AtomicInteger();
+    Promise<String> stale = Promise.promise();
+
+    Future<String> first =
+        cache.get(
+            "key",
+            () -> {
+              loads.incrementAndGet();
+              return stale.future();
+            });
+    cache.invalidateAll();
+    Future<String> second =
+        cache.get(
+            "key",
+            () -> {
+              loads.incrementAndGet();
+              return Future.succeededFuture("fresh");
+            });
+    stale.complete("stale");
+
+    assertEquals("stale", first.result());
+    assertEquals("fresh", second.result());
+    assertEquals(2, loads.get());
+    assertEquals("fresh", cache.get("key", () -> Future.failedFuture("miss")).result());
+  }
+}
@@ -0,0 +1,61 @@
+package iudx.catalogue.server.util;
+
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LatencyMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  public void addRegistry() {
+    Metrics.addRegistry(registry);
+  }
+
+  @AfterEach
+  public void removeRegistry() {
+    Metrics.removeRegistry(registry);
+  }
+
+  @Test
+  @DisplayName("test search types are tagged by their kinds, in a fixed order")
+  public void testSearchTypeTag() {
+    assertEquals("geo_text", LatencyMetrics.searchTypeTag("textSearch_geoSearch_"));
+    assertEquals(
+        "attribute_filter", LatencyMetrics.searchTypeTag("attributeSearch_responseFilter_"));
+    assertEquals("none", LatencyMetrics.searchTypeTag(null));
+  }
+
+  @Test
+  @DisplayName("test stages of a search and calls of dependencies are timed by outcome")
+  public void testRecord() {
+    LatencyMetrics.recordSearch(
+        Timer.start(), STAGE_DECODING, OPERATION_SEARCH, "geoSearch_", true);
+    LatencyMetrics.timeDependency(
+        Timer.start(), "pelias", "search", Future.failedFuture("Failed to find coordinates"));
+
+    Timer search =
+        registry
+            .find(SEARCH_LATENCY_METRIC)
+            .tags(STAGE_TAG, STAGE_DECODING, SEARCH_TYPE_TAG, "geo", OUTCOME_TAG, "success")
+            .timer();
+    assertNotNull(search);
+    assertEquals(1, search.count());
+    Timer pelias =
+        registry
+            .find(DEPENDENCY_LATENCY_METRIC)
+            .tags(SERVICE_TAG, "pelias", OPERATION_TAG, "search", OUTCOME_TAG, "failure")
+            .timer();
+    assertNotNull(pelias);
+    assertEquals(1, pelias.count());
+  }
+}
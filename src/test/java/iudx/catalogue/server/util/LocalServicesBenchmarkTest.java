@@ -0,0 +1,157 @@
+package iudx.catalogue.server.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.database.DatabaseService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Measures the overhead of a hop to the database service on the search path, through the event bus
+ * proxy and through a local proxy, against a stub returning a page of search results. Run with
+ * <code>mvn test -Dtest=LocalServicesBenchmarkTest -Dbenchmark=true</code>.
+ */
+@ExtendWith(VertxExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LocalServicesBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(LocalServicesBenchmarkTest.class);
+  private static final String ADDRESS = "iudx.catalogue.benchmark.database.service";
+  private static final int WARMUP_CALLS = 20000;
+  private static final int CALLS = 50000;
+
+  private static JsonObject searchResponse() {
+    JsonArray results = new JsonArray();
+    for (int i = 0; i < 10; i++) {
+      results.add(
+          new JsonObject()
+              .put("id", "b58da193-23d9-43eb-b98a-a103d4b6103" + i)
+              .put("type", new JsonArray().add("iudx:Resource").add("iudx:EnvAQM"))
+              .put("name", "aqm-sensor-" + i)
+              .put("description", "Air quality readings of a sensor in the city")
+              .put("tags", new JsonArray().add("aqi").add("pollution").add("environment"))
+              .put(
+                  "location",
+                  new JsonObject()
+                      .put("type", "Place")
+                      .put(
+                          "geometry",
+                          new JsonObject()
+                              .put("type", "Point")
+                              .put("coordinates", new JsonArray().add(73.85).add(18.52)))));
+    }
+    return new JsonObject()
+        .put("type", "urn:dx:cat:Success")
+        .put("title", "Success")
+        .put("totalHits", 10)
+        .put("results", results);
+  }
+
+  private static JsonObject searchRequest() {
+    return new JsonObject()
+        .put("searchType", "geoSearch_attributeSearch_")
+        .put("geometry", "point")
+        .put("coordinates", new JsonArray().add(73.85).add(18.52))
+        .put("maxDistance", 5000)
+        .put("property", new JsonArray().add("tags"))
+        .put("value", new JsonArray().add(new JsonArray().add("aqi")))
+        .put("limit", 10)
+        .put("offset", 0);
+  }
+
+  private static Future<Long> search(DatabaseService service, int calls) {
+    Promise<Long> promise = Promise.promise();
+    long start = System.nanoTime();
+    next(service, calls, promise, start);
+    return promise.future();
+  }
+
+  private static void next(DatabaseService service, int remaining, Promise<Long> done, long start) {
+    if (remaining == 0) {
+      done.complete(System.nanoTime() - start);
+      return;
+    }
+    service.searchQuery(
+        searchRequest(),
+        ar -> {
+          if (ar.failed()) {
+            done.fail(ar.cause());
+          } else {
+            next(service, remaining - 1, done, start);
+          }
+        });
+  }
+
+  private static Future<Void> measure(String name, DatabaseService service) {
+    return search(service, WARMUP_CALLS)
+        .compose(warmup -> search(service, CALLS))
+        .map(
+            elapsed -> {
+              LOGGER.info(
+                  "{}: {} us per search call",
+                  name,
+                  String.format("%.2f", elapsed / 1000.0 / CALLS));
+              return null;
+            });
+  }
+
+  @Test
+  @DisplayName("benchmark a search call through the event bus and local proxies")
+  @Timeout(value = 5, timeUnit = TimeUnit.MINUTES)
+  @SuppressWarnings("unchecked")
+  public void benchmarkSearchHop(Vertx vertx, VertxTestContext testContext) {
+    JsonObject response = searchResponse();
+    DatabaseService stub = mock(DatabaseService.class);
+    doAnswer(
+            invocation -> {
+              invocation
+                  .<Handler<AsyncResult<JsonObject>>>getArgument(1)
+                  .handle(Future.succeededFuture(response.copy()));
+              return stub;
+            })
+        .when(stub)
+        .searchQuery(any(), any());
+
+    vertx
+        .deployVerticle(
+            new AbstractVerticle() {
+              @Override
+              public void start() {
+                new ServiceBinder(vertx).setAddress(ADDRESS).register(DatabaseService.class, stub);
+                LocalServices.register(vertx, ADDRESS, stub);
+              }
+            })
+        .compose(
+            id -> {
+              DatabaseService remote = DatabaseService.createProxy(vertx, ADDRESS);
+              DatabaseService local =
+                  LocalServices.createProxy(vertx, DatabaseService.class, ADDRESS, remote);
+              Promise<Void> measured = Promise.promise();
+              vertx.runOnContext(
+                  v ->
+                      measure("event bus proxy", remote)
+                          .compose(eventBus -> measure("local proxy", local))
+                          .onComplete(measured));
+              return measured.future();
+            })
+        .onComplete(testContext.succeedingThenComplete());
+  }
+}
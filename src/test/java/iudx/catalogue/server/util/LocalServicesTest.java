@@ -0,0 +1,105 @@
+package iudx.catalogue.server.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.database.DatabaseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class LocalServicesTest {
+
+  private static final String ADDRESS = "iudx.catalogue.test.database.service";
+
+  @SuppressWarnings("unchecked")
+  private static DatabaseService service(
+      Handler<JsonObject> request, AsyncResult<JsonObject> result) {
+    DatabaseService service = mock(DatabaseService.class);
+    doAnswer(
+            invocation -> {
+              request.handle(invocation.getArgument(0));
+              invocation.<Handler<AsyncResult<JsonObject>>>getArgument(1).handle(result);
+              return service;
+            })
+        .when(service)
+        .searchQuery(any(), any());
+    return service;
+  }
+
+  @Test
+  @DisplayName("test a registered service is called directly on its context with a copy")
+  public void testLocalCall(Vertx vertx, VertxTestContext testContext) {
+    JsonObject response = new JsonObject().put("type", "urn:dx:cat:Success");
+    DatabaseService local =
+        service(
+            request -> {
+              assertNotNull(Vertx.currentContext());
+              request.put("searchType", "changed");
+            },
+            Future.succeededFuture(response));
+    DatabaseService remote = mock(DatabaseService.class);
+    vertx.runOnContext(v -> LocalServices.register(vertx, ADDRESS, local));
+    vertx.runOnContext(
+        v -> {
+          DatabaseService proxy =
+              LocalServices.createProxy(vertx, DatabaseService.class, ADDRESS, remote);
+          JsonObject request = new JsonObject().put("searchType", "attributeSearch_");
+          assertSame(
+              proxy,
+              proxy.searchQuery(
+                  request,
+                  testContext.succeeding(
+                      result ->
+                          testContext.verify(
+                              () -> {
+                                assertEquals(response, result);
+                                assertNotSame(response, result);
+                                assertEquals("attributeSearch_", request.getString("searchType"));
+                                verifyNoInteractions(remote);
+                                LocalServices.unregister(vertx, ADDRESS, local);
+                                testContext.completeNow();
+                              }))));
+        });
+  }
+
+  @Test
+  @DisplayName("test failures of a local call reach the caller with their message")
+  public void testLocalFailure(Vertx vertx, VertxTestContext testContext) {
+    String address = ADDRESS + ".failure";
+    DatabaseService local = service(request -> {}, Future.failedFuture("Item not found"));
+    LocalServices.register(vertx, address, local);
+    LocalServices.createProxy(vertx, DatabaseService.class, address, mock(DatabaseService.class))
+        .searchQuery(
+            new JsonObject(),
+            testContext.failing(
+                cause ->
+                    testContext.verify(
+                        () -> {
+                          assertEquals("Item not found", cause.getMessage());
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("test the event bus proxy is called when the service is not registered")
+  public void testRemoteCall(Vertx vertx, VertxTestContext testContext) {
+    DatabaseService remote = mock(DatabaseService.class);
+    when(remote.searchQuery(any(), any())).thenReturn(remote);
+    DatabaseService proxy =
+        LocalServices.createProxy(vertx, DatabaseService.class, ADDRESS + ".remote", remote);
+    JsonObject request = new JsonObject();
+    assertSame(proxy, proxy.searchQuery(request, ar -> {}));
+    verify(remote).searchQuery(same(request), any());
+    testContext.completeNow();
+  }
+}
@@ -0,0 +1,69 @@
+package iudx.catalogue.server.util;
+
+import static iudx.catalogue.server.util.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+public class ParentItemCacheTest {
+
+  private static JsonObject provider() {
+    return new JsonObject()
+        .put(TYPE, new JsonArray().add(ITEM_TYPE_PROVIDER))
+        .put(PROVIDER_USER_ID, "owner");
+  }
+
+  @Test
+  @DisplayName("test cached entries are copies of the stored metadata")
+  public void testGetReturnsCopy(VertxTestContext testContext) {
+    ParentItemCache cache = new ParentItemCache(null, 10, 60);
+    JsonObject metadata = provider();
+    cache.put("provider", metadata);
+    metadata.put(PROVIDER_USER_ID, "changed");
+
+    JsonObject cached = cache.get("provider");
+    cached.put(PROVIDER_USER_ID, "changed");
+    assertEquals("owner", cache.get("provider").getString(PROVIDER_USER_ID));
+    assertNull(cache.get("unknown"));
+    assertNull(cache.get(null));
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test cache is bounded by the configured size")
+  public void testMaxSize(VertxTestContext testContext) {
+    ParentItemCache cache = new ParentItemCache(null, 2, 60);
+    cache.put("a", provider());
+    cache.put("b", provider());
+    cache.put("c", provider());
+    assertTrue(cache.size() <= 2);
+    testContext.completeNow();
+  }
+
+  @Test
+  @DisplayName("test invalidation evicts the entry and notifies the cluster")
+  public void testInvalidate(Vertx vertx, VertxTestContext testContext) {
+    ParentItemCache cache = new ParentItemCache(vertx, 10, 60);
+    cache.put("provider", provider());
+    vertx
+        .eventBus()
+        .<String>consumer(
+            PARENT_CACHE_INVALIDATION_ADDRESS,
+            message ->
+                testContext.verify(
+                    () -> {
+                      assertEquals("provider", message.body());
+                      assertNull(cache.get("provider"));
+                      testContext.completeNow();
+                    }))
+        .completionHandler(registered -> cache.invalidate("provider"));
+  }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.*;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -15,6 +16,7 @@ import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import iudx.catalogue.server.Configuration;
 import iudx.catalogue.server.database.ElasticClient;
+import iudx.catalogue.server.util.ParentItemCache;
 import java.util.stream.Stream;
 import jdk.jfr.Description;
 import org.apache.logging.log4j.LogManager;
@@ -317,4 +319,115 @@ public class ValidatorServiceImplTest {
           }
         });
   }
+
+  @Test
+  @Description("testing the method validateItems resolves the links of a batch with one query")
+  public void testValidateItems(VertxTestContext testContext) {
+    String provider = "8b95ab80-2aaf-4636-a65e-7f2563d0d371";
+    JsonArray items = new JsonArray();
+    for (String name : new String[] {"new", "existing", "new"}) {
+      items.add(
+          new JsonObject()
+              .put(TYPE, new JsonArray().add(ITEM_TYPE_RESOURCE_GROUP))
+              .put(NAME, name)
+              .put("description", "resource group")
+              .put("tags", new JsonArray().add("tag"))
+              .put(PROVIDER, provider));
+    }
+    items.add(new JsonObject().put(TYPE, new JsonArray().add(ITEM_TYPE_RESOURCE_GROUP)));
+    JsonObject request = new JsonObject().put(ITEMS, items).put(HTTP_METHOD, REQUEST_POST);
+
+    when(asyncResult.failed()).thenReturn(false);
+    when(asyncResult.result())
+        .thenReturn(
+            new JsonObject()
+                .put(TOTAL_HITS, 2)
+                .put(
+                    RESULTS,
+                    new JsonArray()
+                        .add(
+                            new JsonObject()
+                                .put(ID, provider)
+                                .put(TYPE, new JsonArray().add(ITEM_TYPE_PROVIDER)))
+                        .add(
+                            new JsonObject()
+                                .put(ID, "rg")
+                                .put(TYPE, new JsonArray().add(ITEM_TYPE_RESOURCE_GROUP))
+                                .put(NAME, "existing")
+                                .put(PROVIDER, provider))));
+
+    validatorService.validateItems(
+        request,
+        handler -> {
+          if (handler.succeeded()
+              && handler.result().getJsonArray(ITEMS).size() == 1
+              && handler.result().getJsonArray(ITEMS).getJsonObject(0).containsKey(ID)
+              && handler.result().getJsonArray(RESULTS).size() == 3) {
+            testContext.completeNow();
+          } else {
+            testContext.failNow("unexpected validation result");
+          }
+        });
+  }
+
+  @Test
+  @DisplayName("test validate item resolves a cached parent without querying the database")
+  public void testValidateItemCachedParent(VertxTestContext testContext) {
+    ElasticClient cacheClient = mock(ElasticClient.class);
+    ParentItemCache parentCache = ParentItemCache.getInstance(vertxObj, new JsonObject());
+    parentCache.put(
+        "cached-provider",
+        new JsonObject().put(TYPE, new JsonArray().add(ITEM_TYPE_PROVIDER)));
+    ValidatorServiceImpl cachedValidator =
+        new ValidatorServiceImpl(cacheClient, docIndex, isUacInstance, vocContext, parentCache);
+    JsonObject request =
+        requestBody()
+            .put(TYPE, new JsonArray().add(ITEM_TYPE_RESOURCE_GROUP))
+            .put(PROVIDER, "cached-provider")
+            .put(HTTP_METHOD, REQUEST_PUT);
+
+    cachedValidator.validateItem(
+        request,
+        handler -> {
+          if (handler.succeeded()) {
+            verify(cacheClient, never()).searchAsync(any(), any(), any());
+            testContext.completeNow();
+          } else {
+            testContext.failNow("cached parent was not used");
+          }
+        });
+  }
+
+  @Test
+  @DisplayName("test schema validation on the worker pool")
+  public void testValidateRatingOnWorkerPool(VertxTestContext testContext) {
+    WorkerExecutor schemaExecutor = vertxObj.createSharedWorkerExecutor("test-schema-pool", 1);
+    ValidatorServiceImpl pooledValidator =
+        new ValidatorServiceImpl(client, docIndex, isUacInstance, vocContext, null, schemaExecutor);
+    JsonObject rating =
+        new JsonObject()
+            .put("rating", 4.5)
+            .put(ID, "8b95ab80-2aaf-4636-a65e-7f2563d0d371")
+            .put("userID", "someID")
+            .put("status", "pending");
+
+    pooledValidator.validateRating(
+        rating,
+        valid -> {
+          if (valid.failed()) {
+            testContext.failNow(valid.cause());
+            return;
+          }
+          pooledValidator.validateRating(
+              rating.copy().put("rating", "high"),
+              invalid -> {
+                if (invalid.failed()) {
+                  schemaExecutor.close();
+                  testContext.completeNow();
+                } else {
+                  testContext.failNow("invalid rating passed schema validation");
+                }
+              });
+        });
+  }
 }